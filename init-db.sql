@@ -4,6 +4,5 @@
 -- Grant all privileges to the application user
 GRANT ALL PRIVILEGES ON DATABASE bookcatalog TO bookcatalog;
 
--- Optional: Create tables explicitly (JPA will auto-create them, but this serves as documentation)
--- The actual table creation is handled by Spring Boot JPA with ddl-auto: update
-
+-- Tables and indexes are created by the Flyway migrations in src/main/resources/db/migration
+-- on application startup; Hibernate only validates the schema (ddl-auto: validate).
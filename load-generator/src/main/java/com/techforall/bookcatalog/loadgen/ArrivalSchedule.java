@@ -0,0 +1,51 @@
+package com.techforall.bookcatalog.loadgen;
+
+import java.util.SplittableRandom;
+
+
+/**
+ * Intended start times of an open-model workload: requests arrive at the target rate regardless of
+ * how fast earlier ones complete. With the same seed the schedule is identical between runs.
+ */
+public final class ArrivalSchedule {
+
+    public enum Process {
+        /**
+         * Exponentially distributed gaps, as independent users produce.
+         */
+        POISSON,
+
+        /**
+         * Evenly spaced requests.
+         */
+        UNIFORM
+    }
+
+    private final Process process;
+    private final double meanGapNanos;
+    private final SplittableRandom random;
+    private long arrivals;
+    private double offsetNanos;
+
+    public ArrivalSchedule(Process process, double ratePerSecond, long seed) {
+        if (ratePerSecond <= 0) {
+            throw new IllegalArgumentException("The arrival rate must be positive");
+        }
+        this.process = process;
+        this.meanGapNanos = 1_000_000_000.0 / ratePerSecond;
+        this.random = new SplittableRandom(seed);
+    }
+
+    /**
+     * Offset of the next arrival from the start of the run.
+     */
+    public long nextOffsetNanos() {
+        if (process == Process.UNIFORM) {
+            return Math.round(arrivals++ * meanGapNanos);
+        }
+        long offset = Math.round(offsetNanos);
+        offsetNanos += -Math.log(1.0 - random.nextDouble()) * meanGapNanos;
+        arrivals++;
+        return offset;
+    }
+}
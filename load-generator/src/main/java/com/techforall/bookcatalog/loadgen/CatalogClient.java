@@ -0,0 +1,79 @@
+package com.techforall.bookcatalog.loadgen;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+
+/**
+ * Thin JSON client for the catalog API. HTTP/1.1 keeps the connection handling comparable to
+ * common load balancers and avoids an h2c upgrade attempt on every new connection.
+ */
+public class CatalogClient {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final URI baseUrl;
+    private final Duration timeout;
+    private final HttpClient httpClient;
+
+    public CatalogClient(URI baseUrl, Duration timeout) {
+        this.baseUrl = baseUrl;
+        this.timeout = timeout;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(timeout)
+                .build();
+    }
+
+    public HttpRequest get(String path) {
+        return request(path).GET().build();
+    }
+
+    public HttpRequest post(String path, Object body) {
+        return request(path).header("Content-Type", "application/json").POST(jsonBody(body)).build();
+    }
+
+    public HttpRequest patch(String path, Object body) {
+        return request(path).header("Content-Type", "application/json").method("PATCH", jsonBody(body)).build();
+    }
+
+    /**
+     * Sends the request and returns its status, discarding the body.
+     */
+    public int send(HttpRequest request) throws IOException, InterruptedException {
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    /**
+     * Sends the request and parses the body, failing on any status other than 2xx.
+     */
+    public JsonNode exchange(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() / 100 != 2) {
+            throw new IOException(request.method() + " " + request.uri() + " returned " + response.statusCode()
+                    + ": " + new String(response.body()));
+        }
+        return MAPPER.readTree(response.body());
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(baseUrl.resolve(path))
+                .timeout(timeout)
+                .header("Accept", "application/json");
+    }
+
+    private static HttpRequest.BodyPublisher jsonBody(Object body) {
+        try {
+            return HttpRequest.BodyPublishers.ofByteArray(MAPPER.writeValueAsBytes(body));
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Cannot serialize request body", e);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.techforall.bookcatalog.loadgen;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.net.http.HttpRequest;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+
+/**
+ * Creates a synthetic catalog through the public API, so it works against H2 and PostgreSQL alike.
+ * The request bodies come from the seed alone; only the sending is concurrent. An instance that
+ * already holds at least the requested number of books is reused as it is.
+ */
+public class CatalogSeeder {
+
+    private static final int SEED_CONCURRENCY = 32;
+    private static final int PAGE_SIZE = 500;
+    private static final String[] WORDS = {
+            "Silent", "River", "Empire", "Glass", "Winter", "Garden", "Iron", "Shadow", "Northern", "Letters",
+            "Ocean", "Memory", "Crown", "Paper", "Midnight", "Harbor", "Golden", "Stone", "Distant", "Light"
+    };
+
+    private final CatalogClient client;
+    private final LoadTestConfig config;
+
+    public CatalogSeeder(CatalogClient client, LoadTestConfig config) {
+        this.client = client;
+        this.config = config;
+    }
+
+    public SeededCatalog seed() throws Exception {
+        long existing = client.exchange(client.get("/books?size=1")).get("totalElements").asLong();
+        if (existing >= config.books()) {
+            return new SeededCatalog(existingBookIds(), true);
+        }
+        if (existing > 0) {
+            throw new IllegalStateException("The instance holds " + existing + " books, fewer than --books="
+                    + config.books() + "; start from an empty database so runs stay comparable");
+        }
+
+        Random random = new Random(config.seed());
+        List<Map<String, Object>> authors = new ArrayList<>(config.authors());
+        for (int i = 0; i < config.authors(); i++) {
+            Map<String, Object> author = new LinkedHashMap<>();
+            author.put("name", WORDS[random.nextInt(WORDS.length)]);
+            author.put("surname", "Author" + i);
+            author.put("birthYear", 1900 + random.nextInt(100));
+            authors.add(author);
+        }
+        List<Long> authorIds = createAll("/authors", authors);
+
+        List<Map<String, Object>> books = new ArrayList<>(config.books());
+        for (int i = 0; i < config.books(); i++) {
+            Map<String, Object> book = new LinkedHashMap<>();
+            book.put("title", WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)] + " " + i);
+            List<Long> bookAuthors = new ArrayList<>();
+            int authorCount = 1 + random.nextInt(3);
+            for (int a = 0; a < authorCount; a++) {
+                bookAuthors.add(authorIds.get(random.nextInt(authorIds.size())));
+            }
+            book.put("authorIds", bookAuthors);
+            book.put("publisher", "Publisher " + random.nextInt(50));
+            book.put("publishedDate", LocalDate.of(1950, 1, 1).plusDays(random.nextInt(365 * 70)).toString());
+            books.add(book);
+        }
+        List<Long> bookIds = createAll("/books", books);
+        Collections.sort(bookIds);
+        return new SeededCatalog(bookIds, false);
+    }
+
+    private List<Long> createAll(String path, List<Map<String, Object>> bodies) throws Exception {
+        Semaphore permits = new Semaphore(SEED_CONCURRENCY);
+        List<Future<Long>> created = new ArrayList<>(bodies.size());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Map<String, Object> body : bodies) {
+                HttpRequest request = client.post(path, body);
+                permits.acquire();
+                created.add(executor.submit(() -> {
+                    try {
+                        return client.exchange(request).get("id").asLong();
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+        }
+        List<Long> ids = new ArrayList<>(created.size());
+        for (Future<Long> id : created) {
+            try {
+                ids.add(id.get());
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Seeding " + path + " failed: " + e.getCause().getMessage(), e.getCause());
+            }
+        }
+        return ids;
+    }
+
+    private List<Long> existingBookIds() throws Exception {
+        List<Long> ids = new ArrayList<>(config.books());
+        for (int page = 0; ids.size() < config.books(); page++) {
+            JsonNode response = client.exchange(client.get("/books?fields=id&sort=id&size=" + PAGE_SIZE + "&page=" + page));
+            for (JsonNode book : response.get("content")) {
+                if (ids.size() < config.books()) {
+                    ids.add(book.get("id").asLong());
+                }
+            }
+            if (response.get("last").asBoolean()) {
+                break;
+            }
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,39 @@
+package com.techforall.bookcatalog.loadgen;
+
+
+/**
+ * Seeds a synthetic catalog into a running instance, drives the configured scenario against it at
+ * an open-model arrival rate and writes the results. See {@link LoadTestConfig#USAGE}.
+ */
+public final class LoadGenerator {
+
+    private LoadGenerator() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 1 && (args[0].equals("--help") || args[0].equals("-h"))) {
+            System.out.print(LoadTestConfig.USAGE);
+            return;
+        }
+        LoadTestConfig config;
+        try {
+            config = LoadTestConfig.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.print(LoadTestConfig.USAGE);
+            System.exit(2);
+            return;
+        }
+
+        CatalogClient client = new CatalogClient(config.baseUrl(), config.timeout());
+        long seedingStarted = System.nanoTime();
+        SeededCatalog catalog = new CatalogSeeder(client, config).seed();
+        System.out.printf("%s %d books in %.1fs%n", catalog.reused() ? "Reusing" : "Seeded",
+                catalog.bookIds().size(), (System.nanoTime() - seedingStarted) / 1e9);
+
+        System.out.printf("Running %s at %.0f/s for %ds after %ds of warmup%n", config.scenario(), config.rate(),
+                config.duration().toSeconds(), config.warmup().toSeconds());
+        LoadTestResult result = new OpenModelRunner(client, config).run(catalog);
+        new ResultWriter(System.out).write(result);
+    }
+}
@@ -0,0 +1,113 @@
+package com.techforall.bookcatalog.loadgen;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+
+/**
+ * Load test settings, parsed from {@code --name=value} arguments.
+ */
+public record LoadTestConfig(
+        URI baseUrl,
+        double rate,
+        Duration duration,
+        Duration warmup,
+        Scenario scenario,
+        ArrivalSchedule.Process arrivals,
+        int authors,
+        int books,
+        long seed,
+        int maxConcurrency,
+        Duration timeout,
+        Path output,
+        Path resultsCsv,
+        String label) {
+
+    static final String USAGE = """
+            Usage: java -jar load-generator.jar [--name=value ...]
+
+              --base-url=http://localhost:8080   instance under test
+              --rate=200                         arrivals per second (open model)
+              --duration=60s                     measured time; units ms, s or m
+              --warmup=10s                       time at the same rate before measuring
+              --mix=get=90,list=8,write=2        relative weights of get, list and write
+              --arrivals=poisson                 poisson or uniform
+              --authors=200 --books=10000        synthetic catalog seeded into an empty instance
+              --seed=42                          seeds the catalog, the mix and the arrivals
+              --max-concurrency=256              requests in flight; later arrivals wait, and
+                                                 the wait counts towards their latency
+              --timeout=5s                       per request
+              --output=target/load-test/<time>   directory for summary.json, .hgrm and .hlog files
+              --results-csv=target/load-test/results.csv
+                                                 one row per operation is appended to it
+              --label=                           free text stored with the results, e.g. a commit
+            """;
+
+    private static final Pattern DURATION = Pattern.compile("(\\d+)(ms|s|m)");
+
+    public static LoadTestConfig parse(String... args) {
+        Map<String, String> values = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Invalid argument '" + arg + "', expected --name=value");
+            }
+            int separator = arg.indexOf('=');
+            values.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+
+        LoadTestConfig config = new LoadTestConfig(
+                URI.create(stripTrailingSlash(take(values, "base-url", "http://localhost:8080"))),
+                Double.parseDouble(take(values, "rate", "200")),
+                duration(take(values, "duration", "60s")),
+                duration(take(values, "warmup", "10s")),
+                Scenario.parse(take(values, "mix", "get=90,list=8,write=2")),
+                ArrivalSchedule.Process.valueOf(take(values, "arrivals", "poisson").toUpperCase(Locale.ROOT)),
+                Integer.parseInt(take(values, "authors", "200")),
+                Integer.parseInt(take(values, "books", "10000")),
+                Long.parseLong(take(values, "seed", "42")),
+                Integer.parseInt(take(values, "max-concurrency", "256")),
+                duration(take(values, "timeout", "5s")),
+                Path.of(take(values, "output", "target/load-test/"
+                        + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")))),
+                Path.of(take(values, "results-csv", "target/load-test/results.csv")),
+                take(values, "label", ""));
+
+        if (!values.isEmpty()) {
+            throw new IllegalArgumentException("Unknown option(s): " + String.join(", ", values.keySet()));
+        }
+        if (config.rate <= 0 || config.authors < 1 || config.books < 1 || config.maxConcurrency < 1) {
+            throw new IllegalArgumentException("rate, authors, books and max-concurrency must be positive");
+        }
+        return config;
+    }
+
+    private static String take(Map<String, String> values, String name, String defaultValue) {
+        String value = values.remove(name);
+        return value != null ? value : defaultValue;
+    }
+
+    private static String stripTrailingSlash(String url) {
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+
+    static Duration duration(String value) {
+        Matcher matcher = DURATION.matcher(value);
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("Invalid duration '" + value + "', expected e.g. 500ms, 30s or 2m");
+        }
+        long amount = Long.parseLong(matcher.group(1));
+        return switch (matcher.group(2)) {
+            case "ms" -> Duration.ofMillis(amount);
+            case "s" -> Duration.ofSeconds(amount);
+            default -> Duration.ofMinutes(amount);
+        };
+    }
+}
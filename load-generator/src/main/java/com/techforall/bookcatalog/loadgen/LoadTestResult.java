@@ -0,0 +1,39 @@
+package com.techforall.bookcatalog.loadgen;
+
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+
+
+/**
+ * Everything a run measured. Latency histograms hold microseconds; only successful requests are
+ * recorded in them, failures are counted in {@code errors}.
+ */
+public record LoadTestResult(
+        LoadTestConfig config,
+        SeededCatalog catalog,
+        long startedAtMillis,
+        double measuredSeconds,
+        Map<Operation, Histogram> corrected,
+        Map<Operation, Histogram> uncorrected,
+        Map<Operation, Long> errors,
+        String firstError) {
+
+    public Histogram correctedTotal() {
+        return merge(corrected);
+    }
+
+    public Histogram uncorrectedTotal() {
+        return merge(uncorrected);
+    }
+
+    public long errorTotal() {
+        return errors.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    private static Histogram merge(Map<Operation, Histogram> histograms) {
+        Histogram total = new Histogram(3);
+        histograms.values().forEach(total::add);
+        return total;
+    }
+}
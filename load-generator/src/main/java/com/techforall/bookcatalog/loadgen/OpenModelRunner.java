@@ -0,0 +1,187 @@
+package com.techforall.bookcatalog.loadgen;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+
+/**
+ * Sends requests at their scheduled arrival times whether or not earlier requests have completed,
+ * and measures each latency from the scheduled time rather than from the moment it was sent. A
+ * stalled server therefore shows up as the queueing delay real users would see, instead of being
+ * hidden by a load generator that waits for it (coordinated omission). The time from sending to
+ * completion is recorded as well, as the uncorrected service time.
+ */
+public class OpenModelRunner {
+
+    static final String INTERVAL_LOG = "latency.hlog";
+    private static final int LIST_PAGE_SIZE = 20;
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final CatalogClient client;
+    private final LoadTestConfig config;
+    private final Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+    private final AtomicLong inFlight = new AtomicLong();
+    private final AtomicReference<String> firstError = new AtomicReference<>();
+
+    public OpenModelRunner(CatalogClient client, LoadTestConfig config) {
+        this.client = client;
+        this.config = config;
+        for (Operation operation : config.scenario().operations()) {
+            stats.put(operation, new OperationStats());
+        }
+    }
+
+    public LoadTestResult run(SeededCatalog catalog) throws IOException {
+        long warmupNanos = config.warmup().toNanos();
+        long endNanos = warmupNanos + config.duration().toNanos();
+        ArrivalSchedule schedule = new ArrivalSchedule(config.arrivals(), config.rate(), config.seed());
+        SplittableRandom choices = new SplittableRandom(config.seed() + 1);
+        Semaphore permits = new Semaphore(config.maxConcurrency());
+
+        Files.createDirectories(config.output());
+        long startMillis = System.currentTimeMillis();
+        long start = System.nanoTime();
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor();
+        try (PrintStream logStream = new PrintStream(
+                Files.newOutputStream(config.output().resolve(INTERVAL_LOG)), false, StandardCharsets.UTF_8)) {
+            HistogramLogWriter intervalLog = new HistogramLogWriter(logStream);
+            intervalLog.outputComment("Latency in microseconds from the scheduled start, one interval per operation tag");
+            intervalLog.outputLogFormatVersion();
+            intervalLog.outputStartTime(startMillis);
+            intervalLog.setBaseTime(startMillis);
+            intervalLog.outputLegend();
+
+            reporter.scheduleAtFixedRate(() -> collectInterval(intervalLog, start, warmupNanos),
+                    1, 1, TimeUnit.SECONDS);
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (long offset = schedule.nextOffsetNanos(); offset < endNanos; offset = schedule.nextOffsetNanos()) {
+                    Operation operation = config.scenario().pick(choices.nextDouble());
+                    HttpRequest request = requestFor(operation, catalog.bookIds(), choices);
+                    long scheduled = start + offset;
+                    long wait = scheduled - System.nanoTime();
+                    if (wait > 0) {
+                        LockSupport.parkNanos(wait);
+                    }
+                    boolean measured = offset >= warmupNanos;
+                    inFlight.incrementAndGet();
+                    executor.execute(() -> execute(operation, request, scheduled, measured, permits));
+                }
+            }
+            reporter.shutdown();
+            reporter.awaitTermination(5, TimeUnit.SECONDS);
+            collectInterval(intervalLog, start, warmupNanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for the last requests", e);
+        } finally {
+            reporter.shutdownNow();
+        }
+
+        Map<Operation, Histogram> corrected = new EnumMap<>(Operation.class);
+        Map<Operation, Histogram> uncorrected = new EnumMap<>(Operation.class);
+        Map<Operation, Long> errors = new EnumMap<>(Operation.class);
+        stats.forEach((operation, operationStats) -> {
+            corrected.put(operation, operationStats.corrected);
+            uncorrected.put(operation, operationStats.uncorrected);
+            errors.put(operation, operationStats.errors.sum());
+        });
+        return new LoadTestResult(config, catalog, startMillis, config.duration().toNanos() / 1e9,
+                corrected, uncorrected, errors, firstError.get());
+    }
+
+    private HttpRequest requestFor(Operation operation, List<Long> bookIds, SplittableRandom choices) {
+        long bookId = bookIds.get(choices.nextInt(bookIds.size()));
+        return switch (operation) {
+            case GET -> client.get("/books/" + bookId);
+            case LIST -> client.get("/books?size=" + LIST_PAGE_SIZE + "&page="
+                    + choices.nextInt(Math.max(1, bookIds.size() / LIST_PAGE_SIZE)));
+            case WRITE -> client.patch("/books/" + bookId, Map.of("publisher", "Publisher " + choices.nextInt(50)));
+        };
+    }
+
+    private void execute(Operation operation, HttpRequest request, long scheduled, boolean measured, Semaphore permits) {
+        OperationStats operationStats = stats.get(operation);
+        permits.acquireUninterruptibly();
+        try {
+            long sent = System.nanoTime();
+            int status = client.send(request);
+            long completed = System.nanoTime();
+            if (!measured) {
+                return;
+            }
+            if (status / 100 == 2) {
+                operationStats.correctedRecorder.recordValue(toMicros(completed - scheduled));
+                operationStats.uncorrectedRecorder.recordValue(toMicros(completed - sent));
+            } else {
+                operationStats.errors.increment();
+                firstError.compareAndSet(null, request.method() + " " + request.uri() + " returned " + status);
+            }
+        } catch (IOException e) {
+            if (measured) {
+                operationStats.errors.increment();
+                firstError.compareAndSet(null, request.method() + " " + request.uri() + " failed: " + e);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            permits.release();
+            inFlight.decrementAndGet();
+        }
+    }
+
+    private synchronized void collectInterval(HistogramLogWriter intervalLog, long start, long warmupNanos) {
+        Histogram all = new Histogram(SIGNIFICANT_DIGITS);
+        stats.forEach((operation, operationStats) -> {
+            Histogram interval = operationStats.correctedRecorder.getIntervalHistogram();
+            operationStats.corrected.add(interval);
+            operationStats.uncorrected.add(operationStats.uncorrectedRecorder.getIntervalHistogram());
+            all.add(interval);
+            if (interval.getTotalCount() > 0) {
+                interval.setTag(operation.label());
+                intervalLog.outputIntervalHistogram(interval);
+            }
+        });
+
+        long elapsed = System.nanoTime() - start;
+        if (elapsed < warmupNanos) {
+            System.out.printf("%4ds  warming up, in flight %d%n", TimeUnit.NANOSECONDS.toSeconds(elapsed), inFlight.get());
+        } else {
+            System.out.printf("%4ds  %6d ok  p50 %8.2f ms  p99 %8.2f ms  max %8.2f ms  in flight %d%n",
+                    TimeUnit.NANOSECONDS.toSeconds(elapsed), all.getTotalCount(),
+                    all.getValueAtPercentile(50) / 1000.0, all.getValueAtPercentile(99) / 1000.0,
+                    all.getMaxValue() / 1000.0, inFlight.get());
+        }
+    }
+
+    private static long toMicros(long nanos) {
+        return Math.max(1, TimeUnit.NANOSECONDS.toMicros(nanos));
+    }
+
+    private static final class OperationStats {
+        private final Recorder correctedRecorder = new Recorder(SIGNIFICANT_DIGITS);
+        private final Recorder uncorrectedRecorder = new Recorder(SIGNIFICANT_DIGITS);
+        private final Histogram corrected = new Histogram(SIGNIFICANT_DIGITS);
+        private final Histogram uncorrected = new Histogram(SIGNIFICANT_DIGITS);
+        private final LongAdder errors = new LongAdder();
+    }
+}
@@ -0,0 +1,39 @@
+package com.techforall.bookcatalog.loadgen;
+
+import java.util.Locale;
+
+
+/**
+ * The request types a scenario mixes, named as they appear in {@code --mix} and in the results.
+ */
+public enum Operation {
+
+    /**
+     * {@code GET /books/{id}} of a random seeded book.
+     */
+    GET,
+
+    /**
+     * {@code GET /books?page={n}&size=20} of a random page.
+     */
+    LIST,
+
+    /**
+     * {@code PATCH /books/{id}} changing the publisher of a random seeded book, so the catalog size
+     * stays the same between runs.
+     */
+    WRITE;
+
+    public String label() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    public static Operation fromLabel(String label) {
+        for (Operation operation : values()) {
+            if (operation.label().equals(label.trim().toLowerCase(Locale.ROOT))) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown operation '" + label + "', expected one of get, list, write");
+    }
+}
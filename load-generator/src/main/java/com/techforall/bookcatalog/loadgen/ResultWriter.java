@@ -0,0 +1,184 @@
+package com.techforall.bookcatalog.loadgen;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+
+/**
+ * Writes a run's results so that runs can be compared:
+ * <ul>
+ *   <li>{@code summary.json} with the settings and per-operation percentiles</li>
+ *   <li>{@code <operation>.hgrm} percentile distributions, loadable by the HdrHistogram plotter</li>
+ *   <li>one row per operation appended to the results CSV; a run is compared with the previous row
+ *       of the same scenario, rate, duration, catalog size and seed</li>
+ * </ul>
+ */
+public class ResultWriter {
+
+    static final String SUMMARY = "summary.json";
+    static final String CSV_HEADER = "date,label,mix,arrivals,rate,duration_s,books,seed,operation,"
+            + "count,errors,throughput,p50_ms,p90_ms,p99_ms,p999_ms,max_ms,uncorrected_p99_ms";
+    private static final int KEY_COLUMNS_FROM = 2;
+    private static final int KEY_COLUMNS_TO = 9;
+    private static final int THROUGHPUT_COLUMN = 11;
+    private static final int P99_COLUMN = 14;
+
+    public record Percentiles(double p50, double p90, double p99, double p999, double p9999, double max) {
+
+        static Percentiles of(Histogram histogram) {
+            return new Percentiles(millis(histogram, 50), millis(histogram, 90), millis(histogram, 99),
+                    millis(histogram, 99.9), millis(histogram, 99.99), histogram.getMaxValue() / 1000.0);
+        }
+
+        private static double millis(Histogram histogram, double percentile) {
+            return histogram.getValueAtPercentile(percentile) / 1000.0;
+        }
+    }
+
+    public record OperationSummary(String operation, long count, long errors, double throughput,
+                                   Percentiles latencyMillis, Percentiles serviceTimeMillis) {
+    }
+
+    public record Summary(String startedAt, String label, String baseUrl, String mix, String arrivals,
+                          double rate, long durationSeconds, long warmupSeconds, int books, boolean catalogReused,
+                          long seed, int maxConcurrency, List<OperationSummary> operations, String firstError) {
+    }
+
+    private final PrintStream out;
+
+    public ResultWriter(PrintStream out) {
+        this.out = out;
+    }
+
+    public void write(LoadTestResult result) throws IOException {
+        LoadTestConfig config = result.config();
+        List<OperationSummary> operations = new ArrayList<>();
+        for (Operation operation : result.corrected().keySet()) {
+            Histogram histogram = result.corrected().get(operation);
+            operations.add(summarize(operation.label(), histogram, result.uncorrected().get(operation),
+                    result.errors().get(operation), result.measuredSeconds()));
+            writeDistribution(config.output().resolve(operation.label() + ".hgrm"), histogram);
+        }
+        Histogram total = result.correctedTotal();
+        operations.add(summarize("all", total, result.uncorrectedTotal(), result.errorTotal(), result.measuredSeconds()));
+        writeDistribution(config.output().resolve("all.hgrm"), total);
+
+        Summary summary = new Summary(Instant.ofEpochMilli(result.startedAtMillis()).toString(), config.label(),
+                config.baseUrl().toString(), config.scenario().toString(), config.arrivals().name().toLowerCase(Locale.ROOT),
+                config.rate(), config.duration().toSeconds(), config.warmup().toSeconds(), result.catalog().bookIds().size(),
+                result.catalog().reused(), config.seed(), config.maxConcurrency(), operations, result.firstError());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(config.output().resolve(SUMMARY).toFile(), summary);
+
+        printTable(summary);
+        appendCsv(config.resultsCsv(), summary);
+        out.printf("%nResults in %s%n", config.output().toAbsolutePath());
+    }
+
+    private static OperationSummary summarize(String name, Histogram corrected, Histogram uncorrected,
+                                              long errors, double seconds) {
+        return new OperationSummary(name, corrected.getTotalCount(), errors,
+                round(corrected.getTotalCount() / seconds), Percentiles.of(corrected), Percentiles.of(uncorrected));
+    }
+
+    private static void writeDistribution(Path file, Histogram histogram) throws IOException {
+        try (PrintStream stream = new PrintStream(Files.newOutputStream(file), false, StandardCharsets.UTF_8)) {
+            // Values are microseconds; the scaling ratio prints milliseconds.
+            histogram.outputPercentileDistribution(stream, 1000.0);
+        }
+    }
+
+    private void printTable(Summary summary) {
+        out.printf("%n%s at %.0f/s (%s arrivals) for %ds, %d books%n", summary.mix(), summary.rate(),
+                summary.arrivals(), summary.durationSeconds(), summary.books());
+        out.printf("%-9s %9s %7s %10s %9s %9s %9s %9s %9s   %s%n", "operation", "count", "errors", "req/s",
+                "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "(uncorrected p99 ms)");
+        for (OperationSummary operation : summary.operations()) {
+            Percentiles latency = operation.latencyMillis();
+            out.printf(Locale.ROOT, "%-9s %9d %7d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f   (%.2f)%n",
+                    operation.operation(), operation.count(), operation.errors(), operation.throughput(),
+                    latency.p50(), latency.p90(), latency.p99(), latency.p999(), latency.max(),
+                    operation.serviceTimeMillis().p99());
+        }
+        if (summary.firstError() != null) {
+            out.printf("First error: %s%n", summary.firstError());
+        }
+    }
+
+    private void appendCsv(Path csv, Summary summary) throws IOException {
+        List<String> previous = Files.exists(csv) ? Files.readAllLines(csv) : List.of();
+        List<String> rows = new ArrayList<>();
+        if (previous.isEmpty()) {
+            rows.add(CSV_HEADER);
+        }
+        for (OperationSummary operation : summary.operations()) {
+            Percentiles latency = operation.latencyMillis();
+            String row = String.join(",", summary.startedAt(), summary.label().replace(',', ' '), summary.mix(),
+                    summary.arrivals(), format(summary.rate()), String.valueOf(summary.durationSeconds()),
+                    String.valueOf(summary.books()), String.valueOf(summary.seed()), operation.operation(),
+                    String.valueOf(operation.count()), String.valueOf(operation.errors()), format(operation.throughput()),
+                    format(latency.p50()), format(latency.p90()), format(latency.p99()), format(latency.p999()),
+                    format(latency.max()), format(operation.serviceTimeMillis().p99()));
+            rows.add(row);
+            if (operation.operation().equals("all")) {
+                compareWithPrevious(previous, row);
+            }
+        }
+        if (csv.getParent() != null) {
+            Files.createDirectories(csv.getParent());
+        }
+        Files.write(csv, rows, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    private void compareWithPrevious(List<String> previousRows, String row) {
+        String[] current = row.split(",", -1);
+        for (int i = previousRows.size() - 1; i > 0; i--) {
+            String[] candidate = previousRows.get(i).split(",", -1);
+            if (candidate.length == current.length && sameKey(candidate, current)) {
+                out.printf("Compared with %s (%s): throughput %s, p99 %s%n", candidate[0],
+                        candidate[1].isEmpty() ? "no label" : candidate[1],
+                        change(candidate[THROUGHPUT_COLUMN], current[THROUGHPUT_COLUMN]),
+                        change(candidate[P99_COLUMN], current[P99_COLUMN]));
+                return;
+            }
+        }
+    }
+
+    private static boolean sameKey(String[] a, String[] b) {
+        for (int i = KEY_COLUMNS_FROM; i < KEY_COLUMNS_TO; i++) {
+            if (!a[i].equals(b[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String change(String before, String after) {
+        double previous = Double.parseDouble(before);
+        double current = Double.parseDouble(after);
+        if (previous == 0) {
+            return after;
+        }
+        return String.format(Locale.ROOT, "%s -> %s (%+.1f%%)", before, after, (current - previous) * 100 / previous);
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.3f", value);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 10) / 10.0;
+    }
+}
@@ -0,0 +1,82 @@
+package com.techforall.bookcatalog.loadgen;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.StringJoiner;
+
+
+/**
+ * A weighted mix of operations, e.g. {@code get=90,list=8,write=2}. Weights are relative and need
+ * not add up to 100.
+ */
+public final class Scenario {
+
+    private final Map<Operation, Integer> weights;
+    private final Operation[] operations;
+    private final double[] cumulativeShares;
+
+    private Scenario(Map<Operation, Integer> weights) {
+        this.weights = weights;
+        int total = weights.values().stream().mapToInt(Integer::intValue).sum();
+        this.operations = weights.keySet().toArray(Operation[]::new);
+        this.cumulativeShares = new double[operations.length];
+        double cumulative = 0;
+        for (int i = 0; i < operations.length; i++) {
+            cumulative += (double) weights.get(operations[i]) / total;
+            cumulativeShares[i] = cumulative;
+        }
+        cumulativeShares[operations.length - 1] = 1.0;
+    }
+
+    public static Scenario parse(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String part : mix.split(",")) {
+            String[] pair = part.split("=");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Invalid mix entry '" + part + "', expected operation=weight");
+            }
+            int weight;
+            try {
+                weight = Integer.parseInt(pair[1].trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid weight in mix entry '" + part + "'");
+            }
+            if (weight < 0) {
+                throw new IllegalArgumentException("Negative weight in mix entry '" + part + "'");
+            }
+            if (weight > 0 && weights.put(Operation.fromLabel(pair[0]), weight) != null) {
+                throw new IllegalArgumentException("Operation '" + pair[0].trim() + "' appears twice in the mix");
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("The mix needs at least one operation with a positive weight");
+        }
+        return new Scenario(weights);
+    }
+
+    /**
+     * The operation for a uniformly distributed value in [0, 1).
+     */
+    public Operation pick(double uniform) {
+        for (int i = 0; i < operations.length - 1; i++) {
+            if (uniform < cumulativeShares[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    public Operation[] operations() {
+        return operations.clone();
+    }
+
+    /**
+     * Canonical form, used to match result rows of the same scenario across runs.
+     */
+    @Override
+    public String toString() {
+        StringJoiner joiner = new StringJoiner(" ");
+        weights.forEach((operation, weight) -> joiner.add(operation.label() + "=" + weight));
+        return joiner.toString();
+    }
+}
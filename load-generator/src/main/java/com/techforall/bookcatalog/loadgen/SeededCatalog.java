@@ -0,0 +1,11 @@
+package com.techforall.bookcatalog.loadgen;
+
+import java.util.List;
+
+
+/**
+ * Ids of the books the scenario reads and writes, in ascending order so that the same seed picks
+ * the same books on every run.
+ */
+public record SeededCatalog(List<Long> bookIds, boolean reused) {
+}
@@ -0,0 +1,44 @@
+package com.techforall.bookcatalog.loadgen;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+@DisplayName("ArrivalSchedule Tests")
+class ArrivalScheduleTest {
+
+    @Test
+    @DisplayName("Should produce the same Poisson schedule for the same seed")
+    void nextOffsetNanos_ShouldBeReproducible() {
+        ArrivalSchedule first = new ArrivalSchedule(ArrivalSchedule.Process.POISSON, 500, 42);
+        ArrivalSchedule second = new ArrivalSchedule(ArrivalSchedule.Process.POISSON, 500, 42);
+
+        for (int i = 0; i < 1_000; i++) {
+            assertEquals(first.nextOffsetNanos(), second.nextOffsetNanos());
+        }
+    }
+
+    @Test
+    @DisplayName("Should average the target rate with Poisson arrivals")
+    void nextOffsetNanos_ShouldMatchRate() {
+        ArrivalSchedule schedule = new ArrivalSchedule(ArrivalSchedule.Process.POISSON, 1_000, 7);
+        int arrivals = 0;
+        while (schedule.nextOffsetNanos() < 60_000_000_000L) {
+            arrivals++;
+        }
+
+        assertEquals(60_000, arrivals, 1_000);
+    }
+
+    @Test
+    @DisplayName("Should space uniform arrivals evenly")
+    void nextOffsetNanos_ShouldSpaceUniformArrivals() {
+        ArrivalSchedule schedule = new ArrivalSchedule(ArrivalSchedule.Process.UNIFORM, 4, 0);
+
+        assertEquals(0, schedule.nextOffsetNanos());
+        assertEquals(250_000_000, schedule.nextOffsetNanos());
+        assertEquals(500_000_000, schedule.nextOffsetNanos());
+    }
+}
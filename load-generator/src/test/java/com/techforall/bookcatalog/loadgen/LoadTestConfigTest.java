@@ -0,0 +1,37 @@
+package com.techforall.bookcatalog.loadgen;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+@DisplayName("LoadTestConfig Tests")
+class LoadTestConfigTest {
+
+    @Test
+    @DisplayName("Should apply defaults and parse given options")
+    void parse_ShouldParseOptions() {
+        LoadTestConfig config = LoadTestConfig.parse("--base-url=http://localhost:9090/", "--rate=750",
+                "--duration=2m", "--warmup=500ms", "--arrivals=uniform");
+
+        assertEquals("http://localhost:9090", config.baseUrl().toString());
+        assertEquals(750, config.rate());
+        assertEquals(Duration.ofMinutes(2), config.duration());
+        assertEquals(Duration.ofMillis(500), config.warmup());
+        assertEquals(ArrivalSchedule.Process.UNIFORM, config.arrivals());
+        assertEquals("get=90 list=8 write=2", config.scenario().toString());
+        assertEquals(10_000, config.books());
+    }
+
+    @Test
+    @DisplayName("Should reject unknown options and malformed values")
+    void parse_ShouldRejectInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> LoadTestConfig.parse("--rat=5"));
+        assertThrows(IllegalArgumentException.class, () -> LoadTestConfig.parse("rate=5"));
+        assertThrows(IllegalArgumentException.class, () -> LoadTestConfig.parse("--duration=10h"));
+        assertThrows(IllegalArgumentException.class, () -> LoadTestConfig.parse("--rate=0"));
+    }
+}
@@ -0,0 +1,48 @@
+package com.techforall.bookcatalog.loadgen;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+@DisplayName("Scenario Tests")
+class ScenarioTest {
+
+    @Test
+    @DisplayName("Should pick operations in proportion to their weights")
+    void pick_ShouldFollowWeights() {
+        Scenario scenario = Scenario.parse("get=90,list=8,write=2");
+        SplittableRandom random = new SplittableRandom(1);
+        Map<Operation, Integer> picks = new EnumMap<>(Operation.class);
+
+        for (int i = 0; i < 100_000; i++) {
+            picks.merge(scenario.pick(random.nextDouble()), 1, Integer::sum);
+        }
+
+        assertEquals(90_000, picks.get(Operation.GET), 1_000);
+        assertEquals(8_000, picks.get(Operation.LIST), 500);
+        assertEquals(2_000, picks.get(Operation.WRITE), 300);
+    }
+
+    @Test
+    @DisplayName("Should print a canonical form independent of input order and spacing")
+    void toString_ShouldBeCanonical() {
+        assertEquals("get=9 list=1", Scenario.parse(" list = 1, get=9 ").toString());
+        assertEquals("get=1", Scenario.parse("get=1,write=0").toString());
+    }
+
+    @Test
+    @DisplayName("Should reject malformed mixes")
+    void parse_ShouldRejectInvalidMix() {
+        assertThrows(IllegalArgumentException.class, () -> Scenario.parse("get"));
+        assertThrows(IllegalArgumentException.class, () -> Scenario.parse("delete=5"));
+        assertThrows(IllegalArgumentException.class, () -> Scenario.parse("get=-1"));
+        assertThrows(IllegalArgumentException.class, () -> Scenario.parse("get=1,get=2"));
+        assertThrows(IllegalArgumentException.class, () -> Scenario.parse("get=0"));
+    }
+}
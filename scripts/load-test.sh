@@ -0,0 +1,72 @@
+#!/usr/bin/env bash
+#
+# Starts a fresh instance, seeds a synthetic catalog and runs an open-model load test against it
+# with the generator in load-generator/. Each run appends one row per operation to
+# docs/load-test-results.csv and is compared with the previous run of the same scenario.
+#
+# Build both jars first:
+#   mvn package -DskipTests
+#   mvn -f load-generator/pom.xml package
+#
+# Arguments are passed to the generator, e.g.
+#   scripts/load-test.sh --rate=500 --duration=2m --mix=get=90,list=8,write=2
+# (run with --help for all options).
+#
+# Environment:
+#   PORT     HTTP port of the instance under test (default 18081)
+#   DB_HOST  test against PostgreSQL (prod profile, DB_* variables); the database should be empty
+#            or hold a catalog seeded by an earlier run. An in-memory H2 database is used when unset
+#   JAVA_OPTS  extra JVM options for the instance, e.g. "-Xmx1g"
+#   RESULTS  CSV file to append to (default docs/load-test-results.csv)
+
+set -euo pipefail
+
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+PORT="${PORT:-18081}"
+RESULTS="${RESULTS:-$ROOT/docs/load-test-results.csv}"
+TIMEOUT_SECONDS=120
+WORK="$ROOT/target/load-test"
+
+JAR="$(ls "$ROOT"/target/book-catalog-*.jar 2>/dev/null | grep -v -- '-plain\.jar$' | head -1 || true)"
+GENERATOR="$ROOT/load-generator/target/load-generator.jar"
+if [[ -z "$JAR" || ! -f "$GENERATOR" ]]; then
+    echo "Build the jars first: 'mvn package -DskipTests' and 'mvn -f load-generator/pom.xml package'" >&2
+    exit 1
+fi
+COMMIT="$(git -C "$ROOT" rev-parse --short HEAD 2>/dev/null || echo unknown)"
+
+APP_ARGS=(-Dspring.profiles.active=prod "-Dserver.port=$PORT" "-DLOG_PATH=$WORK/logs")
+if [[ -z "${DB_HOST:-}" ]]; then
+    APP_ARGS+=(
+        -Dspring.datasource.url=jdbc:h2:mem:loadtest
+        -Dspring.datasource.driver-class-name=org.h2.Driver
+        -Dspring.datasource.username=sa
+        -Dspring.datasource.password=
+        -Dspring.jpa.database-platform=org.hibernate.dialect.H2Dialect
+    )
+fi
+
+mkdir -p "$WORK"
+cd "$WORK"
+rm -rf data
+
+# shellcheck disable=SC2086
+java ${JAVA_OPTS:-} "${APP_ARGS[@]}" -jar "$JAR" >"$WORK/instance.log" 2>&1 &
+pid=$!
+trap 'kill "$pid" 2>/dev/null || true; wait "$pid" 2>/dev/null || true' EXIT
+
+started=$(date +%s)
+until curl -sf -o /dev/null "http://localhost:$PORT/books"; do
+    if ! kill -0 "$pid" 2>/dev/null; then
+        echo "Instance exited before serving; see $WORK/instance.log" >&2
+        exit 1
+    fi
+    if (( $(date +%s) - started > TIMEOUT_SECONDS )); then
+        echo "No successful GET /books within ${TIMEOUT_SECONDS}s; see $WORK/instance.log" >&2
+        exit 1
+    fi
+    sleep 0.2
+done
+
+java -jar "$GENERATOR" "--base-url=http://localhost:$PORT" "--label=$COMMIT" "--results-csv=$RESULTS" \
+    "--output=$WORK/$(date -u +%Y%m%d-%H%M%S)" "$@"
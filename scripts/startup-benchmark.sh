@@ -0,0 +1,121 @@
+#!/usr/bin/env bash
+#
+# Measures the time from JVM launch to the first successful GET /books and appends the median
+# per launch mode to docs/startup-benchmark.csv, so startup can be compared across releases.
+#
+# Build the jar first with the startup profile:   mvn -Pstartup package -DskipTests
+#
+# Modes:
+#   jar      plain `java -jar`
+#   aot-cds  Spring AOT context and a CDS archive trained on the extracted jar, as in the Dockerfile
+#
+# Environment:
+#   RUNS     launches per mode (default 5)
+#   MODES    modes to measure (default "jar aot-cds")
+#   PORT     HTTP port of the benchmarked instance (default 18080)
+#   DB_HOST  benchmark against PostgreSQL (prod profile, DB_* variables); an in-memory H2
+#            database is used when unset
+#   RESULTS  CSV file to append to (default docs/startup-benchmark.csv)
+
+set -euo pipefail
+
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+RUNS="${RUNS:-5}"
+MODES="${MODES:-jar aot-cds}"
+PORT="${PORT:-18080}"
+RESULTS="${RESULTS:-$ROOT/docs/startup-benchmark.csv}"
+TIMEOUT_SECONDS=120
+WORK="$ROOT/target/startup-benchmark"
+
+JAR="$(ls "$ROOT"/target/book-catalog-*.jar 2>/dev/null | grep -v -- '-plain\.jar$' | head -1 || true)"
+if [[ -z "$JAR" ]]; then
+    echo "No jar in target/; run 'mvn -Pstartup package -DskipTests' first" >&2
+    exit 1
+fi
+VERSION="$(basename "$JAR" .jar | sed 's/^book-catalog-//')"
+COMMIT="$(git -C "$ROOT" rev-parse --short HEAD 2>/dev/null || echo unknown)"
+
+APP_ARGS=(-Dspring.profiles.active=prod "-Dserver.port=$PORT")
+if [[ -z "${DB_HOST:-}" ]]; then
+    APP_ARGS+=(
+        -Dspring.datasource.url=jdbc:h2:mem:benchmark
+        -Dspring.datasource.driver-class-name=org.h2.Driver
+        -Dspring.datasource.username=sa
+        -Dspring.datasource.password=
+        -Dspring.jpa.database-platform=org.hibernate.dialect.H2Dialect
+    )
+fi
+
+rm -rf "$WORK"
+mkdir -p "$WORK"
+cd "$WORK"
+
+prepare_aot_cds() {
+    java -Djarmode=tools -jar "$JAR" extract --destination aot-cds >/dev/null
+    local jar="aot-cds/$(basename "$JAR")"
+    echo "Training CDS archive..." >&2
+    java -XX:ArchiveClassesAtExit=aot-cds/app.jsa -Dspring.context.exit=onRefresh -Dspring.aot.enabled=true \
+        "${APP_ARGS[@]}" -jar "$jar" >"$WORK/aot-cds-training.log" 2>&1
+    rm -rf data
+}
+
+launch_command() {
+    case "$1" in
+        jar) echo java "${APP_ARGS[@]}" -jar "$JAR" ;;
+        aot-cds) echo java -XX:SharedArchiveFile=aot-cds/app.jsa -Dspring.aot.enabled=true \
+            "${APP_ARGS[@]}" -jar "aot-cds/$(basename "$JAR")" ;;
+        *) echo "Unknown mode '$1'" >&2; exit 1 ;;
+    esac
+}
+
+# Prints the milliseconds until GET /books first answers 200.
+measure() {
+    local started pid elapsed
+    rm -rf data
+    started=$(date +%s%N)
+    $(launch_command "$1") >>"$WORK/$1.log" 2>&1 &
+    pid=$!
+    until curl -sf -o /dev/null "http://localhost:$PORT/books"; do
+        if ! kill -0 "$pid" 2>/dev/null; then
+            echo "Instance exited before serving; see $WORK/$1.log" >&2
+            exit 1
+        fi
+        if (( ($(date +%s%N) - started) / 1000000000 > TIMEOUT_SECONDS )); then
+            kill "$pid"
+            echo "No successful GET /books within ${TIMEOUT_SECONDS}s; see $WORK/$1.log" >&2
+            exit 1
+        fi
+        sleep 0.05
+    done
+    elapsed=$(( ($(date +%s%N) - started) / 1000000 ))
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    echo "$elapsed"
+}
+
+if [[ ! -f "$RESULTS" ]]; then
+    echo "date,version,commit,mode,runs,median_ms,min_ms,max_ms" >"$RESULTS"
+fi
+
+for mode in $MODES; do
+    if [[ "$mode" == aot-cds ]]; then
+        prepare_aot_cds
+    fi
+
+    timings=()
+    for ((run = 1; run <= RUNS; run++)); do
+        timings+=("$(measure "$mode")")
+        echo "$mode run $run: ${timings[-1]} ms" >&2
+    done
+
+    sorted=($(printf '%s\n' "${timings[@]}" | sort -n))
+    median=${sorted[$(( RUNS / 2 ))]}
+    previous=$(awk -F, -v mode="$mode" '$4 == mode { median = $6 } END { print median }' "$RESULTS")
+
+    echo "$(date -u +%Y-%m-%dT%H:%M:%SZ),$VERSION,$COMMIT,$mode,$RUNS,$median,${sorted[0]},${sorted[-1]}" >>"$RESULTS"
+    if [[ -n "$previous" ]]; then
+        echo "$mode: median ${median} ms (previous ${previous} ms, $(( (median - previous) * 100 / previous ))%)"
+    else
+        echo "$mode: median ${median} ms"
+    fi
+done
@@ -1,14 +1,50 @@
 package com.techforall.bookcatalog;
 
+import com.techforall.bookcatalog.config.SchedulingConfig;
+import com.techforall.bookcatalog.export.ExportManifest;
+import com.techforall.bookcatalog.service.CatalogExportService;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Arrays;
 
 
 @SpringBootApplication
+@Slf4j
 public class BookCatalogApplication {
 
+    static final String EXPORT_COMMAND = "export";
+
     public static void main(String[] args) {
+        if (args.length > 0 && EXPORT_COMMAND.equals(args[0])) {
+            System.exit(export(Arrays.copyOfRange(args, 1, args.length)));
+        }
         SpringApplication.run(BookCatalogApplication.class, args);
     }
-}
 
+    /**
+     * {@code java -jar app.jar export [--catalog.export.directory=...]}: runs one full catalog export
+     * without starting the web server, scheduled jobs or startup rebuilds, and returns the process
+     * exit code.
+     */
+    static int export(String[] args) {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(BookCatalogApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles(SchedulingConfig.EXPORT_PROFILE)
+                .run(args);
+        int exitCode;
+        try {
+            ExportManifest manifest = context.getBean(CatalogExportService.class).export();
+            log.info("Export {} written: {} rows in {} files", manifest.id(), manifest.rows(), manifest.files().size());
+            exitCode = 0;
+        } catch (RuntimeException e) {
+            exitCode = 1;
+        }
+        int code = exitCode;
+        return SpringApplication.exit(context, () -> code);
+    }
+}
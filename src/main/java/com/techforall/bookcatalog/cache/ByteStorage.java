@@ -0,0 +1,56 @@
+package com.techforall.bookcatalog.cache;
+
+import com.techforall.bookcatalog.config.ResponseCacheProperties;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+
+
+/**
+ * An immutable response body, held either in a heap array or in a direct buffer.
+ */
+public sealed interface ByteStorage {
+
+    static ByteStorage of(byte[] bytes, ResponseCacheProperties.Storage storage) {
+        if (storage == ResponseCacheProperties.Storage.HEAP) {
+            return new Heap(bytes);
+        }
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length).put(bytes).flip();
+        return new OffHeap(buffer.asReadOnlyBuffer());
+    }
+
+    int size();
+
+    void writeTo(OutputStream out) throws IOException;
+
+
+    record Heap(byte[] bytes) implements ByteStorage {
+
+        @Override
+        public int size() {
+            return bytes.length;
+        }
+
+        @Override
+        public void writeTo(OutputStream out) throws IOException {
+            out.write(bytes);
+        }
+    }
+
+
+    record OffHeap(ByteBuffer buffer) implements ByteStorage {
+
+        @Override
+        public int size() {
+            return buffer.capacity();
+        }
+
+        @Override
+        public void writeTo(OutputStream out) throws IOException {
+            // A duplicate per write keeps concurrent readers' positions apart.
+            Channels.newChannel(out).write(buffer.duplicate());
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.techforall.bookcatalog.cache;
+
+
+/**
+ * Final bytes of a {@code GET /books/{id}} or {@code GET /authors/{id}} response, plain and gzip
+ * compressed, with the version-based ETag they were served with.
+ */
+public record CachedResponse(String eTag, String contentType, ByteStorage body, ByteStorage gzipBody) {
+
+    public int size() {
+        return body.size() + gzipBody.size();
+    }
+}
@@ -0,0 +1,144 @@
+package com.techforall.bookcatalog.cache;
+
+import com.techforall.bookcatalog.model.entity.ChangeLogEntry;
+import com.techforall.bookcatalog.service.ResponseCacheService;
+import com.techforall.bookcatalog.utility.ETags;
+import com.techforall.bookcatalog.utility.SnapshotFallback;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+
+/**
+ * Serves {@code GET /books/{id}} and {@code GET /authors/{id}} from the {@link ResponseCacheService}.
+ * A hit writes the stored bytes straight to the response, gzip compressed when the client accepts
+ * it, without reaching the controller, the database or Jackson. A miss runs normally and its
+ * {@code 200} response is stored. Requests with parameters, such as sparse fieldsets, and
+ * responses served from the catalog snapshot are never cached.
+ */
+@Slf4j
+public class ResponseCacheFilter extends OncePerRequestFilter {
+
+    private static final Pattern PATH = Pattern.compile("/(books|authors)/(\\d{1,18})");
+
+    private final ResponseCacheService responseCacheService;
+
+    public ResponseCacheFilter(ResponseCacheService responseCacheService) {
+        this.responseCacheService = responseCacheService;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.GET.matches(request.getMethod())
+                || !request.getParameterMap().isEmpty()
+                || !PATH.matcher(path(request)).matches()
+                || !acceptsJson(request.getHeader(HttpHeaders.ACCEPT));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        Matcher matcher = PATH.matcher(path(request));
+        matcher.matches();
+        ChangeLogEntry.EntityType type = matcher.group(1).equals("books")
+                ? ChangeLogEntry.EntityType.BOOK
+                : ChangeLogEntry.EntityType.AUTHOR;
+        Long id = Long.valueOf(matcher.group(2));
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        Optional<CachedResponse> cached = responseCacheService.get(type, id);
+        if (cached.isPresent()) {
+            log.debug("Serving {} {} from the response cache", type, id);
+            write(request, response, cached.get());
+            return;
+        }
+
+        long stamp = responseCacheService.stamp();
+        ContentCachingResponseWrapper cachingResponse = new ContentCachingResponseWrapper(response);
+        try {
+            filterChain.doFilter(request, cachingResponse);
+            String eTag = cachingResponse.getHeader(HttpHeaders.ETAG);
+            if (cachingResponse.getStatus() == HttpStatus.OK.value() && eTag != null
+                    && cachingResponse.getHeader(SnapshotFallback.HEADER) == null) {
+                responseCacheService.put(type, id, stamp, eTag, cachingResponse.getContentType(),
+                        cachingResponse.getContentAsByteArray());
+            }
+        } finally {
+            cachingResponse.copyBodyToResponse();
+        }
+    }
+
+    private static void write(HttpServletRequest request, HttpServletResponse response, CachedResponse cached)
+            throws IOException {
+        boolean gzip = acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        // The compressed bytes differ from the identity body, so they must not share a strong ETag.
+        String eTag = gzip ? ETags.weak(cached.eTag()) : cached.eTag();
+        if (new ServletWebRequest(request, response).checkNotModified(eTag)) {
+            return;
+        }
+        ByteStorage body = gzip ? cached.gzipBody() : cached.body();
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(cached.contentType());
+        response.setHeader(HttpHeaders.ETAG, eTag);
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        response.setContentLength(body.size());
+        body.writeTo(response.getOutputStream());
+    }
+
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            if (!parts[0].trim().equalsIgnoreCase("gzip")) {
+                continue;
+            }
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim();
+                if (parameter.startsWith("q=")) {
+                    try {
+                        return Double.parseDouble(parameter.substring(2)) > 0;
+                    } catch (NumberFormatException e) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private static boolean acceptsJson(String accept) {
+        if (accept == null) {
+            return true;
+        }
+        try {
+            return MediaType.parseMediaTypes(accept).stream()
+                    .anyMatch(mediaType -> mediaType.isCompatibleWith(MediaType.APPLICATION_JSON));
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+    }
+
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+}
@@ -0,0 +1,26 @@
+package com.techforall.bookcatalog.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+
+@Data
+@ConfigurationProperties(prefix = "catalog.bulk")
+public class BulkProperties {
+
+    /**
+     * Rows per statement and per transaction. Keeps each transaction's locks and the IN lists
+     * short, so a large job never holds the books table for long.
+     */
+    private int chunkSize = 500;
+
+    /**
+     * Jobs running at the same time; further jobs wait as PENDING until one finishes.
+     */
+    private int maxConcurrentJobs = 2;
+
+    /**
+     * Finished jobs kept for GET /books/bulk-jobs/{id}.
+     */
+    private int retainedJobs = 100;
+}
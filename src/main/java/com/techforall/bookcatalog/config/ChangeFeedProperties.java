@@ -0,0 +1,40 @@
+package com.techforall.bookcatalog.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+
+@Data
+@ConfigurationProperties(prefix = "catalog.change-feed")
+public class ChangeFeedProperties {
+
+    /**
+     * Entries younger than this are held back from the feed. Sequence numbers are assigned at insert
+     * but become visible at commit, so a short delay keeps a slower transaction with a lower sequence
+     * from being skipped by a consumer that already moved its cursor past it.
+     */
+    private Duration visibilityDelay = Duration.ofSeconds(2);
+
+    private int defaultLimit = 100;
+
+    private int maxLimit = 1000;
+
+    private Stream stream = new Stream();
+
+
+    @Data
+    public static class Stream {
+
+        /**
+         * Events buffered per subscriber. A subscriber whose buffer fills up is disconnected and
+         * has to resume with Last-Event-ID rather than holding back the publishers.
+         */
+        private int bufferSize = 256;
+
+        private Duration heartbeatInterval = Duration.ofSeconds(15);
+
+        private Duration timeout = Duration.ofMinutes(30);
+    }
+}
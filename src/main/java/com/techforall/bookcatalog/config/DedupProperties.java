@@ -0,0 +1,34 @@
+package com.techforall.bookcatalog.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+
+@Data
+@ConfigurationProperties(prefix = "catalog.dedup")
+public class DedupProperties {
+
+    public enum Mode {
+        /**
+         * Create the book and list the near-duplicates in {@code possibleDuplicates}.
+         */
+        FLAG,
+        /**
+         * Refuse the book with 409 Conflict.
+         */
+        REJECT,
+        OFF
+    }
+
+    private Mode mode = Mode.FLAG;
+
+    /**
+     * Minimum Jaccard similarity of the title 3-gram sets for two books to count as duplicates.
+     */
+    private double similarityThreshold = 0.8;
+
+    /**
+     * Pairs listed in the full-catalog report before it stops.
+     */
+    private int maxReportPairs = 1000;
+}
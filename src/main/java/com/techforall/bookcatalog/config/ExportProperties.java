@@ -0,0 +1,34 @@
+package com.techforall.bookcatalog.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+
+
+@Data
+@ConfigurationProperties(prefix = "catalog.export")
+public class ExportProperties {
+
+    /**
+     * Each export gets its own subdirectory, named by its id.
+     */
+    private Path directory = Path.of("data/exports");
+
+    /**
+     * Ranges the book id space is split into; one file per range. More partitions than
+     * {@link #parallelism} keeps every worker busy when ids are unevenly dense.
+     */
+    private int partitions = 16;
+
+    /**
+     * Partitions exported at the same time, each holding its own connection. Keep it below the
+     * connection pool size so the API can still be served during an export.
+     */
+    private int parallelism = 4;
+
+    /**
+     * Finished exports kept for GET /books/exports/{id}.
+     */
+    private int retainedJobs = 20;
+}
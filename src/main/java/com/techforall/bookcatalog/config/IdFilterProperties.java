@@ -0,0 +1,36 @@
+package com.techforall.bookcatalog.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+
+@Data
+@ConfigurationProperties(prefix = "catalog.id-filter")
+public class IdFilterProperties {
+
+    /**
+     * Answer lookups of book and author ids that definitely do not exist with 404 without querying
+     * the database.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Share of lookups for missing ids that still reach the database.
+     */
+    private double falsePositiveRate = 0.01;
+
+    /**
+     * Each filter is sized for this many times the ids present when it is built, so the false
+     * positive rate holds while the catalog grows until the next rebuild.
+     */
+    private double headroom = 2.0;
+
+    /**
+     * Rebuilds forget deleted ids and cover ids created through other instances. A rebuild vouches
+     * for ids up to the highest one the previous rebuild read, so this must outlast the longest
+     * insert transaction.
+     */
+    private Duration rebuildInterval = Duration.ofMinutes(10);
+}
@@ -0,0 +1,32 @@
+package com.techforall.bookcatalog.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.techforall.bookcatalog.idempotency.IdempotencyFilter;
+import com.techforall.bookcatalog.service.IdempotencyService;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+
+@Configuration
+@EnableConfigurationProperties(IdempotencyProperties.class)
+public class IdempotencyConfig {
+
+
+    /**
+     * Registered either way and switched with {@code catalog.idempotency.enabled} when the servlet
+     * context starts, so the switch also works in the AOT-processed image.
+     */
+    @Bean
+    public FilterRegistrationBean<IdempotencyFilter> idempotencyFilter(
+            IdempotencyService idempotencyService, ObjectMapper objectMapper, IdempotencyProperties properties) {
+        FilterRegistrationBean<IdempotencyFilter> registration =
+                new FilterRegistrationBean<>(new IdempotencyFilter(idempotencyService, objectMapper));
+        registration.addUrlPatterns("/books", "/authors");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 20);
+        registration.setEnabled(properties.isEnabled());
+        return registration;
+    }
+}
@@ -0,0 +1,26 @@
+package com.techforall.bookcatalog.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+
+@Data
+@ConfigurationProperties(prefix = "catalog.idempotency")
+public class IdempotencyProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * How long a completed response is replayed for the same key.
+     */
+    private Duration ttl = Duration.ofHours(24);
+
+    /**
+     * How long a claim stays valid without being extended. Running claims are extended every
+     * {@code catalog.idempotency.heartbeat-interval}, so only a claim of an instance that stopped
+     * can be taken over; keep this well above the heartbeat interval.
+     */
+    private Duration inProgressTimeout = Duration.ofMinutes(1);
+}
@@ -0,0 +1,22 @@
+package com.techforall.bookcatalog.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+
+@Data
+@ConfigurationProperties(prefix = "catalog.logging")
+public class LoggingProperties {
+
+    /**
+     * Share of successful requests whose INFO and DEBUG lines are written. WARN and ERROR lines,
+     * and the completion line of every failed request, are always written.
+     */
+    private double successSampleRate = 1.0;
+
+    /**
+     * Request header carrying the caller's request id; it is echoed on the response, and one is
+     * generated when the header is absent or not a plain token.
+     */
+    private String requestIdHeader = "X-Request-Id";
+}
@@ -0,0 +1,16 @@
+package com.techforall.bookcatalog.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+
+@Data
+@ConfigurationProperties(prefix = "catalog.optimistic-lock")
+public class OptimisticLockProperties {
+
+    /**
+     * Extra attempts for updates sent without If-Match when they lose a version race. Such updates
+     * overwrite whatever they read anyway, so re-running them on fresh state is safe. 0 disables.
+     */
+    private int maxRetries = 2;
+}
@@ -0,0 +1,90 @@
+package com.techforall.bookcatalog.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.techforall.bookcatalog.monitoring.PhaseTimingFilter;
+import com.techforall.bookcatalog.monitoring.PhaseTimingInterceptor;
+import com.techforall.bookcatalog.monitoring.RequestPhase;
+import com.techforall.bookcatalog.monitoring.TimedJackson2HttpMessageConverter;
+import com.techforall.bookcatalog.monitoring.TimedPhase;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.core.env.Environment;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+
+/**
+ * {@code catalog.phase-timing.enabled} is checked when the beans are created rather than with a
+ * bean condition, which the AOT-processed image would have fixed at build time. With timing off
+ * the converter only delegates, as it does for any untimed request.
+ */
+@Configuration
+@EnableConfigurationProperties(PhaseTimingProperties.class)
+public class PhaseTimingConfig {
+
+    private static final String ENABLED_PROPERTY = "catalog.phase-timing.enabled";
+
+
+    /**
+     * Times every repository call and the public methods of {@link TimedPhase} beans.
+     */
+    @Bean
+    public static BeanPostProcessor phaseTimingPostProcessor(Environment environment) {
+        if (!environment.getProperty(ENABLED_PROPERTY, Boolean.class, true)) {
+            return new BeanPostProcessor() {
+            };
+        }
+        PhaseTimingInterceptor repositoryInterceptor = new PhaseTimingInterceptor(RequestPhase.REPOSITORY);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> repositoryFactoryBean) {
+                    repositoryFactoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, repositoryInformation) -> proxyFactory.addAdvice(repositoryInterceptor)));
+                }
+                return bean;
+            }
+
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                TimedPhase timedPhase = AnnotationUtils.findAnnotation(AopUtils.getTargetClass(bean), TimedPhase.class);
+                if (timedPhase == null) {
+                    return bean;
+                }
+                ProxyFactory proxyFactory = new ProxyFactory(bean);
+                proxyFactory.setProxyTargetClass(true);
+                proxyFactory.addAdvice(new PhaseTimingInterceptor(timedPhase.value()));
+                return proxyFactory.getProxy();
+            }
+        };
+    }
+
+
+    /**
+     * Replaces Spring Boot's Jackson converter, which backs off when this bean exists.
+     */
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        return new TimedJackson2HttpMessageConverter(objectMapper);
+    }
+
+
+    @Bean
+    public FilterRegistrationBean<PhaseTimingFilter> phaseTimingFilter(PhaseTimingProperties properties,
+                                                                       MeterRegistry meterRegistry) {
+        FilterRegistrationBean<PhaseTimingFilter> registration =
+                new FilterRegistrationBean<>(new PhaseTimingFilter(properties, meterRegistry));
+        // Inside SQL monitoring, so both Server-Timing entries are added before the body commits.
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 15);
+        registration.setEnabled(properties.isEnabled());
+        return registration;
+    }
+}
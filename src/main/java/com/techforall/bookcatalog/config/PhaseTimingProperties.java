@@ -0,0 +1,25 @@
+package com.techforall.bookcatalog.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+
+@Data
+@ConfigurationProperties(prefix = "catalog.phase-timing")
+public class PhaseTimingProperties {
+
+    /**
+     * Installs the phase interceptors and the timing filter when true.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Request header that switches phase timing on ({@code true}) or off ({@code false}) for one request.
+     */
+    private String header = "X-Server-Timing";
+
+    /**
+     * Whether requests without the header are timed.
+     */
+    private boolean defaultEnabled = false;
+}
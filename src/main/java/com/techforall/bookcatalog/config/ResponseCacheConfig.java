@@ -0,0 +1,32 @@
+package com.techforall.bookcatalog.config;
+
+import com.techforall.bookcatalog.cache.ResponseCacheFilter;
+import com.techforall.bookcatalog.service.ResponseCacheService;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+
+@Configuration
+@EnableConfigurationProperties(ResponseCacheProperties.class)
+public class ResponseCacheConfig {
+
+
+    /**
+     * Registered either way and switched with {@code catalog.response-cache.enabled} when the
+     * servlet context starts, so the switch also works in the AOT-processed image.
+     */
+    @Bean
+    public FilterRegistrationBean<ResponseCacheFilter> responseCacheFilter(ResponseCacheService responseCacheService,
+                                                                           ResponseCacheProperties properties) {
+        FilterRegistrationBean<ResponseCacheFilter> registration =
+                new FilterRegistrationBean<>(new ResponseCacheFilter(responseCacheService));
+        registration.addUrlPatterns("/books/*", "/authors/*");
+        // After SQL monitoring, so a hit still reports its (empty) Server-Timing.
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 30);
+        registration.setEnabled(properties.isEnabled());
+        return registration;
+    }
+}
@@ -0,0 +1,45 @@
+package com.techforall.bookcatalog.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+
+@Data
+@ConfigurationProperties(prefix = "catalog.response-cache")
+public class ResponseCacheProperties {
+
+    public enum Storage {
+        /**
+         * Bodies in byte arrays on the Java heap.
+         */
+        HEAP,
+        /**
+         * Bodies in direct buffers outside the heap, so a large cache adds little to GC work.
+         */
+        OFF_HEAP
+    }
+
+    private boolean enabled = true;
+
+    /**
+     * Cached books and authors, counting entries for recently changed ones.
+     */
+    private int maxEntries = 10_000;
+
+    /**
+     * Upper bound on the cached bodies, plain and gzip together; least recently used entries go first.
+     */
+    private DataSize maxSize = DataSize.ofMegabytes(64);
+
+    /**
+     * Writes made through this instance evict entries immediately, writes made through other
+     * instances once {@code catalog.response-cache.feed-poll-interval} reads them from the change
+     * feed. This bounds the age of an entry in case a write is missed anyway.
+     */
+    private Duration ttl = Duration.ofMinutes(5);
+
+    private Storage storage = Storage.HEAP;
+}
@@ -0,0 +1,50 @@
+package com.techforall.bookcatalog.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+
+import java.util.ArrayList;
+
+
+/**
+ * Scheduled jobs and startup rebuilds keep the caches of a serving instance warm. The one-shot
+ * {@code export} command runs with the {@value #EXPORT_PROFILE} profile and starts none of them.
+ * <p>
+ * The profile is checked when the jobs are about to be scheduled rather than with {@code @Profile}:
+ * an AOT-processed context keeps the bean definitions of the profiles it was built with, so a
+ * profile condition would not be evaluated again when the export runs from the container image.
+ */
+@Configuration
+@EnableScheduling
+@Slf4j
+public class SchedulingConfig implements SchedulingConfigurer {
+
+    public static final String EXPORT_PROFILE = "export";
+
+    /**
+     * Condition for {@code ApplicationReadyEvent} listeners that only a serving instance needs.
+     */
+    public static final String UNLESS_EXPORTING = "!@environment.matchesProfiles('" + EXPORT_PROFILE + "')";
+
+    private final Environment environment;
+
+    public SchedulingConfig(Environment environment) {
+        this.environment = environment;
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        if (!environment.matchesProfiles(EXPORT_PROFILE)) {
+            return;
+        }
+        log.info("Running with the {} profile, not starting scheduled jobs", EXPORT_PROFILE);
+        registrar.setCronTasksList(new ArrayList<>());
+        registrar.setFixedDelayTasksList(new ArrayList<>());
+        registrar.setFixedRateTasksList(new ArrayList<>());
+        registrar.setTriggerTasksList(new ArrayList<>());
+    }
+}
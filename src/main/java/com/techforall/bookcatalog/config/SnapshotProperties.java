@@ -0,0 +1,23 @@
+package com.techforall.bookcatalog.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+
+
+@Data
+@ConfigurationProperties(prefix = "catalog.snapshot")
+public class SnapshotProperties {
+
+    /**
+     * Write the snapshot and serve reads from it while the database is unreachable.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Snapshot file on local disk. Mapped at startup if it exists, so an instance that starts
+     * during a database outage can still serve reads.
+     */
+    private Path path = Path.of("data/catalog.snapshot");
+}
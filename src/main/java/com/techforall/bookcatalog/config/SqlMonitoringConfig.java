@@ -0,0 +1,55 @@
+package com.techforall.bookcatalog.config;
+
+import com.techforall.bookcatalog.monitoring.SqlMonitoringFilter;
+import com.techforall.bookcatalog.monitoring.SqlStatementListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+
+
+/**
+ * {@code catalog.sql-monitoring.enabled} is checked when the beans are created rather than with a
+ * bean condition, which the AOT-processed image would have fixed at build time.
+ */
+@Configuration
+@EnableConfigurationProperties(SqlMonitoringProperties.class)
+public class SqlMonitoringConfig {
+
+
+    @Bean
+    public static BeanPostProcessor sqlMonitoringDataSourcePostProcessor(
+            ObjectProvider<SqlMonitoringProperties> properties) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ProxyDataSource
+                        || !properties.getObject().isEnabled()) {
+                    return bean;
+                }
+                long thresholdMillis = properties.getObject().getSlowQueryThreshold().toMillis();
+                return ProxyDataSourceBuilder.create(dataSource)
+                        .name(beanName)
+                        .listener(new SqlStatementListener(thresholdMillis))
+                        .build();
+            }
+        };
+    }
+
+
+    @Bean
+    public FilterRegistrationBean<SqlMonitoringFilter> sqlMonitoringFilter(SqlMonitoringProperties properties) {
+        FilterRegistrationBean<SqlMonitoringFilter> registration =
+                new FilterRegistrationBean<>(new SqlMonitoringFilter(properties));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        registration.setEnabled(properties.isEnabled());
+        return registration;
+    }
+}
@@ -0,0 +1,32 @@
+package com.techforall.bookcatalog.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+
+@Data
+@ConfigurationProperties(prefix = "catalog.sql-monitoring")
+public class SqlMonitoringProperties {
+
+    /**
+     * Wraps the DataSource with the statement interceptor when true.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Statements slower than this are logged at WARN with their parameter shape.
+     */
+    private Duration slowQueryThreshold = Duration.ofMillis(200);
+
+    /**
+     * Number of executions of the same SELECT within one request that flags an N+1 suspect.
+     */
+    private int nPlusOneThreshold = 5;
+
+    /**
+     * Adds the per-request statement summary as a Server-Timing response header.
+     */
+    private boolean serverTiming = true;
+}
@@ -0,0 +1,20 @@
+package com.techforall.bookcatalog.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+
+@Data
+@ConfigurationProperties(prefix = "catalog.suggest")
+public class SuggestProperties {
+
+    private int defaultLimit = 10;
+
+    private int maxLimit = 50;
+
+    /**
+     * Authors changed since the last rebuild before a rebuild is started early. Every query scans
+     * these in full, so the number is kept small.
+     */
+    private int maxPendingChanges = 10_000;
+}
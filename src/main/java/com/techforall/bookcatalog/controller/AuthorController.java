@@ -1,18 +1,40 @@
 package com.techforall.bookcatalog.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.techforall.bookcatalog.exception.BadRequestException;
+import com.techforall.bookcatalog.exception.ResourceNotFoundException;
+import com.techforall.bookcatalog.model.dto.request.AuthorPatchRequest;
 import com.techforall.bookcatalog.model.dto.request.AuthorRequest;
 import com.techforall.bookcatalog.model.dto.response.AuthorResponse;
 import com.techforall.bookcatalog.model.dto.response.AuthorSummaryResponse;
+import com.techforall.bookcatalog.model.dto.response.BookSummaryResponse;
+import com.techforall.bookcatalog.model.dto.response.CursorPageResponse;
 import com.techforall.bookcatalog.model.dto.response.PageResponse;
+import com.techforall.bookcatalog.model.entity.ChangeLogEntry;
 import com.techforall.bookcatalog.service.AuthorService;
+import com.techforall.bookcatalog.service.AuthorSuggestService;
+import com.techforall.bookcatalog.service.BookService;
+import com.techforall.bookcatalog.service.ChangeStreamService;
+import com.techforall.bookcatalog.service.IdFilterService;
+import com.techforall.bookcatalog.utility.ETags;
+import com.techforall.bookcatalog.utility.OptimisticLockRetry;
+import com.techforall.bookcatalog.utility.PageableSorts;
+import com.techforall.bookcatalog.utility.SnapshotFallback;
+import com.techforall.bookcatalog.utility.SparseFields;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Set;
 
 
 @RestController
@@ -21,16 +43,55 @@ import org.springframework.web.bind.annotation.*;
 @Slf4j
 public class AuthorController {
 
+    private static final Set<String> SORTABLE_FIELDS = Set.of("surname", "name");
+    private static final Set<String> FIELDS = Set.of("id", "name", "surname", "fullName", "birthYear", "version");
+    private static final Set<String> SUMMARY_FIELDS = Set.of("id", "fullName");
+    private static final Set<String> BOOK_SORTABLE_FIELDS = Set.of("title");
+
     private final AuthorService authorService;
+    private final AuthorSuggestService authorSuggestService;
+    private final BookService bookService;
+    private final ChangeStreamService changeStreamService;
+    private final IdFilterService idFilterService;
+    private final OptimisticLockRetry optimisticLockRetry;
+    private final SnapshotFallback snapshotFallback;
+    private final ObjectMapper objectMapper;
 
 
     @GetMapping
-    public ResponseEntity<PageResponse<AuthorSummaryResponse>> getAllAuthors(
+    public ResponseEntity<?> getAllAuthors(
+            @RequestParam(required = false) String fields,
             @PageableDefault(size = 20, sort = "surname") Pageable pageable) {
         log.info("GET /authors - Fetching authors, page: {}, size: {}",
                 pageable.getPageNumber(), pageable.getPageSize());
-        PageResponse<AuthorSummaryResponse> authors = authorService.getAllAuthors(pageable);
-        return ResponseEntity.ok(authors);
+        Set<String> selected = SparseFields.parse(fields, SUMMARY_FIELDS);
+        Pageable restricted = PageableSorts.restrictTo(pageable, SORTABLE_FIELDS);
+        PageResponse<AuthorSummaryResponse> authors = snapshotFallback.run(
+                () -> selected == null
+                        ? authorService.getAllAuthors(restricted)
+                        : authorService.getAllAuthors(restricted, selected),
+                snapshot -> snapshot.getAuthorPage(restricted));
+        return ResponseEntity.ok(SparseFields.retainInPage(objectMapper, authors, selected));
+    }
+
+
+    @GetMapping("/suggest")
+    public ResponseEntity<List<AuthorSummaryResponse>> suggestAuthors(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) Integer limit) {
+        log.debug("GET /authors/suggest - Suggesting authors for: {}", q);
+        return ResponseEntity.ok(authorSuggestService.suggest(q, limit));
+    }
+
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAuthorChanges(
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId,
+            @RequestParam(required = false) Long since) {
+        log.info("GET /authors/stream - Subscribing to author changes, Last-Event-ID: {}, since: {}",
+                lastEventId, since);
+        // A reconnecting EventSource sends Last-Event-ID with the original URL, so the header wins.
+        return changeStreamService.subscribe(ChangeLogEntry.EntityType.AUTHOR, lastEventId != null ? lastEventId : since);
     }
 
 
@@ -38,25 +99,68 @@ public class AuthorController {
     public ResponseEntity<AuthorResponse> createAuthor(@Valid @RequestBody AuthorRequest request) {
         log.info("POST /authors - Creating new author: {} {}", request.getName(), request.getSurname());
         AuthorResponse createdAuthor = authorService.createAuthor(request);
-        return ResponseEntity.status(HttpStatus.CREATED).body(createdAuthor);
+        return ResponseEntity.status(HttpStatus.CREATED).eTag(ETags.of(createdAuthor.getVersion())).body(createdAuthor);
     }
 
 
     @GetMapping("/{id}")
-    public ResponseEntity<AuthorResponse> getAuthorById(@PathVariable Long id) {
+    public ResponseEntity<?> getAuthorById(
+            @PathVariable Long id,
+            @RequestParam(required = false) String fields) {
         log.info("GET /authors/{} - Fetching author details", id);
-        AuthorResponse author = authorService.getAuthorById(id);
-        return ResponseEntity.ok(author);
+        Set<String> selected = SparseFields.parse(fields, FIELDS);
+        if (!idFilterService.mightExist(ChangeLogEntry.EntityType.AUTHOR, id)) {
+            throw new ResourceNotFoundException("Author", "id", id);
+        }
+        AuthorResponse author = snapshotFallback.run(
+                () -> selected == null ? authorService.getAuthorById(id) : authorService.getAuthorById(id, selected),
+                snapshot -> snapshot.findAuthor(id));
+        return ResponseEntity.ok()
+                .eTag(ETags.of(author.getVersion(), selected))
+                .body(SparseFields.retain(objectMapper, author, selected));
+    }
+
+
+    @GetMapping("/{id}/books")
+    public ResponseEntity<CursorPageResponse<BookSummaryResponse>> getAuthorBooks(
+            @PathVariable Long id,
+            @RequestParam(required = false) String cursor,
+            @PageableDefault(size = 20, sort = "title") Pageable pageable) {
+        log.info("GET /authors/{}/books - Fetching books of author, size: {}, cursor: {}",
+                id, pageable.getPageSize(), cursor);
+        if (pageable.getPageNumber() != 0) {
+            throw new BadRequestException("Books of an author are paged by cursor; pass the previous nextCursor as 'cursor'");
+        }
+        Pageable restricted = PageableSorts.restrictTo(pageable, BOOK_SORTABLE_FIELDS);
+        return ResponseEntity.ok(bookService.getBooksByAuthor(id, restricted, cursor));
     }
 
 
     @PutMapping("/{id}")
     public ResponseEntity<AuthorResponse> updateAuthor(
             @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody AuthorRequest request) {
         log.info("PUT /authors/{} - Updating author", id);
-        AuthorResponse updatedAuthor = authorService.updateAuthor(id, request);
-        return ResponseEntity.ok(updatedAuthor);
+        Long expectedVersion = ETags.parseIfMatch(ifMatch);
+        AuthorResponse updatedAuthor = expectedVersion != null
+                ? authorService.updateAuthor(id, request, expectedVersion)
+                : optimisticLockRetry.run(() -> authorService.updateAuthor(id, request, null));
+        return ResponseEntity.ok().eTag(ETags.of(updatedAuthor.getVersion())).body(updatedAuthor);
+    }
+
+
+    @PatchMapping("/{id}")
+    public ResponseEntity<AuthorResponse> patchAuthor(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody AuthorPatchRequest request) {
+        log.info("PATCH /authors/{} - Patching author", id);
+        Long expectedVersion = ETags.parseIfMatch(ifMatch);
+        AuthorResponse patchedAuthor = expectedVersion != null
+                ? authorService.patchAuthor(id, request, expectedVersion)
+                : optimisticLockRetry.run(() -> authorService.patchAuthor(id, request, null));
+        return ResponseEntity.ok().eTag(ETags.of(patchedAuthor.getVersion())).body(patchedAuthor);
     }
 
 
@@ -1,18 +1,47 @@
 package com.techforall.bookcatalog.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.techforall.bookcatalog.exception.BadRequestException;
+import com.techforall.bookcatalog.exception.ResourceNotFoundException;
+import com.techforall.bookcatalog.model.dto.request.BookBulkPatchRequest;
+import com.techforall.bookcatalog.model.dto.request.BookFilter;
+import com.techforall.bookcatalog.model.dto.request.BookPatchRequest;
 import com.techforall.bookcatalog.model.dto.request.BookRequest;
 import com.techforall.bookcatalog.model.dto.response.BookResponse;
 import com.techforall.bookcatalog.model.dto.response.BookSummaryResponse;
+import com.techforall.bookcatalog.model.dto.response.BulkJobResponse;
+import com.techforall.bookcatalog.model.dto.response.DuplicateBookResponse;
+import com.techforall.bookcatalog.model.dto.response.DuplicateReportResponse;
+import com.techforall.bookcatalog.model.dto.response.ExportJobResponse;
 import com.techforall.bookcatalog.model.dto.response.PageResponse;
+import com.techforall.bookcatalog.model.entity.ChangeLogEntry;
+import com.techforall.bookcatalog.service.BookBulkService;
+import com.techforall.bookcatalog.service.BookDuplicateService;
 import com.techforall.bookcatalog.service.BookService;
+import com.techforall.bookcatalog.service.CatalogExportService;
+import com.techforall.bookcatalog.service.ChangeStreamService;
+import com.techforall.bookcatalog.service.IdFilterService;
+import com.techforall.bookcatalog.utility.ETags;
+import com.techforall.bookcatalog.utility.OptimisticLockRetry;
+import com.techforall.bookcatalog.utility.PageableSorts;
+import com.techforall.bookcatalog.utility.SnapshotFallback;
+import com.techforall.bookcatalog.utility.SparseFields;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 
 @RestController
@@ -21,16 +50,98 @@ import org.springframework.web.bind.annotation.*;
 @Slf4j
 public class BookController {
 
+    private static final Set<String> SORTABLE_FIELDS = Set.of("title", "publisher", "publishedDate");
+    private static final Set<String> FIELDS =
+            Set.of("id", "title", "authors", "publisher", "edition", "publishedDate", "version");
+    private static final Set<String> SUMMARY_FIELDS = Set.of("id", "title", "publisher");
+    private static final String REPORT_RETRY_AFTER_SECONDS = "30";
+
     private final BookService bookService;
+    private final BookBulkService bookBulkService;
+    private final BookDuplicateService bookDuplicateService;
+    private final CatalogExportService catalogExportService;
+    private final ChangeStreamService changeStreamService;
+    private final IdFilterService idFilterService;
+    private final OptimisticLockRetry optimisticLockRetry;
+    private final SnapshotFallback snapshotFallback;
+    private final ObjectMapper objectMapper;
 
 
     @GetMapping
-    public ResponseEntity<PageResponse<BookSummaryResponse>> getAllBooks(
+    public ResponseEntity<?> getAllBooks(
+            BookFilter filter,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String include,
             @PageableDefault(size = 20, sort = "title") Pageable pageable) {
         log.info("GET /books - Fetching books, page: {}, size: {}",
                 pageable.getPageNumber(), pageable.getPageSize());
-        PageResponse<BookSummaryResponse> books = bookService.getAllBooks(pageable);
-        return ResponseEntity.ok(books);
+        Set<String> selected = SparseFields.parse(fields, SUMMARY_FIELDS);
+        boolean includeAuthors = includesAuthors(include);
+        // The authors are matched to the page by book id.
+        Set<String> columns = includeAuthors ? SparseFields.with(selected, "id") : selected;
+        Pageable restricted = PageableSorts.restrictTo(pageable, SORTABLE_FIELDS);
+        PageResponse<BookSummaryResponse> books = snapshotFallback.run(
+                () -> {
+                    PageResponse<BookSummaryResponse> page = columns == null
+                            ? bookService.getAllBooks(filter, restricted)
+                            : bookService.getAllBooks(filter, restricted, columns);
+                    return includeAuthors ? bookService.includeAuthors(page) : page;
+                },
+                snapshot -> filter.isEmpty() && !includeAuthors ? snapshot.getBookPage(restricted) : Optional.empty());
+        return ResponseEntity.ok(SparseFields.retainInPage(
+                objectMapper, books, includeAuthors ? SparseFields.with(selected, "authors") : selected));
+    }
+
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamBookChanges(
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId,
+            @RequestParam(required = false) Long since) {
+        log.info("GET /books/stream - Subscribing to book changes, Last-Event-ID: {}, since: {}",
+                lastEventId, since);
+        // A reconnecting EventSource sends Last-Event-ID with the original URL, so the header wins.
+        return changeStreamService.subscribe(ChangeLogEntry.EntityType.BOOK, lastEventId != null ? lastEventId : since);
+    }
+
+
+    @DeleteMapping
+    public ResponseEntity<BulkJobResponse> deleteBooks(
+            BookFilter filter,
+            @RequestParam(defaultValue = "false") boolean dryRun) {
+        log.info("DELETE /books - Bulk deleting books, filter: {}, dryRun: {}", filter, dryRun);
+        return bulkJobResponse(bookBulkService.deleteBooks(filter, dryRun));
+    }
+
+
+    @PatchMapping
+    public ResponseEntity<BulkJobResponse> patchBooks(
+            BookFilter filter,
+            @RequestParam(defaultValue = "false") boolean dryRun,
+            @Valid @RequestBody BookBulkPatchRequest request) {
+        log.info("PATCH /books - Bulk patching books, filter: {}, dryRun: {}", filter, dryRun);
+        return bulkJobResponse(bookBulkService.patchBooks(filter, request, dryRun));
+    }
+
+
+    @GetMapping("/bulk-jobs/{jobId}")
+    public ResponseEntity<BulkJobResponse> getBulkJob(@PathVariable String jobId) {
+        log.info("GET /books/bulk-jobs/{} - Fetching bulk job progress", jobId);
+        return ResponseEntity.ok(bookBulkService.getJob(jobId));
+    }
+
+
+    @PostMapping("/exports")
+    public ResponseEntity<ExportJobResponse> startExport() {
+        log.info("POST /books/exports - Starting catalog export");
+        ExportJobResponse job = catalogExportService.startExport();
+        return ResponseEntity.accepted().location(URI.create("/books/exports/" + job.getId())).body(job);
+    }
+
+
+    @GetMapping("/exports/{exportId}")
+    public ResponseEntity<ExportJobResponse> getExport(@PathVariable String exportId) {
+        log.info("GET /books/exports/{} - Fetching export progress", exportId);
+        return ResponseEntity.ok(catalogExportService.getExport(exportId));
     }
 
 
@@ -38,25 +149,74 @@ public class BookController {
     public ResponseEntity<BookResponse> createBook(@Valid @RequestBody BookRequest request) {
         log.info("POST /books - Creating new book: {}", request.getTitle());
         BookResponse createdBook = bookService.createBook(request);
-        return ResponseEntity.status(HttpStatus.CREATED).body(createdBook);
+        return ResponseEntity.status(HttpStatus.CREATED).eTag(ETags.of(createdBook.getVersion())).body(createdBook);
     }
 
 
     @GetMapping("/{id}")
-    public ResponseEntity<BookResponse> getBookById(@PathVariable Long id) {
+    public ResponseEntity<?> getBookById(
+            @PathVariable Long id,
+            @RequestParam(required = false) String fields) {
         log.info("GET /books/{} - Fetching book details", id);
-        BookResponse book = bookService.getBookById(id);
-        return ResponseEntity.ok(book);
+        Set<String> selected = SparseFields.parse(fields, FIELDS);
+        if (!idFilterService.mightExist(ChangeLogEntry.EntityType.BOOK, id)) {
+            throw new ResourceNotFoundException("Book", "id", id);
+        }
+        BookResponse book = snapshotFallback.run(
+                () -> selected == null ? bookService.getBookById(id) : bookService.getBookById(id, selected),
+                snapshot -> snapshot.findBook(id));
+        return ResponseEntity.ok()
+                .eTag(ETags.of(book.getVersion(), selected))
+                .body(SparseFields.retain(objectMapper, book, selected));
+    }
+
+
+    @GetMapping("/{id}/duplicates")
+    public ResponseEntity<List<DuplicateBookResponse>> getBookDuplicates(@PathVariable Long id) {
+        log.info("GET /books/{}/duplicates - Finding near-duplicates", id);
+        return ResponseEntity.ok(bookDuplicateService.findDuplicates(id));
+    }
+
+
+    /**
+     * 202 with {@code Retry-After} while the first report after startup is still being generated.
+     */
+    @GetMapping("/duplicates/report")
+    public ResponseEntity<DuplicateReportResponse> getDuplicateReport() {
+        log.info("GET /books/duplicates/report - Fetching the duplicate report");
+        return bookDuplicateService.getReport()
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.accepted()
+                        .header(HttpHeaders.RETRY_AFTER, REPORT_RETRY_AFTER_SECONDS)
+                        .build());
     }
 
 
     @PutMapping("/{id}")
     public ResponseEntity<BookResponse> updateBook(
             @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody BookRequest request) {
         log.info("PUT /books/{} - Updating book", id);
-        BookResponse updatedBook = bookService.updateBook(id, request);
-        return ResponseEntity.ok(updatedBook);
+        Long expectedVersion = ETags.parseIfMatch(ifMatch);
+        BookResponse updatedBook = expectedVersion != null
+                ? bookService.updateBook(id, request, expectedVersion)
+                : optimisticLockRetry.run(() -> bookService.updateBook(id, request, null));
+        return ResponseEntity.ok().eTag(ETags.of(updatedBook.getVersion())).body(updatedBook);
+    }
+
+
+    @PatchMapping("/{id}")
+    public ResponseEntity<BookResponse> patchBook(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody BookPatchRequest request) {
+        log.info("PATCH /books/{} - Patching book", id);
+        Long expectedVersion = ETags.parseIfMatch(ifMatch);
+        BookResponse patchedBook = expectedVersion != null
+                ? bookService.patchBook(id, request, expectedVersion)
+                : optimisticLockRetry.run(() -> bookService.patchBook(id, request, null));
+        return ResponseEntity.ok().eTag(ETags.of(patchedBook.getVersion())).body(patchedBook);
     }
 
 
@@ -66,5 +226,31 @@ public class BookController {
         bookService.deleteBook(id);
         return ResponseEntity.noContent().build();
     }
-}
 
+
+    private static boolean includesAuthors(String include) {
+        if (include == null) {
+            return false;
+        }
+        boolean authors = false;
+        for (String name : include.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            if (!trimmed.equals("authors")) {
+                throw new BadRequestException(String.format(
+                        "Include '%s' is not supported. Available includes: [authors]", trimmed));
+            }
+            authors = true;
+        }
+        return authors;
+    }
+
+    private static ResponseEntity<BulkJobResponse> bulkJobResponse(BulkJobResponse job) {
+        if (job.isDryRun()) {
+            return ResponseEntity.ok(job);
+        }
+        return ResponseEntity.accepted().location(URI.create("/books/bulk-jobs/" + job.getId())).body(job);
+    }
+}
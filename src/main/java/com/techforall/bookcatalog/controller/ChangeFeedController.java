@@ -0,0 +1,28 @@
+package com.techforall.bookcatalog.controller;
+
+import com.techforall.bookcatalog.model.dto.response.ChangeFeedResponse;
+import com.techforall.bookcatalog.service.ChangeFeedService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+
+@RestController
+@RequestMapping("/changes")
+@RequiredArgsConstructor
+@Slf4j
+public class ChangeFeedController {
+
+    private final ChangeFeedService changeFeedService;
+
+
+    @GetMapping
+    public ResponseEntity<ChangeFeedResponse> getChanges(
+            @RequestParam(defaultValue = "0") long since,
+            @RequestParam(required = false) Integer limit) {
+        log.info("GET /changes - Fetching changes since: {}, limit: {}", since, limit);
+        ChangeFeedResponse changes = changeFeedService.getChanges(since, limit);
+        return ResponseEntity.ok(changes);
+    }
+}
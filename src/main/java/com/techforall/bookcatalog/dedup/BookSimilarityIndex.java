@@ -0,0 +1,298 @@
+package com.techforall.bookcatalog.dedup;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+
+/**
+ * Finds books with nearly the same title among the same authors without comparing against every
+ * book.
+ * <p>
+ * Each title is reduced to its set of character 3-grams and summarised by a MinHash signature of
+ * {@value #BANDS} x {@value #ROWS} hashes. Locality-sensitive hashing puts a book into one bucket per
+ * band of the signature, so only books sharing a bucket are compared, and those candidates are
+ * confirmed with the exact Jaccard similarity of their 3-gram sets. With 16 bands of 4 rows a pair
+ * at 0.8 similarity shares a bucket with probability above 0.999, one at 0.3 with about 0.12.
+ * Books only count as duplicates when their author sets overlap, or either has no authors.
+ */
+public class BookSimilarityIndex {
+
+    static final int BANDS = 16;
+    static final int ROWS = 4;
+    private static final int SHINGLE_LENGTH = 3;
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final long[] SEEDS = seeds(BANDS * ROWS);
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile Buckets current = new Buckets();
+    private List<IndexedBook> pendingUpserts;
+    private List<Long> pendingRemovals;
+
+
+    /**
+     * Indexed books at least {@code threshold} similar to the given title and authors, most
+     * similar first. The book with {@code excludeId} is left out.
+     */
+    public List<SimilarBook> findSimilar(String title, Set<Long> authorIds, Long excludeId, double threshold) {
+        Set<String> shingles = shingles(title);
+        Buckets buckets = current;
+
+        List<SimilarBook> similar = new ArrayList<>();
+        for (Long candidateId : buckets.candidates(bandKeys(shingles))) {
+            IndexedBook candidate = buckets.books.get(candidateId);
+            if (candidate == null || candidateId.equals(excludeId) || !authorsOverlap(authorIds, candidate.authorIds())) {
+                continue;
+            }
+            double similarity = jaccard(shingles, shingles(candidate.title()));
+            if (similarity >= threshold) {
+                similar.add(new SimilarBook(candidate, similarity));
+            }
+        }
+        similar.sort(Comparator.comparingDouble(SimilarBook::similarity).reversed()
+                .thenComparing(match -> match.book().id()));
+        return similar;
+    }
+
+    /**
+     * Reports every pair of indexed books at least {@code threshold} similar, once, with the lower id
+     * first, until {@code maxPairs} were reported. Returns false when it stopped early.
+     */
+    public boolean forEachSimilarPair(double threshold, int maxPairs, BiConsumer<IndexedBook, SimilarBook> pairs) {
+        int count = 0;
+        for (IndexedBook book : current.books.values()) {
+            for (SimilarBook match : findSimilar(book.title(), book.authorIds(), book.id(), threshold)) {
+                if (match.book().id() > book.id()) {
+                    if (count++ == maxPairs) {
+                        return false;
+                    }
+                    pairs.accept(book, match);
+                }
+            }
+        }
+        return true;
+    }
+
+    public IndexedBook get(Long id) {
+        return current.books.get(id);
+    }
+
+    public int size() {
+        return current.books.size();
+    }
+
+    /**
+     * Adds or replaces a book. A null author set keeps the authors already indexed for it.
+     */
+    public void upsert(IndexedBook book) {
+        lock.readLock().lock();
+        try {
+            current.upsert(book);
+            if (pendingUpserts != null) {
+                pendingUpserts.add(book);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.readLock().lock();
+        try {
+            current.remove(id);
+            if (pendingRemovals != null) {
+                pendingRemovals.add(id);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the index with the books from {@code loader}. Writes arriving while it loads are
+     * replayed on the new index before it is swapped in.
+     */
+    public synchronized void rebuild(Supplier<? extends Collection<IndexedBook>> loader) {
+        lock.writeLock().lock();
+        try {
+            pendingUpserts = Collections.synchronizedList(new ArrayList<>());
+            pendingRemovals = Collections.synchronizedList(new ArrayList<>());
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        try {
+            Buckets fresh = new Buckets();
+            loader.get().forEach(fresh::upsert);
+
+            lock.writeLock().lock();
+            try {
+                pendingUpserts.forEach(fresh::upsert);
+                pendingRemovals.forEach(fresh::remove);
+                current = fresh;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            lock.writeLock().lock();
+            try {
+                pendingUpserts = null;
+                pendingRemovals = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    static String normalize(String title) {
+        String decomposed = Normalizer.normalize(title, Normalizer.Form.NFD);
+        String folded = COMBINING_MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+        return NON_ALPHANUMERIC.matcher(folded).replaceAll(" ").strip();
+    }
+
+    static Set<String> shingles(String title) {
+        String normalized = normalize(title);
+        if (normalized.length() <= SHINGLE_LENGTH) {
+            return Set.of(normalized);
+        }
+        Set<String> shingles = new HashSet<>();
+        for (int i = 0; i + SHINGLE_LENGTH <= normalized.length(); i++) {
+            shingles.add(normalized.substring(i, i + SHINGLE_LENGTH));
+        }
+        return shingles;
+    }
+
+    static double jaccard(Set<String> a, Set<String> b) {
+        if (a.isEmpty() && b.isEmpty()) {
+            return 1.0;
+        }
+        int intersection = 0;
+        for (String shingle : a) {
+            if (b.contains(shingle)) {
+                intersection++;
+            }
+        }
+        return (double) intersection / (a.size() + b.size() - intersection);
+    }
+
+    private static int[] bandKeys(Set<String> shingles) {
+        int[] minHashes = new int[SEEDS.length];
+        Arrays.fill(minHashes, Integer.MAX_VALUE);
+        for (String shingle : shingles) {
+            long base = shingle.hashCode();
+            for (int i = 0; i < SEEDS.length; i++) {
+                int hash = (int) (mix(base ^ SEEDS[i]) >>> 33);
+                if (hash < minHashes[i]) {
+                    minHashes[i] = hash;
+                }
+            }
+        }
+
+        int[] keys = new int[BANDS];
+        for (int band = 0; band < BANDS; band++) {
+            int key = band;
+            for (int row = 0; row < ROWS; row++) {
+                key = 31 * key + minHashes[band * ROWS + row];
+            }
+            keys[band] = key;
+        }
+        return keys;
+    }
+
+    private static boolean authorsOverlap(Set<Long> a, Set<Long> b) {
+        if (a == null || b == null || a.isEmpty() || b.isEmpty()) {
+            return true;
+        }
+        return a.stream().anyMatch(b::contains);
+    }
+
+    /**
+     * SplitMix64 finaliser, a cheap hash with good avalanche for the seeded shingle hashes.
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    private static long[] seeds(int count) {
+        long[] seeds = new long[count];
+        long seed = 0x9e3779b97f4a7c15L;
+        for (int i = 0; i < count; i++) {
+            seed = mix(seed + i);
+            seeds[i] = seed;
+        }
+        return seeds;
+    }
+
+
+    private static final class Buckets {
+
+        private final Map<Long, IndexedBook> books = new ConcurrentHashMap<>();
+        private final Map<Long, int[]> keysById = new ConcurrentHashMap<>();
+        private final Map<Integer, Set<Long>> buckets = new ConcurrentHashMap<>();
+
+        private synchronized void upsert(IndexedBook book) {
+            IndexedBook previous = books.get(book.id());
+            Set<Long> authorIds = book.authorIds() != null ? Set.copyOf(book.authorIds())
+                    : previous != null ? previous.authorIds() : Set.of();
+            IndexedBook indexed = new IndexedBook(book.id(), book.title(), authorIds);
+
+            removeKeys(book.id());
+            int[] keys = bandKeys(shingles(book.title()));
+            for (int key : keys) {
+                buckets.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(book.id());
+            }
+            keysById.put(book.id(), keys);
+            books.put(book.id(), indexed);
+        }
+
+        private synchronized void remove(Long id) {
+            removeKeys(id);
+            books.remove(id);
+        }
+
+        private void removeKeys(Long id) {
+            int[] keys = keysById.remove(id);
+            if (keys == null) {
+                return;
+            }
+            for (int key : keys) {
+                Set<Long> bucket = buckets.get(key);
+                if (bucket != null) {
+                    bucket.remove(id);
+                    if (bucket.isEmpty()) {
+                        buckets.remove(key);
+                    }
+                }
+            }
+        }
+
+        private Set<Long> candidates(int[] keys) {
+            Set<Long> candidates = new HashSet<>();
+            for (int key : keys) {
+                Set<Long> bucket = buckets.get(key);
+                if (bucket != null) {
+                    candidates.addAll(bucket);
+                }
+            }
+            return candidates;
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.techforall.bookcatalog.dedup;
+
+import java.util.Set;
+
+
+/**
+ * The book fields the similarity index needs, loaded without the entity.
+ */
+public record IndexedBook(Long id, String title, Set<Long> authorIds) {
+}
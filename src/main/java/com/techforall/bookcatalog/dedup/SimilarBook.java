@@ -0,0 +1,8 @@
+package com.techforall.bookcatalog.dedup;
+
+
+/**
+ * @param similarity Jaccard similarity of the two titles' shingle sets, between 0 and 1
+ */
+public record SimilarBook(IndexedBook book, double similarity) {
+}
@@ -0,0 +1,11 @@
+package com.techforall.bookcatalog.event;
+
+import com.techforall.bookcatalog.model.entity.ChangeLogEntry;
+
+
+/**
+ * Published by author writes with the names as written, so in-memory views of authors can follow
+ * without reloading them. Listeners must only react after the surrounding transaction commits.
+ */
+public record AuthorChangedEvent(Long id, String name, String surname, ChangeLogEntry.Operation operation) {
+}
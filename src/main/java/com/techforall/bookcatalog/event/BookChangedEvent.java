@@ -0,0 +1,14 @@
+package com.techforall.bookcatalog.event;
+
+import com.techforall.bookcatalog.model.entity.ChangeLogEntry;
+
+import java.util.Set;
+
+
+/**
+ * Published by book writes with the title and author ids as written, so in-memory views of books
+ * can follow without reloading them. {@code authorIds} is null when the write left the authors
+ * unchanged. Listeners must only react after the surrounding transaction commits.
+ */
+public record BookChangedEvent(Long id, String title, Set<Long> authorIds, ChangeLogEntry.Operation operation) {
+}
@@ -0,0 +1,11 @@
+package com.techforall.bookcatalog.event;
+
+import com.techforall.bookcatalog.model.dto.response.ChangeEventResponse;
+
+
+/**
+ * Published for every recorded catalog write. Listeners that push to clients must only react
+ * after the surrounding transaction commits.
+ */
+public record CatalogChangeEvent(ChangeEventResponse change) {
+}
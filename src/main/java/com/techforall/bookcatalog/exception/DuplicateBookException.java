@@ -0,0 +1,22 @@
+package com.techforall.bookcatalog.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.util.List;
+
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class DuplicateBookException extends RuntimeException {
+
+    private final List<Long> duplicateIds;
+
+    public DuplicateBookException(String title, List<Long> duplicateIds) {
+        super(String.format("Book '%s' is a near-duplicate of the books with ids %s", title, duplicateIds));
+        this.duplicateIds = duplicateIds;
+    }
+
+    public List<Long> getDuplicateIds() {
+        return duplicateIds;
+    }
+}
@@ -0,0 +1,13 @@
+package com.techforall.bookcatalog.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class IdempotencyConflictException extends RuntimeException {
+
+    public IdempotencyConflictException(String key) {
+        super(String.format("Idempotency-Key '%s' was taken over by another request", key));
+    }
+}
@@ -0,0 +1,33 @@
+package com.techforall.bookcatalog.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+
+@ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+public class PreconditionFailedException extends RuntimeException {
+
+    private final Long expectedVersion;
+    private final Long currentVersion;
+
+    public PreconditionFailedException(String resourceName, Long id, Long expectedVersion, Long currentVersion) {
+        super(String.format("%s with id '%d' is at version %d, not the expected version %d",
+                resourceName, id, currentVersion, expectedVersion));
+        this.expectedVersion = expectedVersion;
+        this.currentVersion = currentVersion;
+    }
+
+    public PreconditionFailedException(String message) {
+        super(message);
+        this.expectedVersion = null;
+        this.currentVersion = null;
+    }
+
+    public Long getExpectedVersion() {
+        return expectedVersion;
+    }
+
+    public Long getCurrentVersion() {
+        return currentVersion;
+    }
+}
@@ -4,6 +4,11 @@ import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
 
+/**
+ * Thrown for lookups of ids that do not exist, which clients with stale links and scrapers send at
+ * high rates. It is answered with a 404 and never logged with its stack trace, so none is captured
+ * and the message is only formatted when asked for.
+ */
 @ResponseStatus(HttpStatus.NOT_FOUND)
 public class ResourceNotFoundException extends RuntimeException {
 
@@ -11,13 +16,23 @@ public class ResourceNotFoundException extends RuntimeException {
     private final String fieldName;
     private final Object fieldValue;
 
+    private String message;
+
     public ResourceNotFoundException(String resourceName, String fieldName, Object fieldValue) {
-        super(String.format("%s not found with %s: '%s'", resourceName, fieldName, fieldValue));
+        super(null, null, false, false);
         this.resourceName = resourceName;
         this.fieldName = fieldName;
         this.fieldValue = fieldValue;
     }
 
+    @Override
+    public String getMessage() {
+        if (message == null) {
+            message = String.format("%s not found with %s: '%s'", resourceName, fieldName, fieldValue);
+        }
+        return message;
+    }
+
     public String getResourceName() {
         return resourceName;
     }
@@ -30,4 +45,3 @@ public class ResourceNotFoundException extends RuntimeException {
         return fieldValue;
     }
 }
-
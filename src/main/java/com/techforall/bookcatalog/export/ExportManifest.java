@@ -0,0 +1,17 @@
+package com.techforall.bookcatalog.export;
+
+import java.time.Instant;
+import java.util.List;
+
+
+/**
+ * Written as manifest.json once every file of an export is complete; an export directory without
+ * one is unfinished and must not be loaded.
+ */
+public record ExportManifest(String id, String format, Instant startedAt, Instant completedAt, long rows,
+                             List<ExportedFile> files) {
+
+    public static final String FILE_NAME = "manifest.json";
+    public static final String CHECKSUMS_FILE_NAME = "SHA256SUMS";
+    public static final String FORMAT = "jsonl+gzip";
+}
@@ -0,0 +1,9 @@
+package com.techforall.bookcatalog.export;
+
+
+/**
+ * One file of an export. {@code fromId} and {@code toId} bound the book ids of a book partition
+ * (inclusive, exclusive) and are null for the authors file; {@code sha256} is over the compressed bytes.
+ */
+public record ExportedFile(String name, String entity, Long fromId, Long toId, long rows, long bytes, String sha256) {
+}
@@ -0,0 +1,70 @@
+package com.techforall.bookcatalog.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.zip.GZIPOutputStream;
+
+
+/**
+ * Writes one export file as gzip-compressed JSON Lines, hashing the compressed bytes on the way
+ * out. Rows go straight through to the compressor, so a file of any size needs only the buffers.
+ */
+public final class PartitionWriter implements Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path file;
+    private final MessageDigest digest;
+    private final JsonGenerator generator;
+    private final ObjectWriter writer;
+    private long rows;
+
+    public PartitionWriter(Path file, ObjectMapper objectMapper) throws IOException {
+        this.file = file;
+        try {
+            this.digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        DigestOutputStream out = new DigestOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(file), BUFFER_SIZE), digest);
+        this.generator = objectMapper.getFactory().createGenerator(new GZIPOutputStream(out, BUFFER_SIZE));
+        // Flushing after every row would push each one through to the file on its own.
+        this.writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+
+    public void write(Object row) throws IOException {
+        writer.writeValue(generator, row);
+        generator.writeRaw('\n');
+        rows++;
+    }
+
+    /**
+     * Completes the file and describes it; the writer is closed afterwards.
+     */
+    public ExportedFile finish(String entity, Long fromId, Long toId) throws IOException {
+        generator.close();
+        return new ExportedFile(file.getFileName().toString(), entity, fromId, toId, rows, Files.size(file),
+                HexFormat.of().formatHex(digest.digest()));
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!generator.isClosed()) {
+            generator.close();
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.techforall.bookcatalog.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.techforall.bookcatalog.exception.ErrorResponse;
+import com.techforall.bookcatalog.model.entity.IdempotencyRecord;
+import com.techforall.bookcatalog.service.IdempotencyService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+
+
+/**
+ * Honors the Idempotency-Key header on creating POSTs. The first request with a key runs normally
+ * and its successful response is stored; a retry with the same key and body gets the stored
+ * response back before validation or any handler code runs. If the insert committed but its
+ * response could not be stored, the retry is sent to the created resource with 303 See Other.
+ */
+@Slf4j
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyService idempotencyService;
+    private final ObjectMapper objectMapper;
+
+    public IdempotencyFilter(IdempotencyService idempotencyService, ObjectMapper objectMapper) {
+        this.idempotencyService = idempotencyService;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.POST.matches(request.getMethod()) || request.getHeader(HEADER) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String key = request.getHeader(HEADER);
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            writeError(request, response, HttpStatus.BAD_REQUEST,
+                    String.format("%s must be 1 to %d characters", HEADER, MAX_KEY_LENGTH));
+            return;
+        }
+
+        String scope = request.getRequestURI();
+        CachedBodyRequestWrapper cachedRequest = new CachedBodyRequestWrapper(request);
+        String fingerprint = fingerprint(request, cachedRequest.getBody());
+
+        Optional<IdempotencyRecord> existing = idempotencyService.claim(scope, key, fingerprint);
+        if (existing.isPresent()) {
+            handleExisting(request, response, existing.get(), fingerprint);
+            return;
+        }
+
+        Set<String> outerHeaders = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        outerHeaders.addAll(response.getHeaderNames());
+        ContentCachingResponseWrapper cachedResponse = new ContentCachingResponseWrapper(response);
+        boolean completed = false;
+        try {
+            filterChain.doFilter(cachedRequest, cachedResponse);
+            if (HttpStatus.valueOf(cachedResponse.getStatus()).is2xxSuccessful()) {
+                idempotencyService.complete(scope, key, cachedResponse.getStatus(), cachedResponse.getContentType(),
+                        handlerHeaders(cachedResponse, outerHeaders),
+                        new String(cachedResponse.getContentAsByteArray(), StandardCharsets.UTF_8));
+                completed = true;
+            }
+        } finally {
+            if (!completed) {
+                // Failed attempts are not remembered, so the client can retry with the same key;
+                // a claim whose insert committed is kept.
+                idempotencyService.release(scope, key);
+            }
+            cachedResponse.copyBodyToResponse();
+        }
+    }
+
+    private void handleExisting(HttpServletRequest request, HttpServletResponse response,
+                                IdempotencyRecord record, String fingerprint) throws IOException {
+        if (!record.getFingerprint().equals(fingerprint)) {
+            writeError(request, response, HttpStatus.UNPROCESSABLE_ENTITY,
+                    String.format("%s '%s' was already used with a different request", HEADER, record.getIdempotencyKey()));
+            return;
+        }
+        if (record.getStatus() == IdempotencyRecord.Status.IN_PROGRESS) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            writeError(request, response, HttpStatus.CONFLICT,
+                    String.format("A request with %s '%s' is still in progress", HEADER, record.getIdempotencyKey()));
+            return;
+        }
+
+        log.info("Replaying stored response for {} {} with {} '{}'",
+                request.getMethod(), request.getRequestURI(), HEADER, record.getIdempotencyKey());
+        response.setStatus(record.getResponseStatus());
+        replayHeaders(response, record.getResponseHeaders());
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (record.getResponseContentType() != null) {
+            response.setContentType(record.getResponseContentType());
+        }
+        if (record.getResponseBody() != null) {
+            response.getOutputStream().write(record.getResponseBody().getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * The headers set inside this filter, one {@code Name: value} line each. Headers of outer
+     * filters describe this exchange only and are left out.
+     */
+    private static String handlerHeaders(HttpServletResponse response, Set<String> outerHeaders) {
+        StringBuilder lines = new StringBuilder();
+        Set<String> names = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        names.addAll(response.getHeaderNames());
+        for (String name : names) {
+            if (outerHeaders.contains(name) || name.equalsIgnoreCase(HttpHeaders.CONTENT_TYPE)
+                    || name.equalsIgnoreCase(HttpHeaders.CONTENT_LENGTH)) {
+                continue;
+            }
+            Collection<String> values = response.getHeaders(name);
+            values.forEach(value -> lines.append(name).append(": ").append(value).append('\n'));
+        }
+        return lines.isEmpty() ? null : lines.toString();
+    }
+
+    private static void replayHeaders(HttpServletResponse response, String headers) {
+        if (headers == null) {
+            return;
+        }
+        for (String line : headers.split("\n")) {
+            int separator = line.indexOf(": ");
+            if (separator > 0) {
+                response.addHeader(line.substring(0, separator), line.substring(separator + 2));
+            }
+        }
+    }
+
+    private void writeError(HttpServletRequest request, HttpServletResponse response,
+                            HttpStatus status, String message) throws IOException {
+        ErrorResponse error = new ErrorResponse(
+                LocalDateTime.now(),
+                status.value(),
+                status.getReasonPhrase(),
+                message,
+                request.getRequestURI(),
+                null
+        );
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+
+    private static String fingerprint(HttpServletRequest request, byte[] body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(request.getMethod().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) ' ');
+            digest.update(request.getRequestURI().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+            digest.update(body);
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
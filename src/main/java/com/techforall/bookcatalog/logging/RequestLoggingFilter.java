@@ -0,0 +1,80 @@
+package com.techforall.bookcatalog.logging;
+
+import com.techforall.bookcatalog.config.LoggingProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+import org.slf4j.MarkerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.HexFormat;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+
+
+/**
+ * Puts a request id into the MDC for every log line of the request, decides whether the request's
+ * success-path lines are sampled in, and logs one completion line per request. The completion line
+ * of a failed request is always kept, even when the request was sampled out.
+ */
+@Slf4j
+public class RequestLoggingFilter extends OncePerRequestFilter {
+
+    public static final String REQUEST_ID = "requestId";
+
+    /**
+     * MDC key set to {@code false} for the requests whose lines below WARN are dropped.
+     */
+    public static final String SAMPLED = "sampled";
+
+    /**
+     * Marks lines that are written even for a request that was sampled out.
+     */
+    public static final Marker KEEP = MarkerFactory.getMarker("KEEP");
+
+    private static final Pattern VALID_REQUEST_ID = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+
+    private final LoggingProperties properties;
+
+    public RequestLoggingFilter(LoggingProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String requestId = request.getHeader(properties.getRequestIdHeader());
+        if (requestId == null || !VALID_REQUEST_ID.matcher(requestId).matches()) {
+            requestId = HexFormat.of().toHexDigits(ThreadLocalRandom.current().nextLong());
+        }
+        MDC.put(REQUEST_ID, requestId);
+        if (ThreadLocalRandom.current().nextDouble() >= properties.getSuccessSampleRate()) {
+            MDC.put(SAMPLED, "false");
+        }
+        response.setHeader(properties.getRequestIdHeader(), requestId);
+
+        long started = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            logCompletion(request, response.getStatus(), (System.nanoTime() - started) / 1_000_000);
+            MDC.remove(REQUEST_ID);
+            MDC.remove(SAMPLED);
+        }
+    }
+
+    private static void logCompletion(HttpServletRequest request, int status, long millis) {
+        if (status >= 500) {
+            log.error(KEEP, "{} {} -> {} in {} ms", request.getMethod(), request.getRequestURI(), status, millis);
+        } else if (status >= 400) {
+            log.info(KEEP, "{} {} -> {} in {} ms", request.getMethod(), request.getRequestURI(), status, millis);
+        } else {
+            log.info("{} {} -> {} in {} ms", request.getMethod(), request.getRequestURI(), status, millis);
+        }
+    }
+}
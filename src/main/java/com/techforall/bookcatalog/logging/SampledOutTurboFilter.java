@@ -0,0 +1,25 @@
+package com.techforall.bookcatalog.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+
+
+/**
+ * Drops lines below WARN logged while handling a request that {@link RequestLoggingFilter} sampled
+ * out, unless they carry {@link RequestLoggingFilter#KEEP}. As a turbo filter it runs before the
+ * logging event is created, so a dropped line costs neither formatting nor a queue slot.
+ */
+public class SampledOutTurboFilter extends TurboFilter {
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (level == null || level.isGreaterOrEqual(Level.WARN) || !"false".equals(MDC.get(RequestLoggingFilter.SAMPLED))) {
+            return FilterReply.NEUTRAL;
+        }
+        return marker != null && marker.contains(RequestLoggingFilter.KEEP) ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+}
@@ -0,0 +1,92 @@
+package com.techforall.bookcatalog.membership;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+
+/**
+ * Bloom filter over entity ids. {@link #mightContain} never returns false for an id that was
+ * {@link #add added}; it returns true for an id that was not with roughly the configured false
+ * positive rate, as long as no more than the expected number of ids are added. Ids cannot be
+ * removed, so a filter is rebuilt from scratch to forget deleted ones.
+ * <p>
+ * Adds and lookups are lock-free and may run concurrently.
+ */
+public final class IdBloomFilter {
+
+    private static final double LN2 = Math.log(2);
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+
+
+    private IdBloomFilter(long bitCount, int hashCount) {
+        this.words = new AtomicLongArray(Math.toIntExact((bitCount + 63) / 64));
+        this.bitCount = bitCount;
+        this.hashCount = hashCount;
+    }
+
+    /**
+     * A filter sized for {@code expectedIds} ids at the given false positive rate.
+     */
+    public static IdBloomFilter create(long expectedIds, double falsePositiveRate) {
+        if (expectedIds < 1) {
+            throw new IllegalArgumentException("expectedIds must be at least 1");
+        }
+        if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+            throw new IllegalArgumentException("falsePositiveRate must be between 0 and 1");
+        }
+        long bitCount = Math.max(64, (long) Math.ceil(-expectedIds * Math.log(falsePositiveRate) / (LN2 * LN2)));
+        int hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedIds * LN2));
+        return new IdBloomFilter(bitCount, hashCount);
+    }
+
+    public void add(long id) {
+        long hash1 = mix(id);
+        long hash2 = mix(hash1) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = bitIndex(hash1 + i * hash2);
+            long mask = 1L << bit;
+            int word = (int) (bit >>> 6);
+            if ((words.get(word) & mask) == 0) {
+                words.accumulateAndGet(word, mask, (current, set) -> current | set);
+            }
+        }
+    }
+
+    public boolean mightContain(long id) {
+        long hash1 = mix(id);
+        long hash2 = mix(hash1) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = bitIndex(hash1 + i * hash2);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long bitCount() {
+        return bitCount;
+    }
+
+    public int hashCount() {
+        return hashCount;
+    }
+
+    private long bitIndex(long hash) {
+        return (hash & Long.MAX_VALUE) % bitCount;
+    }
+
+    /**
+     * The MurmurHash3 finalizer: sequential ids come out evenly spread over all 64 bits.
+     */
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
@@ -0,0 +1,81 @@
+package com.techforall.bookcatalog.membership;
+
+import java.util.function.ToLongFunction;
+
+
+/**
+ * Answers whether an id of one entity type might exist, from an {@link IdBloomFilter} loaded from
+ * the database plus the ids created since.
+ * <p>
+ * A load only vouches for ids up to the highest id read by the load before it. Ids are assigned at
+ * insert but become visible at commit, so a row with a lower id than the highest one read may
+ * still have been in flight; a whole reload interval later it has committed and the next load
+ * sees it. Ids above that bound may also have been created through another instance or straight
+ * in the database, so they are always reported as possibly existing. Until the second load
+ * completes every id is.
+ */
+public class IdMembership {
+
+    private volatile Generation current;
+    private volatile IdBloomFilter loading;
+
+    /**
+     * Highest id read by the last load; only touched under the reload lock.
+     */
+    private long lastLoadedUpTo;
+
+
+    /**
+     * False only if the id definitely does not exist.
+     */
+    public boolean mightContain(long id) {
+        Generation generation = current;
+        return generation == null || id > generation.coveredUpTo() || generation.filter().mightContain(id);
+    }
+
+    /**
+     * Records a created id. Must be called before the creating transaction commits, so no reader
+     * can see the row while the filter still says it does not exist.
+     */
+    public void add(long id) {
+        // Read the loading filter first: a load that completes in between has already made its
+        // filter current, so the id lands in that one either way.
+        IdBloomFilter next = loading;
+        if (next != null) {
+            next.add(id);
+        }
+        Generation generation = current;
+        if (generation != null) {
+            generation.filter().add(id);
+        }
+    }
+
+    /**
+     * Replaces the filter with {@code filter} once {@code loader} has added the existing ids to it
+     * and returned the highest id it read. The new filter vouches for ids up to the highest id read
+     * by the previous load. Ids {@link #add added} while the load runs go into the new filter as
+     * well.
+     */
+    public synchronized void reload(IdBloomFilter filter, ToLongFunction<IdBloomFilter> loader) {
+        loading = filter;
+        try {
+            long loadedUpTo = loader.applyAsLong(filter);
+            current = new Generation(filter, lastLoadedUpTo);
+            lastLoadedUpTo = loadedUpTo;
+        } finally {
+            loading = null;
+        }
+    }
+
+    /**
+     * True once a load vouches for any id at all.
+     */
+    public boolean isLoaded() {
+        Generation generation = current;
+        return generation != null && generation.coveredUpTo() > 0;
+    }
+
+
+    private record Generation(IdBloomFilter filter, long coveredUpTo) {
+    }
+}
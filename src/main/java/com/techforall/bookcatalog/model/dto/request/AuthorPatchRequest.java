@@ -0,0 +1,30 @@
+package com.techforall.bookcatalog.model.dto.request;
+
+import jakarta.validation.constraints.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+
+/**
+ * Partial author update: only non-null fields are applied.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuthorPatchRequest {
+
+    @Pattern(regexp = "(?s).*\\S.*", message = "Name must not be blank")
+    @Size(min = 1, max = 100, message = "Name must be between 1 and 100 characters")
+    private String name;
+
+    @Pattern(regexp = "(?s).*\\S.*", message = "Surname must not be blank")
+    @Size(min = 1, max = 100, message = "Surname must be between 1 and 100 characters")
+    private String surname;
+
+    @Min(value = 1000, message = "Birth year must be at least 1000")
+    @Max(value = 2100, message = "Birth year must not exceed 2100")
+    private Integer birthYear;
+}
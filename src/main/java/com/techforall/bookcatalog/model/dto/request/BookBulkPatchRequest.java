@@ -0,0 +1,35 @@
+package com.techforall.bookcatalog.model.dto.request;
+
+import jakarta.validation.constraints.PastOrPresent;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+
+/**
+ * Fields set on every book matched by a bulk PATCH. Only non-null fields are written.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookBulkPatchRequest {
+
+    @Size(max = 150, message = "Publisher must not exceed 150 characters")
+    private String publisher;
+
+    @Size(max = 50, message = "Edition must not exceed 50 characters")
+    private String edition;
+
+    @PastOrPresent(message = "Published date cannot be in the future")
+    private LocalDate publishedDate;
+
+
+    public boolean isEmpty() {
+        return publisher == null && edition == null && publishedDate == null;
+    }
+}
@@ -0,0 +1,44 @@
+package com.techforall.bookcatalog.model.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+
+/**
+ * Optional query parameters of GET /books. Unset fields do not constrain the result.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookFilter {
+
+    private Long authorId;
+
+    private String publisher;
+
+    private String publisherPrefix;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate publishedFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate publishedTo;
+
+    private String edition;
+
+
+    public boolean isEmpty() {
+        return authorId == null
+                && publisher == null
+                && publisherPrefix == null
+                && publishedFrom == null
+                && publishedTo == null
+                && edition == null;
+    }
+}
@@ -17,5 +17,6 @@ public class AuthorResponse {
     private String surname;
     private String fullName;
     private Integer birthYear;
+    private Long version;
 }
 
@@ -1,11 +1,13 @@
 package com.techforall.bookcatalog.model.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Set;
 
 
@@ -17,9 +19,15 @@ public class BookResponse {
 
     private Long id;
     private String title;
+    // Left out of PATCH responses that did not load the author set.
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private Set<AuthorSummaryResponse> authors;
     private String publisher;
     private String edition;
     private LocalDate publishedDate;
+    private Long version;
+    // Ids of near-duplicates found when the book was created.
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<Long> possibleDuplicates;
 }
 
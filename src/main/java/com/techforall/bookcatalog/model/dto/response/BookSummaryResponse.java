@@ -1,10 +1,13 @@
 package com.techforall.bookcatalog.model.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.List;
+
 
 @Data
 @Builder
@@ -15,5 +18,8 @@ public class BookSummaryResponse {
     private Long id;
     private String title;
     private String publisher;
+    // Only loaded for include=authors.
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<AuthorSummaryResponse> authors;
 }
 
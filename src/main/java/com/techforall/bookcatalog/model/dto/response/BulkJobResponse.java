@@ -0,0 +1,39 @@
+package com.techforall.bookcatalog.model.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkJobResponse {
+
+    public enum Operation {
+        DELETE, UPDATE
+    }
+
+    public enum Status {
+        PENDING, RUNNING, COMPLETED, FAILED
+    }
+
+    private String id;
+    private Operation operation;
+    private Status status;
+    private boolean dryRun;
+
+    /**
+     * Books matching the filter when the job started.
+     */
+    private long matched;
+
+    private long processed;
+    private Instant startedAt;
+    private Instant finishedAt;
+    private String error;
+}
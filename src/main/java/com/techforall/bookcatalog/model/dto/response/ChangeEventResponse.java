@@ -0,0 +1,23 @@
+package com.techforall.bookcatalog.model.dto.response;
+
+import com.techforall.bookcatalog.model.entity.ChangeLogEntry;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeEventResponse {
+
+    private Long sequence;
+    private ChangeLogEntry.EntityType entityType;
+    private Long entityId;
+    private ChangeLogEntry.Operation operation;
+    private Instant changedAt;
+}
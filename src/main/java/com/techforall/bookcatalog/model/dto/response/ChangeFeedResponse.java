@@ -0,0 +1,25 @@
+package com.techforall.bookcatalog.model.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeFeedResponse {
+
+    private List<ChangeEventResponse> changes;
+
+    /**
+     * Cursor to pass as {@code since} on the next call; unchanged when there were no new entries.
+     */
+    private long nextCursor;
+
+    private boolean hasMore;
+}
@@ -0,0 +1,23 @@
+package com.techforall.bookcatalog.model.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+
+/**
+ * Sent instead of a replay that would exceed one feed page: the client fetches the changes after
+ * {@code since} up to and including {@code upTo} through GET /changes, while the stream carries on
+ * after {@code upTo}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeStreamResetResponse {
+
+    private long since;
+
+    private long upTo;
+}
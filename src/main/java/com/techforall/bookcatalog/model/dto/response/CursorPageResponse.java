@@ -0,0 +1,26 @@
+package com.techforall.bookcatalog.model.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageResponse<T> {
+
+    private List<T> content;
+    private int size;
+
+    /**
+     * Cursor to pass as {@code cursor} for the next page; null on the last page.
+     */
+    private String nextCursor;
+
+    private boolean hasMore;
+}
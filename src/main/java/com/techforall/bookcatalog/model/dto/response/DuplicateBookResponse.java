@@ -0,0 +1,18 @@
+package com.techforall.bookcatalog.model.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DuplicateBookResponse {
+
+    private Long id;
+    private String title;
+    private double similarity;
+}
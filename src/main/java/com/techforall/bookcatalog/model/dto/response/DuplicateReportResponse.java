@@ -0,0 +1,41 @@
+package com.techforall.bookcatalog.model.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DuplicateReportResponse {
+
+    private Instant generatedAt;
+    private int booksScanned;
+
+    /**
+     * False when the report stopped at {@code catalog.dedup.max-report-pairs}.
+     */
+    private boolean complete;
+
+    private List<Pair> pairs;
+
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Pair {
+
+        private Long bookId;
+        private String title;
+        private Long duplicateId;
+        private String duplicateTitle;
+        private double similarity;
+    }
+}
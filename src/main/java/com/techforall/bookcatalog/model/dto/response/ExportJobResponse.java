@@ -0,0 +1,39 @@
+package com.techforall.bookcatalog.model.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExportJobResponse {
+
+    public enum Status {
+        PENDING, RUNNING, COMPLETED, FAILED
+    }
+
+    private String id;
+    private Status status;
+
+    /**
+     * Directory holding the export's files and, once completed, its manifest.
+     */
+    private String directory;
+
+    /**
+     * Files to write: one per book partition plus the authors file. Zero until the job has started.
+     */
+    private int files;
+
+    private int completedFiles;
+    private long rows;
+    private Instant startedAt;
+    private Instant finishedAt;
+    private String error;
+}
@@ -2,6 +2,7 @@ package com.techforall.bookcatalog.model.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.util.HashSet;
 import java.util.Set;
@@ -9,6 +10,7 @@ import java.util.Set;
 
 @Entity
 @Table(name = "authors")
+@DynamicUpdate
 @Getter
 @Setter
 @NoArgsConstructor
@@ -29,6 +31,10 @@ public class Author {
     @Column(name = "birth_year")
     private Integer birthYear;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @ManyToMany(mappedBy = "authors", fetch = FetchType.LAZY)
     private Set<Book> books = new HashSet<>();
 
@@ -2,6 +2,7 @@ package com.techforall.bookcatalog.model.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDate;
 import java.util.HashSet;
@@ -10,6 +11,7 @@ import java.util.Set;
 
 @Entity
 @Table(name = "books")
+@DynamicUpdate
 @Getter
 @Setter
 @NoArgsConstructor
@@ -41,6 +43,10 @@ public class Book {
     @Column(name = "published_date")
     private LocalDate publishedDate;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
 
 }
 
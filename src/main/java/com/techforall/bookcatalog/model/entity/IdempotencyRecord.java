@@ -0,0 +1,103 @@
+package com.techforall.bookcatalog.model.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+
+@Entity
+@Table(name = "idempotency_keys")
+@IdClass(IdempotencyRecord.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@EqualsAndHashCode(of = {"scope", "idempotencyKey"})
+public class IdempotencyRecord implements Persistable<IdempotencyRecord.Key> {
+
+    /**
+     * {@code APPLIED} is set in the transaction of the write itself, so a claim whose write committed
+     * is never released or taken over, even when storing the response afterwards fails.
+     */
+    public enum Status {
+        IN_PROGRESS, APPLIED, COMPLETED
+    }
+
+    @Id
+    @Column(name = "scope", length = 50)
+    private String scope;
+
+    @Id
+    @Column(name = "idempotency_key", length = 255)
+    private String idempotencyKey;
+
+    @Column(name = "fingerprint", nullable = false, length = 64)
+    private String fingerprint;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private Status status;
+
+    @Column(name = "response_status")
+    private Integer responseStatus;
+
+    @Column(name = "response_content_type", length = 100)
+    private String responseContentType;
+
+    /**
+     * Headers the handler set, one {@code Name: value} line each.
+     */
+    @Column(name = "response_headers")
+    private String responseHeaders;
+
+    @Column(name = "response_body")
+    private String responseBody;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    // Always insert a claim: a merge would silently take over a concurrent claim for the same key.
+    @Transient
+    private boolean newRecord = true;
+
+
+    public IdempotencyRecord(String scope, String idempotencyKey, String fingerprint,
+                             Instant createdAt, Instant expiresAt) {
+        this.scope = scope;
+        this.idempotencyKey = idempotencyKey;
+        this.fingerprint = fingerprint;
+        this.status = Status.IN_PROGRESS;
+        this.createdAt = createdAt;
+        this.expiresAt = expiresAt;
+    }
+
+    @Override
+    public Key getId() {
+        return new Key(scope, idempotencyKey);
+    }
+
+    @Override
+    public boolean isNew() {
+        return newRecord;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.newRecord = false;
+    }
+
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private String scope;
+        private String idempotencyKey;
+    }
+}
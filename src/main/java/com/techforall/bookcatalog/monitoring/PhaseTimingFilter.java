@@ -0,0 +1,67 @@
+package com.techforall.bookcatalog.monitoring;
+
+import com.techforall.bookcatalog.config.PhaseTimingProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Binds {@link PhaseTimings} to the requests that ask for them, reports the phases through the
+ * Server-Timing header and records each phase that ran in the {@value #METRIC_NAME} histogram.
+ */
+public class PhaseTimingFilter extends OncePerRequestFilter {
+
+    public static final String METRIC_NAME = "catalog.request.phase";
+
+    private static final RequestPhase[] PHASES = RequestPhase.values();
+
+    private final PhaseTimingProperties properties;
+    private final Timer[] timersByPhase = new Timer[PHASES.length];
+
+    public PhaseTimingFilter(PhaseTimingProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        for (RequestPhase phase : PHASES) {
+            timersByPhase[phase.ordinal()] = Timer.builder(METRIC_NAME)
+                    .description("Exclusive time a timed request spent in one phase")
+                    .tag("phase", phase.getMetricName())
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        if (!isTimed(request)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        PhaseTimings timings = new PhaseTimings();
+        PhaseTimings.bind(timings);
+        ServerTimingResponseWrapper wrapper = new ServerTimingResponseWrapper(response, timings::toServerTiming);
+        try {
+            filterChain.doFilter(request, wrapper);
+        } finally {
+            PhaseTimings.unbind();
+            wrapper.writeHeaderIfPossible();
+            for (RequestPhase phase : PHASES) {
+                if (timings.getCount(phase) > 0) {
+                    timersByPhase[phase.ordinal()].record(timings.getNanos(phase), TimeUnit.NANOSECONDS);
+                }
+            }
+        }
+    }
+
+    private boolean isTimed(HttpServletRequest request) {
+        String header = request.getHeader(properties.getHeader());
+        return header == null ? properties.isDefaultEnabled() : Boolean.parseBoolean(header);
+    }
+}
@@ -0,0 +1,32 @@
+package com.techforall.bookcatalog.monitoring;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+
+/**
+ * Times the intercepted call as one {@link RequestPhase} when the current request is timed;
+ * otherwise only proceeds.
+ */
+public class PhaseTimingInterceptor implements MethodInterceptor {
+
+    private final RequestPhase phase;
+
+    public PhaseTimingInterceptor(RequestPhase phase) {
+        this.phase = phase;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        PhaseTimings timings = PhaseTimings.current();
+        if (timings == null) {
+            return invocation.proceed();
+        }
+        timings.enter(phase);
+        try {
+            return invocation.proceed();
+        } finally {
+            timings.exit();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.techforall.bookcatalog.monitoring;
+
+import java.util.Locale;
+
+
+/**
+ * Per-request time spent in each {@link RequestPhase}, bound to the request thread by
+ * {@link PhaseTimingFilter} for the requests that asked for it. Phases nest: while an inner phase
+ * runs, the outer one is paused, so each phase reports exclusive time and the phases never add up
+ * to more than the request. Entering and leaving a phase allocates nothing.
+ * Not thread-safe: a request runs its timed work on one thread.
+ */
+public class PhaseTimings {
+
+    private static final ThreadLocal<PhaseTimings> CURRENT = new ThreadLocal<>();
+    private static final RequestPhase[] PHASES = RequestPhase.values();
+    private static final int MAX_DEPTH = 16;
+
+    private final long[] nanosByPhase = new long[PHASES.length];
+    private final int[] countsByPhase = new int[PHASES.length];
+    private final RequestPhase[] stack = new RequestPhase[MAX_DEPTH];
+    private int depth;
+    private long resumedAt;
+
+
+    public static PhaseTimings current() {
+        return CURRENT.get();
+    }
+
+    static void bind(PhaseTimings timings) {
+        CURRENT.set(timings);
+    }
+
+    static void unbind() {
+        CURRENT.remove();
+    }
+
+    public void enter(RequestPhase phase) {
+        countsByPhase[phase.ordinal()]++;
+        if (depth >= MAX_DEPTH) {
+            // Deeper nesting keeps charging the innermost tracked phase.
+            depth++;
+            return;
+        }
+        long now = System.nanoTime();
+        if (depth > 0) {
+            nanosByPhase[stack[depth - 1].ordinal()] += now - resumedAt;
+        }
+        stack[depth++] = phase;
+        resumedAt = now;
+    }
+
+    public void exit() {
+        if (depth == 0) {
+            return;
+        }
+        if (--depth >= MAX_DEPTH) {
+            return;
+        }
+        long now = System.nanoTime();
+        nanosByPhase[stack[depth].ordinal()] += now - resumedAt;
+        stack[depth] = null;
+        resumedAt = now;
+    }
+
+    public long getNanos(RequestPhase phase) {
+        return nanosByPhase[phase.ordinal()];
+    }
+
+    public int getCount(RequestPhase phase) {
+        return countsByPhase[phase.ordinal()];
+    }
+
+    /**
+     * One Server-Timing metric per phase that ran, e.g. {@code mapping;dur=0.412;desc="3 calls"}.
+     */
+    public String toServerTiming() {
+        StringBuilder header = new StringBuilder();
+        for (RequestPhase phase : PHASES) {
+            int count = countsByPhase[phase.ordinal()];
+            if (count == 0) {
+                continue;
+            }
+            if (!header.isEmpty()) {
+                header.append(", ");
+            }
+            header.append(phase.getMetricName())
+                    .append(String.format(Locale.ROOT, ";dur=%.3f", nanosByPhase[phase.ordinal()] / 1_000_000.0))
+                    .append(";desc=\"").append(count).append(count == 1 ? " call\"" : " calls\"");
+        }
+        return header.toString();
+    }
+}
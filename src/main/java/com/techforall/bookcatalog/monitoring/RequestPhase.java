@@ -0,0 +1,39 @@
+package com.techforall.bookcatalog.monitoring;
+
+
+/**
+ * The parts of a request that {@link PhaseTimings} accounts for, named as they appear in the
+ * Server-Timing header and in the {@code phase} tag of the phase timer.
+ */
+public enum RequestPhase {
+
+    /**
+     * Spring Data repository calls, including the Hibernate work around the JDBC statements.
+     */
+    REPOSITORY("repository"),
+
+    /**
+     * {@code EntityMapper} conversions, including lazy loads they trigger.
+     */
+    MAPPING("mapping"),
+
+    /**
+     * Writing JSON response bodies.
+     */
+    SERIALIZATION("serialization"),
+
+    /**
+     * {@code GlobalExceptionHandler} turning an exception into an error response.
+     */
+    ERROR("error");
+
+    private final String metricName;
+
+    RequestPhase(String metricName) {
+        this.metricName = metricName;
+    }
+
+    public String getMetricName() {
+        return metricName;
+    }
+}
@@ -0,0 +1,77 @@
+package com.techforall.bookcatalog.monitoring;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.function.Supplier;
+
+
+/**
+ * Adds the Server-Timing header at the last moment before the response can be committed,
+ * i.e. when the body stream is first requested or the response is flushed, so the header
+ * reflects all work done by the handler without buffering the body.
+ */
+public class ServerTimingResponseWrapper extends HttpServletResponseWrapper {
+
+    public static final String HEADER = "Server-Timing";
+
+    private final Supplier<String> headerValue;
+    private boolean headerWritten;
+
+    public ServerTimingResponseWrapper(HttpServletResponse response, Supplier<String> headerValue) {
+        super(response);
+        this.headerValue = headerValue;
+    }
+
+    public void writeHeaderIfPossible() {
+        if (headerWritten) {
+            return;
+        }
+        headerWritten = true;
+        if (!isCommitted()) {
+            String value = headerValue.get();
+            if (value != null && !value.isEmpty()) {
+                addHeader(HEADER, value);
+            }
+        }
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        writeHeaderIfPossible();
+        return super.getOutputStream();
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        writeHeaderIfPossible();
+        return super.getWriter();
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        writeHeaderIfPossible();
+        super.flushBuffer();
+    }
+
+    @Override
+    public void sendError(int sc) throws IOException {
+        writeHeaderIfPossible();
+        super.sendError(sc);
+    }
+
+    @Override
+    public void sendError(int sc, String msg) throws IOException {
+        writeHeaderIfPossible();
+        super.sendError(sc, msg);
+    }
+
+    @Override
+    public void sendRedirect(String location) throws IOException {
+        writeHeaderIfPossible();
+        super.sendRedirect(location);
+    }
+}
@@ -0,0 +1,61 @@
+package com.techforall.bookcatalog.monitoring;
+
+import com.techforall.bookcatalog.config.SqlMonitoringProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+
+
+/**
+ * Collects {@link SqlStatementStats} for each request, reports repeated SELECT shapes as
+ * N+1 suspects and exposes the summary through the Server-Timing header.
+ */
+@Slf4j
+public class SqlMonitoringFilter extends OncePerRequestFilter {
+
+    private final SqlMonitoringProperties properties;
+
+    public SqlMonitoringFilter(SqlMonitoringProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        SqlStatementStats stats = new SqlStatementStats();
+        request.setAttribute(SqlStatementStats.REQUEST_ATTRIBUTE, stats);
+        SqlStatementStats.bind(stats);
+
+        ServerTimingResponseWrapper wrapper = properties.isServerTiming()
+                ? new ServerTimingResponseWrapper(response, stats::toServerTiming)
+                : null;
+        try {
+            filterChain.doFilter(request, wrapper != null ? wrapper : response);
+        } finally {
+            SqlStatementStats.unbind();
+            if (wrapper != null) {
+                wrapper.writeHeaderIfPossible();
+            }
+            reportNPlusOneSuspects(request, stats);
+        }
+    }
+
+    private void reportNPlusOneSuspects(HttpServletRequest request, SqlStatementStats stats) {
+        if (stats.getCount(SqlStatementStats.StatementType.SELECT) < properties.getNPlusOneThreshold()) {
+            return;
+        }
+        for (Map.Entry<String, Integer> entry : stats.getExecutionsBySql().entrySet()) {
+            if (entry.getValue() >= properties.getNPlusOneThreshold()
+                    && SqlStatementStats.typeOf(entry.getKey()) == SqlStatementStats.StatementType.SELECT) {
+                log.warn("Possible N+1 in {} {}: {} executions of: {}",
+                        request.getMethod(), request.getRequestURI(), entry.getValue(), entry.getKey());
+            }
+        }
+    }
+}
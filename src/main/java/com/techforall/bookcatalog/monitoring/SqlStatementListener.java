@@ -0,0 +1,67 @@
+package com.techforall.bookcatalog.monitoring;
+
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Times every JDBC statement, feeds the current request's {@link SqlStatementStats} and logs
+ * statements slower than the configured threshold. Only parameter types are logged, never values.
+ */
+@Slf4j
+public class SqlStatementListener implements QueryExecutionListener {
+
+    private static final ThreadLocal<long[]> START_NANOS = ThreadLocal.withInitial(() -> new long[1]);
+
+    private final long slowQueryThresholdNanos;
+
+    public SqlStatementListener(long slowQueryThresholdMillis) {
+        this.slowQueryThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowQueryThresholdMillis);
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        START_NANOS.get()[0] = System.nanoTime();
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long elapsed = System.nanoTime() - START_NANOS.get()[0];
+
+        SqlStatementStats stats = SqlStatementStats.current();
+        if (stats != null) {
+            long share = elapsed / Math.max(1, queryInfoList.size());
+            for (QueryInfo queryInfo : queryInfoList) {
+                stats.record(queryInfo.getQuery(), share);
+            }
+        }
+
+        if (elapsed >= slowQueryThresholdNanos) {
+            for (QueryInfo queryInfo : queryInfoList) {
+                log.warn("Slow SQL ({} ms, batch size {}): {} params={}",
+                        TimeUnit.NANOSECONDS.toMillis(elapsed), Math.max(1, execInfo.getBatchSize()),
+                        queryInfo.getQuery(), parameterShape(queryInfo));
+            }
+        }
+    }
+
+    static String parameterShape(QueryInfo queryInfo) {
+        List<List<ParameterSetOperation>> parametersList = queryInfo.getParametersList();
+        if (parametersList.isEmpty()) {
+            return "[]";
+        }
+        StringJoiner shape = new StringJoiner(", ", "[", "]");
+        for (ParameterSetOperation operation : parametersList.get(0)) {
+            String method = operation.getMethod().getName();
+            shape.add(method.startsWith("set") ? method.substring(3) : method);
+        }
+        return shape.toString();
+    }
+}
@@ -0,0 +1,94 @@
+package com.techforall.bookcatalog.monitoring;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+
+/**
+ * Per-request statement counters, bound to the request thread by {@link SqlMonitoringFilter}
+ * and fed by {@link SqlStatementListener}. Not thread-safe: a request runs its JDBC work on one thread.
+ */
+public class SqlStatementStats {
+
+    public static final String REQUEST_ATTRIBUTE = SqlStatementStats.class.getName();
+
+    private static final ThreadLocal<SqlStatementStats> CURRENT = new ThreadLocal<>();
+
+    public enum StatementType {
+        SELECT, INSERT, UPDATE, DELETE, OTHER
+    }
+
+    private final int[] countsByType = new int[StatementType.values().length];
+    private final Map<String, Integer> executionsBySql = new LinkedHashMap<>();
+    private long totalNanos;
+
+
+    public static SqlStatementStats current() {
+        return CURRENT.get();
+    }
+
+    static void bind(SqlStatementStats stats) {
+        CURRENT.set(stats);
+    }
+
+    static void unbind() {
+        CURRENT.remove();
+    }
+
+    void record(String sql, long elapsedNanos) {
+        countsByType[typeOf(sql).ordinal()]++;
+        executionsBySql.merge(sql, 1, Integer::sum);
+        totalNanos += elapsedNanos;
+    }
+
+    public int getStatementCount() {
+        int total = 0;
+        for (int count : countsByType) {
+            total += count;
+        }
+        return total;
+    }
+
+    public int getCount(StatementType type) {
+        return countsByType[type.ordinal()];
+    }
+
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    /**
+     * Executions per distinct SQL text, in first-seen order. Hibernate binds parameters
+     * with placeholders, so the SQL text is the statement shape.
+     */
+    public Map<String, Integer> getExecutionsBySql() {
+        return Collections.unmodifiableMap(executionsBySql);
+    }
+
+    public String toServerTiming() {
+        return String.format(Locale.ROOT, "db;dur=%.3f;desc=\"%d statements\"",
+                totalNanos / 1_000_000.0, getStatementCount());
+    }
+
+    static StatementType typeOf(String sql) {
+        int start = 0;
+        while (start < sql.length() && (Character.isWhitespace(sql.charAt(start)) || sql.charAt(start) == '(')) {
+            start++;
+        }
+        if (sql.regionMatches(true, start, "select", 0, 6) || sql.regionMatches(true, start, "with", 0, 4)) {
+            return StatementType.SELECT;
+        }
+        if (sql.regionMatches(true, start, "insert", 0, 6)) {
+            return StatementType.INSERT;
+        }
+        if (sql.regionMatches(true, start, "update", 0, 6)) {
+            return StatementType.UPDATE;
+        }
+        if (sql.regionMatches(true, start, "delete", 0, 6)) {
+            return StatementType.DELETE;
+        }
+        return StatementType.OTHER;
+    }
+}
@@ -0,0 +1,70 @@
+package com.techforall.bookcatalog.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+
+/**
+ * Tuple queries that select only the named attributes, each aliased by its attribute name.
+ */
+final class AttributeProjections {
+
+    private AttributeProjections() {
+    }
+
+
+    static List<Selection<?>> selections(From<?, ?> from, Collection<String> attributes) {
+        List<Selection<?>> selections = new ArrayList<>(attributes.size());
+        for (String attribute : attributes) {
+            selections.add(from.get(attribute).alias(attribute));
+        }
+        return selections;
+    }
+
+
+    static <T> Page<Tuple> findPage(EntityManager entityManager, Class<T> type, Specification<T> spec,
+                                    Collection<String> attributes, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<T> root = query.from(type);
+        query.multiselect(selections(root, attributes));
+        Predicate matches = spec != null ? spec.toPredicate(root, query, cb) : null;
+        if (matches != null) {
+            query.where(matches);
+        }
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+        List<Tuple> content = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(entityManager, type, spec));
+    }
+
+    private static <T> long count(EntityManager entityManager, Class<T> type, Specification<T> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<T> root = query.from(type);
+        query.select(cb.count(root));
+        Predicate matches = spec != null ? spec.toPredicate(root, query, cb) : null;
+        if (matches != null) {
+            query.where(matches);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
@@ -0,0 +1,20 @@
+package com.techforall.bookcatalog.repository;
+
+import jakarta.persistence.Tuple;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Collection;
+import java.util.Optional;
+
+
+/**
+ * Reads only the requested author columns, for sparse fieldset requests. Tuple elements are
+ * aliased by attribute name.
+ */
+public interface AuthorProjectionRepository {
+
+    Optional<Tuple> findAttributesById(Long id, Collection<String> attributes);
+
+    Page<Tuple> findAttributes(Collection<String> attributes, Pageable pageable);
+}
@@ -0,0 +1,37 @@
+package com.techforall.bookcatalog.repository;
+
+import com.techforall.bookcatalog.model.entity.Author;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Collection;
+import java.util.Optional;
+
+
+public class AuthorProjectionRepositoryImpl implements AuthorProjectionRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<Tuple> findAttributesById(Long id, Collection<String> attributes) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Author> root = query.from(Author.class);
+        query.multiselect(AttributeProjections.selections(root, attributes))
+                .where(cb.equal(root.get("id"), id));
+
+        return entityManager.createQuery(query).getResultStream().findFirst();
+    }
+
+    @Override
+    public Page<Tuple> findAttributes(Collection<String> attributes, Pageable pageable) {
+        return AttributeProjections.findPage(entityManager, Author.class, null, attributes, pageable);
+    }
+}
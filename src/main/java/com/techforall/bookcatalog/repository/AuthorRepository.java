@@ -1,17 +1,52 @@
 package com.techforall.bookcatalog.repository;
 
 import com.techforall.bookcatalog.model.entity.Author;
+import com.techforall.bookcatalog.snapshot.SnapshotAuthor;
+import com.techforall.bookcatalog.suggest.IndexedAuthor;
 import org.springframework.data.jpa.repository.JpaRepository;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 
 @Repository
-public interface AuthorRepository extends JpaRepository<Author, Long> {
+public interface AuthorRepository extends JpaRepository<Author, Long>, AuthorProjectionRepository {
 
 
     @Query("SELECT CASE WHEN COUNT(b) > 0 THEN true ELSE false END FROM Book b JOIN b.authors a WHERE a.id = :authorId")
     boolean hasBooks(@Param("authorId") Long authorId);
-}
 
+
+    @Query("SELECT new com.techforall.bookcatalog.suggest.IndexedAuthor(a.id, a.name, a.surname) FROM Author a")
+    List<IndexedAuthor> findAllIndexed();
+
+
+    @Query("SELECT new com.techforall.bookcatalog.snapshot.SnapshotAuthor(a.id, a.version, a.name, a.surname, a.birthYear) "
+            + "FROM Author a ORDER BY a.surname, a.id")
+    List<SnapshotAuthor> findAllForSnapshot();
+
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.techforall.bookcatalog.snapshot.SnapshotAuthor(a.id, a.version, a.name, a.surname, a.birthYear) "
+            + "FROM Author a ORDER BY a.id")
+    Stream<SnapshotAuthor> streamForExport();
+
+
+    @Query("SELECT MAX(a.id) FROM Author a")
+    Optional<Long> findMaxId();
+
+
+    /**
+     * Ids of all authors up to {@code maxId}, fetched from the database in batches as the stream is consumed.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT a.id FROM Author a WHERE a.id <= :maxId")
+    Stream<Long> streamIdsUpTo(@Param("maxId") long maxId);
+}
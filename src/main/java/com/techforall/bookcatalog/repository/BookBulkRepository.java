@@ -0,0 +1,30 @@
+package com.techforall.bookcatalog.repository;
+
+import com.techforall.bookcatalog.model.entity.Book;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+
+/**
+ * Set-based statements for bulk operations. Nothing here loads {@link Book} entities.
+ */
+public interface BookBulkRepository {
+
+    /**
+     * Next chunk of matching ids in id order, after {@code afterId}.
+     */
+    List<Long> findIdsAfter(Specification<Book> spec, long afterId, int limit);
+
+    /**
+     * Deletes the books and their book_authors rows.
+     */
+    int deleteAllByIds(Collection<Long> ids);
+
+    /**
+     * Sets every non-null value on the books and bumps their version.
+     */
+    int updateAllByIds(Collection<Long> ids, String publisher, String edition, LocalDate publishedDate);
+}
@@ -0,0 +1,68 @@
+package com.techforall.bookcatalog.repository;
+
+import com.techforall.bookcatalog.model.entity.Book;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+
+public class BookBulkRepositoryImpl implements BookBulkRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Long> findIdsAfter(Specification<Book> spec, long afterId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Book> root = query.from(Book.class);
+
+        Predicate afterCursor = cb.greaterThan(root.get("id"), afterId);
+        Predicate matches = spec.toPredicate(root, query, cb);
+        query.select(root.get("id"))
+                .where(matches != null ? cb.and(matches, afterCursor) : afterCursor)
+                .orderBy(cb.asc(root.get("id")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public int deleteAllByIds(Collection<Long> ids) {
+        // Hibernate clears the matching book_authors rows before deleting the books.
+        return entityManager.createQuery("DELETE FROM Book b WHERE b.id IN :ids")
+                .setParameter("ids", ids)
+                .executeUpdate();
+    }
+
+    @Override
+    public int updateAllByIds(Collection<Long> ids, String publisher, String edition, LocalDate publishedDate) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Book> update = cb.createCriteriaUpdate(Book.class);
+        Root<Book> root = update.from(Book.class);
+
+        if (publisher != null) {
+            update.set(root.<String>get("publisher"), publisher);
+        }
+        if (edition != null) {
+            update.set(root.<String>get("edition"), edition);
+        }
+        if (publishedDate != null) {
+            update.set(root.<LocalDate>get("publishedDate"), publishedDate);
+        }
+        update.set(root.<Long>get("version"), cb.sum(root.<Long>get("version"), 1L));
+        update.where(root.get("id").in(ids));
+
+        return entityManager.createQuery(update).executeUpdate();
+    }
+}
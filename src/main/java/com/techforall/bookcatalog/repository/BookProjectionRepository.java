@@ -0,0 +1,43 @@
+package com.techforall.bookcatalog.repository;
+
+import com.techforall.bookcatalog.model.entity.Book;
+import jakarta.persistence.Tuple;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+import java.util.List;
+
+
+/**
+ * Reads only the requested book columns, for sparse fieldset requests. Tuple elements are aliased
+ * by attribute name.
+ */
+public interface BookProjectionRepository {
+
+    String AUTHOR_ID = "authorId";
+    String AUTHOR_NAME = "authorName";
+    String AUTHOR_SURNAME = "authorSurname";
+
+    /**
+     * Selects {@code attributes} of one book; empty if it does not exist. With {@code withAuthors}
+     * the book_authors and authors tables are joined in, giving one row per author with
+     * {@link #AUTHOR_ID}, {@link #AUTHOR_NAME} and {@link #AUTHOR_SURNAME} (null for a book without authors).
+     */
+    List<Tuple> findAttributesById(Long id, Collection<String> attributes, boolean withAuthors);
+
+    /**
+     * @param spec may be null for all books
+     */
+    Page<Tuple> findAttributes(Specification<Book> spec, Collection<String> attributes, Pageable pageable);
+
+    /**
+     * Keyset page of an author's books as id, title and publisher, reached through book_authors by
+     * author_id without touching {@code Author.books}. {@code sort} is title or id, ending with the id
+     * tiebreaker; with a non-null {@code afterId} only rows past ({@code afterValue}, {@code afterId})
+     * in that order are returned.
+     */
+    List<Tuple> findSummariesByAuthor(Long authorId, Sort sort, String afterValue, Long afterId, int limit);
+}
@@ -0,0 +1,83 @@
+package com.techforall.bookcatalog.repository;
+
+import com.techforall.bookcatalog.model.entity.Author;
+import com.techforall.bookcatalog.model.entity.Book;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+
+public class BookProjectionRepositoryImpl implements BookProjectionRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Tuple> findAttributesById(Long id, Collection<String> attributes, boolean withAuthors) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Book> root = query.from(Book.class);
+
+        List<Selection<?>> selections = AttributeProjections.selections(root, attributes);
+        if (withAuthors) {
+            Join<Book, Author> author = root.join("authors", JoinType.LEFT);
+            selections.add(author.get("id").alias(AUTHOR_ID));
+            selections.add(author.get("name").alias(AUTHOR_NAME));
+            selections.add(author.get("surname").alias(AUTHOR_SURNAME));
+        }
+        query.multiselect(selections).where(cb.equal(root.get("id"), id));
+
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    @Override
+    public Page<Tuple> findAttributes(Specification<Book> spec, Collection<String> attributes, Pageable pageable) {
+        return AttributeProjections.findPage(entityManager, Book.class, spec, attributes, pageable);
+    }
+
+    @Override
+    public List<Tuple> findSummariesByAuthor(Long authorId, Sort sort, String afterValue, Long afterId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Book> root = query.from(Book.class);
+        Join<Book, Author> author = root.join("authors");
+
+        List<Predicate> where = new ArrayList<>(List.of(cb.equal(author.get("id"), authorId)));
+        if (afterId != null) {
+            Sort.Order primary = sort.iterator().next();
+            boolean ascending = primary.isAscending();
+            Path<Long> id = root.get("id");
+            Predicate pastId = ascending ? cb.greaterThan(id, afterId) : cb.lessThan(id, afterId);
+            if (primary.getProperty().equals("id")) {
+                where.add(pastId);
+            } else {
+                Path<String> value = root.get(primary.getProperty());
+                where.add(cb.or(
+                        ascending ? cb.greaterThan(value, afterValue) : cb.lessThan(value, afterValue),
+                        cb.and(cb.equal(value, afterValue), pastId)));
+            }
+        }
+        query.multiselect(AttributeProjections.selections(root, List.of("id", "title", "publisher")))
+                .where(where.toArray(Predicate[]::new))
+                .orderBy(QueryUtils.toOrders(sort, root, cb));
+
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+}
@@ -2,18 +2,81 @@ package com.techforall.bookcatalog.repository;
 
 import com.techforall.bookcatalog.model.entity.Book;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 
 @Repository
-public interface BookRepository extends JpaRepository<Book, Long> {
+public interface BookRepository extends JpaRepository<Book, Long>, JpaSpecificationExecutor<Book>,
+        BookBulkRepository, BookProjectionRepository {
 
 
     @Query("SELECT b FROM Book b LEFT JOIN FETCH b.authors WHERE b.id = :id")
     Optional<Book> findByIdWithAuthors(@Param("id") Long id);
-}
 
+
+    /**
+     * One row per book and author as {id, title, authorId}; authorId is null for books without authors.
+     */
+    @Query("SELECT b.id, b.title, a.id FROM Book b LEFT JOIN b.authors a ORDER BY b.id")
+    List<Object[]> findAllTitlesWithAuthorIds();
+
+
+    /**
+     * One row per book and author as {bookId, authorId, name, surname}, for all the given books at once.
+     */
+    @Query("SELECT b.id, a.id, a.name, a.surname FROM Book b JOIN b.authors a WHERE b.id IN :bookIds "
+            + "ORDER BY a.surname, a.name, a.id")
+    List<Object[]> findAuthorSummariesByBookIds(@Param("bookIds") Collection<Long> bookIds);
+
+
+    /**
+     * One row per book as {id, version, title, publisher, edition, publishedDate}, in the default list order.
+     */
+    @Query("SELECT b.id, b.version, b.title, b.publisher, b.edition, b.publishedDate FROM Book b ORDER BY b.title, b.id")
+    List<Object[]> findAllForSnapshot();
+
+
+    /**
+     * One row per book-author link as {bookId, authorId}.
+     */
+    @Query("SELECT b.id, a.id FROM Book b JOIN b.authors a")
+    List<Object[]> findAllAuthorLinks();
+
+
+    @Query("SELECT MIN(b.id) FROM Book b")
+    Optional<Long> findMinId();
+
+
+    @Query("SELECT MAX(b.id) FROM Book b")
+    Optional<Long> findMaxId();
+
+
+    /**
+     * One row per book and author as {id, version, title, publisher, edition, publishedDate, authorId}
+     * for ids in [fromId, toId), in id order; authorId is null for books without authors. Rows are
+     * fetched from the database in batches as the stream is consumed.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT b.id, b.version, b.title, b.publisher, b.edition, b.publishedDate, a.id "
+            + "FROM Book b LEFT JOIN b.authors a WHERE b.id >= :fromId AND b.id < :toId ORDER BY b.id")
+    Stream<Object[]> streamForExport(@Param("fromId") long fromId, @Param("toId") long toId);
+
+
+    /**
+     * Ids of all books up to {@code maxId}, fetched from the database in batches as the stream is consumed.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT b.id FROM Book b WHERE b.id <= :maxId")
+    Stream<Long> streamIdsUpTo(@Param("maxId") long maxId);
+}
@@ -0,0 +1,96 @@
+package com.techforall.bookcatalog.repository;
+
+import com.techforall.bookcatalog.model.dto.request.BookFilter;
+import com.techforall.bookcatalog.model.entity.Author;
+import com.techforall.bookcatalog.model.entity.Book;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * Composable {@link Specification}s for {@link Book} queries. Each one targets a column
+ * indexed by the Flyway migrations, so every filter combination can be answered from an index.
+ */
+public final class BookSpecifications {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private BookSpecifications() {
+    }
+
+
+    public static Specification<Book> fromFilter(BookFilter filter) {
+        List<Specification<Book>> specs = new ArrayList<>();
+        if (filter.getAuthorId() != null) {
+            specs.add(hasAuthor(filter.getAuthorId()));
+        }
+        if (filter.getPublisher() != null) {
+            specs.add(publisherEquals(filter.getPublisher()));
+        }
+        if (filter.getPublisherPrefix() != null) {
+            specs.add(publisherStartsWith(filter.getPublisherPrefix()));
+        }
+        if (filter.getPublishedFrom() != null) {
+            specs.add(publishedOnOrAfter(filter.getPublishedFrom()));
+        }
+        if (filter.getPublishedTo() != null) {
+            specs.add(publishedOnOrBefore(filter.getPublishedTo()));
+        }
+        if (filter.getEdition() != null) {
+            specs.add(editionEquals(filter.getEdition()));
+        }
+        return Specification.allOf(specs);
+    }
+
+    /**
+     * Restricts to books written by the author, via book_authors(author_id) rather than a join
+     * on the outer query, so pagination and counting stay one row per book.
+     */
+    public static Specification<Book> hasAuthor(Long authorId) {
+        return (root, query, cb) -> {
+            Subquery<Long> bookIds = query.subquery(Long.class);
+            Root<Book> book = bookIds.from(Book.class);
+            Join<Book, Author> author = book.join("authors");
+            bookIds.select(book.get("id")).where(cb.equal(author.get("id"), authorId));
+            return root.get("id").in(bookIds);
+        };
+    }
+
+    public static Specification<Book> publisherEquals(String publisher) {
+        return (root, query, cb) -> cb.equal(root.get("publisher"), publisher);
+    }
+
+    public static Specification<Book> publisherStartsWith(String prefix) {
+        return (root, query, cb) -> cb.like(root.get("publisher"), escapeLike(prefix) + "%", LIKE_ESCAPE);
+    }
+
+    public static Specification<Book> publishedOnOrAfter(LocalDate from) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("publishedDate"), from);
+    }
+
+    public static Specification<Book> publishedOnOrBefore(LocalDate to) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("publishedDate"), to);
+    }
+
+    public static Specification<Book> editionEquals(String edition) {
+        return (root, query, cb) -> cb.equal(root.get("edition"), edition);
+    }
+
+    private static String escapeLike(String value) {
+        StringBuilder escaped = new StringBuilder(value.length() + 4);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '%' || c == '_' || c == LIKE_ESCAPE) {
+                escaped.append(LIKE_ESCAPE);
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+}
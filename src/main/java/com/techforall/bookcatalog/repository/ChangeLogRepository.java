@@ -0,0 +1,39 @@
+package com.techforall.bookcatalog.repository;
+
+import com.techforall.bookcatalog.model.entity.ChangeLogEntry;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+
+@Repository
+public interface ChangeLogRepository extends JpaRepository<ChangeLogEntry, Long> {
+
+
+    List<ChangeLogEntry> findBySequenceGreaterThanOrderBySequenceAsc(Long since, Limit limit);
+
+
+    List<ChangeLogEntry> findByEntityTypeAndSequenceGreaterThanOrderBySequenceAsc(
+            ChangeLogEntry.EntityType entityType, Long since, Limit limit);
+
+
+    @Modifying
+    @Query("DELETE FROM ChangeLogEntry c WHERE c.sequence <= :upTo AND EXISTS ("
+            + "SELECT 1 FROM ChangeLogEntry n WHERE n.entityType = c.entityType "
+            + "AND n.entityId = c.entityId AND n.sequence > c.sequence AND n.sequence <= :upTo)")
+    int deleteSupersededUpTo(@Param("upTo") Long upTo);
+
+
+    @Query("SELECT MAX(c.sequence) FROM ChangeLogEntry c")
+    Long findMaxSequence();
+
+
+    @Query("SELECT MIN(c.sequence) FROM ChangeLogEntry c WHERE c.changedAt > :visibleBefore")
+    Long findMinSequenceChangedAfter(@Param("visibleBefore") Instant visibleBefore);
+}
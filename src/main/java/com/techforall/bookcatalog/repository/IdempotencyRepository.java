@@ -0,0 +1,57 @@
+package com.techforall.bookcatalog.repository;
+
+import com.techforall.bookcatalog.model.entity.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+
+
+@Repository
+public interface IdempotencyRepository extends JpaRepository<IdempotencyRecord, IdempotencyRecord.Key> {
+
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") Instant now);
+
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.scope = :scope AND r.idempotencyKey = :key "
+            + "AND r.expiresAt < :now")
+    int deleteExpired(@Param("scope") String scope, @Param("key") String key, @Param("now") Instant now);
+
+
+    /**
+     * Marks a claim applied in the transaction of its write. {@code claimedAt} tells this claim apart
+     * from a later one that took the key over.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE IdempotencyRecord r SET r.status = 'APPLIED', r.responseStatus = :responseStatus, "
+            + "r.responseHeaders = :responseHeaders, r.expiresAt = :expiresAt "
+            + "WHERE r.scope = :scope AND r.idempotencyKey = :key AND r.createdAt = :claimedAt "
+            + "AND r.status = 'IN_PROGRESS'")
+    int markApplied(@Param("scope") String scope, @Param("key") String key, @Param("claimedAt") Instant claimedAt,
+                    @Param("responseStatus") int responseStatus, @Param("responseHeaders") String responseHeaders,
+                    @Param("expiresAt") Instant expiresAt);
+
+
+    boolean existsByScopeAndIdempotencyKeyAndCreatedAt(String scope, String idempotencyKey, Instant createdAt);
+
+
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.expiresAt = :expiresAt "
+            + "WHERE r.scope = :scope AND r.idempotencyKey = :key AND r.createdAt = :claimedAt "
+            + "AND r.status = 'IN_PROGRESS'")
+    int extendClaim(@Param("scope") String scope, @Param("key") String key, @Param("claimedAt") Instant claimedAt,
+                    @Param("expiresAt") Instant expiresAt);
+
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.scope = :scope AND r.idempotencyKey = :key "
+            + "AND r.createdAt = :claimedAt AND r.status = 'IN_PROGRESS'")
+    int deleteClaim(@Param("scope") String scope, @Param("key") String key, @Param("claimedAt") Instant claimedAt);
+}
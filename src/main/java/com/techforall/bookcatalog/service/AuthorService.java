@@ -1,21 +1,39 @@
 package com.techforall.bookcatalog.service;
 
+import com.techforall.bookcatalog.model.dto.request.AuthorPatchRequest;
 import com.techforall.bookcatalog.model.dto.request.AuthorRequest;
 import com.techforall.bookcatalog.model.dto.response.AuthorResponse;
 import com.techforall.bookcatalog.model.dto.response.AuthorSummaryResponse;
 import com.techforall.bookcatalog.model.dto.response.PageResponse;
 import org.springframework.data.domain.Pageable;
 
+import java.util.Set;
+
 
 public interface AuthorService {
 
     PageResponse<AuthorSummaryResponse> getAllAuthors(Pageable pageable);
 
+    /**
+     * Selects only the columns behind {@code fields}; the other summary fields are left null.
+     */
+    PageResponse<AuthorSummaryResponse> getAllAuthors(Pageable pageable, Set<String> fields);
+
     AuthorResponse getAuthorById(Long id);
 
+    /**
+     * Selects only the columns behind {@code fields}, plus id and version. The other fields are left null.
+     */
+    AuthorResponse getAuthorById(Long id, Set<String> fields);
+
     AuthorResponse createAuthor(AuthorRequest request);
 
-    AuthorResponse updateAuthor(Long id, AuthorRequest request);
+    /**
+     * @param expectedVersion version from If-Match, or null for an unconditional update
+     */
+    AuthorResponse updateAuthor(Long id, AuthorRequest request, Long expectedVersion);
+
+    AuthorResponse patchAuthor(Long id, AuthorPatchRequest request, Long expectedVersion);
 
     void deleteAuthor(Long id);
 }
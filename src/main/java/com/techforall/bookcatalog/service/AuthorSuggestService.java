@@ -0,0 +1,19 @@
+package com.techforall.bookcatalog.service;
+
+import com.techforall.bookcatalog.model.dto.response.AuthorSummaryResponse;
+
+import java.util.List;
+
+
+public interface AuthorSuggestService {
+
+    /**
+     * Newest authors whose full name or surname starts with {@code query}, ignoring case and accents.
+     */
+    List<AuthorSummaryResponse> suggest(String query, Integer limit);
+
+    /**
+     * Reloads the index from the database. Returns the number of authors indexed.
+     */
+    int rebuild();
+}
@@ -0,0 +1,19 @@
+package com.techforall.bookcatalog.service;
+
+import com.techforall.bookcatalog.model.dto.request.BookBulkPatchRequest;
+import com.techforall.bookcatalog.model.dto.request.BookFilter;
+import com.techforall.bookcatalog.model.dto.response.BulkJobResponse;
+
+
+public interface BookBulkService {
+
+    /**
+     * Deletes every book matching the filter. With {@code dryRun} only counts the matches;
+     * otherwise starts a job and returns it in its initial state.
+     */
+    BulkJobResponse deleteBooks(BookFilter filter, boolean dryRun);
+
+    BulkJobResponse patchBooks(BookFilter filter, BookBulkPatchRequest request, boolean dryRun);
+
+    BulkJobResponse getJob(String id);
+}
@@ -0,0 +1,33 @@
+package com.techforall.bookcatalog.service;
+
+import com.techforall.bookcatalog.model.dto.response.DuplicateBookResponse;
+import com.techforall.bookcatalog.model.dto.response.DuplicateReportResponse;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+
+public interface BookDuplicateService {
+
+    /**
+     * Checks a book about to be created. Returns the ids of its near-duplicates, or throws
+     * {@link com.techforall.bookcatalog.exception.DuplicateBookException} when duplicates are rejected.
+     */
+    List<Long> checkNewBook(String title, Set<Long> authorIds);
+
+    List<DuplicateBookResponse> findDuplicates(Long bookId);
+
+    /**
+     * The latest full-catalog report; empty until the first one has been generated. Never scans
+     * the catalog itself.
+     */
+    Optional<DuplicateReportResponse> getReport();
+
+    DuplicateReportResponse generateReport();
+
+    /**
+     * Reloads the index from the database. Returns the number of books indexed.
+     */
+    int rebuild();
+}
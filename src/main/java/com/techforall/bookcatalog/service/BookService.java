@@ -1,21 +1,54 @@
 package com.techforall.bookcatalog.service;
 
+import com.techforall.bookcatalog.model.dto.request.BookFilter;
+import com.techforall.bookcatalog.model.dto.request.BookPatchRequest;
 import com.techforall.bookcatalog.model.dto.request.BookRequest;
 import com.techforall.bookcatalog.model.dto.response.BookResponse;
 import com.techforall.bookcatalog.model.dto.response.BookSummaryResponse;
+import com.techforall.bookcatalog.model.dto.response.CursorPageResponse;
 import com.techforall.bookcatalog.model.dto.response.PageResponse;
 import org.springframework.data.domain.Pageable;
 
+import java.util.Set;
+
 public interface BookService {
 
 
-    PageResponse<BookSummaryResponse> getAllBooks(Pageable pageable);
+    PageResponse<BookSummaryResponse> getAllBooks(BookFilter filter, Pageable pageable);
+
+    /**
+     * Selects only the columns behind {@code fields}; the other summary fields are left null.
+     */
+    PageResponse<BookSummaryResponse> getAllBooks(BookFilter filter, Pageable pageable, Set<String> fields);
+
+    /**
+     * Sets the authors of every book on the page, loaded with one query for the whole page.
+     */
+    PageResponse<BookSummaryResponse> includeAuthors(PageResponse<BookSummaryResponse> page);
+
+    /**
+     * Keyset page of the author's books. {@code pageable} supplies the size and a title or id sort
+     * ending with the id tiebreaker; its page number is ignored in favour of {@code cursor}, the
+     * {@code nextCursor} of the previous page or null for the first.
+     */
+    CursorPageResponse<BookSummaryResponse> getBooksByAuthor(Long authorId, Pageable pageable, String cursor);
 
     BookResponse getBookById(Long id);
 
+    /**
+     * Selects only the columns behind {@code fields}, plus id and version, and joins the authors only
+     * if {@code authors} is requested. The other fields are left null.
+     */
+    BookResponse getBookById(Long id, Set<String> fields);
+
     BookResponse createBook(BookRequest request);
 
-    BookResponse updateBook(Long id, BookRequest request);
+    /**
+     * @param expectedVersion version from If-Match, or null for an unconditional update
+     */
+    BookResponse updateBook(Long id, BookRequest request, Long expectedVersion);
+
+    BookResponse patchBook(Long id, BookPatchRequest request, Long expectedVersion);
 
     void deleteBook(Long id);
 }
@@ -0,0 +1,20 @@
+package com.techforall.bookcatalog.service;
+
+import com.techforall.bookcatalog.export.ExportManifest;
+import com.techforall.bookcatalog.model.dto.response.ExportJobResponse;
+
+
+public interface CatalogExportService {
+
+    /**
+     * Starts a full export in the background and returns the job in its initial state.
+     */
+    ExportJobResponse startExport();
+
+    ExportJobResponse getExport(String id);
+
+    /**
+     * Runs a full export on the calling thread, for the command line.
+     */
+    ExportManifest export();
+}
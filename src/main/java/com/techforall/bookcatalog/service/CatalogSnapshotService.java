@@ -0,0 +1,19 @@
+package com.techforall.bookcatalog.service;
+
+import com.techforall.bookcatalog.snapshot.CatalogSnapshot;
+
+import java.util.Optional;
+
+
+public interface CatalogSnapshotService {
+
+    /**
+     * The latest snapshot mapped by this instance, empty if none was written or found on disk yet.
+     */
+    Optional<CatalogSnapshot> current();
+
+    /**
+     * Writes a fresh snapshot from the database and maps it in place of the previous one.
+     */
+    Optional<CatalogSnapshot> write();
+}
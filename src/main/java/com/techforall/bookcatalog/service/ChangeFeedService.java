@@ -0,0 +1,20 @@
+package com.techforall.bookcatalog.service;
+
+import com.techforall.bookcatalog.model.dto.response.ChangeFeedResponse;
+import com.techforall.bookcatalog.model.entity.ChangeLogEntry;
+
+import java.util.Collection;
+
+
+public interface ChangeFeedService {
+
+    void record(ChangeLogEntry.EntityType entityType, Long entityId, ChangeLogEntry.Operation operation);
+
+    void recordAll(ChangeLogEntry.EntityType entityType, Collection<Long> entityIds, ChangeLogEntry.Operation operation);
+
+    ChangeFeedResponse getChanges(long since, Integer limit);
+
+    long visibleUpTo();
+
+    int compact();
+}
@@ -0,0 +1,14 @@
+package com.techforall.bookcatalog.service;
+
+import com.techforall.bookcatalog.model.entity.ChangeLogEntry;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+
+public interface ChangeStreamService {
+
+    SseEmitter subscribe(ChangeLogEntry.EntityType entityType, Long lastEventId);
+
+    int getSubscriberCount();
+
+    int pollChanges();
+}
@@ -0,0 +1,17 @@
+package com.techforall.bookcatalog.service;
+
+import com.techforall.bookcatalog.model.entity.ChangeLogEntry;
+
+
+public interface IdFilterService {
+
+    /**
+     * False only if no {@code entityType} with this id exists; true means the database has to be asked.
+     */
+    boolean mightExist(ChangeLogEntry.EntityType entityType, long id);
+
+    /**
+     * Reloads the filters from the database.
+     */
+    void rebuild();
+}
@@ -0,0 +1,32 @@
+package com.techforall.bookcatalog.service;
+
+import com.techforall.bookcatalog.model.entity.IdempotencyRecord;
+
+import java.util.Optional;
+
+
+public interface IdempotencyService {
+
+    /**
+     * Claims the key for the calling thread. Returns empty when the claim succeeded, otherwise the
+     * record already holding the key.
+     */
+    Optional<IdempotencyRecord> claim(String scope, String key, String fingerprint);
+
+    void complete(String scope, String key, int responseStatus, String contentType, String responseHeaders,
+                  String responseBody);
+
+    /**
+     * Drops the claim unless its write was applied; an applied claim is kept so a retry cannot
+     * insert again.
+     */
+    void release(String scope, String key);
+
+    /**
+     * Pushes out the expiry of the claims this instance is still working on, so only claims of an
+     * instance that stopped can be taken over.
+     */
+    void extendRunningClaims();
+
+    int purgeExpired();
+}
@@ -0,0 +1,32 @@
+package com.techforall.bookcatalog.service;
+
+import com.techforall.bookcatalog.cache.CachedResponse;
+import com.techforall.bookcatalog.model.entity.ChangeLogEntry;
+
+import java.util.Optional;
+
+
+public interface ResponseCacheService {
+
+    /**
+     * Empty on a miss, including for an entry older than the ttl.
+     */
+    Optional<CachedResponse> get(ChangeLogEntry.EntityType type, Long id);
+
+    /**
+     * Position in the sequence of invalidations. Take it before loading a response and pass it to
+     * {@link #put}, so a response loaded before a concurrent write commits is not cached after it.
+     */
+    long stamp();
+
+    /**
+     * Stores the body and a gzip compressed copy, unless the entity was changed after {@code stamp}.
+     */
+    void put(ChangeLogEntry.EntityType type, Long id, long stamp, String eTag, String contentType, byte[] body);
+
+    /**
+     * Invalidates entries of entities changed through other instances since the previous call and
+     * returns how many changes it applied.
+     */
+    int invalidateFromChangeFeed();
+}
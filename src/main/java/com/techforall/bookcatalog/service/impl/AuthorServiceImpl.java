@@ -1,22 +1,33 @@
 package com.techforall.bookcatalog.service.impl;
 
+import com.techforall.bookcatalog.event.AuthorChangedEvent;
 import com.techforall.bookcatalog.exception.AuthorHasBooksException;
+import com.techforall.bookcatalog.exception.PreconditionFailedException;
 import com.techforall.bookcatalog.exception.ResourceNotFoundException;
+import com.techforall.bookcatalog.model.dto.request.AuthorPatchRequest;
 import com.techforall.bookcatalog.model.dto.request.AuthorRequest;
 import com.techforall.bookcatalog.model.dto.response.AuthorResponse;
 import com.techforall.bookcatalog.model.dto.response.AuthorSummaryResponse;
 import com.techforall.bookcatalog.model.dto.response.PageResponse;
 import com.techforall.bookcatalog.model.entity.Author;
+import com.techforall.bookcatalog.model.entity.ChangeLogEntry;
 import com.techforall.bookcatalog.repository.AuthorRepository;
 import com.techforall.bookcatalog.service.AuthorService;
+import com.techforall.bookcatalog.service.ChangeFeedService;
 import com.techforall.bookcatalog.utility.EntityMapper;
+import jakarta.persistence.Tuple;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.Set;
+
 
 @Service
 @Transactional
@@ -26,6 +37,8 @@ public class AuthorServiceImpl implements AuthorService {
 
     private final AuthorRepository authorRepository;
     private final EntityMapper entityMapper;
+    private final ChangeFeedService changeFeedService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional(readOnly = true)
@@ -36,6 +49,20 @@ public class AuthorServiceImpl implements AuthorService {
         return PageResponse.from(page);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponse<AuthorSummaryResponse> getAllAuthors(Pageable pageable, Set<String> fields) {
+        log.debug("Fetching authors - page: {}, size: {}, fields: {}",
+                pageable.getPageNumber(), pageable.getPageSize(), fields);
+        Set<String> columns = columnsFor(fields);
+        Page<AuthorSummaryResponse> page = authorRepository.findAttributes(columns, pageable)
+                .map(row -> AuthorSummaryResponse.builder()
+                        .id(selected(row, columns, "id", Long.class))
+                        .fullName(fields.contains("fullName") ? row.get("name") + " " + row.get("surname") : null)
+                        .build());
+        return PageResponse.from(page);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public AuthorResponse getAuthorById(Long id) {
@@ -44,25 +71,64 @@ public class AuthorServiceImpl implements AuthorService {
         return entityMapper.toAuthorResponse(author);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public AuthorResponse getAuthorById(Long id, Set<String> fields) {
+        log.debug("Fetching author with id: {}, fields: {}", id, fields);
+        Set<String> columns = columnsFor(fields);
+        columns.add("id");
+        columns.add("version");
+
+        Tuple row = authorRepository.findAttributesById(id, columns)
+                .orElseThrow(() -> new ResourceNotFoundException("Author", "id", id));
+        return AuthorResponse.builder()
+                .id(id)
+                .version(row.get("version", Long.class))
+                .name(selected(row, columns, "name", String.class))
+                .surname(selected(row, columns, "surname", String.class))
+                .fullName(fields.contains("fullName") ? row.get("name") + " " + row.get("surname") : null)
+                .birthYear(selected(row, columns, "birthYear", Integer.class))
+                .build();
+    }
+
     @Override
     public AuthorResponse createAuthor(AuthorRequest request) {
         log.debug("Creating new author: {} {}", request.getName(), request.getSurname());
         Author author = entityMapper.toAuthorEntity(request);
         Author savedAuthor = authorRepository.save(author);
+        changeFeedService.record(ChangeLogEntry.EntityType.AUTHOR, savedAuthor.getId(), ChangeLogEntry.Operation.CREATE);
+        publishChange(savedAuthor, ChangeLogEntry.Operation.CREATE);
         log.info("Created author with id: {}", savedAuthor.getId());
         return entityMapper.toAuthorResponse(savedAuthor);
     }
 
     @Override
-    public AuthorResponse updateAuthor(Long id, AuthorRequest request) {
+    public AuthorResponse updateAuthor(Long id, AuthorRequest request, Long expectedVersion) {
         log.debug("Updating author with id: {}", id);
         Author existingAuthor = findAuthorById(id);
+        checkVersion(existingAuthor, expectedVersion);
         entityMapper.updateAuthorFromRequest(existingAuthor, request);
-        Author savedAuthor = authorRepository.save(existingAuthor);
+        Author savedAuthor = authorRepository.saveAndFlush(existingAuthor);
+        changeFeedService.record(ChangeLogEntry.EntityType.AUTHOR, id, ChangeLogEntry.Operation.UPDATE);
+        publishChange(savedAuthor, ChangeLogEntry.Operation.UPDATE);
         log.info("Updated author with id: {}", id);
         return entityMapper.toAuthorResponse(savedAuthor);
     }
 
+    @Override
+    public AuthorResponse patchAuthor(Long id, AuthorPatchRequest request, Long expectedVersion) {
+        log.debug("Patching author with id: {}", id);
+        Author existingAuthor = findAuthorById(id);
+        checkVersion(existingAuthor, expectedVersion);
+        entityMapper.patchAuthor(existingAuthor, request);
+        if (flushChanges(existingAuthor)) {
+            changeFeedService.record(ChangeLogEntry.EntityType.AUTHOR, id, ChangeLogEntry.Operation.UPDATE);
+            publishChange(existingAuthor, ChangeLogEntry.Operation.UPDATE);
+            log.info("Patched author with id: {}", id);
+        }
+        return entityMapper.toAuthorResponse(existingAuthor);
+    }
+
     @Override
     public void deleteAuthor(Long id) {
         log.debug("Attempting to delete author with id: {}", id);
@@ -74,12 +140,58 @@ public class AuthorServiceImpl implements AuthorService {
         }
 
         authorRepository.delete(author);
+        changeFeedService.record(ChangeLogEntry.EntityType.AUTHOR, id, ChangeLogEntry.Operation.DELETE);
+        publishChange(author, ChangeLogEntry.Operation.DELETE);
         log.info("Deleted author with id: {}", id);
     }
 
+    private void checkVersion(Author author, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(author.getVersion())) {
+            throw new PreconditionFailedException("Author", author.getId(), expectedVersion, author.getVersion());
+        }
+    }
+
+    /**
+     * Flushes the author and reports whether that bumped its version. A patch that changed nothing
+     * issues no UPDATE and must not be recorded as a change either.
+     */
+    private boolean flushChanges(Author author) {
+        Long version = author.getVersion();
+        authorRepository.flush();
+        boolean changed = !Objects.equals(version, author.getVersion());
+        if (!changed) {
+            log.debug("Patch left author with id {} unchanged", author.getId());
+        }
+        return changed;
+    }
+
+    private void publishChange(Author author, ChangeLogEntry.Operation operation) {
+        eventPublisher.publishEvent(
+                new AuthorChangedEvent(author.getId(), author.getName(), author.getSurname(), operation));
+    }
+
     private Author findAuthorById(Long id) {
         return authorRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Author", "id", id));
     }
-}
 
+    /**
+     * Columns to select for the requested fields; fullName is derived from name and surname.
+     */
+    private static Set<String> columnsFor(Set<String> fields) {
+        Set<String> columns = new LinkedHashSet<>();
+        for (String field : fields) {
+            if (field.equals("fullName")) {
+                columns.add("name");
+                columns.add("surname");
+            } else {
+                columns.add(field);
+            }
+        }
+        return columns;
+    }
+
+    private static <T> T selected(Tuple row, Set<String> columns, String column, Class<T> type) {
+        return columns.contains(column) ? row.get(column, type) : null;
+    }
+}
@@ -0,0 +1,94 @@
+package com.techforall.bookcatalog.service.impl;
+
+import com.techforall.bookcatalog.config.SchedulingConfig;
+import com.techforall.bookcatalog.config.SuggestProperties;
+import com.techforall.bookcatalog.event.AuthorChangedEvent;
+import com.techforall.bookcatalog.exception.BadRequestException;
+import com.techforall.bookcatalog.model.dto.response.AuthorSummaryResponse;
+import com.techforall.bookcatalog.model.entity.ChangeLogEntry;
+import com.techforall.bookcatalog.repository.AuthorRepository;
+import com.techforall.bookcatalog.service.AuthorSuggestService;
+import com.techforall.bookcatalog.suggest.AuthorSuggestIndex;
+import com.techforall.bookcatalog.suggest.IndexedAuthor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+
+/**
+ * Serves author suggestions from an in-memory {@link AuthorSuggestIndex}. Committed author writes
+ * of this instance are applied right away; the periodic rebuild also picks up writes made through
+ * other instances.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AuthorSuggestServiceImpl implements AuthorSuggestService {
+
+    private static final int MAX_QUERY_LENGTH = 100;
+
+    private final AuthorRepository authorRepository;
+    private final SuggestProperties properties;
+
+    private final AuthorSuggestIndex index = new AuthorSuggestIndex();
+    private final AtomicBoolean rebuildQueued = new AtomicBoolean();
+
+    @Override
+    public List<AuthorSummaryResponse> suggest(String query, Integer limit) {
+        if (query == null || query.isBlank()) {
+            throw new BadRequestException("'q' must not be blank");
+        }
+        if (query.length() > MAX_QUERY_LENGTH) {
+            throw new BadRequestException("'q' must not exceed " + MAX_QUERY_LENGTH + " characters");
+        }
+        int size = limit == null ? properties.getDefaultLimit() : limit;
+        if (size < 1) {
+            throw new BadRequestException("'limit' must be at least 1");
+        }
+
+        return index.suggest(query, Math.min(size, properties.getMaxLimit())).stream()
+                .map(author -> AuthorSummaryResponse.builder()
+                        .id(author.id())
+                        .fullName(author.fullName())
+                        .build())
+                .toList();
+    }
+
+    @Override
+    @EventListener(value = ApplicationReadyEvent.class, condition = SchedulingConfig.UNLESS_EXPORTING)
+    @Scheduled(initialDelayString = "${catalog.suggest.rebuild-interval:PT10M}",
+            fixedDelayString = "${catalog.suggest.rebuild-interval:PT10M}")
+    public int rebuild() {
+        long started = System.nanoTime();
+        try {
+            index.rebuild(authorRepository::findAllIndexed);
+        } finally {
+            rebuildQueued.set(false);
+        }
+        log.info("Rebuilt author suggest index with {} authors in {} ms",
+                index.size(), (System.nanoTime() - started) / 1_000_000);
+        return index.size();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onAuthorChanged(AuthorChangedEvent event) {
+        if (event.operation() == ChangeLogEntry.Operation.DELETE) {
+            index.remove(event.id());
+        } else {
+            index.upsert(new IndexedAuthor(event.id(), event.name(), event.surname()));
+        }
+
+        if (index.pendingChanges() > properties.getMaxPendingChanges() && rebuildQueued.compareAndSet(false, true)) {
+            log.info("Author suggest index has {} pending changes, rebuilding", index.pendingChanges());
+            Thread.ofVirtual().name("author-suggest-rebuild").start(this::rebuild);
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.techforall.bookcatalog.service.impl;
+
+import com.techforall.bookcatalog.config.BulkProperties;
+import com.techforall.bookcatalog.event.BookChangedEvent;
+import com.techforall.bookcatalog.exception.BadRequestException;
+import com.techforall.bookcatalog.exception.ResourceNotFoundException;
+import com.techforall.bookcatalog.model.dto.request.BookBulkPatchRequest;
+import com.techforall.bookcatalog.model.dto.request.BookFilter;
+import com.techforall.bookcatalog.model.dto.response.BulkJobResponse;
+import com.techforall.bookcatalog.model.entity.Book;
+import com.techforall.bookcatalog.model.entity.ChangeLogEntry;
+import com.techforall.bookcatalog.repository.BookRepository;
+import com.techforall.bookcatalog.repository.BookSpecifications;
+import com.techforall.bookcatalog.service.BookBulkService;
+import com.techforall.bookcatalog.service.ChangeFeedService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+
+/**
+ * Runs bulk writes as a sequence of chunks: each chunk selects the next ids in id order and
+ * applies one set-based statement to them in its own transaction. No book is ever loaded, and a
+ * failure leaves the chunks before it committed and reported in the job's progress.
+ */
+@Service
+@Slf4j
+public class BookBulkServiceImpl implements BookBulkService {
+
+    private final BookRepository bookRepository;
+    private final ChangeFeedService changeFeedService;
+    private final BulkProperties properties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService executor;
+
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    private final Queue<String> finishedJobIds = new ConcurrentLinkedQueue<>();
+
+    public BookBulkServiceImpl(BookRepository bookRepository, ChangeFeedService changeFeedService,
+                               BulkProperties properties, ApplicationEventPublisher eventPublisher,
+                               PlatformTransactionManager transactionManager) {
+        this.bookRepository = bookRepository;
+        this.changeFeedService = changeFeedService;
+        this.properties = properties;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.executor = Executors.newFixedThreadPool(properties.getMaxConcurrentJobs(),
+                Thread.ofPlatform().name("bulk-job-", 0).factory());
+    }
+
+    @Override
+    public BulkJobResponse deleteBooks(BookFilter filter, boolean dryRun) {
+        Specification<Book> spec = toSpecification(filter);
+        return start(BulkJobResponse.Operation.DELETE, spec, dryRun, ids -> {
+            int deleted = bookRepository.deleteAllByIds(ids);
+            changeFeedService.recordAll(ChangeLogEntry.EntityType.BOOK, ids, ChangeLogEntry.Operation.DELETE);
+            ids.forEach(id -> eventPublisher.publishEvent(
+                    new BookChangedEvent(id, null, null, ChangeLogEntry.Operation.DELETE)));
+            return deleted;
+        });
+    }
+
+    @Override
+    public BulkJobResponse patchBooks(BookFilter filter, BookBulkPatchRequest request, boolean dryRun) {
+        Specification<Book> spec = toSpecification(filter);
+        if (request.isEmpty()) {
+            throw new BadRequestException("At least one of 'publisher', 'edition' or 'publishedDate' must be set");
+        }
+        return start(BulkJobResponse.Operation.UPDATE, spec, dryRun, ids -> {
+            int updated = bookRepository.updateAllByIds(
+                    ids, request.getPublisher(), request.getEdition(), request.getPublishedDate());
+            changeFeedService.recordAll(ChangeLogEntry.EntityType.BOOK, ids, ChangeLogEntry.Operation.UPDATE);
+            return updated;
+        });
+    }
+
+    @Override
+    public BulkJobResponse getJob(String id) {
+        Job job = jobs.get(id);
+        if (job == null) {
+            throw new ResourceNotFoundException("Bulk job", "id", id);
+        }
+        return job.toResponse();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private Specification<Book> toSpecification(BookFilter filter) {
+        if (filter.isEmpty()) {
+            throw new BadRequestException("Bulk operations require at least one filter parameter");
+        }
+        BookServiceImpl.validateFilter(filter);
+        return BookSpecifications.fromFilter(filter);
+    }
+
+    private BulkJobResponse start(BulkJobResponse.Operation operation, Specification<Book> spec, boolean dryRun,
+                                  Function<List<Long>, Integer> chunkAction) {
+        long matched = bookRepository.count(spec);
+        if (dryRun) {
+            log.info("Dry run of bulk {}: {} books match", operation, matched);
+            return BulkJobResponse.builder()
+                    .operation(operation)
+                    .status(BulkJobResponse.Status.COMPLETED)
+                    .dryRun(true)
+                    .matched(matched)
+                    .build();
+        }
+
+        Job job = new Job(UUID.randomUUID().toString(), operation, matched);
+        jobs.put(job.id, job);
+        executor.execute(() -> run(job, spec, chunkAction));
+        log.info("Queued bulk {} job {} for {} books", operation, job.id, matched);
+        return job.toResponse();
+    }
+
+    private void run(Job job, Specification<Book> spec, Function<List<Long>, Integer> chunkAction) {
+        job.startedAt = Instant.now();
+        job.status = BulkJobResponse.Status.RUNNING;
+        int chunkSize = properties.getChunkSize();
+        try {
+            long afterId = 0;
+            Chunk chunk;
+            do {
+                long cursor = afterId;
+                chunk = transactionTemplate.execute(status -> {
+                    List<Long> ids = bookRepository.findIdsAfter(spec, cursor, chunkSize);
+                    return new Chunk(ids, ids.isEmpty() ? 0 : chunkAction.apply(ids));
+                });
+                if (!chunk.ids().isEmpty()) {
+                    afterId = chunk.ids().get(chunk.ids().size() - 1);
+                    job.processed += chunk.affected();
+                    log.debug("Bulk {} job {}: {}/{} books processed",
+                            job.operation, job.id, job.processed, job.matched);
+                }
+            } while (chunk.ids().size() == chunkSize);
+
+            job.status = BulkJobResponse.Status.COMPLETED;
+            log.info("Bulk {} job {} completed: {} books processed", job.operation, job.id, job.processed);
+        } catch (RuntimeException e) {
+            job.error = e.getMessage();
+            job.status = BulkJobResponse.Status.FAILED;
+            log.error("Bulk {} job {} failed after {} books", job.operation, job.id, job.processed, e);
+        } finally {
+            job.finishedAt = Instant.now();
+            retire(job);
+        }
+    }
+
+    /**
+     * Keeps the most recent finished jobs queryable and forgets older ones.
+     */
+    private void retire(Job job) {
+        finishedJobIds.add(job.id);
+        while (finishedJobIds.size() > properties.getRetainedJobs()) {
+            String expired = finishedJobIds.poll();
+            if (expired != null) {
+                jobs.remove(expired);
+            }
+        }
+    }
+
+
+    private record Chunk(List<Long> ids, int affected) {
+    }
+
+
+    private static final class Job {
+
+        private final String id;
+        private final BulkJobResponse.Operation operation;
+        private final long matched;
+        private volatile BulkJobResponse.Status status = BulkJobResponse.Status.PENDING;
+        private volatile long processed;
+        private volatile Instant startedAt;
+        private volatile Instant finishedAt;
+        private volatile String error;
+
+        private Job(String id, BulkJobResponse.Operation operation, long matched) {
+            this.id = id;
+            this.operation = operation;
+            this.matched = matched;
+        }
+
+        private BulkJobResponse toResponse() {
+            return BulkJobResponse.builder()
+                    .id(id)
+                    .operation(operation)
+                    .status(status)
+                    .matched(matched)
+                    .processed(processed)
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .error(error)
+                    .build();
+        }
+    }
+}
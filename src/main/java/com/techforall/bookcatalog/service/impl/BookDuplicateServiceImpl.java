@@ -0,0 +1,176 @@
+package com.techforall.bookcatalog.service.impl;
+
+import com.techforall.bookcatalog.config.DedupProperties;
+import com.techforall.bookcatalog.config.SchedulingConfig;
+import com.techforall.bookcatalog.dedup.BookSimilarityIndex;
+import com.techforall.bookcatalog.dedup.IndexedBook;
+import com.techforall.bookcatalog.dedup.SimilarBook;
+import com.techforall.bookcatalog.event.BookChangedEvent;
+import com.techforall.bookcatalog.exception.DuplicateBookException;
+import com.techforall.bookcatalog.exception.ResourceNotFoundException;
+import com.techforall.bookcatalog.model.dto.response.DuplicateBookResponse;
+import com.techforall.bookcatalog.model.dto.response.DuplicateReportResponse;
+import com.techforall.bookcatalog.model.entity.Author;
+import com.techforall.bookcatalog.model.entity.Book;
+import com.techforall.bookcatalog.model.entity.ChangeLogEntry;
+import com.techforall.bookcatalog.repository.BookRepository;
+import com.techforall.bookcatalog.service.BookDuplicateService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+
+/**
+ * Near-duplicate detection backed by an in-memory {@link BookSimilarityIndex}. Committed book writes
+ * of this instance are applied right away; the periodic rebuild also picks up writes made through
+ * other instances.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BookDuplicateServiceImpl implements BookDuplicateService {
+
+    private final BookRepository bookRepository;
+    private final DedupProperties properties;
+
+    private final BookSimilarityIndex index = new BookSimilarityIndex();
+    private volatile DuplicateReportResponse latestReport;
+
+    @Override
+    public List<Long> checkNewBook(String title, Set<Long> authorIds) {
+        if (properties.getMode() == DedupProperties.Mode.OFF) {
+            return List.of();
+        }
+        List<Long> duplicateIds = index.findSimilar(title, authorIds, null, properties.getSimilarityThreshold())
+                .stream()
+                .map(match -> match.book().id())
+                .toList();
+        if (duplicateIds.isEmpty()) {
+            return duplicateIds;
+        }
+
+        if (properties.getMode() == DedupProperties.Mode.REJECT) {
+            log.warn("Rejecting book '{}': near-duplicate of {}", title, duplicateIds);
+            throw new DuplicateBookException(title, duplicateIds);
+        }
+        log.info("Book '{}' is a near-duplicate of {}", title, duplicateIds);
+        return duplicateIds;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<DuplicateBookResponse> findDuplicates(Long bookId) {
+        Book book = bookRepository.findByIdWithAuthors(bookId)
+                .orElseThrow(() -> new ResourceNotFoundException("Book", "id", bookId));
+        Set<Long> authorIds = book.getAuthors().stream().map(Author::getId).collect(Collectors.toSet());
+
+        return index.findSimilar(book.getTitle(), authorIds, bookId, properties.getSimilarityThreshold())
+                .stream()
+                .map(match -> DuplicateBookResponse.builder()
+                        .id(match.book().id())
+                        .title(match.book().title())
+                        .similarity(match.similarity())
+                        .build())
+                .toList();
+    }
+
+    @Override
+    public Optional<DuplicateReportResponse> getReport() {
+        return Optional.ofNullable(latestReport);
+    }
+
+    @Override
+    @Scheduled(initialDelayString = "${catalog.dedup.report-interval:PT6H}",
+            fixedDelayString = "${catalog.dedup.report-interval:PT6H}")
+    public DuplicateReportResponse generateReport() {
+        long started = System.nanoTime();
+        List<DuplicateReportResponse.Pair> pairs = new ArrayList<>();
+        boolean complete = index.forEachSimilarPair(properties.getSimilarityThreshold(), properties.getMaxReportPairs(),
+                (book, match) -> pairs.add(toPair(book, match)));
+
+        DuplicateReportResponse report = DuplicateReportResponse.builder()
+                .generatedAt(Instant.now())
+                .booksScanned(index.size())
+                .complete(complete)
+                .pairs(pairs)
+                .build();
+        latestReport = report;
+        log.info("Generated duplicate report: {} pairs among {} books in {} ms{}", pairs.size(), report.getBooksScanned(),
+                (System.nanoTime() - started) / 1_000_000, complete ? "" : " (truncated)");
+        return report;
+    }
+
+    /**
+     * Builds the index before the instance takes traffic, then generates the first report off the
+     * startup thread; until it is ready, requests for the report are told to come back later.
+     */
+    @EventListener(value = ApplicationReadyEvent.class, condition = SchedulingConfig.UNLESS_EXPORTING)
+    public void rebuildOnStartup() {
+        rebuild();
+        Thread.ofVirtual().name("dedup-report").start(() -> {
+            try {
+                generateReport();
+            } catch (RuntimeException e) {
+                log.warn("Could not generate the duplicate report, retrying at the next report interval", e);
+            }
+        });
+    }
+
+    @Override
+    @Scheduled(initialDelayString = "${catalog.dedup.rebuild-interval:PT1H}",
+            fixedDelayString = "${catalog.dedup.rebuild-interval:PT1H}")
+    public int rebuild() {
+        long started = System.nanoTime();
+        index.rebuild(this::loadBooks);
+        log.info("Rebuilt book similarity index with {} books in {} ms",
+                index.size(), (System.nanoTime() - started) / 1_000_000);
+        return index.size();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onBookChanged(BookChangedEvent event) {
+        if (event.operation() == ChangeLogEntry.Operation.DELETE) {
+            index.remove(event.id());
+        } else {
+            index.upsert(new IndexedBook(event.id(), event.title(), event.authorIds()));
+        }
+    }
+
+    private List<IndexedBook> loadBooks() {
+        Map<Long, IndexedBook> books = new LinkedHashMap<>();
+        for (Object[] row : bookRepository.findAllTitlesWithAuthorIds()) {
+            IndexedBook book = books.computeIfAbsent((Long) row[0],
+                    id -> new IndexedBook(id, (String) row[1], new HashSet<>()));
+            if (row[2] != null) {
+                book.authorIds().add((Long) row[2]);
+            }
+        }
+        return new ArrayList<>(books.values());
+    }
+
+    private static DuplicateReportResponse.Pair toPair(IndexedBook book, SimilarBook match) {
+        return DuplicateReportResponse.Pair.builder()
+                .bookId(book.id())
+                .title(book.title())
+                .duplicateId(match.book().id())
+                .duplicateTitle(match.book().title())
+                .similarity(match.similarity())
+                .build();
+    }
+}
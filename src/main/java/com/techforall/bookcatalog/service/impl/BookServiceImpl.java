@@ -1,25 +1,49 @@
 package com.techforall.bookcatalog.service.impl;
 
+import com.techforall.bookcatalog.event.BookChangedEvent;
+import com.techforall.bookcatalog.exception.BadRequestException;
+import com.techforall.bookcatalog.exception.PreconditionFailedException;
 import com.techforall.bookcatalog.exception.ResourceNotFoundException;
+import com.techforall.bookcatalog.model.dto.request.BookFilter;
+import com.techforall.bookcatalog.model.dto.request.BookPatchRequest;
 import com.techforall.bookcatalog.model.dto.request.BookRequest;
+import com.techforall.bookcatalog.model.dto.response.AuthorSummaryResponse;
 import com.techforall.bookcatalog.model.dto.response.BookResponse;
 import com.techforall.bookcatalog.model.dto.response.BookSummaryResponse;
+import com.techforall.bookcatalog.model.dto.response.CursorPageResponse;
 import com.techforall.bookcatalog.model.dto.response.PageResponse;
 import com.techforall.bookcatalog.model.entity.Author;
 import com.techforall.bookcatalog.model.entity.Book;
+import com.techforall.bookcatalog.model.entity.ChangeLogEntry;
 import com.techforall.bookcatalog.repository.AuthorRepository;
+import com.techforall.bookcatalog.repository.BookProjectionRepository;
 import com.techforall.bookcatalog.repository.BookRepository;
+import com.techforall.bookcatalog.repository.BookSpecifications;
+import com.techforall.bookcatalog.service.BookDuplicateService;
 import com.techforall.bookcatalog.service.BookService;
+import com.techforall.bookcatalog.service.ChangeFeedService;
 import com.techforall.bookcatalog.utility.EntityMapper;
+import com.techforall.bookcatalog.utility.KeysetCursor;
+import jakarta.persistence.Tuple;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 
 @Service
@@ -28,17 +52,99 @@ import java.util.Set;
 @Slf4j
 public class BookServiceImpl implements BookService {
 
+    // Book fields that are plain columns of the books table.
+    private static final Set<String> BOOK_COLUMNS = Set.of("title", "publisher", "edition", "publishedDate");
+
     private final BookRepository bookRepository;
     private final AuthorRepository authorRepository;
     private final EntityMapper entityMapper;
+    private final ChangeFeedService changeFeedService;
+    private final BookDuplicateService bookDuplicateService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponse<BookSummaryResponse> getAllBooks(BookFilter filter, Pageable pageable) {
+        log.debug("Fetching books - page: {}, size: {}, filter: {}",
+                pageable.getPageNumber(), pageable.getPageSize(), filter);
+        validateFilter(filter);
+
+        Page<Book> books = filter.isEmpty()
+                ? bookRepository.findAll(pageable)
+                : bookRepository.findAll(BookSpecifications.fromFilter(filter), pageable);
+        return PageResponse.from(books.map(entityMapper::toBookSummaryResponse));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponse<BookSummaryResponse> getAllBooks(BookFilter filter, Pageable pageable, Set<String> fields) {
+        log.debug("Fetching books - page: {}, size: {}, filter: {}, fields: {}",
+                pageable.getPageNumber(), pageable.getPageSize(), filter, fields);
+        validateFilter(filter);
+
+        Page<Tuple> rows = bookRepository.findAttributes(
+                filter.isEmpty() ? null : BookSpecifications.fromFilter(filter), fields, pageable);
+        return PageResponse.from(rows.map(row -> BookSummaryResponse.builder()
+                .id(selected(row, fields, "id", Long.class))
+                .title(selected(row, fields, "title", String.class))
+                .publisher(selected(row, fields, "publisher", String.class))
+                .build()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponse<BookSummaryResponse> includeAuthors(PageResponse<BookSummaryResponse> page) {
+        List<Long> bookIds = page.getContent().stream().map(BookSummaryResponse::getId).toList();
+        Map<Long, List<AuthorSummaryResponse>> authorsByBook = new HashMap<>();
+        if (!bookIds.isEmpty()) {
+            for (Object[] row : bookRepository.findAuthorSummariesByBookIds(bookIds)) {
+                authorsByBook.computeIfAbsent((Long) row[0], bookId -> new ArrayList<>())
+                        .add(AuthorSummaryResponse.builder()
+                                .id((Long) row[1])
+                                .fullName(row[2] + " " + row[3])
+                                .build());
+            }
+        }
+        page.getContent().forEach(book -> book.setAuthors(authorsByBook.getOrDefault(book.getId(), List.of())));
+        return page;
+    }
 
     @Override
     @Transactional(readOnly = true)
-    public PageResponse<BookSummaryResponse> getAllBooks(Pageable pageable) {
-        log.debug("Fetching books - page: {}, size: {}", pageable.getPageNumber(), pageable.getPageSize());
-        Page<BookSummaryResponse> page = bookRepository.findAll(pageable)
-                .map(entityMapper::toBookSummaryResponse);
-        return PageResponse.from(page);
+    public CursorPageResponse<BookSummaryResponse> getBooksByAuthor(Long authorId, Pageable pageable, String cursor) {
+        log.debug("Fetching books of author {} - size: {}, sort: {}, cursor: {}",
+                authorId, pageable.getPageSize(), pageable.getSort(), cursor);
+        Sort.Order primary = pageable.getSort().iterator().next();
+        KeysetCursor after = cursor != null ? KeysetCursor.decode(cursor, primary) : null;
+
+        // One row past the page tells whether there is a next one.
+        List<Tuple> rows = bookRepository.findSummariesByAuthor(authorId, pageable.getSort(),
+                after != null ? after.value() : null, after != null ? after.id() : null, pageable.getPageSize() + 1);
+        if (rows.isEmpty() && after == null && !authorRepository.existsById(authorId)) {
+            throw new ResourceNotFoundException("Author", "id", authorId);
+        }
+
+        boolean hasMore = rows.size() > pageable.getPageSize();
+        List<BookSummaryResponse> books = rows.stream()
+                .limit(pageable.getPageSize())
+                .map(row -> BookSummaryResponse.builder()
+                        .id(row.get("id", Long.class))
+                        .title(row.get("title", String.class))
+                        .publisher(row.get("publisher", String.class))
+                        .build())
+                .toList();
+        String nextCursor = null;
+        if (hasMore) {
+            BookSummaryResponse last = books.get(books.size() - 1);
+            nextCursor = KeysetCursor.after(primary, last.getId(), last.getTitle()).encode();
+        }
+
+        return CursorPageResponse.<BookSummaryResponse>builder()
+                .content(books)
+                .size(pageable.getPageSize())
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
     }
 
     @Override
@@ -50,6 +156,41 @@ public class BookServiceImpl implements BookService {
         return entityMapper.toBookResponse(book);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public BookResponse getBookById(Long id, Set<String> fields) {
+        log.debug("Fetching book with id: {}, fields: {}", id, fields);
+        Set<String> columns = new LinkedHashSet<>(List.of("id", "version"));
+        fields.stream().filter(BOOK_COLUMNS::contains).forEach(columns::add);
+        boolean withAuthors = fields.contains("authors");
+
+        List<Tuple> rows = bookRepository.findAttributesById(id, columns, withAuthors);
+        if (rows.isEmpty()) {
+            throw new ResourceNotFoundException("Book", "id", id);
+        }
+
+        Tuple row = rows.get(0);
+        BookResponse.BookResponseBuilder book = BookResponse.builder()
+                .id(id)
+                .version(row.get("version", Long.class))
+                .title(selected(row, columns, "title", String.class))
+                .publisher(selected(row, columns, "publisher", String.class))
+                .edition(selected(row, columns, "edition", String.class))
+                .publishedDate(selected(row, columns, "publishedDate", LocalDate.class));
+        if (withAuthors) {
+            // A book without authors still yields one row, with null author columns.
+            book.authors(rows.stream()
+                    .filter(authorRow -> authorRow.get(BookProjectionRepository.AUTHOR_ID) != null)
+                    .map(authorRow -> AuthorSummaryResponse.builder()
+                            .id(authorRow.get(BookProjectionRepository.AUTHOR_ID, Long.class))
+                            .fullName(authorRow.get(BookProjectionRepository.AUTHOR_NAME) + " "
+                                    + authorRow.get(BookProjectionRepository.AUTHOR_SURNAME))
+                            .build())
+                    .collect(Collectors.toSet()));
+        }
+        return book.build();
+    }
+
     @Override
     public BookResponse createBook(BookRequest request) {
         log.debug("Creating new book: {}", request.getTitle());
@@ -69,51 +210,77 @@ public class BookServiceImpl implements BookService {
             throw new ResourceNotFoundException("Author", "ids", authorIds);
         }
 
+        List<Long> duplicateIds = bookDuplicateService.checkNewBook(request.getTitle(), idsOf(authors));
+
         Book book = entityMapper.toBookEntity(request);
         book.setAuthors(authors);
 
         Book savedBook = bookRepository.save(book);
+        changeFeedService.record(ChangeLogEntry.EntityType.BOOK, savedBook.getId(), ChangeLogEntry.Operation.CREATE);
+        publishChange(savedBook, idsOf(authors), ChangeLogEntry.Operation.CREATE);
         log.info("Created book with id: {}", savedBook.getId());
-        return entityMapper.toBookResponse(savedBook);
+
+        BookResponse response = entityMapper.toBookResponse(savedBook);
+        if (!duplicateIds.isEmpty()) {
+            response.setPossibleDuplicates(duplicateIds);
+        }
+        return response;
     }
 
 
     @Override
-    public BookResponse updateBook(Long id, BookRequest request) {
+    public BookResponse updateBook(Long id, BookRequest request, Long expectedVersion) {
         log.debug("Updating book with id: {}", id);
 
         Book existingBook = bookRepository.findByIdWithAuthors(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Book", "id", id));
+        checkVersion(existingBook, expectedVersion);
 
         entityMapper.updateBookFromRequest(existingBook, request);
+        replaceAuthors(existingBook, request.getAuthorIds());
 
-        Set<Long> authorIds = request.getAuthorIds();
-
-
-        if (authorIds.isEmpty()) {
-            log.info("Empty author list provided. Clearing authors.");
-            existingBook.setAuthors(new HashSet<>());
-        }
-        else {
+        // Flush so the response carries the bumped version and a lost race surfaces here.
+        Book savedBook = bookRepository.saveAndFlush(existingBook);
+        changeFeedService.record(ChangeLogEntry.EntityType.BOOK, id, ChangeLogEntry.Operation.UPDATE);
+        publishChange(savedBook, idsOf(savedBook.getAuthors()), ChangeLogEntry.Operation.UPDATE);
+        log.info("Updated book with id: {}", id);
 
-            Set<Author> authors = fetchAuthors(authorIds);
+        return entityMapper.toBookResponse(savedBook);
+    }
 
-            if (authorIds.size() == 1 && authors.isEmpty()) {
-                Long invalidId = authorIds.iterator().next();
-                throw new ResourceNotFoundException("Author", "id", invalidId);
-            }
 
-            if (authorIds.size() > 1 && authors.isEmpty()) {
-                throw new ResourceNotFoundException("Author", "ids", authorIds);
+    /**
+     * Applies only the supplied fields. The author set is neither loaded nor written unless
+     * {@code authorIds} is present, and @DynamicUpdate limits the UPDATE to changed columns.
+     */
+    @Override
+    public BookResponse patchBook(Long id, BookPatchRequest request, Long expectedVersion) {
+        log.debug("Patching book with id: {}", id);
+
+        if (request.getAuthorIds() == null) {
+            Book existingBook = bookRepository.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Book", "id", id));
+            checkVersion(existingBook, expectedVersion);
+            entityMapper.patchBook(existingBook, request);
+            if (flushChanges(existingBook)) {
+                changeFeedService.record(ChangeLogEntry.EntityType.BOOK, id, ChangeLogEntry.Operation.UPDATE);
+                publishChange(existingBook, null, ChangeLogEntry.Operation.UPDATE);
+                log.info("Patched book with id: {}", id);
             }
-
-            existingBook.setAuthors(authors);
+            return entityMapper.toBookResponseWithoutAuthors(existingBook);
         }
 
-        Book savedBook = bookRepository.save(existingBook);
-        log.info("Updated book with id: {}", id);
-
-        return entityMapper.toBookResponse(savedBook);
+        Book existingBook = bookRepository.findByIdWithAuthors(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Book", "id", id));
+        checkVersion(existingBook, expectedVersion);
+        entityMapper.patchBook(existingBook, request);
+        replaceAuthors(existingBook, request.getAuthorIds());
+        if (flushChanges(existingBook)) {
+            changeFeedService.record(ChangeLogEntry.EntityType.BOOK, id, ChangeLogEntry.Operation.UPDATE);
+            publishChange(existingBook, idsOf(existingBook.getAuthors()), ChangeLogEntry.Operation.UPDATE);
+            log.info("Patched book with id: {}", id);
+        }
+        return entityMapper.toBookResponse(existingBook);
     }
 
 
@@ -123,9 +290,78 @@ public class BookServiceImpl implements BookService {
         Book book = bookRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Book", "id", id));
         bookRepository.delete(book);
+        changeFeedService.record(ChangeLogEntry.EntityType.BOOK, id, ChangeLogEntry.Operation.DELETE);
+        publishChange(book, null, ChangeLogEntry.Operation.DELETE);
         log.info("Deleted book with id: {}", id);
     }
 
+    /**
+     * Flushes the book and reports whether that bumped its version. A patch that changed nothing,
+     * author set included, issues no UPDATE and must not be recorded as a change either.
+     */
+    private boolean flushChanges(Book book) {
+        Long version = book.getVersion();
+        bookRepository.flush();
+        boolean changed = !Objects.equals(version, book.getVersion());
+        if (!changed) {
+            log.debug("Patch left book with id {} unchanged", book.getId());
+        }
+        return changed;
+    }
+
+    private void publishChange(Book book, Set<Long> authorIds, ChangeLogEntry.Operation operation) {
+        eventPublisher.publishEvent(new BookChangedEvent(book.getId(), book.getTitle(), authorIds, operation));
+    }
+
+    private static Set<Long> idsOf(Set<Author> authors) {
+        return authors.stream().map(Author::getId).collect(Collectors.toSet());
+    }
+
+    private void checkVersion(Book book, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(book.getVersion())) {
+            throw new PreconditionFailedException("Book", book.getId(), expectedVersion, book.getVersion());
+        }
+    }
+
+    static void validateFilter(BookFilter filter) {
+        if (filter.getPublisher() != null && filter.getPublisherPrefix() != null) {
+            throw new BadRequestException("Use either 'publisher' or 'publisherPrefix', not both");
+        }
+        if (filter.getPublisherPrefix() != null && filter.getPublisherPrefix().isEmpty()) {
+            throw new BadRequestException("'publisherPrefix' must not be empty");
+        }
+        if (filter.getPublishedFrom() != null && filter.getPublishedTo() != null
+                && filter.getPublishedFrom().isAfter(filter.getPublishedTo())) {
+            throw new BadRequestException("'publishedFrom' must not be after 'publishedTo'");
+        }
+    }
+
+    /**
+     * Syncs the managed author set in place instead of swapping in a new collection, so Hibernate
+     * writes only the added and removed book_authors rows rather than recreating all of them.
+     */
+    private void replaceAuthors(Book book, Set<Long> authorIds) {
+        if (authorIds.isEmpty()) {
+            log.info("Empty author list provided. Clearing authors.");
+            book.getAuthors().clear();
+            return;
+        }
+
+        Set<Author> authors = fetchAuthors(authorIds);
+
+        if (authorIds.size() == 1 && authors.isEmpty()) {
+            Long invalidId = authorIds.iterator().next();
+            throw new ResourceNotFoundException("Author", "id", invalidId);
+        }
+
+        if (authorIds.size() > 1 && authors.isEmpty()) {
+            throw new ResourceNotFoundException("Author", "ids", authorIds);
+        }
+
+        book.getAuthors().retainAll(authors);
+        book.getAuthors().addAll(authors);
+    }
+
     private Set<Author> fetchAuthors(Set<Long> authorIds) {
         Set<Author> authors = new HashSet<>();
 
@@ -140,5 +376,7 @@ public class BookServiceImpl implements BookService {
         return authors;
     }
 
+    private static <T> T selected(Tuple row, Set<String> columns, String column, Class<T> type) {
+        return columns.contains(column) ? row.get(column, type) : null;
+    }
 }
-
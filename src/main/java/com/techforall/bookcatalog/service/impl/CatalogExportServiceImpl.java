@@ -0,0 +1,337 @@
+package com.techforall.bookcatalog.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.techforall.bookcatalog.config.ExportProperties;
+import com.techforall.bookcatalog.exception.ResourceNotFoundException;
+import com.techforall.bookcatalog.export.ExportManifest;
+import com.techforall.bookcatalog.export.ExportedFile;
+import com.techforall.bookcatalog.export.PartitionWriter;
+import com.techforall.bookcatalog.model.dto.response.ExportJobResponse;
+import com.techforall.bookcatalog.repository.AuthorRepository;
+import com.techforall.bookcatalog.repository.BookRepository;
+import com.techforall.bookcatalog.service.CatalogExportService;
+import com.techforall.bookcatalog.snapshot.SnapshotAuthor;
+import com.techforall.bookcatalog.snapshot.SnapshotBook;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+
+/**
+ * Exports the whole catalog as gzip-compressed JSON Lines. The book id space is split into ranges
+ * that are exported in parallel, each in its own read-only transaction on its own connection and
+ * streamed row by row to its own file, so memory stays flat however large the catalog grows. Authors
+ * are exported once all book partitions are done, and the manifest is written last; a failed export
+ * is deleted.
+ */
+@Service
+@Slf4j
+public class CatalogExportServiceImpl implements CatalogExportService {
+
+    private final BookRepository bookRepository;
+    private final AuthorRepository authorRepository;
+    private final ExportProperties properties;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService executor;
+
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    private final Queue<String> finishedJobIds = new ConcurrentLinkedQueue<>();
+
+    public CatalogExportServiceImpl(BookRepository bookRepository, AuthorRepository authorRepository,
+                                    ExportProperties properties, ObjectMapper objectMapper,
+                                    PlatformTransactionManager transactionManager) {
+        this.bookRepository = bookRepository;
+        this.authorRepository = authorRepository;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        // One export at a time; its partitions are what runs in parallel.
+        this.executor = Executors.newSingleThreadExecutor(Thread.ofPlatform().name("catalog-export").factory());
+    }
+
+    @Override
+    public ExportJobResponse startExport() {
+        Job job = newJob();
+        executor.execute(() -> {
+            try {
+                run(job);
+            } catch (RuntimeException e) {
+                // Already logged and recorded on the job.
+            }
+        });
+        log.info("Queued catalog export {}", job.id);
+        return job.toResponse();
+    }
+
+    @Override
+    public ExportJobResponse getExport(String id) {
+        Job job = jobs.get(id);
+        if (job == null) {
+            throw new ResourceNotFoundException("Export", "id", id);
+        }
+        return job.toResponse();
+    }
+
+    @Override
+    public ExportManifest export() {
+        return run(newJob());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private Job newJob() {
+        String id = UUID.randomUUID().toString();
+        Job job = new Job(id, properties.getDirectory().resolve(id));
+        jobs.put(id, job);
+        return job;
+    }
+
+    private ExportManifest run(Job job) {
+        job.startedAt = Instant.now();
+        job.status = ExportJobResponse.Status.RUNNING;
+        try {
+            ExportManifest manifest = write(job);
+            job.status = ExportJobResponse.Status.COMPLETED;
+            log.info("Catalog export {} completed: {} rows in {} files, {} ms", job.id, manifest.rows(),
+                    manifest.files().size(), manifest.completedAt().toEpochMilli() - job.startedAt.toEpochMilli());
+            return manifest;
+        } catch (RuntimeException e) {
+            job.error = e.getMessage();
+            job.status = ExportJobResponse.Status.FAILED;
+            log.error("Catalog export {} failed after {} of {} files", job.id, job.completedFiles.get(), job.files, e);
+            delete(job.directory);
+            throw e;
+        } finally {
+            job.finishedAt = Instant.now();
+            retire(job);
+        }
+    }
+
+    private ExportManifest write(Job job) {
+        try {
+            Files.createDirectories(job.directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        List<Callable<ExportedFile>> bookTasks = partition().stream()
+                .<Callable<ExportedFile>>map(partition -> () -> writeBooks(job, partition))
+                .toList();
+        job.files = bookTasks.size() + 1;
+
+        List<ExportedFile> files = new ArrayList<>(job.files);
+        try (ExecutorService workers = Executors.newFixedThreadPool(properties.getParallelism(),
+                Thread.ofVirtual().name("catalog-export-", 0).factory())) {
+            files.addAll(runAll(job, workers, bookTasks));
+            // Authors are read after every book partition, so an author referenced by an exported
+            // book is in the export even when both were created while it ran.
+            files.addAll(0, runAll(job, workers, List.of(() -> writeAuthors(job))));
+        }
+
+        ExportManifest manifest = new ExportManifest(job.id, ExportManifest.FORMAT, job.startedAt, Instant.now(),
+                files.stream().mapToLong(ExportedFile::rows).sum(), files);
+        try {
+            StringBuilder checksums = new StringBuilder();
+            files.forEach(file -> checksums.append(file.sha256()).append("  ").append(file.name()).append('\n'));
+            writeAtomically(job.directory.resolve(ExportManifest.CHECKSUMS_FILE_NAME), checksums.toString().getBytes());
+            writeAtomically(job.directory.resolve(ExportManifest.FILE_NAME),
+                    objectMapper.writerWithDefaultPrettyPrinter().writeValueAsBytes(manifest));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return manifest;
+    }
+
+    private static List<ExportedFile> runAll(Job job, ExecutorService workers, List<Callable<ExportedFile>> tasks) {
+        List<Future<ExportedFile>> futures = tasks.stream().map(workers::submit).toList();
+        List<ExportedFile> files = new ArrayList<>(tasks.size());
+        try {
+            for (Future<ExportedFile> future : futures) {
+                files.add(future.get());
+            }
+        } catch (ExecutionException e) {
+            workers.shutdownNow();
+            throw e.getCause() instanceof RuntimeException cause ? cause : new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            workers.shutdownNow();
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Catalog export " + job.id + " was interrupted", e);
+        }
+        return files;
+    }
+
+    /**
+     * Splits [min id, max id] into equally wide ranges. Empty when there are no books.
+     */
+    private List<Partition> partition() {
+        Optional<Long> min = bookRepository.findMinId();
+        Optional<Long> max = bookRepository.findMaxId();
+        if (min.isEmpty() || max.isEmpty()) {
+            return List.of();
+        }
+        long span = max.get() - min.get() + 1;
+        long width = Math.ceilDiv(span, Math.min(properties.getPartitions(), span));
+
+        List<Partition> partitions = new ArrayList<>();
+        for (long fromId = min.get(); fromId <= max.get(); fromId += width) {
+            partitions.add(new Partition(partitions.size(), fromId, Math.min(fromId + width, max.get() + 1)));
+        }
+        return partitions;
+    }
+
+    private ExportedFile writeBooks(Job job, Partition partition) {
+        Path file = job.directory.resolve(String.format("books-%05d.jsonl.gz", partition.index()));
+        ExportedFile exported = transactionTemplate.execute(status -> {
+            try (PartitionWriter writer = new PartitionWriter(file, objectMapper);
+                 Stream<Object[]> rows = bookRepository.streamForExport(partition.fromId(), partition.toId())) {
+                // Rows of one book are adjacent: collect its author ids until the id changes.
+                Object[] book = null;
+                List<Long> authorIds = new ArrayList<>();
+                for (Iterator<Object[]> iterator = rows.iterator(); iterator.hasNext(); ) {
+                    Object[] row = iterator.next();
+                    if (book != null && !book[0].equals(row[0])) {
+                        writer.write(toBook(book, authorIds));
+                        authorIds.clear();
+                    }
+                    book = row;
+                    if (row[6] != null) {
+                        authorIds.add((Long) row[6]);
+                    }
+                }
+                if (book != null) {
+                    writer.write(toBook(book, authorIds));
+                }
+                return writer.finish("books", partition.fromId(), partition.toId());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return completed(job, exported);
+    }
+
+    private ExportedFile writeAuthors(Job job) {
+        Path file = job.directory.resolve("authors.jsonl.gz");
+        ExportedFile exported = transactionTemplate.execute(status -> {
+            try (PartitionWriter writer = new PartitionWriter(file, objectMapper);
+                 Stream<SnapshotAuthor> authors = authorRepository.streamForExport()) {
+                for (Iterator<SnapshotAuthor> iterator = authors.iterator(); iterator.hasNext(); ) {
+                    writer.write(iterator.next());
+                }
+                return writer.finish("authors", null, null);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return completed(job, exported);
+    }
+
+    private ExportedFile completed(Job job, ExportedFile exported) {
+        job.completedFiles.incrementAndGet();
+        job.rows.addAndGet(exported.rows());
+        log.debug("Catalog export {}: {} written, {} rows, {} bytes",
+                job.id, exported.name(), exported.rows(), exported.bytes());
+        return exported;
+    }
+
+    private static SnapshotBook toBook(Object[] row, List<Long> authorIds) {
+        return new SnapshotBook((Long) row[0], (Long) row[1], (String) row[2], (String) row[3], (String) row[4],
+                (LocalDate) row[5], authorIds.stream().mapToLong(Long::longValue).toArray());
+    }
+
+    private static void writeAtomically(Path file, byte[] content) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.write(temp, content);
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static void delete(Path directory) {
+        try {
+            FileSystemUtils.deleteRecursively(directory);
+        } catch (IOException e) {
+            log.warn("Could not delete incomplete export {}: {}", directory, e.getMessage());
+        }
+    }
+
+    /**
+     * Keeps the most recent finished exports queryable and forgets older ones.
+     */
+    private void retire(Job job) {
+        finishedJobIds.add(job.id);
+        while (finishedJobIds.size() > properties.getRetainedJobs()) {
+            String expired = finishedJobIds.poll();
+            if (expired != null) {
+                jobs.remove(expired);
+            }
+        }
+    }
+
+
+    private record Partition(int index, long fromId, long toId) {
+    }
+
+
+    private static final class Job {
+
+        private final String id;
+        private final Path directory;
+        private final AtomicInteger completedFiles = new AtomicInteger();
+        private final AtomicLong rows = new AtomicLong();
+        private volatile ExportJobResponse.Status status = ExportJobResponse.Status.PENDING;
+        private volatile int files;
+        private volatile Instant startedAt;
+        private volatile Instant finishedAt;
+        private volatile String error;
+
+        private Job(String id, Path directory) {
+            this.id = id;
+            this.directory = directory;
+        }
+
+        private ExportJobResponse toResponse() {
+            return ExportJobResponse.builder()
+                    .id(id)
+                    .status(status)
+                    .directory(directory.toString())
+                    .files(files)
+                    .completedFiles(completedFiles.get())
+                    .rows(rows.get())
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .error(error)
+                    .build();
+        }
+    }
+}
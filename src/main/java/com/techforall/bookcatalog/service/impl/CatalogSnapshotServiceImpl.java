@@ -0,0 +1,131 @@
+package com.techforall.bookcatalog.service.impl;
+
+import com.techforall.bookcatalog.config.SchedulingConfig;
+import com.techforall.bookcatalog.config.SnapshotProperties;
+import com.techforall.bookcatalog.repository.AuthorRepository;
+import com.techforall.bookcatalog.repository.BookRepository;
+import com.techforall.bookcatalog.service.CatalogSnapshotService;
+import com.techforall.bookcatalog.snapshot.CatalogSnapshot;
+import com.techforall.bookcatalog.snapshot.SnapshotAuthor;
+import com.techforall.bookcatalog.snapshot.SnapshotBook;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+
+/**
+ * Keeps a {@link CatalogSnapshot} of the whole catalog on local disk. The file found at startup is
+ * mapped straight away; a fresh one is written periodically and swapped in once it is complete.
+ */
+@Service
+@Slf4j
+public class CatalogSnapshotServiceImpl implements CatalogSnapshotService {
+
+    private static final long[] NO_AUTHORS = new long[0];
+
+    private final BookRepository bookRepository;
+    private final AuthorRepository authorRepository;
+    private final SnapshotProperties properties;
+    private final TransactionTemplate transactionTemplate;
+
+    private volatile CatalogSnapshot snapshot;
+
+    public CatalogSnapshotServiceImpl(BookRepository bookRepository, AuthorRepository authorRepository,
+                                      SnapshotProperties properties, PlatformTransactionManager transactionManager) {
+        this.bookRepository = bookRepository;
+        this.authorRepository = authorRepository;
+        this.properties = properties;
+        // Books, links and authors are read in three queries that must see the same commit.
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        if (properties.isEnabled()) {
+            this.snapshot = openExisting();
+        }
+    }
+
+    @Override
+    public Optional<CatalogSnapshot> current() {
+        return Optional.ofNullable(snapshot);
+    }
+
+    @Override
+    @Scheduled(initialDelayString = "${catalog.snapshot.interval:PT15M}",
+            fixedDelayString = "${catalog.snapshot.interval:PT15M}")
+    public Optional<CatalogSnapshot> write() {
+        if (!properties.isEnabled()) {
+            return Optional.empty();
+        }
+        long started = System.nanoTime();
+        Instant createdAt = Instant.now();
+        Catalog catalog = transactionTemplate.execute(status -> load());
+        try {
+            CatalogSnapshot.write(properties.getPath(), createdAt, catalog.books(), catalog.authors());
+            snapshot = CatalogSnapshot.open(properties.getPath());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write catalog snapshot to " + properties.getPath(), e);
+        }
+        log.info("Wrote catalog snapshot with {} books and {} authors to {} in {} ms",
+                snapshot.getBookCount(), snapshot.getAuthorCount(), properties.getPath(),
+                (System.nanoTime() - started) / 1_000_000);
+        return Optional.of(snapshot);
+    }
+
+    @EventListener(value = ApplicationReadyEvent.class, condition = SchedulingConfig.UNLESS_EXPORTING)
+    public void writeIfMissing() {
+        if (properties.isEnabled() && snapshot == null) {
+            write();
+        }
+    }
+
+    private CatalogSnapshot openExisting() {
+        if (!Files.exists(properties.getPath())) {
+            return null;
+        }
+        try {
+            CatalogSnapshot existing = CatalogSnapshot.open(properties.getPath());
+            log.info("Mapped catalog snapshot from {} taken at {}", properties.getPath(), existing.getCreatedAt());
+            return existing;
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn("Ignoring unreadable catalog snapshot {}: {}", properties.getPath(), e.getMessage());
+            return null;
+        }
+    }
+
+    private Catalog load() {
+        Map<Long, List<Long>> authorIdsByBook = new HashMap<>();
+        for (Object[] link : bookRepository.findAllAuthorLinks()) {
+            authorIdsByBook.computeIfAbsent((Long) link[0], id -> new ArrayList<>()).add((Long) link[1]);
+        }
+
+        List<Object[]> rows = bookRepository.findAllForSnapshot();
+        List<SnapshotBook> books = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            Long id = (Long) row[0];
+            List<Long> authorIds = authorIdsByBook.get(id);
+            books.add(new SnapshotBook(id, (Long) row[1], (String) row[2], (String) row[3], (String) row[4],
+                    (LocalDate) row[5],
+                    authorIds == null ? NO_AUTHORS : authorIds.stream().mapToLong(Long::longValue).toArray()));
+        }
+        return new Catalog(books, authorRepository.findAllForSnapshot());
+    }
+
+    private record Catalog(List<SnapshotBook> books, List<SnapshotAuthor> authors) {
+    }
+}
@@ -0,0 +1,173 @@
+package com.techforall.bookcatalog.service.impl;
+
+import com.techforall.bookcatalog.config.ChangeFeedProperties;
+import com.techforall.bookcatalog.event.CatalogChangeEvent;
+import com.techforall.bookcatalog.exception.BadRequestException;
+import com.techforall.bookcatalog.model.dto.response.ChangeEventResponse;
+import com.techforall.bookcatalog.model.dto.response.ChangeFeedResponse;
+import com.techforall.bookcatalog.model.entity.ChangeLogEntry;
+import com.techforall.bookcatalog.repository.ChangeLogRepository;
+import com.techforall.bookcatalog.service.ChangeFeedService;
+import com.techforall.bookcatalog.utility.EntityMapper;
+import com.techforall.bookcatalog.utility.InFlightChanges;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+
+@Service
+@Transactional
+@RequiredArgsConstructor
+@Slf4j
+public class ChangeFeedServiceImpl implements ChangeFeedService {
+
+    private static final Object PENDING_KEY = new Object();
+
+    private final ChangeLogRepository changeLogRepository;
+    private final ChangeFeedProperties properties;
+    private final EntityMapper entityMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final InFlightChanges inFlightChanges;
+
+    /**
+     * Queues the entry; it is written just before the transaction commits. Sequence and timestamp
+     * are only assigned then, so however long the transaction ran, its entry becomes visible right
+     * after it gets its sequence and consumers reading behind it rarely have to wait for it.
+     */
+    @Override
+    public void record(ChangeLogEntry.EntityType entityType, Long entityId, ChangeLogEntry.Operation operation) {
+        pendingEntries().add(new ChangeLogEntry(entityType, entityId, operation, null));
+    }
+
+    @Override
+    public void recordAll(ChangeLogEntry.EntityType entityType, Collection<Long> entityIds,
+                          ChangeLogEntry.Operation operation) {
+        List<ChangeLogEntry> pending = pendingEntries();
+        entityIds.forEach(entityId -> pending.add(new ChangeLogEntry(entityType, entityId, operation, null)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ChangeFeedResponse getChanges(long since, Integer limit) {
+        if (since < 0) {
+            throw new BadRequestException("'since' must not be negative");
+        }
+        int pageSize = limit == null ? properties.getDefaultLimit() : limit;
+        if (pageSize < 1) {
+            throw new BadRequestException("'limit' must be at least 1");
+        }
+        pageSize = Math.min(pageSize, properties.getMaxLimit());
+
+        // Stop at the first entry that is not visible yet rather than skipping it: the cursor
+        // must never move past a sequence the consumer has not been given.
+        Instant visibleBefore = Instant.now().minus(properties.getVisibilityDelay());
+        long completedUpTo = inFlightChanges.completedUpTo();
+        List<ChangeLogEntry> visible = new ArrayList<>();
+        for (ChangeLogEntry entry : changeLogRepository.findBySequenceGreaterThanOrderBySequenceAsc(
+                since, Limit.of(pageSize + 1))) {
+            if (entry.getSequence() > completedUpTo || entry.getChangedAt().isAfter(visibleBefore)) {
+                break;
+            }
+            visible.add(entry);
+        }
+
+        boolean hasMore = visible.size() > pageSize;
+        List<ChangeEventResponse> changes = visible.stream()
+                .limit(pageSize)
+                .map(entityMapper::toChangeEventResponse)
+                .toList();
+        long nextCursor = changes.isEmpty() ? since : changes.get(changes.size() - 1).getSequence();
+
+        return ChangeFeedResponse.builder()
+                .changes(changes)
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    /**
+     * Drops entries superseded by a newer entry for the same entity. A consumer behind the cursor
+     * still sees the latest operation of every entity, which is all it needs to converge. Only the
+     * part of the log the feed already serves is compacted.
+     */
+    @Override
+    @Scheduled(initialDelayString = "${catalog.change-feed.compaction-interval:PT1H}",
+            fixedDelayString = "${catalog.change-feed.compaction-interval:PT1H}")
+    public int compact() {
+        long upTo = visibleUpTo();
+        if (upTo == 0) {
+            return 0;
+        }
+        int removed = changeLogRepository.deleteSupersededUpTo(upTo);
+        log.info("Compacted change log up to sequence {}: removed {} superseded entries", upTo, removed);
+        return removed;
+    }
+
+    /**
+     * The highest sequence up to which the feed serves every entry, or 0 when it serves none yet.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public long visibleUpTo() {
+        Long maxSequence = changeLogRepository.findMaxSequence();
+        if (maxSequence == null) {
+            return 0;
+        }
+        long upTo = Math.min(maxSequence, inFlightChanges.completedUpTo());
+        Long firstInvisible = changeLogRepository.findMinSequenceChangedAfter(
+                Instant.now().minus(properties.getVisibilityDelay()));
+        if (firstInvisible != null) {
+            upTo = Math.min(upTo, firstInvisible - 1);
+        }
+        return Math.max(upTo, 0);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<ChangeLogEntry> pendingEntries() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Changes can only be recorded in a transaction");
+        }
+        List<ChangeLogEntry> pending = (List<ChangeLogEntry>) TransactionSynchronizationManager.getResource(PENDING_KEY);
+        if (pending == null) {
+            List<ChangeLogEntry> entries = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(PENDING_KEY, entries);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    write(entries);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(PENDING_KEY);
+                }
+            });
+            pending = entries;
+        }
+        return pending;
+    }
+
+    private void write(List<ChangeLogEntry> pending) {
+        if (pending.isEmpty()) {
+            return;
+        }
+        Instant now = Instant.now();
+        pending.forEach(entry -> entry.setChangedAt(now));
+        List<ChangeLogEntry> entries = changeLogRepository.saveAll(pending);
+        log.debug("Recorded {} changes up to sequence {}", entries.size(), entries.get(entries.size() - 1).getSequence());
+        entries.forEach(entry ->
+                eventPublisher.publishEvent(new CatalogChangeEvent(entityMapper.toChangeEventResponse(entry))));
+        inFlightChanges.track(entries.stream().map(ChangeLogEntry::getSequence).toList());
+    }
+}
@@ -0,0 +1,242 @@
+package com.techforall.bookcatalog.service.impl;
+
+import com.techforall.bookcatalog.config.ChangeFeedProperties;
+import com.techforall.bookcatalog.model.dto.response.ChangeEventResponse;
+import com.techforall.bookcatalog.model.dto.response.ChangeFeedResponse;
+import com.techforall.bookcatalog.model.dto.response.ChangeStreamResetResponse;
+import com.techforall.bookcatalog.model.entity.ChangeLogEntry;
+import com.techforall.bookcatalog.repository.ChangeLogRepository;
+import com.techforall.bookcatalog.service.ChangeFeedService;
+import com.techforall.bookcatalog.service.ChangeStreamService;
+import com.techforall.bookcatalog.utility.EntityMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Pushes committed catalog changes to SSE subscribers. Each subscriber gets a bounded queue drained
+ * by its own virtual thread, so an idle subscriber costs a parked virtual thread and a committing
+ * request never waits on a client socket.
+ * <p>
+ * Live changes are read from the change log by one poller per instance, the same page at a time
+ * the feed serves, so subscribers see changes committed through any instance. The event id is the
+ * sequence of the change and only moves over entries read from the log, so resuming from it never
+ * skips one.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ChangeStreamServiceImpl implements ChangeStreamService {
+
+    private static final String CHANGE_EVENT = "change";
+    private static final String RESET_EVENT = "reset";
+
+    private final ChangeLogRepository changeLogRepository;
+    private final ChangeFeedService changeFeedService;
+    private final ChangeFeedProperties properties;
+    private final EntityMapper entityMapper;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * Guards {@link #cursor} and the queueing of polled changes, so a subscriber joins either
+     * before or after a polled page, never in the middle of one.
+     */
+    private final Object dispatchLock = new Object();
+
+    /**
+     * Highest sequence queued to subscribers; -1 while nobody is subscribed and nothing is polled.
+     */
+    private long cursor = -1;
+
+    @Override
+    public SseEmitter subscribe(ChangeLogEntry.EntityType entityType, Long lastEventId) {
+        ChangeFeedProperties.Stream config = properties.getStream();
+        SseEmitter emitter = new SseEmitter(config.getTimeout().toMillis());
+        Subscriber subscriber = new Subscriber(entityType, emitter, new ArrayBlockingQueue<>(config.getBufferSize()));
+
+        emitter.onCompletion(() -> close(subscriber));
+        emitter.onTimeout(() -> close(subscriber));
+        emitter.onError(e -> close(subscriber));
+
+        // Changes up to the cursor are replayed, later ones are polled into the queue.
+        long joinedAt;
+        synchronized (dispatchLock) {
+            if (cursor < 0) {
+                cursor = changeFeedService.visibleUpTo();
+            }
+            joinedAt = cursor;
+            subscribers.add(subscriber);
+        }
+        executor.execute(() -> stream(subscriber, lastEventId, joinedAt));
+        log.info("Opened {} change stream, resuming after: {}, subscribers: {}",
+                entityType, lastEventId, subscribers.size());
+        return emitter;
+    }
+
+    @Override
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    /**
+     * Reads the changes the feed serves past the cursor and queues them to the subscribers of their
+     * entity type. Stops the cursor while nobody is subscribed; the next subscriber restarts it.
+     */
+    @Override
+    @Scheduled(initialDelayString = "${catalog.change-feed.stream.poll-interval:PT0.5S}",
+            fixedDelayString = "${catalog.change-feed.stream.poll-interval:PT0.5S}")
+    public int pollChanges() {
+        int queued = 0;
+        ChangeFeedResponse page;
+        do {
+            long since;
+            synchronized (dispatchLock) {
+                if (subscribers.isEmpty()) {
+                    cursor = -1;
+                    return queued;
+                }
+                since = cursor;
+            }
+            page = changeFeedService.getChanges(since, null);
+            synchronized (dispatchLock) {
+                for (ChangeEventResponse change : page.getChanges()) {
+                    queued += dispatch(change);
+                }
+                cursor = page.getNextCursor();
+            }
+        } while (page.isHasMore());
+        return queued;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(this::close);
+        executor.shutdownNow();
+    }
+
+    private int dispatch(ChangeEventResponse change) {
+        int queued = 0;
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.entityType != change.getEntityType()) {
+                continue;
+            }
+            if (subscriber.queue.offer(change)) {
+                queued++;
+            } else {
+                log.warn("Disconnecting slow {} change stream subscriber: buffer of {} is full",
+                        subscriber.entityType, properties.getStream().getBufferSize());
+                subscriber.overflowed = true;
+                close(subscriber);
+            }
+        }
+        return queued;
+    }
+
+    private void stream(Subscriber subscriber, Long lastEventId, long joinedAt) {
+        try {
+            subscriber.emitter.send(SseEmitter.event().comment("connected"));
+            long sentUpTo = lastEventId != null ? replay(subscriber, lastEventId, joinedAt) : joinedAt;
+
+            long heartbeatMillis = properties.getStream().getHeartbeatInterval().toMillis();
+            while (!subscriber.closed) {
+                ChangeEventResponse change = subscriber.queue.poll(heartbeatMillis, TimeUnit.MILLISECONDS);
+                if (change == null) {
+                    subscriber.emitter.send(SseEmitter.event().comment("heartbeat"));
+                } else if (change.getSequence() > sentUpTo) {
+                    send(subscriber, change);
+                }
+            }
+            if (subscriber.overflowed) {
+                subscriber.emitter.complete();
+            }
+        } catch (IOException | IllegalStateException e) {
+            log.debug("{} change stream closed: {}", subscriber.entityType, e.getMessage());
+            close(subscriber);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            close(subscriber);
+        }
+    }
+
+    /**
+     * Sends what the subscriber missed after its Last-Event-ID, up to where it joined the poller;
+     * later changes reach its queue. A gap larger than one feed page is answered with a reset event
+     * instead, carrying the range to catch up on through GET /changes and the join point as its id,
+     * and the stream carries on live from there. Returns the sequence the subscriber has been sent
+     * everything up to.
+     */
+    private long replay(Subscriber subscriber, long lastEventId, long joinedAt) throws IOException {
+        if (lastEventId >= joinedAt) {
+            return lastEventId;
+        }
+        int maxReplay = properties.getMaxLimit();
+        List<ChangeLogEntry> missed = changeLogRepository
+                .findByEntityTypeAndSequenceGreaterThanOrderBySequenceAsc(
+                        subscriber.entityType, lastEventId, Limit.of(maxReplay + 1))
+                .stream()
+                .filter(entry -> entry.getSequence() <= joinedAt)
+                .toList();
+        if (missed.size() > maxReplay) {
+            log.info("{} change stream is more than {} events behind, sending reset",
+                    subscriber.entityType, maxReplay);
+            subscriber.emitter.send(SseEmitter.event()
+                    .id(String.valueOf(joinedAt))
+                    .name(RESET_EVENT)
+                    .data(new ChangeStreamResetResponse(lastEventId, joinedAt), MediaType.APPLICATION_JSON));
+            return joinedAt;
+        }
+        for (ChangeLogEntry entry : missed) {
+            send(subscriber, entityMapper.toChangeEventResponse(entry));
+        }
+        return joinedAt;
+    }
+
+    private void send(Subscriber subscriber, ChangeEventResponse change) throws IOException {
+        subscriber.emitter.send(SseEmitter.event()
+                .id(String.valueOf(change.getSequence()))
+                .name(CHANGE_EVENT)
+                .data(change, MediaType.APPLICATION_JSON));
+    }
+
+    private void close(Subscriber subscriber) {
+        subscriber.closed = true;
+        if (subscribers.remove(subscriber)) {
+            log.info("Closed {} change stream, subscribers: {}", subscriber.entityType, subscribers.size());
+        }
+    }
+
+
+    private static final class Subscriber {
+
+        private final ChangeLogEntry.EntityType entityType;
+        private final SseEmitter emitter;
+        private final BlockingQueue<ChangeEventResponse> queue;
+        private volatile boolean closed;
+        private volatile boolean overflowed;
+
+        private Subscriber(ChangeLogEntry.EntityType entityType, SseEmitter emitter,
+                           BlockingQueue<ChangeEventResponse> queue) {
+            this.entityType = entityType;
+            this.emitter = emitter;
+            this.queue = queue;
+        }
+    }
+}
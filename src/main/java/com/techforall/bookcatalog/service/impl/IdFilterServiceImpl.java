@@ -0,0 +1,132 @@
+package com.techforall.bookcatalog.service.impl;
+
+import com.techforall.bookcatalog.config.IdFilterProperties;
+import com.techforall.bookcatalog.config.SchedulingConfig;
+import com.techforall.bookcatalog.event.CatalogChangeEvent;
+import com.techforall.bookcatalog.membership.IdBloomFilter;
+import com.techforall.bookcatalog.membership.IdMembership;
+import com.techforall.bookcatalog.model.dto.response.ChangeEventResponse;
+import com.techforall.bookcatalog.model.entity.ChangeLogEntry;
+import com.techforall.bookcatalog.repository.AuthorRepository;
+import com.techforall.bookcatalog.repository.BookRepository;
+import com.techforall.bookcatalog.service.IdFilterService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongFunction;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+
+/**
+ * Keeps an {@link IdMembership} of existing ids per entity type, so lookups of ids that do not
+ * exist can be answered without a query. Ids created through this instance are added before their
+ * transaction commits; deletes are left in until the periodic rebuild, which only costs a query.
+ */
+@Service
+@Slf4j
+public class IdFilterServiceImpl implements IdFilterService {
+
+    private static final long MIN_EXPECTED_IDS = 1024;
+
+    private final BookRepository bookRepository;
+    private final AuthorRepository authorRepository;
+    private final IdFilterProperties properties;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<ChangeLogEntry.EntityType, IdMembership> memberships =
+            new EnumMap<>(ChangeLogEntry.EntityType.class);
+
+    public IdFilterServiceImpl(BookRepository bookRepository, AuthorRepository authorRepository,
+                               IdFilterProperties properties, PlatformTransactionManager transactionManager) {
+        this.bookRepository = bookRepository;
+        this.authorRepository = authorRepository;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        for (ChangeLogEntry.EntityType entityType : ChangeLogEntry.EntityType.values()) {
+            memberships.put(entityType, new IdMembership());
+        }
+    }
+
+    @Override
+    public boolean mightExist(ChangeLogEntry.EntityType entityType, long id) {
+        return !properties.isEnabled() || memberships.get(entityType).mightContain(id);
+    }
+
+    @Override
+    @Scheduled(initialDelayString = "${catalog.id-filter.rebuild-interval:PT10M}",
+            fixedDelayString = "${catalog.id-filter.rebuild-interval:PT10M}")
+    public void rebuild() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        rebuild(ChangeLogEntry.EntityType.BOOK,
+                bookRepository::count, bookRepository::findMaxId, bookRepository::streamIdsUpTo);
+        rebuild(ChangeLogEntry.EntityType.AUTHOR,
+                authorRepository::count, authorRepository::findMaxId, authorRepository::streamIdsUpTo);
+    }
+
+    /**
+     * Runs off the startup thread. The first build only records the highest id it read, so lookups
+     * go to the database until the first scheduled rebuild.
+     */
+    @EventListener(value = ApplicationReadyEvent.class, condition = SchedulingConfig.UNLESS_EXPORTING)
+    public void rebuildOnStartup() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Thread.ofVirtual().name("id-filter-rebuild").start(() -> {
+            try {
+                rebuild();
+            } catch (RuntimeException e) {
+                log.warn("Could not build the id filters, lookups go to the database until the next rebuild", e);
+            }
+        });
+    }
+
+    /**
+     * Change events are published while the change log is written, just before the transaction
+     * commits, so the id is in the filter before any reader can see the row.
+     */
+    @EventListener
+    public void onChange(CatalogChangeEvent event) {
+        ChangeEventResponse change = event.change();
+        if (change.getOperation() == ChangeLogEntry.Operation.CREATE) {
+            memberships.get(change.getEntityType()).add(change.getEntityId());
+        }
+    }
+
+    private void rebuild(ChangeLogEntry.EntityType entityType, LongSupplier count, Supplier<Optional<Long>> maxId,
+                         LongFunction<Stream<Long>> idsUpTo) {
+        long started = System.nanoTime();
+        long expectedIds = Math.max(MIN_EXPECTED_IDS, (long) Math.ceil(count.getAsLong() * properties.getHeadroom()));
+        IdBloomFilter filter = IdBloomFilter.create(expectedIds, properties.getFalsePositiveRate());
+        AtomicLong loaded = new AtomicLong();
+
+        memberships.get(entityType).reload(filter, next -> {
+            long loadedUpTo = maxId.get().orElse(0L);
+            transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<Long> ids = idsUpTo.apply(loadedUpTo)) {
+                    ids.forEach(id -> {
+                        next.add(id);
+                        loaded.incrementAndGet();
+                    });
+                }
+            });
+            return loadedUpTo;
+        });
+        log.info("Rebuilt {} id filter with {} ids ({} bits, {} hashes) in {} ms", entityType, loaded.get(),
+                filter.bitCount(), filter.hashCount(), (System.nanoTime() - started) / 1_000_000);
+    }
+}
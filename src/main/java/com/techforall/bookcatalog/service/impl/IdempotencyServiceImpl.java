@@ -0,0 +1,147 @@
+package com.techforall.bookcatalog.service.impl;
+
+import com.techforall.bookcatalog.config.IdempotencyProperties;
+import com.techforall.bookcatalog.event.CatalogChangeEvent;
+import com.techforall.bookcatalog.exception.IdempotencyConflictException;
+import com.techforall.bookcatalog.model.dto.response.ChangeEventResponse;
+import com.techforall.bookcatalog.model.entity.ChangeLogEntry;
+import com.techforall.bookcatalog.model.entity.IdempotencyRecord;
+import com.techforall.bookcatalog.repository.IdempotencyRepository;
+import com.techforall.bookcatalog.service.IdempotencyService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+@Service
+@Transactional
+@RequiredArgsConstructor
+@Slf4j
+public class IdempotencyServiceImpl implements IdempotencyService {
+
+    private final IdempotencyRepository idempotencyRepository;
+    private final IdempotencyProperties properties;
+
+    // Claims this instance is working on, with the creation time that identifies each of them.
+    private final Map<IdempotencyRecord.Key, Instant> runningClaims = new ConcurrentHashMap<>();
+    private final ThreadLocal<IdempotencyRecord.Key> currentClaim = new ThreadLocal<>();
+
+    /**
+     * Each step commits on its own, so a concurrent duplicate sees the claim immediately and the
+     * primary key decides which of two simultaneous first requests wins.
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Optional<IdempotencyRecord> claim(String scope, String key, String fingerprint) {
+        // Truncated so the stored value compares equal on every database.
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        Optional<IdempotencyRecord> existing = idempotencyRepository.findById(new IdempotencyRecord.Key(scope, key));
+        if (existing.isPresent()) {
+            if (existing.get().getExpiresAt().isAfter(now)) {
+                return existing;
+            }
+            idempotencyRepository.deleteExpired(scope, key, now);
+        }
+
+        IdempotencyRecord claim = new IdempotencyRecord(
+                scope, key, fingerprint, now, now.plus(properties.getInProgressTimeout()));
+        try {
+            idempotencyRepository.saveAndFlush(claim);
+            log.debug("Claimed idempotency key {} for {}", key, scope);
+            runningClaims.put(claim.getId(), now);
+            currentClaim.set(claim.getId());
+            return Optional.empty();
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Lost the race for idempotency key {} for {}", key, scope);
+            // The winner may already have released its claim; the caller still has to retry.
+            return Optional.of(idempotencyRepository.findById(claim.getId()).orElse(claim));
+        }
+    }
+
+    /**
+     * Change events are published just before the transaction of the write commits, so the claim is
+     * marked applied atomically with the insert, pointing at the created resource until the real
+     * response is stored. If the claim was taken over in the meantime, the write is rolled back.
+     */
+    @EventListener
+    public void onChange(CatalogChangeEvent event) {
+        IdempotencyRecord.Key key = currentClaim.get();
+        ChangeEventResponse change = event.change();
+        if (key == null || change.getOperation() != ChangeLogEntry.Operation.CREATE) {
+            return;
+        }
+        Instant claimedAt = runningClaims.get(key);
+        String location = HttpHeaders.LOCATION + ": " + key.getScope() + "/" + change.getEntityId();
+        int updated = idempotencyRepository.markApplied(key.getScope(), key.getIdempotencyKey(), claimedAt,
+                HttpStatus.SEE_OTHER.value(), location, Instant.now().plus(properties.getTtl()));
+        if (updated == 0 && !idempotencyRepository.existsByScopeAndIdempotencyKeyAndCreatedAt(
+                key.getScope(), key.getIdempotencyKey(), claimedAt)) {
+            throw new IdempotencyConflictException(key.getIdempotencyKey());
+        }
+    }
+
+    @Override
+    public void complete(String scope, String key, int responseStatus, String contentType, String responseHeaders,
+                         String responseBody) {
+        IdempotencyRecord.Key id = new IdempotencyRecord.Key(scope, key);
+        try {
+            Instant claimedAt = runningClaims.get(id);
+            idempotencyRepository.findById(id)
+                    .filter(record -> record.getCreatedAt().equals(claimedAt))
+                    .ifPresent(record -> {
+                        record.setStatus(IdempotencyRecord.Status.COMPLETED);
+                        record.setResponseStatus(responseStatus);
+                        record.setResponseContentType(contentType);
+                        record.setResponseHeaders(responseHeaders);
+                        record.setResponseBody(responseBody);
+                        record.setExpiresAt(Instant.now().plus(properties.getTtl()));
+                    });
+        } finally {
+            runningClaims.remove(id);
+            currentClaim.remove();
+        }
+    }
+
+    @Override
+    public void release(String scope, String key) {
+        IdempotencyRecord.Key id = new IdempotencyRecord.Key(scope, key);
+        currentClaim.remove();
+        Instant claimedAt = runningClaims.remove(id);
+        if (claimedAt != null) {
+            idempotencyRepository.deleteClaim(scope, key, claimedAt);
+        }
+    }
+
+    @Override
+    @Scheduled(initialDelayString = "${catalog.idempotency.heartbeat-interval:PT15S}",
+            fixedDelayString = "${catalog.idempotency.heartbeat-interval:PT15S}")
+    public void extendRunningClaims() {
+        Instant expiresAt = Instant.now().plus(properties.getInProgressTimeout());
+        runningClaims.forEach((id, claimedAt) ->
+                idempotencyRepository.extendClaim(id.getScope(), id.getIdempotencyKey(), claimedAt, expiresAt));
+    }
+
+    @Override
+    @Scheduled(initialDelayString = "${catalog.idempotency.purge-interval:PT15M}",
+            fixedDelayString = "${catalog.idempotency.purge-interval:PT15M}")
+    public int purgeExpired() {
+        int removed = idempotencyRepository.deleteExpired(Instant.now());
+        if (removed > 0) {
+            log.info("Purged {} expired idempotency keys", removed);
+        }
+        return removed;
+    }
+}
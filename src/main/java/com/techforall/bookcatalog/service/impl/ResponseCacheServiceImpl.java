@@ -0,0 +1,313 @@
+package com.techforall.bookcatalog.service.impl;
+
+import com.techforall.bookcatalog.cache.ByteStorage;
+import com.techforall.bookcatalog.cache.CachedResponse;
+import com.techforall.bookcatalog.config.ResponseCacheProperties;
+import com.techforall.bookcatalog.event.CatalogChangeEvent;
+import com.techforall.bookcatalog.model.dto.response.ChangeEventResponse;
+import com.techforall.bookcatalog.model.dto.response.ChangeFeedResponse;
+import com.techforall.bookcatalog.model.entity.ChangeLogEntry;
+import com.techforall.bookcatalog.repository.ChangeLogRepository;
+import com.techforall.bookcatalog.service.ChangeFeedService;
+import com.techforall.bookcatalog.service.ResponseCacheService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+
+/**
+ * Approximately LRU cache of encoded entity responses, bounded by entry count and total body size.
+ * Every committed write replaces the entity's entry with a marker stamped with the write, which
+ * keeps responses loaded before the write from being stored after it. Writes made through other
+ * instances are picked up from the change feed.
+ * <p>
+ * Entries live in a {@link ConcurrentHashMap}, so hits take no shared lock: a hit only records when
+ * the entry was last used. When the cache outgrows a bound, one thread evicts the least recently
+ * used entries in a batch, down to a little below the bound so the scan is paid once per batch.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ResponseCacheServiceImpl implements ResponseCacheService {
+
+    /**
+     * Share of each bound freed by a trim beyond what brings the cache back within it.
+     */
+    private static final int TRIM_HEADROOM_DIVISOR = 10;
+
+    private final ResponseCacheProperties properties;
+    private final ChangeFeedService changeFeedService;
+    private final ChangeLogRepository changeLogRepository;
+
+    private final ConcurrentMap<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<ChangeLogEntry.EntityType, AtomicLong> clearedAt = clearedAtByType();
+    // Sequences already invalidated by a local event, so the feed does not invalidate them again.
+    private final Set<Long> localSequences = ConcurrentHashMap.newKeySet();
+    private final AtomicLong stamp = new AtomicLong();
+    private final AtomicLong size = new AtomicLong();
+    // Highest stamp of a marker evicted by trim(); a response loaded before it may predate that write.
+    private final AtomicLong evictedMarkersUpTo = new AtomicLong();
+    private final AtomicBoolean trimming = new AtomicBoolean();
+    // Only moved by invalidateFromChangeFeed(), which the scheduler never runs concurrently.
+    private volatile long feedCursor = -1;
+
+    @Override
+    public Optional<CachedResponse> get(ChangeLogEntry.EntityType type, Long id) {
+        Key key = new Key(type, id);
+        Entry entry = entries.get(key);
+        if (entry == null || entry.response == null) {
+            return Optional.empty();
+        }
+        if (entry.expiresAt - System.nanoTime() < 0) {
+            // Kept as a marker so an older load cannot take its place.
+            if (entries.replace(key, entry, new Entry(entry.stamp, null, 0))) {
+                size.addAndGet(-entry.size());
+            }
+            return Optional.empty();
+        }
+        entry.lastUsed = System.nanoTime();
+        return Optional.of(entry.response);
+    }
+
+    @Override
+    public long stamp() {
+        return stamp.get();
+    }
+
+    @Override
+    public void put(ChangeLogEntry.EntityType type, Long id, long loadedAt, String eTag, String contentType,
+                    byte[] body) {
+        CachedResponse response = new CachedResponse(eTag, contentType,
+                ByteStorage.of(body, properties.getStorage()), ByteStorage.of(gzip(body), properties.getStorage()));
+        if (response.size() > properties.getMaxSize().toBytes()) {
+            return;
+        }
+
+        Key key = new Key(type, id);
+        Entry entry = new Entry(loadedAt, response, System.nanoTime() + properties.getTtl().toNanos());
+        Entry stored = entries.compute(key, (k, current) -> {
+            if ((current != null && current.stamp > loadedAt) || loadedBeforeClear(type, loadedAt)) {
+                return current;
+            }
+            size.addAndGet(entry.size() - sizeOf(current));
+            return entry;
+        });
+        // A clear that raised its stamp after the check above may have swept the map before the
+        // entry was in it, so check again now that it is.
+        if (stored != entry || (loadedBeforeClear(type, loadedAt) && remove(key, entry))) {
+            log.debug("Not caching {} {}: it changed while the response was loaded", type, id);
+            return;
+        }
+        trim();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onChange(CatalogChangeEvent event) {
+        ChangeEventResponse change = event.change();
+        if (change.getSequence() != null && change.getSequence() > feedCursor) {
+            localSequences.add(change.getSequence());
+        }
+        invalidate(change);
+    }
+
+    /**
+     * Reads the change feed from where the previous call stopped and invalidates entries changed
+     * through other instances. The first call only positions the cursor at the end of the feed and
+     * drops everything cached before, which may predate a write it skipped.
+     */
+    @Override
+    @Scheduled(initialDelayString = "${catalog.response-cache.feed-poll-interval:PT1S}",
+            fixedDelayString = "${catalog.response-cache.feed-poll-interval:PT1S}")
+    public int invalidateFromChangeFeed() {
+        if (!properties.isEnabled()) {
+            return 0;
+        }
+        long cursor = feedCursor;
+        if (cursor < 0) {
+            Long maxSequence = changeLogRepository.findMaxSequence();
+            feedCursor = maxSequence != null ? maxSequence : 0;
+            localSequences.removeIf(sequence -> sequence <= feedCursor);
+            clear();
+            return 0;
+        }
+
+        int invalidated = 0;
+        ChangeFeedResponse page;
+        do {
+            page = changeFeedService.getChanges(cursor, null);
+            for (ChangeEventResponse change : page.getChanges()) {
+                if (!localSequences.remove(change.getSequence())) {
+                    invalidate(change);
+                    invalidated++;
+                }
+            }
+            cursor = page.getNextCursor();
+            feedCursor = cursor;
+            // Also drops a local sequence added just after the cursor moved past it.
+            long readUpTo = cursor;
+            localSequences.removeIf(sequence -> sequence <= readUpTo);
+        } while (page.isHasMore());
+        if (invalidated > 0) {
+            log.debug("Invalidated {} cached responses changed through other instances", invalidated);
+        }
+        return invalidated;
+    }
+
+    private void invalidate(ChangeEventResponse change) {
+        long invalidatedAt = stamp.incrementAndGet();
+        Entry marker = new Entry(invalidatedAt, null, 0);
+        // Invalidations can race each other; the entry with the later stamp wins.
+        entries.compute(new Key(change.getEntityType(), change.getEntityId()), (k, current) -> {
+            if (current != null && current.stamp > invalidatedAt) {
+                return current;
+            }
+            size.addAndGet(-sizeOf(current));
+            return marker;
+        });
+        // Book responses embed their authors' names. Renames are rare, so drop every book.
+        if (change.getEntityType() == ChangeLogEntry.EntityType.AUTHOR
+                && change.getOperation() == ChangeLogEntry.Operation.UPDATE) {
+            clearBefore(ChangeLogEntry.EntityType.BOOK, invalidatedAt);
+        }
+        trim();
+    }
+
+    private void clear() {
+        long clearedStamp = stamp.incrementAndGet();
+        for (ChangeLogEntry.EntityType type : ChangeLogEntry.EntityType.values()) {
+            clearBefore(type, clearedStamp);
+        }
+    }
+
+    /**
+     * Drops the entries of {@code type} stamped before {@code clearedStamp}. Later ones are markers
+     * of later writes or responses loaded after the clear, and stay.
+     */
+    private void clearBefore(ChangeLogEntry.EntityType type, long clearedStamp) {
+        clearedAt.get(type).accumulateAndGet(clearedStamp, Math::max);
+        entries.forEach((key, entry) -> {
+            if (key.type() == type && entry.stamp < clearedStamp) {
+                remove(key, entry);
+            }
+        });
+    }
+
+    private boolean loadedBeforeClear(ChangeLogEntry.EntityType type, long loadedAt) {
+        return clearedAt.get(type).get() > loadedAt || evictedMarkersUpTo.get() > loadedAt;
+    }
+
+    private boolean remove(Key key, Entry entry) {
+        if (!entries.remove(key, entry)) {
+            return false;
+        }
+        size.addAndGet(-entry.size());
+        return true;
+    }
+
+    private void trim() {
+        if (withinBounds(properties.getMaxEntries(), properties.getMaxSize().toBytes())
+                || !trimming.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long maxEntries = properties.getMaxEntries();
+            long maxSize = properties.getMaxSize().toBytes();
+            long targetEntries = maxEntries - maxEntries / TRIM_HEADROOM_DIVISOR;
+            long targetSize = maxSize - maxSize / TRIM_HEADROOM_DIVISOR;
+
+            // Hits keep moving lastUsed, so sort on a snapshot of it.
+            List<Candidate> candidates = new ArrayList<>(entries.size());
+            entries.forEach((key, entry) -> candidates.add(new Candidate(key, entry, entry.lastUsed)));
+            candidates.sort(Comparator.comparingLong(Candidate::lastUsed));
+            for (Candidate candidate : candidates) {
+                if (withinBounds(targetEntries, targetSize)) {
+                    break;
+                }
+                Entry evicted = candidate.entry();
+                if (evicted.response == null) {
+                    // Raised before the marker goes, so a put never sees neither.
+                    evictedMarkersUpTo.accumulateAndGet(evicted.stamp, Math::max);
+                }
+                remove(candidate.key(), evicted);
+            }
+        } finally {
+            trimming.set(false);
+        }
+    }
+
+    private boolean withinBounds(long maxEntries, long maxSize) {
+        return entries.size() <= maxEntries && size.get() <= maxSize;
+    }
+
+    private static long sizeOf(Entry entry) {
+        return entry != null ? entry.size() : 0;
+    }
+
+    private static Map<ChangeLogEntry.EntityType, AtomicLong> clearedAtByType() {
+        Map<ChangeLogEntry.EntityType, AtomicLong> clearedAt = new EnumMap<>(ChangeLogEntry.EntityType.class);
+        for (ChangeLogEntry.EntityType type : ChangeLogEntry.EntityType.values()) {
+            clearedAt.put(type, new AtomicLong());
+        }
+        return clearedAt;
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 2 + 32);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+
+    private record Key(ChangeLogEntry.EntityType type, Long id) {
+    }
+
+
+    private record Candidate(Key key, Entry entry, long lastUsed) {
+    }
+
+
+    /**
+     * A cached response, or with a null response a marker of the last write to the entity.
+     */
+    private static final class Entry {
+
+        private final long stamp;
+        private final CachedResponse response;
+        private final long expiresAt;
+        // Written on every hit without coordination; eviction only needs an approximate order.
+        private volatile long lastUsed = System.nanoTime();
+
+        private Entry(long stamp, CachedResponse response, long expiresAt) {
+            this.stamp = stamp;
+            this.response = response;
+            this.expiresAt = expiresAt;
+        }
+
+        private int size() {
+            return response != null ? response.size() : 0;
+        }
+    }
+}
@@ -0,0 +1,418 @@
+package com.techforall.bookcatalog.snapshot;
+
+import com.techforall.bookcatalog.model.dto.response.AuthorResponse;
+import com.techforall.bookcatalog.model.dto.response.AuthorSummaryResponse;
+import com.techforall.bookcatalog.model.dto.response.BookResponse;
+import com.techforall.bookcatalog.model.dto.response.BookSummaryResponse;
+import com.techforall.bookcatalog.model.dto.response.PageResponse;
+import com.techforall.bookcatalog.utility.PageableSorts;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.IntFunction;
+import java.util.function.IntUnaryOperator;
+
+
+/**
+ * Read-only, memory-mapped copy of the catalog. Opening it maps the file and reads the header;
+ * every lookup then reads just the records it returns straight from the mapping, so nothing is
+ * deserialized up front and the heap does not grow with the catalog.
+ * <p>
+ * Layout (big-endian):
+ * <pre>
+ * header     magic, format version, created-at millis, book count, author count,
+ *            and the offsets of the four index sections
+ * records    books in (title, id) order, then authors in (surname, id) order
+ * indexes    book (id, offset) pairs sorted by id, book offsets in (title, id) order,
+ *            and the same two for authors
+ * </pre>
+ * A book record is id, version, title, publisher, edition, published date (epoch day or
+ * Long.MIN_VALUE), then its author ids; an author record is id, version, name, surname, birth year
+ * (or Integer.MIN_VALUE). Strings are a length (-1 for null) followed by UTF-8 bytes. A single
+ * mapping limits the file to 2 GB.
+ */
+public final class CatalogSnapshot {
+
+    private static final int MAGIC = 0x42435331; // "BCS1"
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 40;
+    private static final int ID_INDEX_ENTRY_SIZE = Long.BYTES + Integer.BYTES;
+    private static final long NO_DATE = Long.MIN_VALUE;
+    private static final int NO_YEAR = Integer.MIN_VALUE;
+
+    private final Path path;
+    private final ByteBuffer buffer;
+    private final Instant createdAt;
+    private final int bookCount;
+    private final int authorCount;
+    private final int bookIdIndex;
+    private final int bookOrderIndex;
+    private final int authorIdIndex;
+    private final int authorOrderIndex;
+
+    private CatalogSnapshot(Path path, ByteBuffer buffer) {
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException(path + " is not a catalog snapshot");
+        }
+        if (buffer.getInt(4) != FORMAT_VERSION) {
+            throw new IllegalArgumentException(path + " has unsupported snapshot format " + buffer.getInt(4));
+        }
+        this.path = path;
+        this.buffer = buffer;
+        this.createdAt = Instant.ofEpochMilli(buffer.getLong(8));
+        this.bookCount = buffer.getInt(16);
+        this.authorCount = buffer.getInt(20);
+        this.bookIdIndex = buffer.getInt(24);
+        this.bookOrderIndex = buffer.getInt(28);
+        this.authorIdIndex = buffer.getInt(32);
+        this.authorOrderIndex = buffer.getInt(36);
+    }
+
+
+    public static CatalogSnapshot open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new CatalogSnapshot(path, mapped);
+        }
+    }
+
+    /**
+     * Writes a snapshot to a temporary file next to {@code target} and moves it into place, so
+     * readers of the previous file are never exposed to a partial one.
+     *
+     * @param books   in the order list pages are served: by title, then id
+     * @param authors by surname, then id
+     */
+    public static void write(Path target, Instant createdAt, List<SnapshotBook> books, List<SnapshotAuthor> authors)
+            throws IOException {
+        Path directory = target.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temporary = Files.createTempFile(directory, target.getFileName().toString(), ".tmp");
+        try {
+            int[] bookOffsets = new int[books.size()];
+            int[] authorOffsets = new int[authors.size()];
+            int[] sections = new int[4];
+
+            try (CountingOutput out = new CountingOutput(Files.newOutputStream(temporary))) {
+                out.write(new byte[HEADER_SIZE]);
+                for (int i = 0; i < books.size(); i++) {
+                    bookOffsets[i] = out.offset();
+                    writeBook(out, books.get(i));
+                }
+                for (int i = 0; i < authors.size(); i++) {
+                    authorOffsets[i] = out.offset();
+                    writeAuthor(out, authors.get(i));
+                }
+                sections[0] = out.offset();
+                writeIdIndex(out, bookOffsets, i -> books.get(i).id());
+                sections[1] = out.offset();
+                writeOrderIndex(out, bookOffsets);
+                sections[2] = out.offset();
+                writeIdIndex(out, authorOffsets, i -> authors.get(i).id());
+                sections[3] = out.offset();
+                writeOrderIndex(out, authorOffsets);
+            }
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE)
+                    .putInt(MAGIC)
+                    .putInt(FORMAT_VERSION)
+                    .putLong(createdAt.toEpochMilli())
+                    .putInt(books.size())
+                    .putInt(authors.size());
+            for (int section : sections) {
+                header.putInt(section);
+            }
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                channel.write(header.flip(), 0);
+                channel.force(true);
+            }
+            Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public int getBookCount() {
+        return bookCount;
+    }
+
+    public int getAuthorCount() {
+        return authorCount;
+    }
+
+    public Optional<BookResponse> findBook(long id) {
+        int offset = findOffset(bookIdIndex, bookCount, id);
+        return offset < 0 ? Optional.empty() : Optional.of(readBook(offset));
+    }
+
+    public Optional<AuthorResponse> findAuthor(long id) {
+        int offset = findOffset(authorIdIndex, authorCount, id);
+        return offset < 0 ? Optional.empty() : Optional.of(readAuthor(offset));
+    }
+
+    /**
+     * Serves a page in id order or in the default (title, id) order, in either direction. Empty for
+     * any other order, which the snapshot has no index for.
+     */
+    public Optional<PageResponse<BookSummaryResponse>> getBookPage(Pageable pageable) {
+        return page(pageable, "title", bookCount, bookIdIndex, bookOrderIndex).map(offsets ->
+                page(pageable, bookCount, position -> {
+                    Reader reader = new Reader(offsets.applyAsInt(position));
+                    long id = reader.readLong();
+                    reader.readLong();
+                    String title = reader.readString();
+                    String publisher = reader.readString();
+                    return BookSummaryResponse.builder().id(id).title(title).publisher(publisher).build();
+                }));
+    }
+
+    /**
+     * Serves a page in id order or in the default (surname, id) order, in either direction.
+     */
+    public Optional<PageResponse<AuthorSummaryResponse>> getAuthorPage(Pageable pageable) {
+        return page(pageable, "surname", authorCount, authorIdIndex, authorOrderIndex).map(offsets ->
+                page(pageable, authorCount, position -> {
+                    AuthorResponse author = readAuthor(offsets.applyAsInt(position));
+                    return AuthorSummaryResponse.builder().id(author.getId()).fullName(author.getFullName()).build();
+                }));
+    }
+
+    /**
+     * Maps a position in the requested order to a record offset, or empty if the order is not indexed.
+     */
+    private Optional<IntUnaryOperator> page(Pageable pageable, String orderedField, int count,
+                                            int idIndex, int orderIndex) {
+        if (pageable.isUnpaged()) {
+            return Optional.empty();
+        }
+        List<Sort.Order> orders = pageable.getSort().toList();
+        Sort.Direction direction = orders.isEmpty() ? Sort.Direction.ASC : orders.get(0).getDirection();
+        IntUnaryOperator offsets;
+        if (orders.isEmpty() || orders.get(0).getProperty().equals(PageableSorts.TIEBREAKER)) {
+            offsets = position -> buffer.getInt(idIndex + position * ID_INDEX_ENTRY_SIZE + Long.BYTES);
+        } else if (orders.get(0).getProperty().equals(orderedField)
+                && orders.stream().allMatch(order -> order.getDirection() == direction)) {
+            offsets = position -> buffer.getInt(orderIndex + position * Integer.BYTES);
+        } else {
+            return Optional.empty();
+        }
+        return Optional.of(direction.isAscending() ? offsets
+                : position -> offsets.applyAsInt(count - 1 - position));
+    }
+
+    private static <T> PageResponse<T> page(Pageable pageable, int total, IntFunction<T> reader) {
+        int size = pageable.getPageSize();
+        long from = pageable.getOffset();
+        List<T> content = new ArrayList<>();
+        for (long position = from; position < Math.min(from + size, total); position++) {
+            content.add(reader.apply((int) position));
+        }
+        int totalPages = (total + size - 1) / size;
+        return PageResponse.<T>builder()
+                .content(content)
+                .pageNumber(pageable.getPageNumber())
+                .pageSize(size)
+                .totalElements(total)
+                .totalPages(totalPages)
+                .first(pageable.getPageNumber() == 0)
+                .last(pageable.getPageNumber() + 1 >= totalPages)
+                .build();
+    }
+
+    private BookResponse readBook(int offset) {
+        Reader reader = new Reader(offset);
+        long id = reader.readLong();
+        long version = reader.readLong();
+        String title = reader.readString();
+        String publisher = reader.readString();
+        String edition = reader.readString();
+        long publishedDate = reader.readLong();
+
+        int authorIdCount = reader.readInt();
+        Set<AuthorSummaryResponse> authors = new HashSet<>();
+        for (int i = 0; i < authorIdCount; i++) {
+            findAuthor(reader.readLong()).ifPresent(author -> authors.add(
+                    AuthorSummaryResponse.builder().id(author.getId()).fullName(author.getFullName()).build()));
+        }
+
+        return BookResponse.builder()
+                .id(id)
+                .version(version)
+                .title(title)
+                .publisher(publisher)
+                .edition(edition)
+                .publishedDate(publishedDate == NO_DATE ? null : LocalDate.ofEpochDay(publishedDate))
+                .authors(authors)
+                .build();
+    }
+
+    private AuthorResponse readAuthor(int offset) {
+        Reader reader = new Reader(offset);
+        long id = reader.readLong();
+        long version = reader.readLong();
+        String name = reader.readString();
+        String surname = reader.readString();
+        int birthYear = reader.readInt();
+        return AuthorResponse.builder()
+                .id(id)
+                .version(version)
+                .name(name)
+                .surname(surname)
+                .fullName(name + " " + surname)
+                .birthYear(birthYear == NO_YEAR ? null : birthYear)
+                .build();
+    }
+
+    /**
+     * Binary search over an (id, offset) index; returns the record offset or -1.
+     */
+    private int findOffset(int index, int count, long id) {
+        int lo = 0;
+        int hi = count - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            int entry = index + mid * ID_INDEX_ENTRY_SIZE;
+            long midId = buffer.getLong(entry);
+            if (midId < id) {
+                lo = mid + 1;
+            } else if (midId > id) {
+                hi = mid - 1;
+            } else {
+                return buffer.getInt(entry + Long.BYTES);
+            }
+        }
+        return -1;
+    }
+
+    private static void writeBook(DataOutputStream out, SnapshotBook book) throws IOException {
+        out.writeLong(book.id());
+        out.writeLong(book.version());
+        writeString(out, book.title());
+        writeString(out, book.publisher());
+        writeString(out, book.edition());
+        out.writeLong(book.publishedDate() == null ? NO_DATE : book.publishedDate().toEpochDay());
+        out.writeInt(book.authorIds().length);
+        for (long authorId : book.authorIds()) {
+            out.writeLong(authorId);
+        }
+    }
+
+    private static void writeAuthor(DataOutputStream out, SnapshotAuthor author) throws IOException {
+        out.writeLong(author.id());
+        out.writeLong(author.version());
+        writeString(out, author.name());
+        writeString(out, author.surname());
+        out.writeInt(author.birthYear() == null ? NO_YEAR : author.birthYear());
+    }
+
+    private static void writeIdIndex(DataOutputStream out, int[] offsets, IntFunction<Long> idAt) throws IOException {
+        Integer[] positions = new Integer[offsets.length];
+        Arrays.setAll(positions, i -> i);
+        Arrays.sort(positions, Comparator.comparing(idAt::apply));
+        for (int position : positions) {
+            out.writeLong(idAt.apply(position));
+            out.writeInt(offsets[position]);
+        }
+    }
+
+    private static void writeOrderIndex(DataOutputStream out, int[] offsets) throws IOException {
+        for (int offset : offsets) {
+            out.writeInt(offset);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+
+    /**
+     * Sequential reads from an absolute position, leaving the shared buffer's position alone so
+     * concurrent readers do not interfere.
+     */
+    private final class Reader {
+
+        private int position;
+
+        private Reader(int position) {
+            this.position = position;
+        }
+
+        private long readLong() {
+            long value = buffer.getLong(position);
+            position += Long.BYTES;
+            return value;
+        }
+
+        private int readInt() {
+            int value = buffer.getInt(position);
+            position += Integer.BYTES;
+            return value;
+        }
+
+        private String readString() {
+            int length = readInt();
+            if (length < 0) {
+                return null;
+            }
+            byte[] bytes = new byte[length];
+            buffer.get(position, bytes);
+            position += length;
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+
+
+    private static final class CountingOutput extends DataOutputStream {
+
+        private CountingOutput(OutputStream out) {
+            super(new BufferedOutputStream(out, 1 << 16));
+        }
+
+        /**
+         * Bytes written so far, which is the offset of the next record in the file.
+         */
+        private int offset() throws IOException {
+            // DataOutputStream stops counting at Integer.MAX_VALUE.
+            if (written == Integer.MAX_VALUE) {
+                throw new IOException("Catalog snapshot exceeds 2 GB");
+            }
+            return written;
+        }
+    }
+}
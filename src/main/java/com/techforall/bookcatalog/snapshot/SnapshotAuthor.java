@@ -0,0 +1,8 @@
+package com.techforall.bookcatalog.snapshot;
+
+
+/**
+ * The author fields written to a {@link CatalogSnapshot}, loaded without the entity.
+ */
+public record SnapshotAuthor(Long id, Long version, String name, String surname, Integer birthYear) {
+}
@@ -0,0 +1,11 @@
+package com.techforall.bookcatalog.snapshot;
+
+import java.time.LocalDate;
+
+
+/**
+ * The book fields written to a {@link CatalogSnapshot}.
+ */
+public record SnapshotBook(Long id, Long version, String title, String publisher, String edition,
+                           LocalDate publishedDate, long[] authorIds) {
+}
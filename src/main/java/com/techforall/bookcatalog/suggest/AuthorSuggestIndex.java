@@ -0,0 +1,273 @@
+package com.techforall.bookcatalog.suggest;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+
+/**
+ * Case- and accent-insensitive prefix index over author full names ("george orwell") and surnames
+ * ("orwell"), returning the newest matching authors first.
+ * <p>
+ * The bulk of the index is an immutable snapshot: the folded terms in a sorted array, so a prefix
+ * is a contiguous range found by binary search, and a segment tree over the author ids, so the
+ * top K of any range are found in O(K log n) without scanning it. Writes since the snapshot go to
+ * a small sorted delta that is scanned in full and hides the snapshot entries of the authors it
+ * touched. {@link #rebuild} folds the delta into a fresh snapshot.
+ */
+public class AuthorSuggestIndex {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final char SEPARATOR = '\u0000';
+    private static final char MAX_CHAR = '\uffff';
+
+    private volatile Generation current = new Generation(Snapshot.build(List.of()), new Delta());
+    private volatile Delta pending;
+
+
+    public static String fold(String text) {
+        String decomposed = Normalizer.normalize(text.strip(), Normalizer.Form.NFD);
+        return COMBINING_MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Newest first, at most {@code limit} authors whose full name or surname starts with the prefix.
+     */
+    public List<IndexedAuthor> suggest(String prefix, int limit) {
+        String folded = fold(prefix);
+        if (folded.isEmpty() || limit < 1) {
+            return List.of();
+        }
+        Generation generation = current;
+
+        List<IndexedAuthor> candidates = new ArrayList<>(generation.delta.matches(folded));
+        generation.snapshot.top(folded, limit, generation.delta.touched, candidates);
+
+        Map<Long, IndexedAuthor> distinct = new LinkedHashMap<>();
+        candidates.stream()
+                .sorted(Comparator.comparing(IndexedAuthor::id).reversed())
+                .forEach(author -> distinct.putIfAbsent(author.id(), author));
+        return distinct.values().stream().limit(limit).toList();
+    }
+
+    public void upsert(IndexedAuthor author) {
+        // Read pending first: a rebuild that starts after this read loads the committed write itself.
+        Delta rebuilding = pending;
+        current.delta.upsert(author);
+        if (rebuilding != null) {
+            rebuilding.upsert(author);
+        }
+    }
+
+    public void remove(Long id) {
+        Delta rebuilding = pending;
+        current.delta.remove(id);
+        if (rebuilding != null) {
+            rebuilding.remove(id);
+        }
+    }
+
+    /**
+     * Authors changed since the last rebuild.
+     */
+    public int pendingChanges() {
+        return current.delta.touched.size();
+    }
+
+    /**
+     * Authors in the snapshot, not counting changes since the last rebuild.
+     */
+    public int size() {
+        return current.snapshot.authorCount;
+    }
+
+    /**
+     * Replaces the snapshot with the authors from {@code loader}. Writes arriving while it loads are
+     * kept in a fresh delta applied on top, so they survive whether or not the load saw them.
+     */
+    public synchronized void rebuild(Supplier<? extends Collection<IndexedAuthor>> loader) {
+        Delta fresh = new Delta();
+        pending = fresh;
+        try {
+            Snapshot snapshot = Snapshot.build(loader.get());
+            current = new Generation(snapshot, fresh);
+        } finally {
+            pending = null;
+        }
+    }
+
+    private static List<String> termsOf(IndexedAuthor author) {
+        return List.of(fold(author.fullName()), fold(author.surname()));
+    }
+
+
+    private record Generation(Snapshot snapshot, Delta delta) {
+    }
+
+
+    private static final class Snapshot {
+
+        private final int authorCount;
+        private final String[] terms;
+        private final long[] ids;
+        private final IndexedAuthor[] authors;
+        /**
+         * Iterative segment tree: node i holds the position of the largest id below it, leaves
+         * start at index n.
+         */
+        private final int[] maxPositions;
+
+        private Snapshot(int authorCount, String[] terms, long[] ids, IndexedAuthor[] authors) {
+            this.authorCount = authorCount;
+            this.terms = terms;
+            this.ids = ids;
+            this.authors = authors;
+            int n = ids.length;
+            this.maxPositions = new int[2 * n];
+            for (int i = 0; i < n; i++) {
+                maxPositions[n + i] = i;
+            }
+            for (int i = n - 1; i > 0; i--) {
+                maxPositions[i] = newer(maxPositions[2 * i], maxPositions[2 * i + 1]);
+            }
+        }
+
+        private static Snapshot build(Collection<IndexedAuthor> source) {
+            record Term(String term, IndexedAuthor author) {
+            }
+            List<Term> entries = new ArrayList<>(source.size() * 2);
+            for (IndexedAuthor author : source) {
+                for (String term : termsOf(author)) {
+                    entries.add(new Term(term, author));
+                }
+            }
+            entries.sort(Comparator.comparing(Term::term));
+
+            int n = entries.size();
+            String[] terms = new String[n];
+            long[] ids = new long[n];
+            IndexedAuthor[] authors = new IndexedAuthor[n];
+            for (int i = 0; i < n; i++) {
+                Term entry = entries.get(i);
+                terms[i] = entry.term();
+                ids[i] = entry.author().id();
+                authors[i] = entry.author();
+            }
+            return new Snapshot(source.size(), terms, ids, authors);
+        }
+
+        /**
+         * Adds the newest matches of the prefix, skipping hidden ids, until {@code limit} distinct
+         * authors were added. Ranges are expanded largest id first, so nothing beyond that is read.
+         */
+        private void top(String prefix, int limit, Set<Long> hidden, List<IndexedAuthor> into) {
+            int from = lowerBound(prefix);
+            int to = lowerBound(prefix + MAX_CHAR);
+            if (from >= to) {
+                return;
+            }
+
+            PriorityQueue<int[]> ranges = new PriorityQueue<>((a, b) -> Long.compare(ids[b[2]], ids[a[2]]));
+            ranges.add(new int[]{from, to, maxIn(from, to)});
+            Set<Long> seen = new HashSet<>();
+            while (!ranges.isEmpty() && seen.size() < limit) {
+                int[] range = ranges.poll();
+                int position = range[2];
+                long id = ids[position];
+                if (!hidden.contains(id) && seen.add(id)) {
+                    into.add(authors[position]);
+                }
+                if (range[0] < position) {
+                    ranges.add(new int[]{range[0], position, maxIn(range[0], position)});
+                }
+                if (position + 1 < range[1]) {
+                    ranges.add(new int[]{position + 1, range[1], maxIn(position + 1, range[1])});
+                }
+            }
+        }
+
+        private int maxIn(int from, int to) {
+            int n = ids.length;
+            int best = -1;
+            for (int lo = from + n, hi = to + n; lo < hi; lo >>= 1, hi >>= 1) {
+                if ((lo & 1) == 1) {
+                    best = newer(best, maxPositions[lo++]);
+                }
+                if ((hi & 1) == 1) {
+                    best = newer(best, maxPositions[--hi]);
+                }
+            }
+            return best;
+        }
+
+        private int newer(int a, int b) {
+            if (a < 0) {
+                return b;
+            }
+            return ids[a] >= ids[b] ? a : b;
+        }
+
+        private int lowerBound(String key) {
+            int lo = 0;
+            int hi = terms.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (terms[mid].compareTo(key) < 0) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+    }
+
+
+    private static final class Delta {
+
+        private final ConcurrentSkipListMap<String, IndexedAuthor> entries = new ConcurrentSkipListMap<>();
+        private final Map<Long, List<String>> keysById = new ConcurrentHashMap<>();
+        /**
+         * Ids whose snapshot entries are stale: updated or deleted since the snapshot was built.
+         */
+        private final Set<Long> touched = ConcurrentHashMap.newKeySet();
+
+        private synchronized void upsert(IndexedAuthor author) {
+            touched.add(author.id());
+            removeEntries(author.id());
+            List<String> keys = termsOf(author).stream()
+                    .map(term -> term + SEPARATOR + author.id())
+                    .toList();
+            keys.forEach(key -> entries.put(key, author));
+            keysById.put(author.id(), keys);
+        }
+
+        private synchronized void remove(Long id) {
+            touched.add(id);
+            removeEntries(id);
+        }
+
+        private void removeEntries(Long id) {
+            List<String> keys = keysById.remove(id);
+            if (keys != null) {
+                keys.forEach(entries::remove);
+            }
+        }
+
+        private Collection<IndexedAuthor> matches(String prefix) {
+            return entries.subMap(prefix, prefix + MAX_CHAR).values();
+        }
+    }
+}
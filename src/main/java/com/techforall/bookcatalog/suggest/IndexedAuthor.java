@@ -0,0 +1,12 @@
+package com.techforall.bookcatalog.suggest;
+
+
+/**
+ * The author fields the suggest index needs, loaded without the entity.
+ */
+public record IndexedAuthor(Long id, String name, String surname) {
+
+    public String fullName() {
+        return name + " " + surname;
+    }
+}
@@ -0,0 +1,63 @@
+package com.techforall.bookcatalog.utility;
+
+import com.techforall.bookcatalog.exception.PreconditionFailedException;
+
+import java.util.Set;
+
+
+/**
+ * Entity versions travel as strong ETags ({@code "3"}) and come back in If-Match. Sparse and
+ * gzip encoded representations carry the same version as a weak ETag ({@code W/"3"}).
+ */
+public final class ETags {
+
+    private ETags() {
+    }
+
+
+    public static String of(Long version) {
+        return version != null ? "\"" + version + "\"" : null;
+    }
+
+    /**
+     * The ETag of a representation restricted by {@code fields}: strong for the full representation,
+     * weak otherwise, since a partial body must not validate against the full one byte for byte.
+     */
+    public static String of(Long version, Set<String> fields) {
+        String tag = of(version);
+        return fields != null ? weak(tag) : tag;
+    }
+
+    /**
+     * The weak form of {@code eTag}, e.g. for a differently encoded body of the same representation.
+     */
+    public static String weak(String eTag) {
+        return eTag == null || eTag.startsWith("W/") ? eTag : "W/" + eTag;
+    }
+
+    /**
+     * Returns the version named by an If-Match header, or null when the header is absent or {@code *}.
+     * <p>
+     * If-Match uses the strong comparison (RFC 9110, section 13.1.1), and a weak tag never matches
+     * strongly, so {@code W/"3"} fails the precondition even when version 3 is current. Clients must
+     * send back the strong ETag of the full representation.
+     */
+    public static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            throw new PreconditionFailedException(String.format(
+                    "If-Match '%s' is a weak tag, send the strong ETag of the full representation", ifMatch));
+        }
+        if (tag.length() >= 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            tag = tag.substring(1, tag.length() - 1);
+        }
+        try {
+            return Long.parseLong(tag);
+        } catch (NumberFormatException e) {
+            throw new PreconditionFailedException(String.format("If-Match '%s' does not name a known version", ifMatch));
+        }
+    }
+}
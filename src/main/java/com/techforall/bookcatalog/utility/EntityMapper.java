@@ -1,20 +1,28 @@
 package com.techforall.bookcatalog.utility;
 
+import com.techforall.bookcatalog.model.dto.request.AuthorPatchRequest;
 import com.techforall.bookcatalog.model.dto.request.AuthorRequest;
+import com.techforall.bookcatalog.model.dto.request.BookPatchRequest;
 import com.techforall.bookcatalog.model.dto.request.BookRequest;
 import com.techforall.bookcatalog.model.dto.response.AuthorResponse;
 import com.techforall.bookcatalog.model.dto.response.AuthorSummaryResponse;
 import com.techforall.bookcatalog.model.dto.response.BookResponse;
 import com.techforall.bookcatalog.model.dto.response.BookSummaryResponse;
+import com.techforall.bookcatalog.model.dto.response.ChangeEventResponse;
 import com.techforall.bookcatalog.model.entity.Author;
 import com.techforall.bookcatalog.model.entity.Book;
+import com.techforall.bookcatalog.model.entity.ChangeLogEntry;
+import com.techforall.bookcatalog.monitoring.RequestPhase;
+import com.techforall.bookcatalog.monitoring.TimedPhase;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDate;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 
 @Component
+@TimedPhase(RequestPhase.MAPPING)
 public class EntityMapper {
 
 
@@ -28,6 +36,7 @@ public class EntityMapper {
                 .surname(author.getSurname())
                 .fullName(author.getFullName())
                 .birthYear(author.getBirthYear())
+                .version(author.getVersion())
                 .build();
     }
 
@@ -56,14 +65,26 @@ public class EntityMapper {
 
 
     public void updateAuthorFromRequest(Author author, AuthorRequest request) {
-        if (request.getName() != null) {
-            author.setName(request.getName());
+        applyAuthorFields(author, request.getName(), request.getSurname(), request.getBirthYear());
+    }
+
+
+    public void patchAuthor(Author author, AuthorPatchRequest request) {
+        applyAuthorFields(author, request.getName(), request.getSurname(), request.getBirthYear());
+    }
+
+    /**
+     * Sets the given author fields, leaving those passed as null unchanged.
+     */
+    private static void applyAuthorFields(Author author, String name, String surname, Integer birthYear) {
+        if (name != null) {
+            author.setName(name);
         }
-        if (request.getSurname() != null) {
-            author.setSurname(request.getSurname());
+        if (surname != null) {
+            author.setSurname(surname);
         }
-        if (request.getBirthYear() != null) {
-            author.setBirthYear(request.getBirthYear());
+        if (birthYear != null) {
+            author.setBirthYear(birthYear);
         }
     }
 
@@ -83,6 +104,24 @@ public class EntityMapper {
                 .publisher(book.getPublisher())
                 .edition(book.getEdition())
                 .publishedDate(book.getPublishedDate())
+                .version(book.getVersion())
+                .build();
+    }
+
+    /**
+     * Maps a Book entity to BookResponse without touching its lazy author set, which is left null.
+     */
+    public BookResponse toBookResponseWithoutAuthors(Book book) {
+        if (book == null) {
+            return null;
+        }
+        return BookResponse.builder()
+                .id(book.getId())
+                .title(book.getTitle())
+                .publisher(book.getPublisher())
+                .edition(book.getEdition())
+                .publishedDate(book.getPublishedDate())
+                .version(book.getVersion())
                 .build();
     }
 
@@ -118,18 +157,47 @@ public class EntityMapper {
 
 
     public void updateBookFromRequest(Book book, BookRequest request) {
-        if (request.getTitle() != null) {
-            book.setTitle(request.getTitle());
+        applyBookFields(book, request.getTitle(), request.getPublisher(), request.getEdition(),
+                request.getPublishedDate());
+    }
+
+
+    public void patchBook(Book book, BookPatchRequest request) {
+        applyBookFields(book, request.getTitle(), request.getPublisher(), request.getEdition(),
+                request.getPublishedDate());
+    }
+
+    /**
+     * Sets the given book fields, leaving those passed as null unchanged. Authors are resolved by
+     * the service.
+     */
+    private static void applyBookFields(Book book, String title, String publisher, String edition,
+                                        LocalDate publishedDate) {
+        if (title != null) {
+            book.setTitle(title);
         }
-        if (request.getPublisher() != null) {
-            book.setPublisher(request.getPublisher());
+        if (publisher != null) {
+            book.setPublisher(publisher);
         }
-        if (request.getEdition() != null) {
-            book.setEdition(request.getEdition());
+        if (edition != null) {
+            book.setEdition(edition);
         }
-        if (request.getPublishedDate() != null) {
-            book.setPublishedDate(request.getPublishedDate());
+        if (publishedDate != null) {
+            book.setPublishedDate(publishedDate);
         }
     }
-}
 
+
+    public ChangeEventResponse toChangeEventResponse(ChangeLogEntry entry) {
+        if (entry == null) {
+            return null;
+        }
+        return ChangeEventResponse.builder()
+                .sequence(entry.getSequence())
+                .entityType(entry.getEntityType())
+                .entityId(entry.getEntityId())
+                .operation(entry.getOperation())
+                .changedAt(entry.getChangedAt())
+                .build();
+    }
+}
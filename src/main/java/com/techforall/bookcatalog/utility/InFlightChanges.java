@@ -0,0 +1,50 @@
+package com.techforall.bookcatalog.utility;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+
+/**
+ * Change log sequences written by transactions of this instance that have not completed yet.
+ * Sequences are assigned at insert but become visible at commit, so a transaction holding a lower
+ * sequence can commit after a higher one is already visible. Nothing above the oldest in-flight
+ * sequence may be handed out as a resume point, or a reader would move past it for good.
+ */
+@Component
+public class InFlightChanges {
+
+    private final ConcurrentSkipListSet<Long> sequences = new ConcurrentSkipListSet<>();
+
+
+    /**
+     * Tracks {@code written} until the current transaction completes. Call it after publishing the
+     * events of the entries: synchronizations run in registration order, so the after-commit
+     * listeners have handled an entry by the time it stops being tracked.
+     */
+    public void track(Collection<Long> written) {
+        if (written.isEmpty() || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        List<Long> tracked = List.copyOf(written);
+        sequences.addAll(tracked);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                tracked.forEach(sequences::remove);
+            }
+        });
+    }
+
+    /**
+     * The highest sequence below every in-flight one; {@link Long#MAX_VALUE} when none are in flight.
+     */
+    public long completedUpTo() {
+        Long oldest = sequences.ceiling(Long.MIN_VALUE);
+        return oldest == null ? Long.MAX_VALUE : oldest - 1;
+    }
+}
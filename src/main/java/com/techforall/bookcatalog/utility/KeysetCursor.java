@@ -0,0 +1,51 @@
+package com.techforall.bookcatalog.utility;
+
+import com.techforall.bookcatalog.exception.BadRequestException;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+
+/**
+ * Position after the last row of a keyset page: its id and, unless the page is sorted by id, its sort
+ * value. Travels as an opaque URL-safe string that also records the sort it was issued for, so a
+ * cursor cannot be replayed against a different order.
+ */
+public record KeysetCursor(String sort, Long id, String value) {
+
+    public static KeysetCursor after(Sort.Order order, Long id, String value) {
+        return new KeysetCursor(sortOf(order), id, PageableSorts.TIEBREAKER.equals(order.getProperty()) ? null : value);
+    }
+
+    public static KeysetCursor decode(String cursor, Sort.Order order) {
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\n", 3);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(String.format("Cursor '%s' is not valid", cursor));
+        }
+        if (parts.length != 3) {
+            throw new BadRequestException(String.format("Cursor '%s' is not valid", cursor));
+        }
+        if (!parts[0].equals(sortOf(order))) {
+            throw new BadRequestException(String.format(
+                    "Cursor was issued for sort '%s', not '%s'", parts[0], sortOf(order)));
+        }
+        try {
+            boolean byId = PageableSorts.TIEBREAKER.equals(order.getProperty());
+            return new KeysetCursor(parts[0], Long.parseLong(parts[1]), byId ? null : parts[2]);
+        } catch (NumberFormatException e) {
+            throw new BadRequestException(String.format("Cursor '%s' is not valid", cursor));
+        }
+    }
+
+    public String encode() {
+        String payload = sort + "\n" + id + "\n" + (value != null ? value : "");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String sortOf(Sort.Order order) {
+        return order.getProperty() + "," + order.getDirection().name().toLowerCase();
+    }
+}
@@ -0,0 +1,38 @@
+package com.techforall.bookcatalog.utility;
+
+import com.techforall.bookcatalog.config.OptimisticLockProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+
+/**
+ * Re-runs a blind (non-conditional) update that lost a version race. The operation must open its own
+ * transaction, so every attempt reloads the entity at its current version.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OptimisticLockRetry {
+
+    private final OptimisticLockProperties properties;
+
+    public <T> T run(Supplier<T> operation) {
+        int attempt = 0;
+        while (true) {
+            try {
+                return operation.get();
+            } catch (ObjectOptimisticLockingFailureException e) {
+                if (attempt >= properties.getMaxRetries()) {
+                    throw e;
+                }
+                attempt++;
+                log.info("Optimistic lock conflict on {} '{}', retrying ({}/{})",
+                        e.getPersistentClassName(), e.getIdentifier(), attempt, properties.getMaxRetries());
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.techforall.bookcatalog.utility;
+
+import com.techforall.bookcatalog.exception.BadRequestException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+
+/**
+ * Restricts client-supplied sort orders to fields backed by a (field, id) index and appends
+ * the id tiebreaker, so every page is served from an index in a stable order. An explicit
+ * tiebreaker is accepted only in the direction of the field it follows.
+ */
+public final class PageableSorts {
+
+    public static final String TIEBREAKER = "id";
+
+    private PageableSorts() {
+    }
+
+
+    public static Pageable restrictTo(Pageable pageable, Set<String> sortableFields) {
+        List<Sort.Order> orders = pageable.getSort().toList();
+
+        if (orders.size() > 2 || (orders.size() == 2 && !TIEBREAKER.equals(orders.get(1).getProperty()))) {
+            throw new BadRequestException("Sorting by more than one field is not supported");
+        }
+        // The (field, id) index serves the tiebreaker in the direction of the field only.
+        if (orders.size() == 2 && orders.get(0).getDirection() != orders.get(1).getDirection()) {
+            throw new BadRequestException(String.format(
+                    "The '%s' tiebreaker must be sorted in the same direction as '%s'",
+                    TIEBREAKER, orders.get(0).getProperty()));
+        }
+
+        for (Sort.Order order : orders) {
+            if (!TIEBREAKER.equals(order.getProperty()) && !sortableFields.contains(order.getProperty())) {
+                throw new BadRequestException(String.format(
+                        "Sorting by '%s' is not supported. Sortable fields: %s",
+                        order.getProperty(), new TreeSet<>(sortableFields)));
+            }
+            if (order.isIgnoreCase()) {
+                throw new BadRequestException("Case-insensitive sorting is not supported");
+            }
+        }
+
+        Sort sort;
+        if (orders.isEmpty()) {
+            sort = Sort.by(TIEBREAKER);
+        } else if (TIEBREAKER.equals(orders.get(0).getProperty())) {
+            sort = Sort.by(orders.get(0));
+        } else {
+            Sort.Order primary = orders.get(0);
+            sort = Sort.by(primary, new Sort.Order(primary.getDirection(), TIEBREAKER));
+        }
+
+        if (pageable.isUnpaged()) {
+            return pageable;
+        }
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort);
+    }
+}
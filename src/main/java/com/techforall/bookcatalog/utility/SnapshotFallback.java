@@ -0,0 +1,56 @@
+package com.techforall.bookcatalog.utility;
+
+import com.techforall.bookcatalog.service.CatalogSnapshotService;
+import com.techforall.bookcatalog.snapshot.CatalogSnapshot;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+
+/**
+ * Serves a read from the catalog snapshot when the database cannot be reached. Responses served
+ * this way carry a {@value #HEADER} header with the time the snapshot was taken.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SnapshotFallback {
+
+    public static final String HEADER = "X-Catalog-Snapshot";
+
+    private final CatalogSnapshotService snapshotService;
+
+    /**
+     * Runs {@code operation}; if it fails because the database is unavailable, answers from the
+     * snapshot instead. The original failure is rethrown when there is no snapshot or
+     * {@code fromSnapshot} cannot answer, e.g. for a filter or order the snapshot has no index for.
+     */
+    public <T> T run(Supplier<T> operation, Function<CatalogSnapshot, Optional<T>> fromSnapshot) {
+        try {
+            return operation.get();
+        } catch (DataAccessResourceFailureException | TransientDataAccessResourceException
+                 | CannotCreateTransactionException e) {
+            Optional<CatalogSnapshot> snapshot = snapshotService.current();
+            Optional<T> result = snapshot.flatMap(fromSnapshot);
+            if (result.isEmpty()) {
+                throw e;
+            }
+            log.warn("Database unavailable ({}), serving from the catalog snapshot taken at {}",
+                    e.getMessage(), snapshot.get().getCreatedAt());
+            if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes
+                    && attributes.getResponse() != null) {
+                attributes.getResponse().setHeader(HEADER, snapshot.get().getCreatedAt().toString());
+            }
+            return result.get();
+        }
+    }
+}
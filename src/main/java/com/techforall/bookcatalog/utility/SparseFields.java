@@ -0,0 +1,84 @@
+package com.techforall.bookcatalog.utility;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.techforall.bookcatalog.exception.BadRequestException;
+import com.techforall.bookcatalog.model.dto.response.PageResponse;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+
+/**
+ * Parses the {@code fields} parameter of sparse fieldset requests and trims response bodies to it.
+ * A null field set stands for "all fields" throughout.
+ */
+public final class SparseFields {
+
+    private SparseFields() {
+    }
+
+
+    /**
+     * @return the requested fields, or null if the parameter is absent
+     */
+    public static Set<String> parse(String fields, Set<String> availableFields) {
+        if (fields == null) {
+            return null;
+        }
+        Set<String> requested = new LinkedHashSet<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!availableFields.contains(name)) {
+                throw new BadRequestException(String.format(
+                        "Field '%s' is not supported. Available fields: %s", name, new TreeSet<>(availableFields)));
+            }
+            requested.add(name);
+        }
+        if (requested.isEmpty()) {
+            throw new BadRequestException("'fields' must name at least one field");
+        }
+        return requested;
+    }
+
+
+    /**
+     * The field set plus {@code field}; still null (all fields) for null.
+     */
+    public static Set<String> with(Set<String> fields, String field) {
+        if (fields == null) {
+            return null;
+        }
+        Set<String> extended = new LinkedHashSet<>(fields);
+        extended.add(field);
+        return extended;
+    }
+
+
+    public static Object retain(ObjectMapper objectMapper, Object body, Set<String> fields) {
+        if (fields == null) {
+            return body;
+        }
+        ObjectNode node = objectMapper.valueToTree(body);
+        return node.retain(fields);
+    }
+
+    /**
+     * Trims every element of the page's content, leaving the paging fields alone.
+     */
+    public static Object retainInPage(ObjectMapper objectMapper, PageResponse<?> page, Set<String> fields) {
+        if (fields == null) {
+            return page;
+        }
+        ObjectNode node = objectMapper.valueToTree(page);
+        for (JsonNode element : node.get("content")) {
+            ((ObjectNode) element).retain(fields);
+        }
+        return node;
+    }
+}
@@ -0,0 +1,27 @@
+-- Catalog schema as previously generated by Hibernate.
+-- Databases that were created with ddl-auto: update are baselined at this version (see application-prod.yml).
+
+CREATE TABLE authors (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    name       VARCHAR(100) NOT NULL,
+    surname    VARCHAR(100) NOT NULL,
+    birth_year INTEGER,
+    CONSTRAINT pk_authors PRIMARY KEY (id)
+);
+
+CREATE TABLE books (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    title          VARCHAR(255) NOT NULL,
+    publisher      VARCHAR(150),
+    edition        VARCHAR(50),
+    published_date DATE,
+    CONSTRAINT pk_books PRIMARY KEY (id)
+);
+
+CREATE TABLE book_authors (
+    book_id   BIGINT NOT NULL,
+    author_id BIGINT NOT NULL,
+    CONSTRAINT pk_book_authors PRIMARY KEY (book_id, author_id),
+    CONSTRAINT fk_book_authors_book FOREIGN KEY (book_id) REFERENCES books (id),
+    CONSTRAINT fk_book_authors_author FOREIGN KEY (author_id) REFERENCES authors (id)
+);
@@ -0,0 +1,6 @@
+-- The primary key on book_authors leads with book_id, so lookups by author (hasBooks, author deletion) need their own index.
+CREATE INDEX IF NOT EXISTS idx_book_authors_author_id ON book_authors (author_id);
+
+-- Default sort orders of GET /books and GET /authors.
+CREATE INDEX IF NOT EXISTS idx_books_title ON books (title);
+CREATE INDEX IF NOT EXISTS idx_authors_surname ON authors (surname);
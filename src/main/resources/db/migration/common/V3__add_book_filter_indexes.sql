@@ -0,0 +1,5 @@
+-- Filters of GET /books (publisher, publishedFrom/publishedTo, edition).
+-- The author filter is served by idx_book_authors_author_id from V2.
+CREATE INDEX IF NOT EXISTS idx_books_publisher ON books (publisher);
+CREATE INDEX IF NOT EXISTS idx_books_published_date ON books (published_date);
+CREATE INDEX IF NOT EXISTS idx_books_edition ON books (edition);
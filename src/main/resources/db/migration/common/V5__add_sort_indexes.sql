@@ -0,0 +1,12 @@
+-- Every sortable field is backed by a (field, id) index matching the id tiebreaker appended to each sort,
+-- so list pages are read in index order. They replace the single-column indexes on the same fields.
+CREATE INDEX IF NOT EXISTS idx_books_title_id ON books (title, id);
+CREATE INDEX IF NOT EXISTS idx_books_publisher_id ON books (publisher, id);
+CREATE INDEX IF NOT EXISTS idx_books_published_date_id ON books (published_date, id);
+CREATE INDEX IF NOT EXISTS idx_authors_surname_id ON authors (surname, id);
+CREATE INDEX IF NOT EXISTS idx_authors_name_id ON authors (name, id);
+
+DROP INDEX IF EXISTS idx_books_title;
+DROP INDEX IF EXISTS idx_books_publisher;
+DROP INDEX IF EXISTS idx_books_published_date;
+DROP INDEX IF EXISTS idx_authors_surname;
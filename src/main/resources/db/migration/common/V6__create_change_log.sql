@@ -0,0 +1,12 @@
+-- Append-only log of catalog writes behind GET /changes. seq is the consumer cursor.
+CREATE TABLE change_log (
+    seq         BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    entity_type VARCHAR(20)              NOT NULL,
+    entity_id   BIGINT                   NOT NULL,
+    operation   VARCHAR(10)              NOT NULL,
+    changed_at  TIMESTAMP WITH TIME ZONE NOT NULL,
+    CONSTRAINT pk_change_log PRIMARY KEY (seq)
+);
+
+-- Compaction looks for a newer entry of the same entity.
+CREATE INDEX idx_change_log_entity ON change_log (entity_type, entity_id, seq);
@@ -0,0 +1,2 @@
+-- Stream resume replays one entity type from the client's Last-Event-ID.
+CREATE INDEX idx_change_log_type_seq ON change_log (entity_type, seq);
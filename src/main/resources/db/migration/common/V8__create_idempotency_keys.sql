@@ -0,0 +1,16 @@
+-- Idempotency-Key claims and the responses they produced, replayed on retried POSTs.
+CREATE TABLE idempotency_keys (
+    scope                 VARCHAR(50)              NOT NULL,
+    idempotency_key       VARCHAR(255)             NOT NULL,
+    fingerprint           VARCHAR(64)              NOT NULL,
+    status                VARCHAR(20)              NOT NULL,
+    response_status       INTEGER,
+    response_content_type VARCHAR(100),
+    response_body         VARCHAR,
+    created_at            TIMESTAMP WITH TIME ZONE NOT NULL,
+    expires_at            TIMESTAMP WITH TIME ZONE NOT NULL,
+    CONSTRAINT pk_idempotency_keys PRIMARY KEY (scope, idempotency_key)
+);
+
+-- The purge job deletes by expiry.
+CREATE INDEX idx_idempotency_keys_expires_at ON idempotency_keys (expires_at);
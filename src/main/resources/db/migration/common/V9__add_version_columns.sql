@@ -0,0 +1,3 @@
+-- Optimistic locking: every UPDATE checks and bumps the row version.
+ALTER TABLE books ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE authors ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
@@ -0,0 +1,2 @@
+-- LIKE 'prefix%' can only use a b-tree index built with pattern operators unless the database uses the C collation.
+CREATE INDEX IF NOT EXISTS idx_books_publisher_pattern ON books (publisher varchar_pattern_ops);
@@ -0,0 +1,208 @@
+package com.techforall.bookcatalog.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import ch.qos.logback.core.encoder.Encoder;
+import com.techforall.bookcatalog.logging.RequestLoggingFilter;
+import com.techforall.bookcatalog.logging.SampledOutTurboFilter;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.boot.logging.logback.StructuredLogEncoder;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+
+/**
+ * Measures the logging time a request thread spends per request with the configuration before and
+ * after the move to asynchronous structured logging. Each simulated request logs what a request to
+ * {@code GET /books/{id}} logs: the controller line and the completion line.
+ * <p>
+ * Not part of the regular test run; start it with {@code mvn test -Dtest=LoggingOverheadBenchmark}
+ * and tune it with {@code -Dbenchmark.threads}, {@code -Dbenchmark.requests} (per thread) and
+ * {@code -Dbenchmark.work-micros}, the time each request spends outside logging. With no work the
+ * request threads outpace the appenders and the asynchronous queues start discarding, which the
+ * "written" column reports.
+ */
+class LoggingOverheadBenchmark {
+
+    private static final int THREADS = Integer.getInteger("benchmark.threads", 8);
+    private static final int REQUESTS = Integer.getInteger("benchmark.requests", 10_000);
+    private static final int WARMUP_REQUESTS = REQUESTS / 5;
+    private static final long WORK_NANOS = Long.getLong("benchmark.work-micros", 1000) * 1000;
+    private static final String TEXT_PATTERN = "%d{yyyy-MM-dd HH:mm:ss.SSS} %-5level [%thread] %logger{36} - %msg%n";
+    private static final ThreadMXBean THREAD_MX = ManagementFactory.getThreadMXBean();
+    private static final Path OUTPUT = Path.of("target", "logging-benchmark");
+
+    private enum Mode {
+        SYNC_TEXT("synchronous text, console + file (before)"),
+        ASYNC_JSON("asynchronous JSON, console + file (after)"),
+        ASYNC_JSON_SAMPLED("asynchronous JSON, 10% of successes sampled (after)");
+
+        private final String description;
+
+        Mode(String description) {
+            this.description = description;
+        }
+    }
+
+
+    @Test
+    void measure() throws Exception {
+        System.out.printf("%n%d threads x %d requests, 2 lines and %d us of work per request%n",
+                THREADS, REQUESTS, WORK_NANOS / 1000);
+        System.out.printf("%-55s %12s %12s %10s%n", "configuration", "wall ns/req", "cpu ns/req", "written");
+        for (Mode mode : Mode.values()) {
+            run(mode, WARMUP_REQUESTS);
+            Result result = run(mode, REQUESTS);
+            System.out.printf("%-55s %12d %12d %9.1f%%%n", mode.description,
+                    result.wallNanosPerRequest(), result.cpuNanosPerRequest(), result.writtenPercent());
+        }
+    }
+
+    private Result run(Mode mode, int requestsPerThread) throws Exception {
+        Path directory = OUTPUT.resolve(mode.name().toLowerCase());
+        deleteDirectory(directory);
+        LoggerContext context = newContext(mode, directory);
+        Logger controllerLog = context.getLogger("com.techforall.bookcatalog.controller.BookController");
+        Logger filterLog = context.getLogger(RequestLoggingFilter.class);
+        double sampleRate = mode == Mode.ASYNC_JSON_SAMPLED ? 0.1 : 1.0;
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<long[]>> threads = new ArrayList<>();
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                threads.add(executor.submit(() -> {
+                    long wall = 0;
+                    long cpu = 0;
+                    for (int i = 0; i < requestsPerThread; i++) {
+                        long id = ThreadLocalRandom.current().nextLong(1, 100_000);
+                        long started = System.nanoTime();
+                        long startedCpu = THREAD_MX.getCurrentThreadCpuTime();
+                        MDC.put(RequestLoggingFilter.REQUEST_ID, HexFormat.of().toHexDigits(ThreadLocalRandom.current().nextLong()));
+                        if (ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+                            MDC.put(RequestLoggingFilter.SAMPLED, "false");
+                        }
+                        controllerLog.info("GET /books/{} - Fetching book details", id);
+                        filterLog.info("{} {} -> {} in {} ms", "GET", "/books/" + id, 200, 3);
+                        MDC.remove(RequestLoggingFilter.REQUEST_ID);
+                        MDC.remove(RequestLoggingFilter.SAMPLED);
+                        cpu += THREAD_MX.getCurrentThreadCpuTime() - startedCpu;
+                        wall += System.nanoTime() - started;
+                        if (WORK_NANOS > 0) {
+                            LockSupport.parkNanos(WORK_NANOS);
+                        }
+                    }
+                    return new long[]{wall, cpu};
+                }));
+            }
+            long wall = 0;
+            long cpu = 0;
+            for (Future<long[]> thread : threads) {
+                wall += thread.get()[0];
+                cpu += thread.get()[1];
+            }
+            long requests = (long) THREADS * requestsPerThread;
+            // Stopping drains the asynchronous queues, so the files are complete afterwards.
+            context.stop();
+            long written;
+            try (Stream<String> lines = Files.lines(directory.resolve("file.log"))) {
+                written = lines.count();
+            }
+            return new Result(wall / requests, cpu / requests, 100.0 * written / (requests * 2));
+        } finally {
+            executor.shutdown();
+            context.stop();
+        }
+    }
+
+    private static LoggerContext newContext(Mode mode, Path directory) {
+        LoggerContext context = new LoggerContext();
+        context.setMDCAdapter(MDC.getMDCAdapter());
+        context.putObject(Environment.class.getName(), new StandardEnvironment());
+        context.start();
+        if (mode == Mode.ASYNC_JSON_SAMPLED) {
+            SampledOutTurboFilter turboFilter = new SampledOutTurboFilter();
+            turboFilter.setContext(context);
+            turboFilter.start();
+            context.addTurboFilter(turboFilter);
+        }
+
+        Logger root = context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        // The console is written to a file as well, as it is when the container captures stdout.
+        for (String name : List.of("console.log", "file.log")) {
+            FileAppender<ILoggingEvent> file = new FileAppender<>();
+            file.setContext(context);
+            file.setName(name);
+            file.setFile(directory.resolve(name).toString());
+            file.setEncoder(mode == Mode.SYNC_TEXT ? textEncoder(context) : jsonEncoder(context));
+            file.start();
+            root.addAppender(mode == Mode.SYNC_TEXT ? file : async(context, file));
+        }
+        return context;
+    }
+
+    private static Encoder<ILoggingEvent> textEncoder(LoggerContext context) {
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern(TEXT_PATTERN);
+        encoder.start();
+        return encoder;
+    }
+
+    private static Encoder<ILoggingEvent> jsonEncoder(LoggerContext context) {
+        StructuredLogEncoder encoder = new StructuredLogEncoder();
+        encoder.setContext(context);
+        encoder.setFormat("ecs");
+        encoder.start();
+        return encoder;
+    }
+
+    /**
+     * Same settings as the asynchronous appenders in {@code logback-spring.xml}.
+     */
+    private static Appender<ILoggingEvent> async(LoggerContext context, Appender<ILoggingEvent> delegate) {
+        AsyncAppender async = new AsyncAppender();
+        async.setContext(context);
+        async.setName("async-" + delegate.getName());
+        async.setQueueSize(8192);
+        async.setDiscardingThreshold(1638);
+        async.setNeverBlock(true);
+        async.setIncludeCallerData(false);
+        async.addAppender(delegate);
+        async.start();
+        return async;
+    }
+
+    private static void deleteDirectory(Path directory) throws IOException {
+        if (Files.exists(directory)) {
+            try (Stream<Path> files = Files.list(directory)) {
+                for (Path file : files.toList()) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+
+    private record Result(long wallNanosPerRequest, long cpuNanosPerRequest, double writtenPercent) {
+    }
+}
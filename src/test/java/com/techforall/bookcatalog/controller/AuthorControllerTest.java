@@ -2,11 +2,21 @@ package com.techforall.bookcatalog.controller;
 
 import com.techforall.bookcatalog.exception.AuthorHasBooksException;
 import com.techforall.bookcatalog.exception.ResourceNotFoundException;
+import com.techforall.bookcatalog.model.dto.request.AuthorPatchRequest;
 import com.techforall.bookcatalog.model.dto.request.AuthorRequest;
 import com.techforall.bookcatalog.model.dto.response.AuthorResponse;
 import com.techforall.bookcatalog.model.dto.response.AuthorSummaryResponse;
+import com.techforall.bookcatalog.model.dto.response.BookSummaryResponse;
+import com.techforall.bookcatalog.model.dto.response.CursorPageResponse;
 import com.techforall.bookcatalog.model.dto.response.PageResponse;
+import com.techforall.bookcatalog.model.entity.ChangeLogEntry;
 import com.techforall.bookcatalog.service.AuthorService;
+import com.techforall.bookcatalog.service.AuthorSuggestService;
+import com.techforall.bookcatalog.service.BookService;
+import com.techforall.bookcatalog.service.ChangeStreamService;
+import com.techforall.bookcatalog.service.IdFilterService;
+import com.techforall.bookcatalog.utility.OptimisticLockRetry;
+import com.techforall.bookcatalog.utility.SnapshotFallback;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -14,16 +24,25 @@ import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.mockito.ArgumentCaptor;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
 
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -42,11 +61,33 @@ class AuthorControllerTest {
     @MockitoBean
     private AuthorService authorService;
 
+    @MockitoBean
+    private AuthorSuggestService authorSuggestService;
+
+    @MockitoBean
+    private BookService bookService;
+
+    @MockitoBean
+    private ChangeStreamService changeStreamService;
+
+    @MockitoBean
+    private IdFilterService idFilterService;
+
+    @MockitoBean
+    private OptimisticLockRetry optimisticLockRetry;
+
+    @MockitoBean
+    private SnapshotFallback snapshotFallback;
+
     private AuthorResponse authorResponse;
     private AuthorSummaryResponse authorSummaryResponse;
 
     @BeforeEach
     void setUp() {
+        when(optimisticLockRetry.run(any())).thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(0).get());
+        when(snapshotFallback.run(any(), any())).thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(0).get());
+        when(idFilterService.mightExist(any(), anyLong())).thenReturn(true);
+
         authorResponse = AuthorResponse.builder()
                 .id(1L)
                 .name("George")
@@ -88,6 +129,29 @@ class AuthorControllerTest {
                     .andExpect(jsonPath("$.totalElements", is(1)));
         }
 
+        @Test
+        @DisplayName("Should sort by surname and id by default")
+        void getAllAuthors_ShouldSortBySurnameThenId() throws Exception {
+            when(authorService.getAllAuthors(any(Pageable.class)))
+                    .thenReturn(PageResponse.<AuthorSummaryResponse>builder().content(List.of()).build());
+
+            mockMvc.perform(get("/authors"))
+                    .andExpect(status().isOk());
+
+            ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+            verify(authorService).getAllAuthors(pageable.capture());
+            assertEquals(Sort.by("surname", "id"), pageable.getValue().getSort());
+        }
+
+        @Test
+        @DisplayName("Should return 400 for a sort field without an index")
+        void getAllAuthors_ShouldReturn400ForUnsupportedSort() throws Exception {
+            mockMvc.perform(get("/authors").param("sort", "birthYear,desc"))
+                    .andExpect(status().isBadRequest());
+
+            verifyNoInteractions(authorService);
+        }
+
         @Test
         @DisplayName("Should return empty page when no authors")
         void getAllAuthors_ShouldReturnEmptyPage() throws Exception {
@@ -110,6 +174,74 @@ class AuthorControllerTest {
         }
     }
 
+    @Nested
+    @DisplayName("GET /authors/suggest Tests")
+    class SuggestAuthorsTests {
+
+        @Test
+        @DisplayName("Should return the suggestions for the prefix")
+        void suggestAuthors_ShouldReturnSuggestions() throws Exception {
+            when(authorSuggestService.suggest("orw", 5)).thenReturn(List.of(authorSummaryResponse));
+
+            mockMvc.perform(get("/authors/suggest").param("q", "orw").param("limit", "5"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$", hasSize(1)))
+                    .andExpect(jsonPath("$[0].fullName", is("George Orwell")));
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /authors/stream Tests")
+    class StreamAuthorChangesTests {
+
+        @Test
+        @DisplayName("Should open an event stream resuming after Last-Event-ID")
+        void streamAuthorChanges_ShouldResumeAfterLastEventId() throws Exception {
+            when(changeStreamService.subscribe(ChangeLogEntry.EntityType.AUTHOR, 42L)).thenReturn(new SseEmitter());
+
+            mockMvc.perform(get("/authors/stream")
+                            .header("Last-Event-ID", "42")
+                            .accept(MediaType.TEXT_EVENT_STREAM))
+                    .andExpect(status().isOk())
+                    .andExpect(request().asyncStarted());
+
+            verify(changeStreamService).subscribe(ChangeLogEntry.EntityType.AUTHOR, 42L);
+        }
+
+        @Test
+        @DisplayName("Should resume after the since parameter, with Last-Event-ID taking precedence")
+        void streamAuthorChanges_ShouldResumeAfterSince() throws Exception {
+            when(changeStreamService.subscribe(ChangeLogEntry.EntityType.AUTHOR, 7L)).thenReturn(new SseEmitter());
+            when(changeStreamService.subscribe(ChangeLogEntry.EntityType.AUTHOR, 42L)).thenReturn(new SseEmitter());
+
+            mockMvc.perform(get("/authors/stream")
+                            .param("since", "7")
+                            .accept(MediaType.TEXT_EVENT_STREAM))
+                    .andExpect(status().isOk())
+                    .andExpect(request().asyncStarted());
+            mockMvc.perform(get("/authors/stream")
+                            .param("since", "7")
+                            .header("Last-Event-ID", "42")
+                            .accept(MediaType.TEXT_EVENT_STREAM))
+                    .andExpect(status().isOk())
+                    .andExpect(request().asyncStarted());
+
+            verify(changeStreamService).subscribe(ChangeLogEntry.EntityType.AUTHOR, 7L);
+            verify(changeStreamService).subscribe(ChangeLogEntry.EntityType.AUTHOR, 42L);
+        }
+
+        @Test
+        @DisplayName("Should open an event stream from now without Last-Event-ID")
+        void streamAuthorChanges_ShouldStartFromNow() throws Exception {
+            when(changeStreamService.subscribe(ChangeLogEntry.EntityType.AUTHOR, null)).thenReturn(new SseEmitter());
+
+            mockMvc.perform(get("/authors/stream").accept(MediaType.TEXT_EVENT_STREAM))
+                    .andExpect(request().asyncStarted());
+
+            verify(changeStreamService).subscribe(ChangeLogEntry.EntityType.AUTHOR, null);
+        }
+    }
+
     @Nested
     @DisplayName("GET /authors/{id} Tests")
     class GetAuthorByIdTests {
@@ -135,6 +267,93 @@ class AuthorControllerTest {
             mockMvc.perform(get("/authors/999"))
                     .andExpect(status().isNotFound());
         }
+
+        @Test
+        @DisplayName("Should return 404 without calling the service when the id filter rules the id out")
+        void getAuthorById_ShouldReturn404WhenIdFilterRulesOut() throws Exception {
+            when(idFilterService.mightExist(ChangeLogEntry.EntityType.AUTHOR, 999L)).thenReturn(false);
+
+            mockMvc.perform(get("/authors/999"))
+                    .andExpect(status().isNotFound())
+                    .andExpect(jsonPath("$.message", is("Author not found with id: '999'")));
+
+            verifyNoInteractions(authorService);
+        }
+
+        @Test
+        @DisplayName("Should return only the requested fields")
+        void getAuthorById_ShouldReturnRequestedFields() throws Exception {
+            authorResponse.setVersion(2L);
+            when(authorService.getAuthorById(1L, Set.of("fullName"))).thenReturn(authorResponse);
+
+            mockMvc.perform(get("/authors/1").param("fields", "fullName"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.ETAG, "W/\"2\""))
+                    .andExpect(jsonPath("$.*", hasSize(1)))
+                    .andExpect(jsonPath("$.fullName", is("George Orwell")));
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /authors/{id}/books Tests")
+    class GetAuthorBooksTests {
+
+        @Test
+        @DisplayName("Should return a page of books sorted by title and id by default")
+        void getAuthorBooks_ShouldReturnBooksSortedByTitle() throws Exception {
+            CursorPageResponse<BookSummaryResponse> page = CursorPageResponse.<BookSummaryResponse>builder()
+                    .content(List.of(BookSummaryResponse.builder().id(1L).title("1984").publisher("Secker").build()))
+                    .size(20)
+                    .nextCursor("next")
+                    .hasMore(true)
+                    .build();
+            when(bookService.getBooksByAuthor(eq(1L), any(Pageable.class), isNull())).thenReturn(page);
+
+            mockMvc.perform(get("/authors/1/books"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content[0].title", is("1984")))
+                    .andExpect(jsonPath("$.nextCursor", is("next")))
+                    .andExpect(jsonPath("$.hasMore", is(true)));
+
+            ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+            verify(bookService).getBooksByAuthor(eq(1L), pageable.capture(), isNull());
+            assertEquals(Sort.by("title", "id"), pageable.getValue().getSort());
+        }
+
+        @Test
+        @DisplayName("Should pass the cursor on")
+        void getAuthorBooks_ShouldPassCursor() throws Exception {
+            when(bookService.getBooksByAuthor(eq(1L), any(Pageable.class), eq("abc")))
+                    .thenReturn(CursorPageResponse.<BookSummaryResponse>builder().content(List.of()).build());
+
+            mockMvc.perform(get("/authors/1/books").param("cursor", "abc").param("sort", "id,desc"))
+                    .andExpect(status().isOk());
+
+            ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+            verify(bookService).getBooksByAuthor(eq(1L), pageable.capture(), eq("abc"));
+            assertEquals(Sort.by(Sort.Direction.DESC, "id"), pageable.getValue().getSort());
+        }
+
+        @Test
+        @DisplayName("Should return 400 for a page number or an unsupported sort")
+        void getAuthorBooks_ShouldReturn400ForPageOrUnsupportedSort() throws Exception {
+            mockMvc.perform(get("/authors/1/books").param("page", "2"))
+                    .andExpect(status().isBadRequest());
+            mockMvc.perform(get("/authors/1/books").param("sort", "publisher"))
+                    .andExpect(status().isBadRequest());
+
+            verifyNoInteractions(bookService);
+        }
+
+        @Test
+        @DisplayName("Should return 404 when author not found")
+        void getAuthorBooks_ShouldReturn404WhenNotFound() throws Exception {
+            when(bookService.getBooksByAuthor(eq(999L), any(Pageable.class), isNull()))
+                    .thenThrow(new ResourceNotFoundException("Author", "id", 999L));
+
+            mockMvc.perform(get("/authors/999/books"))
+                    .andExpect(status().isNotFound());
+        }
     }
 
     @Nested
@@ -197,7 +416,7 @@ class AuthorControllerTest {
                     .birthYear(1903)
                     .build();
 
-            when(authorService.updateAuthor(eq(1L), any(AuthorRequest.class))).thenReturn(updatedResponse);
+            when(authorService.updateAuthor(eq(1L), any(AuthorRequest.class), isNull())).thenReturn(updatedResponse);
 
             mockMvc.perform(put("/authors/1")
                             .contentType(MediaType.APPLICATION_JSON)
@@ -215,7 +434,7 @@ class AuthorControllerTest {
                     .birthYear(1903)
                     .build();
 
-            when(authorService.updateAuthor(eq(999L), any(AuthorRequest.class)))
+            when(authorService.updateAuthor(eq(999L), any(AuthorRequest.class), isNull()))
                     .thenThrow(new ResourceNotFoundException("Author", "id", 999L));
 
             mockMvc.perform(put("/authors/999")
@@ -225,6 +444,38 @@ class AuthorControllerTest {
         }
     }
 
+    @Nested
+    @DisplayName("PATCH /authors/{id} Tests")
+    class PatchAuthorTests {
+
+        @Test
+        @DisplayName("Should patch author and return 200")
+        void patchAuthor_ShouldReturnPatched() throws Exception {
+            AuthorPatchRequest request = AuthorPatchRequest.builder().birthYear(1903).build();
+            AuthorResponse patched = AuthorResponse.builder()
+                    .id(1L).name("George").surname("Orwell").fullName("George Orwell").birthYear(1903).build();
+
+            when(authorService.patchAuthor(eq(1L), any(AuthorPatchRequest.class), isNull())).thenReturn(patched);
+
+            mockMvc.perform(patch("/authors/1")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.birthYear", is(1903)));
+        }
+
+        @Test
+        @DisplayName("Should return 400 for an out-of-range birth year")
+        void patchAuthor_ShouldReturn400ForInvalidBirthYear() throws Exception {
+            mockMvc.perform(patch("/authors/1")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"birthYear\":999}"))
+                    .andExpect(status().isBadRequest());
+
+            verifyNoInteractions(authorService);
+        }
+    }
+
     @Nested
     @DisplayName("DELETE /authors/{id} Tests")
     class DeleteAuthorTests {
@@ -1,12 +1,28 @@
 package com.techforall.bookcatalog.controller;
 
 import com.techforall.bookcatalog.exception.ResourceNotFoundException;
+import com.techforall.bookcatalog.model.dto.request.BookBulkPatchRequest;
+import com.techforall.bookcatalog.model.dto.request.BookFilter;
+import com.techforall.bookcatalog.model.dto.request.BookPatchRequest;
 import com.techforall.bookcatalog.model.dto.request.BookRequest;
 import com.techforall.bookcatalog.model.dto.response.AuthorSummaryResponse;
 import com.techforall.bookcatalog.model.dto.response.BookResponse;
 import com.techforall.bookcatalog.model.dto.response.BookSummaryResponse;
+import com.techforall.bookcatalog.model.dto.response.BulkJobResponse;
+import com.techforall.bookcatalog.model.dto.response.DuplicateBookResponse;
+import com.techforall.bookcatalog.model.dto.response.DuplicateReportResponse;
+import com.techforall.bookcatalog.model.dto.response.ExportJobResponse;
 import com.techforall.bookcatalog.model.dto.response.PageResponse;
+import com.techforall.bookcatalog.model.entity.Book;
+import com.techforall.bookcatalog.model.entity.ChangeLogEntry;
+import com.techforall.bookcatalog.service.BookBulkService;
+import com.techforall.bookcatalog.service.BookDuplicateService;
 import com.techforall.bookcatalog.service.BookService;
+import com.techforall.bookcatalog.service.CatalogExportService;
+import com.techforall.bookcatalog.service.ChangeStreamService;
+import com.techforall.bookcatalog.service.IdFilterService;
+import com.techforall.bookcatalog.utility.OptimisticLockRetry;
+import com.techforall.bookcatalog.utility.SnapshotFallback;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -14,18 +30,28 @@ import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.mockito.ArgumentCaptor;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
+import java.util.function.Supplier;
 
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -44,11 +70,36 @@ class BookControllerTest {
     @MockitoBean
     private BookService bookService;
 
+    @MockitoBean
+    private BookBulkService bookBulkService;
+
+    @MockitoBean
+    private BookDuplicateService bookDuplicateService;
+
+    @MockitoBean
+    private CatalogExportService catalogExportService;
+
+    @MockitoBean
+    private ChangeStreamService changeStreamService;
+
+    @MockitoBean
+    private IdFilterService idFilterService;
+
+    @MockitoBean
+    private OptimisticLockRetry optimisticLockRetry;
+
+    @MockitoBean
+    private SnapshotFallback snapshotFallback;
+
     private BookResponse bookResponse;
     private BookSummaryResponse bookSummaryResponse;
 
     @BeforeEach
     void setUp() {
+        when(optimisticLockRetry.run(any())).thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(0).get());
+        when(snapshotFallback.run(any(), any())).thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(0).get());
+        when(idFilterService.mightExist(any(), anyLong())).thenReturn(true);
+
         Set<AuthorSummaryResponse> authors = Set.of(
                 AuthorSummaryResponse.builder().id(1L).fullName("George Orwell").build());
 
@@ -85,7 +136,7 @@ class BookControllerTest {
                     .last(true)
                     .build();
 
-            when(bookService.getAllBooks(any(Pageable.class))).thenReturn(pageResponse);
+            when(bookService.getAllBooks(any(BookFilter.class), any(Pageable.class))).thenReturn(pageResponse);
 
             mockMvc.perform(get("/books"))
                     .andExpect(status().isOk())
@@ -95,6 +146,34 @@ class BookControllerTest {
                     .andExpect(jsonPath("$.totalElements", is(1)));
         }
 
+        @Test
+        @DisplayName("Should load the page's authors with include=authors")
+        void getAllBooks_ShouldIncludeAuthors() throws Exception {
+            PageResponse<BookSummaryResponse> pageResponse = PageResponse.<BookSummaryResponse>builder()
+                    .content(List.of(bookSummaryResponse))
+                    .build();
+            when(bookService.getAllBooks(any(BookFilter.class), any(Pageable.class))).thenReturn(pageResponse);
+            when(bookService.includeAuthors(pageResponse)).thenAnswer(invocation -> {
+                bookSummaryResponse.setAuthors(List.of(
+                        AuthorSummaryResponse.builder().id(1L).fullName("George Orwell").build()));
+                return pageResponse;
+            });
+
+            mockMvc.perform(get("/books").param("include", "authors"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content[0].authors[0].fullName", is("George Orwell")));
+        }
+
+        @Test
+        @DisplayName("Should return 400 for an unknown include")
+        void getAllBooks_ShouldReturn400ForUnknownInclude() throws Exception {
+            mockMvc.perform(get("/books").param("include", "publisher"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.message", containsString("publisher")));
+
+            verifyNoInteractions(bookService);
+        }
+
         @Test
         @DisplayName("Should return empty page when no books")
         void getAllBooks_ShouldReturnEmptyPage() throws Exception {
@@ -108,13 +187,148 @@ class BookControllerTest {
                     .last(true)
                     .build();
 
-            when(bookService.getAllBooks(any(Pageable.class))).thenReturn(emptyPage);
+            when(bookService.getAllBooks(any(BookFilter.class), any(Pageable.class))).thenReturn(emptyPage);
 
             mockMvc.perform(get("/books"))
                     .andExpect(status().isOk())
                     .andExpect(jsonPath("$.content", hasSize(0)))
                     .andExpect(jsonPath("$.totalElements", is(0)));
         }
+
+        @Test
+        @DisplayName("Should bind filter query parameters")
+        void getAllBooks_ShouldBindFilterParameters() throws Exception {
+            PageResponse<BookSummaryResponse> emptyPage = PageResponse.<BookSummaryResponse>builder()
+                    .content(List.of())
+                    .build();
+
+            when(bookService.getAllBooks(any(BookFilter.class), any(Pageable.class))).thenReturn(emptyPage);
+
+            mockMvc.perform(get("/books")
+                            .param("authorId", "7")
+                            .param("publisherPrefix", "Penguin")
+                            .param("publishedFrom", "1949-01-01")
+                            .param("publishedTo", "1950-12-31")
+                            .param("edition", "First Edition"))
+                    .andExpect(status().isOk());
+
+            BookFilter expected = BookFilter.builder()
+                    .authorId(7L)
+                    .publisherPrefix("Penguin")
+                    .publishedFrom(LocalDate.of(1949, 1, 1))
+                    .publishedTo(LocalDate.of(1950, 12, 31))
+                    .edition("First Edition")
+                    .build();
+            verify(bookService).getAllBooks(eq(expected), any(Pageable.class));
+        }
+
+        @Test
+        @DisplayName("Should append the id tiebreaker to the requested sort")
+        void getAllBooks_ShouldAppendIdTiebreaker() throws Exception {
+            when(bookService.getAllBooks(any(BookFilter.class), any(Pageable.class)))
+                    .thenReturn(PageResponse.<BookSummaryResponse>builder().content(List.of()).build());
+
+            mockMvc.perform(get("/books").param("sort", "publishedDate,desc"))
+                    .andExpect(status().isOk());
+
+            ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+            verify(bookService).getAllBooks(any(BookFilter.class), pageable.capture());
+            assertEquals(Sort.by(Sort.Order.desc("publishedDate"), Sort.Order.desc("id")),
+                    pageable.getValue().getSort());
+        }
+
+        @Test
+        @DisplayName("Should return 400 for a sort field without an index")
+        void getAllBooks_ShouldReturn400ForUnsupportedSort() throws Exception {
+            mockMvc.perform(get("/books").param("sort", "edition"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.message", containsString("edition")));
+
+            verifyNoInteractions(bookService);
+        }
+
+        @Test
+        @DisplayName("Should return 400 when sorting by several fields")
+        void getAllBooks_ShouldReturn400ForMultipleSortFields() throws Exception {
+            mockMvc.perform(get("/books").param("sort", "publisher").param("sort", "title"))
+                    .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @DisplayName("Should keep an explicit id tiebreaker in the direction of the sort field")
+        void getAllBooks_ShouldKeepMatchingTiebreaker() throws Exception {
+            when(bookService.getAllBooks(any(BookFilter.class), any(Pageable.class)))
+                    .thenReturn(PageResponse.<BookSummaryResponse>builder().content(List.of()).build());
+
+            mockMvc.perform(get("/books").param("sort", "title,desc").param("sort", "id,desc"))
+                    .andExpect(status().isOk());
+
+            ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+            verify(bookService).getAllBooks(any(BookFilter.class), pageable.capture());
+            assertEquals(Sort.by(Sort.Order.desc("title"), Sort.Order.desc("id")), pageable.getValue().getSort());
+        }
+
+        @Test
+        @DisplayName("Should return 400 for an id tiebreaker against the direction of the sort field")
+        void getAllBooks_ShouldReturn400ForOpposingTiebreaker() throws Exception {
+            mockMvc.perform(get("/books").param("sort", "title,asc").param("sort", "id,desc"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.message", containsString("same direction")));
+
+            verifyNoInteractions(bookService);
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /books/stream Tests")
+    class StreamBookChangesTests {
+
+        @Test
+        @DisplayName("Should open an event stream resuming after Last-Event-ID")
+        void streamBookChanges_ShouldResumeAfterLastEventId() throws Exception {
+            when(changeStreamService.subscribe(ChangeLogEntry.EntityType.BOOK, 42L)).thenReturn(new SseEmitter());
+
+            mockMvc.perform(get("/books/stream")
+                            .header("Last-Event-ID", "42")
+                            .accept(MediaType.TEXT_EVENT_STREAM))
+                    .andExpect(status().isOk())
+                    .andExpect(request().asyncStarted());
+
+            verify(changeStreamService).subscribe(ChangeLogEntry.EntityType.BOOK, 42L);
+        }
+
+        @Test
+        @DisplayName("Should resume after the since parameter, with Last-Event-ID taking precedence")
+        void streamBookChanges_ShouldResumeAfterSince() throws Exception {
+            when(changeStreamService.subscribe(ChangeLogEntry.EntityType.BOOK, 7L)).thenReturn(new SseEmitter());
+            when(changeStreamService.subscribe(ChangeLogEntry.EntityType.BOOK, 42L)).thenReturn(new SseEmitter());
+
+            mockMvc.perform(get("/books/stream")
+                            .param("since", "7")
+                            .accept(MediaType.TEXT_EVENT_STREAM))
+                    .andExpect(status().isOk())
+                    .andExpect(request().asyncStarted());
+            mockMvc.perform(get("/books/stream")
+                            .param("since", "7")
+                            .header("Last-Event-ID", "42")
+                            .accept(MediaType.TEXT_EVENT_STREAM))
+                    .andExpect(status().isOk())
+                    .andExpect(request().asyncStarted());
+
+            verify(changeStreamService).subscribe(ChangeLogEntry.EntityType.BOOK, 7L);
+            verify(changeStreamService).subscribe(ChangeLogEntry.EntityType.BOOK, 42L);
+        }
+
+        @Test
+        @DisplayName("Should open an event stream from now without Last-Event-ID")
+        void streamBookChanges_ShouldStartFromNow() throws Exception {
+            when(changeStreamService.subscribe(ChangeLogEntry.EntityType.BOOK, null)).thenReturn(new SseEmitter());
+
+            mockMvc.perform(get("/books/stream").accept(MediaType.TEXT_EVENT_STREAM))
+                    .andExpect(request().asyncStarted());
+
+            verify(changeStreamService).subscribe(ChangeLogEntry.EntityType.BOOK, null);
+        }
     }
 
     @Nested
@@ -142,6 +356,96 @@ class BookControllerTest {
             mockMvc.perform(get("/books/999"))
                     .andExpect(status().isNotFound());
         }
+
+        @Test
+        @DisplayName("Should return 404 without calling the service when the id filter rules the id out")
+        void getBookById_ShouldReturn404WhenIdFilterRulesOut() throws Exception {
+            when(idFilterService.mightExist(ChangeLogEntry.EntityType.BOOK, 999L)).thenReturn(false);
+
+            mockMvc.perform(get("/books/999"))
+                    .andExpect(status().isNotFound())
+                    .andExpect(jsonPath("$.message", is("Book not found with id: '999'")));
+
+            verifyNoInteractions(bookService);
+        }
+
+        @Test
+        @DisplayName("Should return only the requested fields")
+        void getBookById_ShouldReturnRequestedFields() throws Exception {
+            bookResponse.setVersion(4L);
+            when(bookService.getBookById(1L, Set.of("id", "title"))).thenReturn(bookResponse);
+
+            mockMvc.perform(get("/books/1").param("fields", "id, title"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.ETAG, "W/\"4\""))
+                    .andExpect(jsonPath("$.*", hasSize(2)))
+                    .andExpect(jsonPath("$.title", is("1984")))
+                    .andExpect(jsonPath("$.publisher").doesNotExist());
+        }
+
+        @Test
+        @DisplayName("Should return 400 for an unknown field")
+        void getBookById_ShouldReturn400ForUnknownField() throws Exception {
+            mockMvc.perform(get("/books/1").param("fields", "title,isbn"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.message", containsString("isbn")));
+
+            verifyNoInteractions(bookService);
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /books/{id}/duplicates Tests")
+    class GetBookDuplicatesTests {
+
+        @Test
+        @DisplayName("Should return the near-duplicates of the book")
+        void getBookDuplicates_ShouldReturnDuplicates() throws Exception {
+            when(bookDuplicateService.findDuplicates(1L)).thenReturn(List.of(
+                    DuplicateBookResponse.builder().id(2L).title("Nineteen Eighty-Four").similarity(0.85).build()));
+
+            mockMvc.perform(get("/books/1/duplicates"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$", hasSize(1)))
+                    .andExpect(jsonPath("$[0].id", is(2)))
+                    .andExpect(jsonPath("$[0].similarity", is(0.85)));
+        }
+
+        @Test
+        @DisplayName("Should return 404 when book not found")
+        void getBookDuplicates_ShouldReturn404WhenNotFound() throws Exception {
+            when(bookDuplicateService.findDuplicates(999L))
+                    .thenThrow(new ResourceNotFoundException("Book", "id", 999L));
+
+            mockMvc.perform(get("/books/999/duplicates"))
+                    .andExpect(status().isNotFound());
+        }
+
+        @Test
+        @DisplayName("Should return the latest duplicate report")
+        void getDuplicateReport_ShouldReturnLatestReport() throws Exception {
+            when(bookDuplicateService.getReport()).thenReturn(Optional.of(DuplicateReportResponse.builder()
+                    .booksScanned(2)
+                    .complete(true)
+                    .pairs(List.of())
+                    .build()));
+
+            mockMvc.perform(get("/books/duplicates/report"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.booksScanned", is(2)));
+        }
+
+        @Test
+        @DisplayName("Should return 202 with Retry-After while the first report is not generated yet")
+        void getDuplicateReport_ShouldReturn202BeforeFirstReport() throws Exception {
+            when(bookDuplicateService.getReport()).thenReturn(Optional.empty());
+
+            mockMvc.perform(get("/books/duplicates/report"))
+                    .andExpect(status().isAccepted())
+                    .andExpect(header().string(HttpHeaders.RETRY_AFTER, "30"));
+
+            verify(bookDuplicateService, never()).generateReport();
+        }
     }
 
     @Nested
@@ -200,7 +504,7 @@ class BookControllerTest {
                     .publishedDate(LocalDate.of(1950, 1, 1))
                     .build();
 
-            when(bookService.updateBook(eq(1L), any(BookRequest.class))).thenReturn(bookResponse);
+            when(bookService.updateBook(eq(1L), any(BookRequest.class), isNull())).thenReturn(bookResponse);
 
             mockMvc.perform(put("/books/1")
                             .contentType(MediaType.APPLICATION_JSON)
@@ -208,6 +512,40 @@ class BookControllerTest {
                     .andExpect(status().isOk());
         }
 
+        @Test
+        @DisplayName("Should pass the If-Match version and return the new ETag")
+        void updateBook_ShouldPassIfMatchVersion() throws Exception {
+            BookRequest updateRequest = BookRequest.builder().title("1984").authorIds(Set.of(1L)).build();
+            bookResponse.setVersion(4L);
+
+            when(bookService.updateBook(eq(1L), any(BookRequest.class), eq(3L))).thenReturn(bookResponse);
+
+            mockMvc.perform(put("/books/1")
+                            .header("If-Match", "\"3\"")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(updateRequest)))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("ETag", "\"4\""));
+
+            verifyNoInteractions(optimisticLockRetry);
+        }
+
+        @Test
+        @DisplayName("Should return 409 when the update loses a version race")
+        void updateBook_ShouldReturn409OnConcurrentModification() throws Exception {
+            BookRequest updateRequest = BookRequest.builder().title("1984").authorIds(Set.of(1L)).build();
+
+            when(bookService.updateBook(eq(1L), any(BookRequest.class), eq(3L)))
+                    .thenThrow(new ObjectOptimisticLockingFailureException(Book.class, 1L));
+
+            mockMvc.perform(put("/books/1")
+                            .header("If-Match", "\"3\"")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(updateRequest)))
+                    .andExpect(status().isConflict())
+                    .andExpect(jsonPath("$.message", containsString("modified concurrently")));
+        }
+
         @Test
         @DisplayName("Should return 404 when updating non-existent book")
         void updateBook_ShouldReturn404WhenNotFound() throws Exception {
@@ -219,7 +557,7 @@ class BookControllerTest {
                     .publishedDate(LocalDate.now())
                     .build();
 
-            when(bookService.updateBook(eq(999L), any(BookRequest.class)))
+            when(bookService.updateBook(eq(999L), any(BookRequest.class), isNull()))
                     .thenThrow(new ResourceNotFoundException("Book", "id", 999L));
 
             mockMvc.perform(put("/books/999")
@@ -229,6 +567,42 @@ class BookControllerTest {
         }
     }
 
+    @Nested
+    @DisplayName("PATCH /books/{id} Tests")
+    class PatchBookTests {
+
+        @Test
+        @DisplayName("Should patch book and return 200")
+        void patchBook_ShouldReturnPatched() throws Exception {
+            BookPatchRequest request = BookPatchRequest.builder().title("Nineteen Eighty-Four").build();
+            BookResponse patched = BookResponse.builder().id(1L).title("Nineteen Eighty-Four").build();
+
+            when(bookService.patchBook(eq(1L), any(BookPatchRequest.class), isNull())).thenReturn(patched);
+
+            mockMvc.perform(patch("/books/1")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.title", is("Nineteen Eighty-Four")))
+                    .andExpect(jsonPath("$.authors").doesNotExist());
+
+            ArgumentCaptor<BookPatchRequest> captor = ArgumentCaptor.forClass(BookPatchRequest.class);
+            verify(bookService).patchBook(eq(1L), captor.capture(), isNull());
+            assertEquals(null, captor.getValue().getAuthorIds());
+        }
+
+        @Test
+        @DisplayName("Should return 400 for a blank title")
+        void patchBook_ShouldReturn400ForBlankTitle() throws Exception {
+            mockMvc.perform(patch("/books/1")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"title\":\"  \"}"))
+                    .andExpect(status().isBadRequest());
+
+            verifyNoInteractions(bookService);
+        }
+    }
+
     @Nested
     @DisplayName("DELETE /books/{id} Tests")
     class DeleteBookTests {
@@ -254,5 +628,92 @@ class BookControllerTest {
                     .andExpect(status().isNotFound());
         }
     }
-}
 
+    @Nested
+    @DisplayName("Bulk /books Tests")
+    class BulkBookTests {
+
+        @Test
+        @DisplayName("Should start a bulk delete and return 202 with the job location")
+        void deleteBooks_ShouldReturn202WithLocation() throws Exception {
+            BulkJobResponse job = BulkJobResponse.builder()
+                    .id("job-1")
+                    .operation(BulkJobResponse.Operation.DELETE)
+                    .status(BulkJobResponse.Status.PENDING)
+                    .matched(3)
+                    .build();
+            when(bookBulkService.deleteBooks(any(BookFilter.class), eq(false))).thenReturn(job);
+
+            mockMvc.perform(delete("/books").param("publisher", "Penguin"))
+                    .andExpect(status().isAccepted())
+                    .andExpect(header().string("Location", "/books/bulk-jobs/job-1"))
+                    .andExpect(jsonPath("$.matched", is(3)));
+
+            ArgumentCaptor<BookFilter> filter = ArgumentCaptor.forClass(BookFilter.class);
+            verify(bookBulkService).deleteBooks(filter.capture(), eq(false));
+            assertEquals("Penguin", filter.getValue().getPublisher());
+        }
+
+        @Test
+        @DisplayName("Should answer a dry run with 200 and the match count")
+        void patchBooks_ShouldReturn200ForDryRun() throws Exception {
+            BulkJobResponse dryRun = BulkJobResponse.builder()
+                    .operation(BulkJobResponse.Operation.UPDATE)
+                    .status(BulkJobResponse.Status.COMPLETED)
+                    .dryRun(true)
+                    .matched(5)
+                    .build();
+            when(bookBulkService.patchBooks(any(BookFilter.class), any(BookBulkPatchRequest.class), eq(true)))
+                    .thenReturn(dryRun);
+
+            mockMvc.perform(patch("/books")
+                            .param("publisher", "Penguin")
+                            .param("dryRun", "true")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"edition\":\"Reissue\"}"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().doesNotExist("Location"))
+                    .andExpect(jsonPath("$.dryRun", is(true)))
+                    .andExpect(jsonPath("$.matched", is(5)));
+        }
+
+        @Test
+        @DisplayName("Should return 404 for an unknown bulk job")
+        void getBulkJob_ShouldReturn404WhenNotFound() throws Exception {
+            when(bookBulkService.getJob("missing"))
+                    .thenThrow(new ResourceNotFoundException("Bulk job", "id", "missing"));
+
+            mockMvc.perform(get("/books/bulk-jobs/missing"))
+                    .andExpect(status().isNotFound());
+        }
+    }
+
+    @Nested
+    @DisplayName("Catalog Export Tests")
+    class ExportTests {
+
+        @Test
+        @DisplayName("Should start an export with 202 and point at its progress")
+        void startExport_ShouldReturn202WithLocation() throws Exception {
+            when(catalogExportService.startExport()).thenReturn(ExportJobResponse.builder()
+                    .id("export-1")
+                    .status(ExportJobResponse.Status.PENDING)
+                    .build());
+
+            mockMvc.perform(post("/books/exports"))
+                    .andExpect(status().isAccepted())
+                    .andExpect(header().string("Location", "/books/exports/export-1"))
+                    .andExpect(jsonPath("$.status", is("PENDING")));
+        }
+
+        @Test
+        @DisplayName("Should return 404 for an unknown export")
+        void getExport_ShouldReturn404WhenNotFound() throws Exception {
+            when(catalogExportService.getExport("missing"))
+                    .thenThrow(new ResourceNotFoundException("Export", "id", "missing"));
+
+            mockMvc.perform(get("/books/exports/missing"))
+                    .andExpect(status().isNotFound());
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.techforall.bookcatalog.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.techforall.bookcatalog.model.entity.Author;
+import com.techforall.bookcatalog.model.entity.Book;
+import com.techforall.bookcatalog.repository.AuthorRepository;
+import com.techforall.bookcatalog.repository.BookRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+import static com.techforall.bookcatalog.integration.SqlStatementAssertions.assertStatements;
+import static com.techforall.bookcatalog.integration.SqlStatementAssertions.statsOf;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Author Books Integration Tests")
+class AuthorBooksIntegrationTest {
+
+    private static final int BOOKS = 25;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    private Author author;
+    private List<Book> books;
+
+    @BeforeEach
+    void setUp() {
+        Author newAuthor = new Author();
+        newAuthor.setName("Agatha");
+        newAuthor.setSurname("Christie");
+        author = authorRepository.save(newAuthor);
+
+        Author other = new Author();
+        other.setName("Dorothy");
+        other.setSurname("Sayers");
+        other = authorRepository.save(other);
+        Book otherBook = new Book();
+        otherBook.setTitle("Whose Body?");
+        otherBook.setAuthors(Set.of(other));
+        bookRepository.save(otherBook);
+
+        books = new ArrayList<>();
+        for (int i = 0; i < BOOKS; i++) {
+            Book book = new Book();
+            // Every title appears twice or three times, so pages break inside runs of equal titles.
+            book.setTitle("Mystery " + (char) ('A' + i / 3));
+            book.setPublisher("Collins");
+            book.setAuthors(Set.of(author));
+            books.add(bookRepository.save(book));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookRepository.deleteAll();
+        authorRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should page through every book once in title and id order")
+    void getAuthorBooks_ShouldPageByTitleThenId() throws Exception {
+        List<Long> expected = books.stream()
+                .sorted(Comparator.comparing(Book::getTitle).thenComparing(Book::getId))
+                .map(Book::getId)
+                .toList();
+
+        assertEquals(expected, pageThrough("/authors/" + author.getId() + "/books?size=10"));
+    }
+
+    @Test
+    @DisplayName("Should page through every book once in descending id order")
+    void getAuthorBooks_ShouldPageByIdDescending() throws Exception {
+        List<Long> expected = books.stream()
+                .map(Book::getId)
+                .sorted(Comparator.reverseOrder())
+                .toList();
+
+        assertEquals(expected, pageThrough("/authors/" + author.getId() + "/books?size=7&sort=id,desc"));
+    }
+
+    @Test
+    @DisplayName("Should read a page with one keyset query and no OFFSET, without joining authors")
+    void getAuthorBooks_ShouldUseOneKeysetQuery() throws Exception {
+        MvcResult first = mockMvc.perform(get("/authors/" + author.getId() + "/books").param("size", "10"))
+                .andExpect(status().isOk())
+                .andReturn();
+        String cursor = objectMapper.readTree(first.getResponse().getContentAsString()).get("nextCursor").asText();
+
+        MvcResult second = mockMvc.perform(get("/authors/" + author.getId() + "/books")
+                        .param("size", "10").param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(10)))
+                .andReturn();
+
+        assertStatements(second, 1, 0, 0, 0);
+        String sql = statsOf(second).getExecutionsBySql().keySet().iterator().next().toLowerCase();
+        assertFalse(sql.contains("offset"), sql);
+        assertFalse(sql.contains("join authors"), sql);
+    }
+
+    @Test
+    @DisplayName("Should return an empty page for an author without books and 404 for an unknown author")
+    void getAuthorBooks_ShouldDistinguishEmptyFromUnknown() throws Exception {
+        Author newAuthor = new Author();
+        newAuthor.setName("Unpublished");
+        newAuthor.setSurname("Writer");
+        Author unpublished = authorRepository.save(newAuthor);
+
+        mockMvc.perform(get("/authors/" + unpublished.getId() + "/books"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(0)))
+                .andExpect(jsonPath("$.hasMore", is(false)))
+                .andExpect(jsonPath("$.nextCursor", nullValue()));
+
+        mockMvc.perform(get("/authors/999999/books"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Should return 400 for a cursor issued for another sort or a malformed cursor")
+    void getAuthorBooks_ShouldRejectForeignCursor() throws Exception {
+        MvcResult first = mockMvc.perform(get("/authors/" + author.getId() + "/books").param("size", "10"))
+                .andExpect(status().isOk())
+                .andReturn();
+        String cursor = objectMapper.readTree(first.getResponse().getContentAsString()).get("nextCursor").asText();
+
+        mockMvc.perform(get("/authors/" + author.getId() + "/books").param("sort", "id").param("cursor", cursor))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/authors/" + author.getId() + "/books").param("cursor", "not a cursor!"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private List<Long> pageThrough(String uri) throws Exception {
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            MockHttpServletRequestBuilder request = get(uri);
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            JsonNode page = objectMapper.readTree(mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString());
+            page.get("content").forEach(book -> ids.add(book.get("id").asLong()));
+            cursor = page.get("hasMore").asBoolean() ? page.get("nextCursor").asText() : null;
+        } while (cursor != null);
+        return ids;
+    }
+}
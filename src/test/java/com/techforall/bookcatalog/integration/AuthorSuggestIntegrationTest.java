@@ -0,0 +1,122 @@
+package com.techforall.bookcatalog.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.techforall.bookcatalog.model.dto.request.AuthorRequest;
+import com.techforall.bookcatalog.model.entity.Author;
+import com.techforall.bookcatalog.repository.AuthorRepository;
+import com.techforall.bookcatalog.repository.ChangeLogRepository;
+import com.techforall.bookcatalog.service.AuthorSuggestService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static com.techforall.bookcatalog.integration.SqlStatementAssertions.assertStatements;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Author Suggest Integration Tests")
+class AuthorSuggestIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private ChangeLogRepository changeLogRepository;
+
+    @Autowired
+    private AuthorSuggestService authorSuggestService;
+
+    @BeforeEach
+    void setUp() {
+        authorSuggestService.rebuild();
+    }
+
+    @AfterEach
+    void tearDown() {
+        authorRepository.deleteAll();
+        changeLogRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should suggest authors written through the API without touching the database")
+    void suggest_ShouldFollowAuthorWrites() throws Exception {
+        long orwell = createAuthor("George", "Orwell");
+        long eliot = createAuthor("George", "Eliot");
+
+        MvcResult result = mockMvc.perform(get("/authors/suggest").param("q", "Geo"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", contains((int) eliot, (int) orwell)))
+                .andExpect(jsonPath("$[1].fullName", is("George Orwell")))
+                .andReturn();
+        assertStatements(result, 0, 0, 0, 0);
+
+        mockMvc.perform(put("/authors/" + orwell)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                AuthorRequest.builder().name("Eric").surname("Blair").build())))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/authors/" + eliot))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/authors/suggest").param("q", "geo"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+        mockMvc.perform(get("/authors/suggest").param("q", "blair"))
+                .andExpect(jsonPath("$[*].id", contains((int) orwell)));
+    }
+
+    @Test
+    @DisplayName("Should pick up rows written elsewhere on rebuild")
+    void rebuild_ShouldLoadAuthorsFromDatabase() throws Exception {
+        Author author = new Author();
+        author.setName("Ursula");
+        author.setSurname("Le Guin");
+        authorRepository.save(author);
+
+        mockMvc.perform(get("/authors/suggest").param("q", "le g"))
+                .andExpect(jsonPath("$", hasSize(0)));
+
+        authorSuggestService.rebuild();
+
+        mockMvc.perform(get("/authors/suggest").param("q", "le g"))
+                .andExpect(jsonPath("$[0].fullName", is("Ursula Le Guin")));
+    }
+
+    @Test
+    @DisplayName("Should return 400 without a query")
+    void suggest_ShouldReturn400WithoutQuery() throws Exception {
+        mockMvc.perform(get("/authors/suggest"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/authors/suggest").param("q", "geo").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private long createAuthor(String name, String surname) throws Exception {
+        String body = mockMvc.perform(post("/authors")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                AuthorRequest.builder().name(name).surname(surname).build())))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("id").asLong();
+    }
+}
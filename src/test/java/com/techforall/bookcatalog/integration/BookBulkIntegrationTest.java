@@ -0,0 +1,212 @@
+package com.techforall.bookcatalog.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.techforall.bookcatalog.model.dto.request.BookBulkPatchRequest;
+import com.techforall.bookcatalog.model.dto.response.BulkJobResponse;
+import com.techforall.bookcatalog.model.entity.Author;
+import com.techforall.bookcatalog.model.entity.Book;
+import com.techforall.bookcatalog.model.entity.ChangeLogEntry;
+import com.techforall.bookcatalog.repository.AuthorRepository;
+import com.techforall.bookcatalog.repository.BookRepository;
+import com.techforall.bookcatalog.repository.ChangeLogRepository;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+
+/**
+ * Runs with {@code catalog.bulk.chunk-size=10}, so the 25 matching books take three chunks.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Book Bulk Integration Tests")
+class BookBulkIntegrationTest {
+
+    private static final int MATCHING_BOOKS = 25;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private ChangeLogRepository changeLogRepository;
+
+    private final List<String> executedSql = Collections.synchronizedList(new ArrayList<>());
+    private final QueryExecutionListener capturingListener = new QueryExecutionListener() {
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            queryInfoList.forEach(query -> executedSql.add(query.getQuery().toLowerCase()));
+        }
+    };
+
+    @BeforeEach
+    void setUp() {
+        Author author = new Author();
+        author.setName("George");
+        author.setSurname("Orwell");
+        Author orwell = authorRepository.save(author);
+
+        List<Book> books = new ArrayList<>();
+        for (int i = 0; i < MATCHING_BOOKS + 2; i++) {
+            Book book = new Book();
+            book.setTitle("Book " + i);
+            book.setPublisher(i < MATCHING_BOOKS ? "Penguin" : "Faber");
+            book.setPublishedDate(LocalDate.of(1950, 1, 1).plusYears(i));
+            book.setAuthors(new HashSet<>(Set.of(orwell)));
+            books.add(book);
+        }
+        bookRepository.saveAll(books);
+
+        ((ProxyDataSource) dataSource).getProxyConfig().getQueryListener().addListener(capturingListener);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ((ProxyDataSource) dataSource).getProxyConfig().getQueryListener().getListeners().remove(capturingListener);
+        bookRepository.deleteAll();
+        authorRepository.deleteAll();
+        changeLogRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should only count the matches on a dry run")
+    void deleteBooks_DryRunShouldOnlyCount() throws Exception {
+        mockMvc.perform(delete("/books").param("publisher", "Penguin").param("dryRun", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.dryRun", is(true)))
+                .andExpect(jsonPath("$.matched", is(MATCHING_BOOKS)))
+                .andExpect(jsonPath("$.processed", is(0)));
+
+        assertEquals(MATCHING_BOOKS + 2, bookRepository.count());
+    }
+
+    @Test
+    @DisplayName("Should delete the matching books and their author links in chunks without loading them")
+    void deleteBooks_ShouldDeleteInChunks() throws Exception {
+        BulkJobResponse job = awaitCompletion(mockMvc.perform(delete("/books").param("publisher", "Penguin"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", startsWith("/books/bulk-jobs/")))
+                .andReturn().getResponse().getHeader("Location"));
+
+        assertEquals(MATCHING_BOOKS, job.getMatched());
+        assertEquals(MATCHING_BOOKS, job.getProcessed());
+        assertEquals(2, bookRepository.count());
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM book_authors", Integer.class));
+        assertEquals(MATCHING_BOOKS, changeLogRepository.findAll().stream()
+                .filter(entry -> entry.getOperation() == ChangeLogEntry.Operation.DELETE)
+                .count());
+
+        assertTrue(executedSql.stream().noneMatch(sql -> sql.startsWith("select") && sql.contains("title")),
+                "Bulk delete must not load books: " + executedSql);
+        assertEquals(3, executedSql.stream().filter(sql -> sql.startsWith("delete from books")).count());
+    }
+
+    @Test
+    @DisplayName("Should set the field on every matching book and bump its version")
+    void patchBooks_ShouldUpdateMatchingBooks() throws Exception {
+        String body = objectMapper.writeValueAsString(BookBulkPatchRequest.builder().edition("Reissue").build());
+
+        awaitCompletion(mockMvc.perform(patch("/books")
+                        .param("publisher", "Penguin")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isAccepted())
+                .andReturn().getResponse().getHeader("Location"));
+        assertTrue(executedSql.stream().noneMatch(sql -> sql.startsWith("select") && sql.contains("title")),
+                "Bulk patch must not load books: " + executedSql);
+
+        List<Book> books = bookRepository.findAll();
+        books.stream()
+                .filter(book -> book.getPublisher().equals("Penguin"))
+                .forEach(book -> {
+                    assertEquals("Reissue", book.getEdition());
+                    assertEquals(1L, book.getVersion());
+                });
+        books.stream()
+                .filter(book -> book.getPublisher().equals("Faber"))
+                .forEach(book -> {
+                    assertNull(book.getEdition());
+                    assertEquals(0L, book.getVersion());
+                });
+    }
+
+    @Test
+    @DisplayName("Should refuse to run without a filter")
+    void deleteBooks_ShouldReturn400WithoutFilter() throws Exception {
+        mockMvc.perform(delete("/books"))
+                .andExpect(status().isBadRequest());
+
+        assertEquals(MATCHING_BOOKS + 2, bookRepository.count());
+    }
+
+    @Test
+    @DisplayName("Should return 400 for a patch without fields")
+    void patchBooks_ShouldReturn400WithoutFields() throws Exception {
+        mockMvc.perform(patch("/books")
+                        .param("publisher", "Penguin")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private BulkJobResponse awaitCompletion(String location) throws Exception {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (System.nanoTime() < deadline) {
+            String body = mockMvc.perform(get(location))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            BulkJobResponse job = objectMapper.readValue(body, BulkJobResponse.class);
+            if (job.getStatus() == BulkJobResponse.Status.COMPLETED) {
+                return job;
+            }
+            assertNotEquals(BulkJobResponse.Status.FAILED, job.getStatus(), job.getError());
+            Thread.sleep(50);
+        }
+        return fail("Bulk job did not complete within 10s");
+    }
+}
@@ -0,0 +1,143 @@
+package com.techforall.bookcatalog.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.techforall.bookcatalog.config.DedupProperties;
+import com.techforall.bookcatalog.model.dto.request.BookRequest;
+import com.techforall.bookcatalog.model.entity.Author;
+import com.techforall.bookcatalog.repository.AuthorRepository;
+import com.techforall.bookcatalog.repository.BookRepository;
+import com.techforall.bookcatalog.repository.ChangeLogRepository;
+import com.techforall.bookcatalog.service.BookDuplicateService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.Set;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Book Duplicate Integration Tests")
+class BookDuplicateIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private ChangeLogRepository changeLogRepository;
+
+    @Autowired
+    private BookDuplicateService bookDuplicateService;
+
+    @Autowired
+    private DedupProperties dedupProperties;
+
+    private Author orwell;
+
+    @BeforeEach
+    void setUp() {
+        Author author = new Author();
+        author.setName("George");
+        author.setSurname("Orwell");
+        orwell = authorRepository.save(author);
+        bookDuplicateService.rebuild();
+    }
+
+    @AfterEach
+    void tearDown() {
+        dedupProperties.setMode(DedupProperties.Mode.FLAG);
+        bookRepository.deleteAll();
+        authorRepository.deleteAll();
+        changeLogRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should flag a near-duplicate on create and list it for the book")
+    void createBook_ShouldFlagNearDuplicate() throws Exception {
+        long original = id(createBook("Nineteen Eighty-Four")
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.possibleDuplicates").doesNotExist()));
+
+        long duplicate = id(createBook("Nineteen Eighty Four.")
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.possibleDuplicates", contains((int) original))));
+
+        mockMvc.perform(get("/books/" + original + "/duplicates"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", contains((int) duplicate)))
+                .andExpect(jsonPath("$[0].similarity", greaterThanOrEqualTo(0.8)));
+
+        bookDuplicateService.generateReport();
+        mockMvc.perform(get("/books/duplicates/report"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.complete", is(true)))
+                .andExpect(jsonPath("$.pairs", hasSize(1)))
+                .andExpect(jsonPath("$.pairs[0].bookId", is((int) original)))
+                .andExpect(jsonPath("$.pairs[0].duplicateId", is((int) duplicate)));
+    }
+
+    @Test
+    @DisplayName("Should reject a near-duplicate in REJECT mode")
+    void createBook_ShouldRejectNearDuplicate() throws Exception {
+        dedupProperties.setMode(DedupProperties.Mode.REJECT);
+        createBook("Homage to Catalonia").andExpect(status().isCreated());
+
+        createBook("Homage to Catalonia ").andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message", containsString("near-duplicate")));
+        createBook("Animal Farm").andExpect(status().isCreated());
+
+        assertEquals(2, bookRepository.count());
+    }
+
+    @Test
+    @DisplayName("Should forget deleted books")
+    void deleteBook_ShouldRemoveFromIndex() throws Exception {
+        long original = id(createBook("Burmese Days").andExpect(status().isCreated()));
+        mockMvc.perform(delete("/books/" + original)).andExpect(status().isNoContent());
+
+        createBook("Burmese Days")
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.possibleDuplicates").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("Should return 404 for the duplicates of an unknown book")
+    void getBookDuplicates_ShouldReturn404() throws Exception {
+        mockMvc.perform(get("/books/999999/duplicates"))
+                .andExpect(status().isNotFound());
+    }
+
+    private ResultActions createBook(String title) throws Exception {
+        return mockMvc.perform(post("/books")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(
+                        BookRequest.builder().title(title).authorIds(Set.of(orwell.getId())).build())));
+    }
+
+    private long id(ResultActions result) throws Exception {
+        return objectMapper.readTree(result.andReturn().getResponse().getContentAsString()).get("id").asLong();
+    }
+}
@@ -0,0 +1,195 @@
+package com.techforall.bookcatalog.integration;
+
+import com.techforall.bookcatalog.model.dto.request.BookFilter;
+import com.techforall.bookcatalog.model.entity.Author;
+import com.techforall.bookcatalog.model.entity.Book;
+import com.techforall.bookcatalog.repository.AuthorRepository;
+import com.techforall.bookcatalog.repository.BookRepository;
+import com.techforall.bookcatalog.repository.BookSpecifications;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.LongFunction;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+/**
+ * Runs EXPLAIN on the SQL actually generated for each filter combination and checks that every
+ * table is reached through an index, never a full table scan.
+ * <p>
+ * The plans are H2's. The PostgreSQL-only indexes, such as the {@code varchar_pattern_ops} one
+ * behind publisher prefix searches, are not covered here.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Book Filter Query Plan Tests")
+class BookFilterQueryPlanIntegrationTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    private final CapturingListener capturingListener = new CapturingListener();
+    private Author author;
+
+    @BeforeEach
+    void setUp() {
+        bookRepository.deleteAll();
+        authorRepository.deleteAll();
+
+        Author newAuthor = new Author();
+        newAuthor.setName("George");
+        newAuthor.setSurname("Orwell");
+        author = authorRepository.save(newAuthor);
+
+        List<Book> books = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            Book book = new Book();
+            book.setTitle("Book " + i);
+            book.setPublisher("Publisher " + (i % 5));
+            book.setEdition("Edition " + (i % 3));
+            book.setPublishedDate(LocalDate.of(1950, 1, 1).plusYears(i));
+            book.setAuthors(i % 2 == 0 ? new HashSet<>(Set.of(author)) : new HashSet<>());
+            books.add(book);
+        }
+        bookRepository.saveAll(books);
+
+        ((ProxyDataSource) dataSource).getProxyConfig().getQueryListener().addListener(capturingListener);
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookRepository.deleteAll();
+        authorRepository.deleteAll();
+        ((ProxyDataSource) dataSource).getProxyConfig().getQueryListener().getListeners().remove(capturingListener);
+    }
+
+    /**
+     * Filters are built from the id of the seeded author, which only exists once setUp has run.
+     */
+    static Stream<Arguments> filters() {
+        return Stream.of(
+                Arguments.of("author", filter(authorId -> BookFilter.builder().authorId(authorId).build()), null),
+                Arguments.of("publisher", filter(authorId -> BookFilter.builder().publisher("Publisher 1").build()),
+                        "IDX_BOOKS_PUBLISHER_ID"),
+                Arguments.of("publisher prefix", filter(authorId -> BookFilter.builder().publisherPrefix("Publ").build()),
+                        "IDX_BOOKS_PUBLISHER_ID"),
+                Arguments.of("published from", filter(authorId -> BookFilter.builder()
+                        .publishedFrom(LocalDate.of(1990, 1, 1)).build()), "IDX_BOOKS_PUBLISHED_DATE_ID"),
+                Arguments.of("published range", filter(authorId -> BookFilter.builder()
+                        .publishedFrom(LocalDate.of(1960, 1, 1))
+                        .publishedTo(LocalDate.of(1970, 1, 1)).build()), "IDX_BOOKS_PUBLISHED_DATE_ID"),
+                Arguments.of("edition", filter(authorId -> BookFilter.builder().edition("Edition 1").build()),
+                        "IDX_BOOKS_EDITION"),
+                Arguments.of("publisher and date", filter(authorId -> BookFilter.builder()
+                        .publisher("Publisher 2")
+                        .publishedTo(LocalDate.of(1970, 1, 1)).build()), null),
+                Arguments.of("author and edition", filter(authorId -> BookFilter.builder()
+                        .authorId(authorId)
+                        .edition("Edition 2").build()), null),
+                Arguments.of("all filters", filter(authorId -> BookFilter.builder()
+                        .authorId(authorId)
+                        .publisherPrefix("Publisher")
+                        .publishedFrom(LocalDate.of(1950, 1, 1))
+                        .publishedTo(LocalDate.of(2000, 1, 1))
+                        .edition("Edition 0").build()), null)
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("filters")
+    @DisplayName("Filtered page and count queries should not scan any table")
+    void filteredQuery_ShouldUseIndex(String name, LongFunction<BookFilter> filterForAuthor, String expectedIndex)
+            throws Exception {
+        BookFilter filter = filterForAuthor.apply(author.getId());
+
+        capturingListener.queries.clear();
+        bookRepository.findAll(BookSpecifications.fromFilter(filter), PageRequest.of(0, 5));
+        // The page query only runs a count when the page is full; every later page needs it.
+        bookRepository.count(BookSpecifications.fromFilter(filter));
+
+        assertUsesIndex(name, "Page", captured("select b1_0.id"), expectedIndex);
+        assertUsesIndex(name, "Count", captured("select count("), expectedIndex);
+    }
+
+    // Gives the lambdas above a target type inside Arguments.of.
+    private static LongFunction<BookFilter> filter(LongFunction<BookFilter> filterForAuthor) {
+        return filterForAuthor;
+    }
+
+    private QueryInfo captured(String prefix) {
+        return capturingListener.queries.stream()
+                .filter(q -> q.getQuery().startsWith(prefix))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("Query starting with '" + prefix + "' was not captured"));
+    }
+
+    private void assertUsesIndex(String name, String kind, QueryInfo query, String expectedIndex) throws Exception {
+        String plan = explain(query);
+
+        assertFalse(plan.contains("tableScan"), kind + " query does a full table scan for " + name + ":\n" + plan);
+        if (expectedIndex != null) {
+            assertTrue(plan.contains(expectedIndex),
+                    kind + " query should use " + expectedIndex + " for " + name + ":\n" + plan);
+        }
+    }
+
+    private String explain(QueryInfo queryInfo) throws Exception {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("EXPLAIN " + queryInfo.getQuery())) {
+            for (ParameterSetOperation operation : queryInfo.getParametersList().get(0)) {
+                operation.getMethod().invoke(statement, operation.getArgs());
+            }
+            StringBuilder plan = new StringBuilder();
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    plan.append(rs.getString(1)).append('\n');
+                }
+            }
+            return plan.toString();
+        }
+    }
+
+    private static class CapturingListener implements QueryExecutionListener {
+
+        private final List<QueryInfo> queries = new ArrayList<>();
+
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            queries.addAll(queryInfoList);
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.techforall.bookcatalog.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.techforall.bookcatalog.config.ExportProperties;
+import com.techforall.bookcatalog.export.ExportManifest;
+import com.techforall.bookcatalog.export.ExportedFile;
+import com.techforall.bookcatalog.model.entity.Author;
+import com.techforall.bookcatalog.model.entity.Book;
+import com.techforall.bookcatalog.repository.AuthorRepository;
+import com.techforall.bookcatalog.repository.BookRepository;
+import com.techforall.bookcatalog.service.CatalogExportService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Catalog Export Integration Tests")
+class CatalogExportIntegrationTest {
+
+    private static final int BOOKS = 23;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CatalogExportService catalogExportService;
+
+    @Autowired
+    private ExportProperties exportProperties;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    private Author orwell;
+    private Author huxley;
+    private List<Book> books;
+
+    @BeforeEach
+    void setUp() {
+        orwell = authorRepository.save(author("George", "Orwell"));
+        huxley = authorRepository.save(author("Aldous", "Huxley"));
+
+        books = new ArrayList<>();
+        for (int i = 0; i < BOOKS; i++) {
+            Book book = new Book();
+            book.setTitle("Book " + i);
+            book.setPublisher("Penguin");
+            // Alternately two authors, one author and none.
+            book.setAuthors(switch (i % 3) {
+                case 0 -> Set.of(orwell, huxley);
+                case 1 -> Set.of(orwell);
+                default -> Set.of();
+            });
+            books.add(bookRepository.save(book));
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        bookRepository.deleteAll();
+        authorRepository.deleteAll();
+        FileSystemUtils.deleteRecursively(exportProperties.getDirectory());
+    }
+
+    @Test
+    @DisplayName("Should export every book once across the partitions, with its author ids")
+    void export_ShouldWriteEveryBookOnce() throws Exception {
+        ExportManifest manifest = catalogExportService.export();
+        Path directory = exportProperties.getDirectory().resolve(manifest.id());
+
+        List<ExportedFile> bookFiles = manifest.files().stream().filter(file -> file.entity().equals("books")).toList();
+        assertEquals(exportProperties.getPartitions(), bookFiles.size());
+        assertEquals(BOOKS + 2, manifest.rows());
+
+        Map<Long, List<Long>> authorIdsByBook = new HashMap<>();
+        for (ExportedFile file : bookFiles) {
+            List<JsonNode> rows = read(directory.resolve(file.name()));
+            assertEquals(file.rows(), rows.size());
+            for (JsonNode row : rows) {
+                long id = row.get("id").asLong();
+                assertTrue(id >= file.fromId() && id < file.toId(), file.name() + " holds book " + id);
+                List<Long> authorIds = new ArrayList<>();
+                row.get("authorIds").forEach(authorId -> authorIds.add(authorId.asLong()));
+                assertNull(authorIdsByBook.put(id, authorIds), "Book " + id + " exported twice");
+            }
+        }
+        assertEquals(BOOKS, authorIdsByBook.size());
+        assertEquals(Set.of(orwell.getId(), huxley.getId()), Set.copyOf(authorIdsByBook.get(books.get(0).getId())));
+        assertEquals(List.of(orwell.getId()), authorIdsByBook.get(books.get(1).getId()));
+        assertEquals(List.of(), authorIdsByBook.get(books.get(2).getId()));
+
+        ExportedFile authors = manifest.files().stream().filter(file -> file.entity().equals("authors")).findFirst().orElseThrow();
+        assertEquals(List.of("Orwell", "Huxley"), read(directory.resolve(authors.name())).stream()
+                .map(row -> row.get("surname").asText()).toList());
+    }
+
+    @Test
+    @DisplayName("Should write the manifest and checksums that match the files")
+    void export_ShouldWriteManifestWithChecksums() throws Exception {
+        ExportManifest manifest = catalogExportService.export();
+        Path directory = exportProperties.getDirectory().resolve(manifest.id());
+
+        JsonNode written = objectMapper.readTree(directory.resolve(ExportManifest.FILE_NAME).toFile());
+        assertEquals(manifest.id(), written.get("id").asText());
+        assertEquals(ExportManifest.FORMAT, written.get("format").asText());
+        assertEquals(manifest.files().size(), written.get("files").size());
+
+        List<String> checksums = Files.readAllLines(directory.resolve(ExportManifest.CHECKSUMS_FILE_NAME));
+        assertEquals(manifest.files().size(), checksums.size());
+        for (ExportedFile file : manifest.files()) {
+            byte[] content = Files.readAllBytes(directory.resolve(file.name()));
+            assertEquals(file.bytes(), content.length);
+            assertEquals(file.sha256(), HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content)));
+            assertTrue(checksums.contains(file.sha256() + "  " + file.name()));
+        }
+    }
+
+    @Test
+    @DisplayName("Should run an export in the background and report its progress")
+    void startExport_ShouldCompleteInBackground() throws Exception {
+        MvcResult started = mockMvc.perform(post("/books/exports"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().exists("Location"))
+                .andReturn();
+        String location = started.getResponse().getHeader("Location");
+
+        String status = "PENDING";
+        for (int attempt = 0; attempt < 100 && !status.equals("COMPLETED") && !status.equals("FAILED"); attempt++) {
+            Thread.sleep(100);
+            status = objectMapper.readTree(mockMvc.perform(get(location)).andReturn().getResponse().getContentAsString())
+                    .get("status").asText();
+        }
+
+        mockMvc.perform(get(location))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status", is("COMPLETED")))
+                .andExpect(jsonPath("$.files", is(exportProperties.getPartitions() + 1)))
+                .andExpect(jsonPath("$.completedFiles", is(exportProperties.getPartitions() + 1)))
+                .andExpect(jsonPath("$.rows", is(BOOKS + 2)));
+    }
+
+    private List<JsonNode> read(Path file) throws IOException {
+        List<JsonNode> rows = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                rows.add(objectMapper.readTree(line));
+            }
+        }
+        return rows;
+    }
+
+    private static Author author(String name, String surname) {
+        Author author = new Author();
+        author.setName(name);
+        author.setSurname(surname);
+        return author;
+    }
+}
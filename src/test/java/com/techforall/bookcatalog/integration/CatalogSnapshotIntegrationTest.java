@@ -0,0 +1,156 @@
+package com.techforall.bookcatalog.integration;
+
+import com.techforall.bookcatalog.model.entity.Author;
+import com.techforall.bookcatalog.model.entity.Book;
+import com.techforall.bookcatalog.repository.AuthorRepository;
+import com.techforall.bookcatalog.repository.BookRepository;
+import com.techforall.bookcatalog.service.AuthorService;
+import com.techforall.bookcatalog.service.BookService;
+import com.techforall.bookcatalog.service.CatalogSnapshotService;
+import com.techforall.bookcatalog.snapshot.CatalogSnapshot;
+import com.techforall.bookcatalog.utility.SnapshotFallback;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Catalog Snapshot Integration Tests")
+class CatalogSnapshotIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private CatalogSnapshotService snapshotService;
+
+    @MockitoSpyBean
+    private BookService bookService;
+
+    @MockitoSpyBean
+    private AuthorService authorService;
+
+    private Author orwell;
+    private Book animalFarm;
+    private Book nineteenEightyFour;
+
+    @BeforeEach
+    void setUp() {
+        orwell = authorRepository.save(author("George", "Orwell", 1903));
+        authorRepository.save(author("Aldous", "Huxley", null));
+        nineteenEightyFour = bookRepository.save(book("Nineteen Eighty-Four", LocalDate.of(1949, 6, 8)));
+        animalFarm = bookRepository.save(book("Animal Farm", null));
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookRepository.deleteAll();
+        authorRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should write the committed catalog in list order")
+    void write_ShouldSnapshotCatalog() {
+        CatalogSnapshot snapshot = snapshotService.write().orElseThrow();
+
+        assertEquals(2, snapshot.getBookCount());
+        assertEquals(2, snapshot.getAuthorCount());
+        assertEquals("George Orwell", snapshot.findBook(animalFarm.getId()).orElseThrow()
+                .getAuthors().iterator().next().getFullName());
+        assertEquals(1903, snapshot.findAuthor(orwell.getId()).orElseThrow().getBirthYear());
+    }
+
+    @Test
+    @DisplayName("Should serve book and author reads from the snapshot while the database is down")
+    void reads_ShouldFallBackToSnapshot() throws Exception {
+        snapshotService.write();
+        CannotCreateTransactionException outage = new CannotCreateTransactionException("Connection refused");
+        doThrow(outage).when(bookService).getBookById(any());
+        doThrow(outage).when(bookService).getAllBooks(any(), any());
+        doThrow(outage).when(authorService).getAuthorById(any());
+        doThrow(outage).when(authorService).getAllAuthors(any());
+
+        mockMvc.perform(get("/books/" + nineteenEightyFour.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(SnapshotFallback.HEADER))
+                .andExpect(header().string("ETag", "\"" + nineteenEightyFour.getVersion() + "\""))
+                .andExpect(jsonPath("$.title", is("Nineteen Eighty-Four")))
+                .andExpect(jsonPath("$.publishedDate", is("1949-06-08")))
+                .andExpect(jsonPath("$.authors[0].id", is(orwell.getId().intValue())));
+
+        mockMvc.perform(get("/books"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(SnapshotFallback.HEADER))
+                .andExpect(jsonPath("$.content[*].title", contains("Animal Farm", "Nineteen Eighty-Four")))
+                .andExpect(jsonPath("$.totalElements", is(2)));
+
+        mockMvc.perform(get("/authors").param("sort", "surname,desc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].fullName", contains("George Orwell", "Aldous Huxley")));
+
+        mockMvc.perform(get("/authors/" + orwell.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(SnapshotFallback.HEADER))
+                .andExpect(jsonPath("$.fullName", is("George Orwell")));
+    }
+
+    @Test
+    @DisplayName("Should not serve filtered lists or books missing from the snapshot")
+    void reads_ShouldFailWhenSnapshotCannotAnswer() throws Exception {
+        snapshotService.write();
+        Book unsnapshotted = bookRepository.save(book("Homage to Catalonia", null));
+        CannotCreateTransactionException outage = new CannotCreateTransactionException("Connection refused");
+        doThrow(outage).when(bookService).getBookById(any());
+        doThrow(outage).when(bookService).getAllBooks(any(), any());
+
+        mockMvc.perform(get("/books/" + unsnapshotted.getId()))
+                .andExpect(status().isInternalServerError())
+                .andExpect(header().doesNotExist(SnapshotFallback.HEADER));
+
+        mockMvc.perform(get("/books").param("publisher", "Secker & Warburg"))
+                .andExpect(status().isInternalServerError());
+    }
+
+    private static Author author(String name, String surname, Integer birthYear) {
+        Author author = new Author();
+        author.setName(name);
+        author.setSurname(surname);
+        author.setBirthYear(birthYear);
+        return author;
+    }
+
+    private Book book(String title, LocalDate publishedDate) {
+        Book book = new Book();
+        book.setTitle(title);
+        book.setPublisher("Secker & Warburg");
+        book.setPublishedDate(publishedDate);
+        book.setAuthors(Set.of(orwell));
+        return book;
+    }
+}
@@ -0,0 +1,161 @@
+package com.techforall.bookcatalog.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.techforall.bookcatalog.model.dto.request.AuthorRequest;
+import com.techforall.bookcatalog.model.dto.request.BookRequest;
+import com.techforall.bookcatalog.model.dto.response.ChangeFeedResponse;
+import com.techforall.bookcatalog.repository.AuthorRepository;
+import com.techforall.bookcatalog.repository.BookRepository;
+import com.techforall.bookcatalog.repository.ChangeLogRepository;
+import com.techforall.bookcatalog.service.ChangeFeedService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Set;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Change Feed Integration Tests")
+class ChangeFeedIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private ChangeLogRepository changeLogRepository;
+
+    @Autowired
+    private ChangeFeedService changeFeedService;
+
+    @BeforeEach
+    void setUp() {
+        bookRepository.deleteAll();
+        authorRepository.deleteAll();
+        changeLogRepository.deleteAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookRepository.deleteAll();
+        authorRepository.deleteAll();
+        changeLogRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should list writes in commit order after the cursor")
+    void getChanges_ShouldReturnWritesInOrder() throws Exception {
+        long authorId = createAuthor("George", "Orwell");
+        long bookId = createBook("1984", authorId);
+        mockMvc.perform(delete("/books/" + bookId)).andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/changes").param("since", "0"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes", hasSize(3)))
+                .andExpect(jsonPath("$.changes[0].entityType", is("AUTHOR")))
+                .andExpect(jsonPath("$.changes[0].operation", is("CREATE")))
+                .andExpect(jsonPath("$.changes[1].entityType", is("BOOK")))
+                .andExpect(jsonPath("$.changes[1].entityId", is((int) bookId)))
+                .andExpect(jsonPath("$.changes[2].operation", is("DELETE")))
+                .andExpect(jsonPath("$.hasMore", is(false)));
+    }
+
+    @Test
+    @DisplayName("Should page through the feed with the returned cursor")
+    void getChanges_ShouldPageWithCursor() throws Exception {
+        createAuthor("George", "Orwell");
+        createAuthor("Aldous", "Huxley");
+        createAuthor("Ray", "Bradbury");
+
+        ChangeFeedResponse first = fetch(0, 2);
+        assertEquals(2, first.getChanges().size());
+        assertTrue(first.isHasMore());
+
+        ChangeFeedResponse second = fetch(first.getNextCursor(), 2);
+        assertEquals(1, second.getChanges().size());
+        assertFalse(second.isHasMore());
+
+        ChangeFeedResponse empty = fetch(second.getNextCursor(), 2);
+        assertTrue(empty.getChanges().isEmpty());
+        assertEquals(second.getNextCursor(), empty.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("Should keep only the latest entry per entity after compaction")
+    void compact_ShouldDropSupersededEntries() throws Exception {
+        long authorId = createAuthor("George", "Orwell");
+        AuthorRequest rename = AuthorRequest.builder().name("Eric").surname("Blair").build();
+        mockMvc.perform(put("/authors/" + authorId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(rename)))
+                .andExpect(status().isOk());
+        long otherAuthorId = createAuthor("Aldous", "Huxley");
+
+        assertEquals(1, changeFeedService.compact());
+
+        ChangeFeedResponse feed = fetch(0, 10);
+        assertEquals(2, feed.getChanges().size());
+        assertEquals(authorId, feed.getChanges().get(0).getEntityId());
+        assertEquals("UPDATE", feed.getChanges().get(0).getOperation().name());
+        assertEquals(otherAuthorId, feed.getChanges().get(1).getEntityId());
+    }
+
+    @Test
+    @DisplayName("Should return 400 for an invalid limit")
+    void getChanges_ShouldReturn400ForInvalidLimit() throws Exception {
+        mockMvc.perform(get("/changes").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private ChangeFeedResponse fetch(long since, int limit) throws Exception {
+        String body = mockMvc.perform(get("/changes")
+                        .param("since", String.valueOf(since))
+                        .param("limit", String.valueOf(limit)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(body, ChangeFeedResponse.class);
+    }
+
+    private long createAuthor(String name, String surname) throws Exception {
+        AuthorRequest request = AuthorRequest.builder().name(name).surname(surname).build();
+        String body = mockMvc.perform(post("/authors")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("id").asLong();
+    }
+
+    private long createBook(String title, long authorId) throws Exception {
+        BookRequest request = BookRequest.builder().title(title).authorIds(Set.of(authorId)).build();
+        String body = mockMvc.perform(post("/books")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("id").asLong();
+    }
+}
@@ -0,0 +1,187 @@
+package com.techforall.bookcatalog.integration;
+
+import com.techforall.bookcatalog.model.dto.request.AuthorRequest;
+import com.techforall.bookcatalog.model.dto.response.AuthorResponse;
+import com.techforall.bookcatalog.model.entity.ChangeLogEntry;
+import com.techforall.bookcatalog.repository.AuthorRepository;
+import com.techforall.bookcatalog.repository.BookRepository;
+import com.techforall.bookcatalog.repository.ChangeLogRepository;
+import com.techforall.bookcatalog.service.AuthorService;
+import com.techforall.bookcatalog.service.ChangeStreamService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@DisplayName("Change Stream Integration Tests")
+class ChangeStreamIntegrationTest {
+
+    private static final long TIMEOUT_SECONDS = 10;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private AuthorService authorService;
+
+    @Autowired
+    private ChangeStreamService changeStreamService;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private ChangeLogRepository changeLogRepository;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private final List<Stream<String>> openStreams = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        openStreams.forEach(Stream::close);
+        bookRepository.deleteAll();
+        authorRepository.deleteAll();
+        changeLogRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should push an author change after it commits")
+    void stream_ShouldPushCommittedChange() throws Exception {
+        BlockingQueue<String> lines = open("/authors/stream", null);
+
+        AuthorResponse author = authorService.createAuthor(
+                AuthorRequest.builder().name("George").surname("Orwell").build());
+
+        String data = nextData(lines);
+        assertTrue(data.contains("\"entityType\":\"AUTHOR\""), data);
+        assertTrue(data.contains("\"entityId\":" + author.getId()), data);
+        assertTrue(data.contains("\"operation\":\"CREATE\""), data);
+    }
+
+    @Test
+    @DisplayName("Should not push changes of another entity type")
+    void stream_ShouldFilterByEntityType() throws Exception {
+        BlockingQueue<String> bookLines = open("/books/stream", null);
+        BlockingQueue<String> authorLines = open("/authors/stream", null);
+
+        authorService.createAuthor(AuthorRequest.builder().name("George").surname("Orwell").build());
+
+        nextData(authorLines);
+        assertNull(bookLines.poll(500, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    @DisplayName("Should replay missed changes after Last-Event-ID, then continue live")
+    void stream_ShouldResumeFromLastEventId() throws Exception {
+        AuthorResponse first = authorService.createAuthor(
+                AuthorRequest.builder().name("George").surname("Orwell").build());
+        long lastEventId = changeLogRepository.findMaxSequence();
+        AuthorResponse missed = authorService.createAuthor(
+                AuthorRequest.builder().name("Aldous").surname("Huxley").build());
+
+        BlockingQueue<String> lines = open("/authors/stream", lastEventId);
+        assertTrue(nextData(lines).contains("\"entityId\":" + missed.getId()));
+
+        authorService.deleteAuthor(first.getId());
+        String live = nextData(lines);
+        assertTrue(live.contains("\"entityId\":" + first.getId()), live);
+        assertTrue(live.contains("\"operation\":\"DELETE\""), live);
+    }
+
+    @Test
+    @DisplayName("Should replay after the since parameter and use change sequences as event ids")
+    void stream_ShouldResumeFromSince() throws Exception {
+        authorService.createAuthor(AuthorRequest.builder().name("George").surname("Orwell").build());
+        long since = changeLogRepository.findMaxSequence();
+        AuthorResponse missed = authorService.createAuthor(
+                AuthorRequest.builder().name("Aldous").surname("Huxley").build());
+        long missedSequence = changeLogRepository.findMaxSequence();
+
+        BlockingQueue<String> lines = open("/authors/stream?since=" + since, null);
+
+        assertEquals("id:" + missedSequence, nextLine(lines, "id:"));
+        assertTrue(nextData(lines).contains("\"entityId\":" + missed.getId()));
+    }
+
+    @Test
+    @DisplayName("Should push changes committed through another instance")
+    void stream_ShouldPushChangeWrittenElsewhere() throws Exception {
+        BlockingQueue<String> lines = open("/authors/stream", null);
+
+        // Written straight to the log, the way another instance's commit would arrive.
+        ChangeLogEntry entry = changeLogRepository.save(new ChangeLogEntry(
+                ChangeLogEntry.EntityType.AUTHOR, 4242L, ChangeLogEntry.Operation.UPDATE, Instant.now()));
+
+        assertEquals("id:" + entry.getSequence(), nextLine(lines, "id:"));
+        String data = nextData(lines);
+        assertTrue(data.contains("\"entityId\":4242"), data);
+        assertTrue(data.contains("\"operation\":\"UPDATE\""), data);
+    }
+
+    /**
+     * Opens the stream and returns its lines once the server has registered the subscriber.
+     */
+    private BlockingQueue<String> open(String path, Long lastEventId) throws Exception {
+        int subscribersBefore = changeStreamService.getSubscriberCount();
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Accept", "text/event-stream");
+        if (lastEventId != null) {
+            request.header("Last-Event-ID", String.valueOf(lastEventId));
+        }
+        HttpResponse<Stream<String>> response = client.send(request.build(), HttpResponse.BodyHandlers.ofLines());
+        assertEquals(200, response.statusCode());
+        openStreams.add(response.body());
+
+        BlockingQueue<String> lines = new LinkedBlockingQueue<>();
+        Thread.ofVirtual().start(() -> {
+            try {
+                response.body().forEach(lines::add);
+            } catch (RuntimeException ignored) {
+                // Stream closed by tearDown.
+            }
+        });
+        assertEquals(":connected", lines.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertEquals("", lines.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertTrue(changeStreamService.getSubscriberCount() > subscribersBefore);
+        return lines;
+    }
+
+    private static String nextData(BlockingQueue<String> lines) throws InterruptedException {
+        return nextLine(lines, "data:").substring("data:".length());
+    }
+
+    private static String nextLine(BlockingQueue<String> lines, String prefix) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(TIMEOUT_SECONDS).toNanos();
+        while (System.nanoTime() < deadline) {
+            String line = lines.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+            if (line != null && line.startsWith(prefix)) {
+                return line;
+            }
+        }
+        return fail("No change event received within " + TIMEOUT_SECONDS + "s");
+    }
+}
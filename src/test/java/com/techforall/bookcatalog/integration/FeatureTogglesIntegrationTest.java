@@ -0,0 +1,84 @@
+package com.techforall.bookcatalog.integration;
+
+import com.techforall.bookcatalog.idempotency.IdempotencyFilter;
+import com.techforall.bookcatalog.monitoring.ServerTimingResponseWrapper;
+import com.techforall.bookcatalog.repository.AuthorRepository;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+
+/**
+ * The switches are read when the beans are created rather than through bean conditions, so they
+ * also work in the AOT-processed image, where bean conditions are fixed at build time.
+ */
+@SpringBootTest(properties = {
+        "catalog.response-cache.enabled=false",
+        "catalog.idempotency.enabled=false",
+        "catalog.phase-timing.enabled=false",
+        "catalog.sql-monitoring.enabled=false"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Feature Toggles Integration Tests")
+class FeatureTogglesIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @AfterEach
+    void tearDown() {
+        authorRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should leave the data source unproxied when SQL monitoring is off")
+    void sqlMonitoring_ShouldNotProxyDataSource() {
+        assertFalse(dataSource instanceof ProxyDataSource);
+    }
+
+    @Test
+    @DisplayName("Should add neither Server-Timing nor cache headers when monitoring, timing and caching are off")
+    void getAuthors_ShouldSkipDisabledFilters() throws Exception {
+        mockMvc.perform(get("/authors").header("X-Server-Timing", "true"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(ServerTimingResponseWrapper.HEADER))
+                .andExpect(header().doesNotExist(HttpHeaders.VARY));
+    }
+
+    @Test
+    @DisplayName("Should run a repeated Idempotency-Key again when idempotency is off")
+    void createAuthor_ShouldIgnoreIdempotencyKey() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(post("/authors")
+                            .header(IdempotencyFilter.HEADER, "author-1")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"name\":\"George\",\"surname\":\"Orwell\"}"))
+                    .andExpect(status().isCreated())
+                    .andExpect(header().doesNotExist(IdempotencyFilter.REPLAYED_HEADER));
+        }
+        assertEquals(2, authorRepository.count());
+    }
+}
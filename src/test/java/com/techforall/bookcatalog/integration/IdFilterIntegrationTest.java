@@ -0,0 +1,162 @@
+package com.techforall.bookcatalog.integration;
+
+import com.jayway.jsonpath.JsonPath;
+import com.techforall.bookcatalog.model.entity.Author;
+import com.techforall.bookcatalog.model.entity.Book;
+import com.techforall.bookcatalog.repository.AuthorRepository;
+import com.techforall.bookcatalog.repository.BookRepository;
+import com.techforall.bookcatalog.service.IdFilterService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+import static com.techforall.bookcatalog.integration.SqlStatementAssertions.assertStatements;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Id Filter Integration Tests")
+class IdFilterIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private IdFilterService idFilterService;
+
+    private Author orwell;
+    private Book deletedBook;
+
+    @BeforeEach
+    void setUp() {
+        Author author = new Author();
+        author.setName("George");
+        author.setSurname("Orwell");
+        orwell = authorRepository.save(author);
+
+        deletedBook = bookRepository.save(book("Burmese Days"));
+        bookRepository.save(book("Animal Farm"));
+        bookRepository.delete(deletedBook);
+
+        rebuildTwice();
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookRepository.deleteAll();
+        authorRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should answer a missing book id with 404 without any SQL")
+    void getBookById_ShouldAnswerMissingIdWithoutSql() throws Exception {
+        MvcResult result = mockMvc.perform(get("/books/" + deletedBook.getId()))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message", is("Book not found with id: '" + deletedBook.getId() + "'")))
+                .andReturn();
+
+        assertStatements(result, 0, 0, 0, 0);
+    }
+
+    @Test
+    @DisplayName("Should answer a missing author id with 404 without any SQL")
+    void getAuthorById_ShouldAnswerMissingIdWithoutSql() throws Exception {
+        authorRepository.save(author("Aldous", "Huxley"));
+        Author removed = authorRepository.save(author("Ray", "Bradbury"));
+        authorRepository.save(author("Philip", "Dick"));
+        authorRepository.delete(removed);
+        rebuildTwice();
+
+        MvcResult result = mockMvc.perform(get("/authors/" + removed.getId()))
+                .andExpect(status().isNotFound())
+                .andReturn();
+
+        assertStatements(result, 0, 0, 0, 0);
+    }
+
+    @Test
+    @DisplayName("Should find a book inserted after the last rebuild")
+    void getBookById_ShouldFindBookInsertedAfterRebuild() throws Exception {
+        Book inserted = bookRepository.save(book("Homage to Catalonia"));
+
+        mockMvc.perform(get("/books/" + inserted.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title", is("Homage to Catalonia")));
+    }
+
+    @Test
+    @DisplayName("Should find an author created through the API")
+    void getAuthorById_ShouldFindAuthorCreatedThroughApi() throws Exception {
+        String body = mockMvc.perform(post("/authors")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Aldous\",\"surname\":\"Huxley\"}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        Number id = JsonPath.read(body, "$.id");
+
+        mockMvc.perform(get("/authors/" + id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.surname", is("Huxley")));
+    }
+
+    @Test
+    @DisplayName("Should look up ids read by only the last rebuild in the database")
+    void getBookById_ShouldQueryIdsAboveThePreviousRebuild() throws Exception {
+        Book removed = bookRepository.save(book("Coming Up for Air"));
+        bookRepository.delete(removed);
+        idFilterService.rebuild();
+
+        MvcResult result = mockMvc.perform(get("/books/" + removed.getId()))
+                .andExpect(status().isNotFound())
+                .andReturn();
+
+        assertStatements(result, 1, 0, 0, 0);
+    }
+
+    /**
+     * A rebuild vouches for the ids read by the one before it.
+     */
+    private void rebuildTwice() {
+        idFilterService.rebuild();
+        idFilterService.rebuild();
+    }
+
+    private Book book(String title) {
+        Book book = new Book();
+        book.setTitle(title);
+        book.setPublisher("Secker & Warburg");
+        book.setPublishedDate(LocalDate.of(1945, 8, 17));
+        book.setAuthors(Set.of(orwell));
+        return book;
+    }
+
+    private static Author author(String name, String surname) {
+        Author author = new Author();
+        author.setName(name);
+        author.setSurname(surname);
+        return author;
+    }
+}
@@ -0,0 +1,298 @@
+package com.techforall.bookcatalog.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.techforall.bookcatalog.exception.IdempotencyConflictException;
+import com.techforall.bookcatalog.idempotency.IdempotencyFilter;
+import com.techforall.bookcatalog.model.dto.request.AuthorRequest;
+import com.techforall.bookcatalog.model.dto.request.BookRequest;
+import com.techforall.bookcatalog.model.entity.Author;
+import com.techforall.bookcatalog.model.entity.IdempotencyRecord;
+import com.techforall.bookcatalog.repository.AuthorRepository;
+import com.techforall.bookcatalog.repository.BookRepository;
+import com.techforall.bookcatalog.repository.ChangeLogRepository;
+import com.techforall.bookcatalog.repository.IdempotencyRepository;
+import com.techforall.bookcatalog.service.AuthorService;
+import com.techforall.bookcatalog.service.IdempotencyService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static com.techforall.bookcatalog.integration.SqlStatementAssertions.assertStatements;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doThrow;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Idempotency Integration Tests")
+class IdempotencyIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private ChangeLogRepository changeLogRepository;
+
+    @Autowired
+    private IdempotencyRepository idempotencyRepository;
+
+    @MockitoSpyBean
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private AuthorService authorService;
+
+    private Author orwell;
+
+    @BeforeEach
+    void setUp() {
+        Author author = new Author();
+        author.setName("George");
+        author.setSurname("Orwell");
+        orwell = authorRepository.save(author);
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookRepository.deleteAll();
+        authorRepository.deleteAll();
+        changeLogRepository.deleteAll();
+        idempotencyRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should replay the stored response without inserting again")
+    void createBook_ShouldReplayStoredResponse() throws Exception {
+        String body = bookJson("1984");
+
+        MvcResult first = mockMvc.perform(post("/books")
+                        .header(IdempotencyFilter.HEADER, "book-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist(IdempotencyFilter.REPLAYED_HEADER))
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn();
+
+        MvcResult replay = mockMvc.perform(post("/books")
+                        .header(IdempotencyFilter.HEADER, "book-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(IdempotencyFilter.REPLAYED_HEADER, "true"))
+                .andExpect(header().string(HttpHeaders.ETAG, first.getResponse().getHeader(HttpHeaders.ETAG)))
+                .andReturn();
+
+        assertEquals(first.getResponse().getContentAsString(), replay.getResponse().getContentAsString());
+        assertEquals(1, bookRepository.count());
+        assertStatements(replay, 1, 0, 0, 0);
+    }
+
+    @Test
+    @DisplayName("Should return 422 when a key is reused with a different body")
+    void createBook_ShouldRejectKeyReuseWithDifferentBody() throws Exception {
+        mockMvc.perform(post("/books")
+                        .header(IdempotencyFilter.HEADER, "book-2")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(bookJson("1984")))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(post("/books")
+                        .header(IdempotencyFilter.HEADER, "book-2")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(bookJson("Animal Farm")))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.message", containsString("book-2")));
+
+        assertEquals(1, bookRepository.count());
+    }
+
+    @Test
+    @DisplayName("Should forget failed attempts so the key can be retried")
+    void createAuthor_ShouldReleaseKeyAfterFailure() throws Exception {
+        mockMvc.perform(post("/authors")
+                        .header(IdempotencyFilter.HEADER, "author-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"\",\"surname\":\"Huxley\"}"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(post("/authors")
+                        .header(IdempotencyFilter.HEADER, "author-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(authorJson("Aldous", "Huxley")))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    @DisplayName("Should let only one of several concurrent duplicates insert")
+    void createAuthor_ShouldInsertOnceForConcurrentDuplicates() throws Exception {
+        String body = authorJson("Aldous", "Huxley");
+        Callable<Integer> request = () -> mockMvc.perform(post("/authors")
+                        .header(IdempotencyFilter.HEADER, "author-2")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andReturn().getResponse().getStatus();
+
+        List<Future<Integer>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < 8; i++) {
+                futures.add(executor.submit(request));
+            }
+        }
+
+        for (Future<Integer> future : futures) {
+            assertThat(future.get(), anyOf(is(201), is(303), is(409)));
+        }
+        assertEquals(1, authorRepository.findAll().stream()
+                .filter(author -> author.getSurname().equals("Huxley"))
+                .count());
+    }
+
+    @Test
+    @DisplayName("Should not touch idempotency storage without the header")
+    void createAuthor_ShouldIgnoreRequestsWithoutKey() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(post("/authors")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(authorJson("Aldous", "Huxley")))
+                    .andExpect(status().isCreated());
+        }
+
+        assertEquals(0, idempotencyRepository.count());
+    }
+
+    @Test
+    @DisplayName("Should return 400 for an over-long key")
+    void createAuthor_ShouldRejectLongKey() throws Exception {
+        mockMvc.perform(post("/authors")
+                        .header(IdempotencyFilter.HEADER, "k".repeat(256))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(authorJson("Aldous", "Huxley")))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should purge expired keys")
+    void purgeExpired_ShouldRemoveExpiredKeys() throws Exception {
+        mockMvc.perform(post("/authors")
+                        .header(IdempotencyFilter.HEADER, "author-3")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(authorJson("Aldous", "Huxley")))
+                .andExpect(status().isCreated());
+
+        IdempotencyRecord record = idempotencyRepository.findAll().get(0);
+        record.setExpiresAt(Instant.now().minusSeconds(1));
+        idempotencyRepository.save(record);
+
+        assertEquals(1, idempotencyService.purgeExpired());
+        assertEquals(0, idempotencyRepository.count());
+    }
+
+    @Test
+    @DisplayName("Should send a retry to the created resource when the response could not be stored")
+    void createAuthor_ShouldNotInsertAgainWhenStoringResponseFails() throws Exception {
+        String body = authorJson("Aldous", "Huxley");
+        doThrow(new IllegalStateException("Response storage unavailable"))
+                .when(idempotencyService).complete(any(), any(), anyInt(), any(), any(), any());
+
+        assertThrows(Exception.class, () -> mockMvc.perform(post("/authors")
+                .header(IdempotencyFilter.HEADER, "author-4")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body)));
+        Author huxley = authorRepository.findAll().stream()
+                .filter(author -> author.getSurname().equals("Huxley"))
+                .findFirst().orElseThrow();
+
+        mockMvc.perform(post("/authors")
+                        .header(IdempotencyFilter.HEADER, "author-4")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isSeeOther())
+                .andExpect(header().string(HttpHeaders.LOCATION, "/authors/" + huxley.getId()))
+                .andExpect(header().string(IdempotencyFilter.REPLAYED_HEADER, "true"));
+
+        assertEquals(1, authorRepository.findAll().stream()
+                .filter(author -> author.getSurname().equals("Huxley"))
+                .count());
+    }
+
+    @Test
+    @DisplayName("Should keep a running claim from expiring")
+    void extendRunningClaims_ShouldKeepRunningClaimAlive() {
+        idempotencyService.claim("/authors", "author-5", "f".repeat(64));
+        try {
+            IdempotencyRecord record = idempotencyRepository.findAll().get(0);
+            record.setExpiresAt(Instant.now().minusSeconds(1));
+            idempotencyRepository.save(record);
+
+            idempotencyService.extendRunningClaims();
+
+            assertTrue(idempotencyRepository.findAll().get(0).getExpiresAt().isAfter(Instant.now()));
+        } finally {
+            idempotencyService.release("/authors", "author-5");
+        }
+        assertEquals(0, idempotencyRepository.count());
+    }
+
+    @Test
+    @DisplayName("Should roll back an insert whose claim was taken over")
+    void createAuthor_ShouldRollBackWhenClaimWasTakenOver() {
+        idempotencyService.claim("/authors", "author-6", "f".repeat(64));
+        try {
+            idempotencyRepository.deleteAll();
+            idempotencyRepository.save(new IdempotencyRecord("/authors", "author-6", "f".repeat(64),
+                    Instant.now().plusSeconds(1), Instant.now().plusSeconds(60)));
+
+            assertThrows(IdempotencyConflictException.class, () -> authorService.createAuthor(
+                    AuthorRequest.builder().name("Aldous").surname("Huxley").build()));
+        } finally {
+            idempotencyService.release("/authors", "author-6");
+        }
+        assertTrue(authorRepository.findAll().stream().noneMatch(author -> author.getSurname().equals("Huxley")));
+        assertEquals(1, idempotencyRepository.count(), "the claim that took over is left alone");
+    }
+
+    private String bookJson(String title) throws Exception {
+        return objectMapper.writeValueAsString(
+                BookRequest.builder().title(title).authorIds(Set.of(orwell.getId())).build());
+    }
+
+    private String authorJson(String name, String surname) throws Exception {
+        return objectMapper.writeValueAsString(AuthorRequest.builder().name(name).surname(surname).build());
+    }
+}
@@ -0,0 +1,202 @@
+package com.techforall.bookcatalog.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.techforall.bookcatalog.model.dto.request.AuthorRequest;
+import com.techforall.bookcatalog.model.dto.request.BookPatchRequest;
+import com.techforall.bookcatalog.model.entity.Author;
+import com.techforall.bookcatalog.model.entity.Book;
+import com.techforall.bookcatalog.repository.AuthorRepository;
+import com.techforall.bookcatalog.repository.BookRepository;
+import com.techforall.bookcatalog.repository.ChangeLogRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Optimistic Locking Integration Tests")
+class OptimisticLockingIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private ChangeLogRepository changeLogRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Author orwell;
+    private Book book;
+
+    @BeforeEach
+    void setUp() {
+        Author author = new Author();
+        author.setName("George");
+        author.setSurname("Orwell");
+        orwell = authorRepository.save(author);
+
+        Book newBook = new Book();
+        newBook.setTitle("1984");
+        newBook.setAuthors(new HashSet<>());
+        newBook.getAuthors().add(orwell);
+        book = bookRepository.save(newBook);
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookRepository.deleteAll();
+        authorRepository.deleteAll();
+        changeLogRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should expose the version as ETag and in the body")
+    void getAuthor_ShouldExposeVersion() throws Exception {
+        mockMvc.perform(get("/authors/" + orwell.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+                .andExpect(jsonPath("$.version", is(0)));
+    }
+
+    @Test
+    @DisplayName("Should accept a matching If-Match and reject the stale one with 412")
+    void updateAuthor_ShouldCheckIfMatch() throws Exception {
+        String body = objectMapper.writeValueAsString(
+                AuthorRequest.builder().name("Eric").surname("Blair").build());
+
+        mockMvc.perform(put("/authors/" + orwell.getId())
+                        .header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+                .andExpect(jsonPath("$.version", is(1)));
+
+        mockMvc.perform(put("/authors/" + orwell.getId())
+                        .header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.message", containsString("version 1")));
+    }
+
+    @Test
+    @DisplayName("Should reject a weak If-Match with 412 even when it names the current version")
+    void patchBook_ShouldRejectWeakTag() throws Exception {
+        String body = objectMapper.writeValueAsString(BookPatchRequest.builder().title("Animal Farm").build());
+
+        mockMvc.perform(patch("/books/" + book.getId())
+                        .header(HttpHeaders.IF_MATCH, "W/\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.message", containsString("weak tag")));
+
+        assertEquals("1984", bookRepository.findById(book.getId()).orElseThrow().getTitle());
+    }
+
+    @Test
+    @DisplayName("Should reject a stale PATCH without changing the book")
+    void patchBook_ShouldRejectStaleVersion() throws Exception {
+        String body = objectMapper.writeValueAsString(BookPatchRequest.builder().title("Animal Farm").build());
+
+        mockMvc.perform(patch("/books/" + book.getId())
+                        .header(HttpHeaders.IF_MATCH, "\"7\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isPreconditionFailed());
+
+        assertEquals("1984", bookRepository.findById(book.getId()).orElseThrow().getTitle());
+    }
+
+    @Test
+    @DisplayName("Should bump the book version when only its authors change")
+    void patchBook_ShouldBumpVersionForAuthorChange() throws Exception {
+        String body = objectMapper.writeValueAsString(BookPatchRequest.builder().authorIds(new HashSet<>()).build());
+
+        mockMvc.perform(patch("/books/" + book.getId())
+                        .header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version", is(1)));
+    }
+
+    @Test
+    @DisplayName("Should let both writers read concurrently and fail the one that commits second")
+    void concurrentUpdates_ShouldNotOverwriteEachOther() throws Exception {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        CountDownLatch bothLoaded = new CountDownLatch(2);
+
+        CompletableFuture<Void> first = CompletableFuture.runAsync(() -> transaction.executeWithoutResult(status -> {
+            Author author = authorRepository.findById(orwell.getId()).orElseThrow();
+            awaitOther(bothLoaded);
+            author.setName("Eric");
+        }));
+        CompletableFuture<Void> second = CompletableFuture.runAsync(() -> transaction.executeWithoutResult(status -> {
+            Author author = authorRepository.findById(orwell.getId()).orElseThrow();
+            awaitOther(bothLoaded);
+            author.setSurname("Blair");
+        }));
+
+        int conflicts = 0;
+        for (CompletableFuture<Void> writer : new CompletableFuture[]{first, second}) {
+            try {
+                writer.get(10, TimeUnit.SECONDS);
+            } catch (ExecutionException e) {
+                assertInstanceOf(ObjectOptimisticLockingFailureException.class, e.getCause());
+                conflicts++;
+            }
+        }
+
+        assertEquals(1, conflicts);
+        Author stored = authorRepository.findById(orwell.getId()).orElseThrow();
+        assertEquals(1L, stored.getVersion());
+        assertTrue(stored.getName().equals("Eric") ^ stored.getSurname().equals("Blair"),
+                "Exactly one of the two writes must have been applied");
+    }
+
+    private static void awaitOther(CountDownLatch latch) {
+        latch.countDown();
+        try {
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.techforall.bookcatalog.integration;
+
+import com.techforall.bookcatalog.model.entity.Author;
+import com.techforall.bookcatalog.model.entity.Book;
+import com.techforall.bookcatalog.monitoring.PhaseTimingFilter;
+import com.techforall.bookcatalog.repository.AuthorRepository;
+import com.techforall.bookcatalog.repository.BookRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Phase Timing Integration Tests")
+class PhaseTimingIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Book savedBook;
+
+    @BeforeEach
+    void setUp() {
+        bookRepository.deleteAll();
+        authorRepository.deleteAll();
+
+        Author author = new Author();
+        author.setName("George");
+        author.setSurname("Orwell");
+        Author savedAuthor = authorRepository.save(author);
+
+        Book book = new Book();
+        book.setTitle("1984");
+        book.setAuthors(new HashSet<>(Set.of(savedAuthor)));
+        savedBook = bookRepository.save(book);
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookRepository.deleteAll();
+        authorRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should not time requests that do not ask for it")
+    void getBook_ShouldNotTimePhasesByDefault() throws Exception {
+        MvcResult result = mockMvc.perform(get("/books/" + savedBook.getId()))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertEquals(Set.of("db"), metricNames(result));
+    }
+
+    @Test
+    @DisplayName("Should report repository, mapping and serialization time when asked for")
+    void getBook_ShouldExposePhases() throws Exception {
+        MvcResult result = mockMvc.perform(get("/books/" + savedBook.getId()).header("X-Server-Timing", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title", is("1984")))
+                .andExpect(jsonPath("$.authors", hasSize(1)))
+                .andReturn();
+
+        assertEquals(Set.of("db", "repository", "mapping", "serialization"), metricNames(result));
+        assertThat(result.getResponse().getHeaders("Server-Timing"),
+                hasItem(matchesRegex("repository;dur=\\d+\\.\\d{3};desc=\"1 call\", mapping;dur=.*")));
+    }
+
+    @Test
+    @DisplayName("Should report the exception handler on the error path")
+    void getBook_ShouldExposeErrorPhase() throws Exception {
+        MvcResult result = mockMvc.perform(get("/books/999999").header("X-Server-Timing", "true"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.status", is(404)))
+                .andReturn();
+
+        assertEquals(Set.of("db", "repository", "error", "serialization"), metricNames(result));
+    }
+
+    @Test
+    @DisplayName("Should record each phase that ran in the phase histogram")
+    void getBook_ShouldRecordPhaseMetrics() throws Exception {
+        long before = phaseTimer("mapping").count();
+
+        mockMvc.perform(get("/books/" + savedBook.getId()).header("X-Server-Timing", "true"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/books/" + savedBook.getId()))
+                .andExpect(status().isOk());
+
+        assertEquals(before + 1, phaseTimer("mapping").count());
+        assertTrue(phaseTimer("mapping").totalTime(TimeUnit.NANOSECONDS) > 0);
+    }
+
+    private Timer phaseTimer(String phase) {
+        return meterRegistry.get(PhaseTimingFilter.METRIC_NAME).tag("phase", phase).timer();
+    }
+
+    private static Set<String> metricNames(MvcResult result) {
+        return result.getResponse().getHeaders("Server-Timing").stream()
+                .flatMap(value -> List.of(value.split(", ")).stream())
+                .map(metric -> metric.substring(0, metric.indexOf(';')))
+                .collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,414 @@
+package com.techforall.bookcatalog.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.techforall.bookcatalog.model.dto.request.AuthorPatchRequest;
+import com.techforall.bookcatalog.model.dto.request.AuthorRequest;
+import com.techforall.bookcatalog.model.dto.request.BookPatchRequest;
+import com.techforall.bookcatalog.model.dto.request.BookRequest;
+import com.techforall.bookcatalog.model.entity.Author;
+import com.techforall.bookcatalog.model.entity.Book;
+import com.techforall.bookcatalog.repository.AuthorRepository;
+import com.techforall.bookcatalog.repository.BookRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static com.techforall.bookcatalog.integration.SqlStatementAssertions.assertExecuted;
+import static com.techforall.bookcatalog.integration.SqlStatementAssertions.assertNoWritesTo;
+import static com.techforall.bookcatalog.integration.SqlStatementAssertions.assertNotTouched;
+import static com.techforall.bookcatalog.integration.SqlStatementAssertions.assertStatements;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+
+/**
+ * Pins the exact number and type of SQL statements issued by every controller operation,
+ * so that an N+1 or an extra round trip fails the build instead of surfacing as latency.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Query Count Regression Tests")
+class QueryCountIntegrationTest {
+
+    private static final int BOOK_COUNT = 120;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    private Author orwell;
+    private Author huxley;
+    private Author unusedAuthor;
+    private Book savedBook;
+
+    @BeforeEach
+    void setUp() {
+        bookRepository.deleteAll();
+        authorRepository.deleteAll();
+
+        orwell = authorRepository.save(author("George", "Orwell"));
+        huxley = authorRepository.save(author("Aldous", "Huxley"));
+        unusedAuthor = authorRepository.save(author("Unused", "Author"));
+
+        List<Book> books = new ArrayList<>();
+        for (int i = 0; i < BOOK_COUNT; i++) {
+            Book book = new Book();
+            book.setTitle(String.format("Book %03d", i));
+            book.setPublisher("Publisher " + (i % 7));
+            book.setPublishedDate(LocalDate.of(1950, 1, 1).plusDays(i));
+            book.setAuthors(new HashSet<>(Set.of(orwell, huxley)));
+            books.add(book);
+        }
+        savedBook = bookRepository.saveAll(books).get(0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookRepository.deleteAll();
+        authorRepository.deleteAll();
+    }
+
+    @Nested
+    @DisplayName("Book Endpoints")
+    class BookEndpoints {
+
+        @ParameterizedTest(name = "page size {0}")
+        @ValueSource(ints = {1, 20, 100})
+        @DisplayName("GET /books issues one page query and one count query")
+        void getAllBooks(int pageSize) throws Exception {
+            MvcResult result = mockMvc.perform(get("/books").param("size", String.valueOf(pageSize)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content", hasSize(pageSize)))
+                    .andReturn();
+
+            assertStatements(result, 2, 0, 0, 0);
+        }
+
+        @ParameterizedTest(name = "page size {0}")
+        @ValueSource(ints = {1, 20, 100})
+        @DisplayName("GET /books?include=authors adds one IN query for the whole page")
+        void getAllBooks_IncludeAuthors(int pageSize) throws Exception {
+            MvcResult result = mockMvc.perform(get("/books")
+                            .param("size", String.valueOf(pageSize))
+                            .param("include", "authors"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content", hasSize(pageSize)))
+                    .andExpect(jsonPath("$.content[0].authors", hasSize(2)))
+                    .andExpect(jsonPath("$.content[%d].authors[0].fullName", pageSize - 1).value("Aldous Huxley"))
+                    .andReturn();
+
+            assertStatements(result, 3, 0, 0, 0);
+        }
+
+        @Test
+        @DisplayName("GET /books/{id} fetches the book and its authors in one query")
+        void getBookById() throws Exception {
+            MvcResult result = mockMvc.perform(get("/books/" + savedBook.getId()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.authors", hasSize(2)))
+                    .andReturn();
+
+            assertStatements(result, 1, 0, 0, 0);
+        }
+
+        @Test
+        @DisplayName("GET /books/{id} for a missing book issues one query")
+        void getBookById_NotFound() throws Exception {
+            MvcResult result = mockMvc.perform(get("/books/999999"))
+                    .andExpect(status().isNotFound())
+                    .andReturn();
+
+            assertStatements(result, 1, 0, 0, 0);
+        }
+
+        @Test
+        @DisplayName("POST /books looks up each author, then inserts the book, its join rows and a change-log entry")
+        void createBook() throws Exception {
+            BookRequest request = BookRequest.builder()
+                    .title("Brave New World")
+                    .authorIds(Set.of(orwell.getId(), huxley.getId()))
+                    .publisher("Chatto & Windus")
+                    .build();
+
+            MvcResult result = mockMvc.perform(post("/books")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isCreated())
+                    .andReturn();
+
+            assertStatements(result, 2, 4, 0, 0);
+        }
+
+        @Test
+        @DisplayName("PUT /books/{id} with the same authors updates only the book row, and logs the change")
+        void updateBook() throws Exception {
+            BookRequest request = BookRequest.builder()
+                    .title("Retitled")
+                    .authorIds(Set.of(orwell.getId(), huxley.getId()))
+                    .build();
+
+            MvcResult result = mockMvc.perform(put("/books/" + savedBook.getId())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isOk())
+                    .andReturn();
+
+            assertStatements(result, 1, 1, 1, 0);
+        }
+
+        @Test
+        @DisplayName("PATCH /books/{id} without authors updates only the changed column and skips book_authors")
+        void patchBook_TitleOnly() throws Exception {
+            BookPatchRequest request = BookPatchRequest.builder().title("Retitled").build();
+
+            MvcResult result = mockMvc.perform(patch("/books/" + savedBook.getId())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.title").value("Retitled"))
+                    .andExpect(jsonPath("$.authors").doesNotExist())
+                    .andReturn();
+
+            assertStatements(result, 1, 1, 1, 0);
+            assertExecuted(result, "update books set title=?,version=? where id=? and version=?");
+            assertNotTouched(result, "book_authors");
+        }
+
+        @Test
+        @DisplayName("PATCH /books/{id} with an unchanged value issues no UPDATE and logs no change")
+        void patchBook_Unchanged() throws Exception {
+            BookPatchRequest request = BookPatchRequest.builder().title(savedBook.getTitle()).build();
+
+            MvcResult result = mockMvc.perform(patch("/books/" + savedBook.getId())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isOk())
+                    .andReturn();
+
+            assertStatements(result, 1, 0, 0, 0);
+        }
+
+        @Test
+        @DisplayName("PATCH /books/{id} with authors loads the author set and deletes the removed join row")
+        void patchBook_WithAuthors() throws Exception {
+            BookPatchRequest request = BookPatchRequest.builder().authorIds(Set.of(orwell.getId())).build();
+
+            MvcResult result = mockMvc.perform(patch("/books/" + savedBook.getId())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.authors", hasSize(1)))
+                    .andReturn();
+
+            assertStatements(result, 1, 1, 1, 1);
+        }
+
+        @Test
+        @DisplayName("DELETE /books/{id} removes join rows and the book, and logs the change")
+        void deleteBook() throws Exception {
+            MvcResult result = mockMvc.perform(delete("/books/" + savedBook.getId()))
+                    .andExpect(status().isNoContent())
+                    .andReturn();
+
+            assertStatements(result, 1, 1, 0, 2);
+        }
+    }
+
+    /**
+     * A changed author set also bumps the book's version, so concurrent edits of the set conflict.
+     */
+    @Nested
+    @DisplayName("Book Author Set Updates")
+    class BookAuthorSetUpdates {
+
+        @Test
+        @DisplayName("Adding an author inserts one join row")
+        void addAuthor() throws Exception {
+            MvcResult result = putAuthors(Set.of(orwell.getId(), huxley.getId(), unusedAuthor.getId()));
+
+            // The new author is not in the persistence context yet, so it costs one lookup.
+            assertStatements(result, 2, 2, 1, 0);
+            assertExecuted(result, "insert into book_authors (book_id,author_id) values (?,?)");
+        }
+
+        @Test
+        @DisplayName("Removing an author deletes one join row")
+        void removeAuthor() throws Exception {
+            MvcResult result = putAuthors(Set.of(orwell.getId()));
+
+            assertStatements(result, 1, 1, 1, 1);
+            assertExecuted(result, "delete from book_authors where book_id=? and author_id=?");
+        }
+
+        @Test
+        @DisplayName("An unchanged author set issues no join-table statements")
+        void unchangedAuthors() throws Exception {
+            MvcResult result = putAuthors(Set.of(orwell.getId(), huxley.getId()));
+
+            assertStatements(result, 1, 1, 0, 0);
+            assertNoWritesTo(result, "book_authors");
+        }
+
+        @Test
+        @DisplayName("Clearing the author set deletes all join rows in one statement")
+        void clearAuthors() throws Exception {
+            MvcResult result = putAuthors(Set.of());
+
+            assertStatements(result, 1, 1, 1, 1);
+            assertExecuted(result, "delete from book_authors where book_id=?");
+        }
+
+        private MvcResult putAuthors(Set<Long> authorIds) throws Exception {
+            BookRequest request = BookRequest.builder()
+                    .title(savedBook.getTitle())
+                    .authorIds(authorIds)
+                    .build();
+
+            return mockMvc.perform(put("/books/" + savedBook.getId())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.authors", hasSize(authorIds.size())))
+                    .andReturn();
+        }
+    }
+
+    @Nested
+    @DisplayName("Author Endpoints")
+    class AuthorEndpoints {
+
+        @ParameterizedTest(name = "page size {0}")
+        @ValueSource(ints = {1, 20, 100})
+        @DisplayName("GET /authors issues one page query, plus a count query when the page is full")
+        void getAllAuthors(int pageSize) throws Exception {
+            MvcResult result = mockMvc.perform(get("/authors").param("size", String.valueOf(pageSize)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content", hasSize(Math.min(pageSize, 3))))
+                    .andReturn();
+
+            assertStatements(result, pageSize <= 3 ? 2 : 1, 0, 0, 0);
+        }
+
+        @Test
+        @DisplayName("GET /authors/{id} issues one query")
+        void getAuthorById() throws Exception {
+            MvcResult result = mockMvc.perform(get("/authors/" + orwell.getId()))
+                    .andExpect(status().isOk())
+                    .andReturn();
+
+            assertStatements(result, 1, 0, 0, 0);
+        }
+
+        @Test
+        @DisplayName("POST /authors inserts the author and a change-log entry")
+        void createAuthor() throws Exception {
+            AuthorRequest request = AuthorRequest.builder().name("Ray").surname("Bradbury").build();
+
+            MvcResult result = mockMvc.perform(post("/authors")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isCreated())
+                    .andReturn();
+
+            assertStatements(result, 0, 2, 0, 0);
+        }
+
+        @Test
+        @DisplayName("PUT /authors/{id} loads and updates the author, and logs the change")
+        void updateAuthor() throws Exception {
+            AuthorRequest request = AuthorRequest.builder().name("Eric").surname("Blair").build();
+
+            MvcResult result = mockMvc.perform(put("/authors/" + orwell.getId())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isOk())
+                    .andReturn();
+
+            assertStatements(result, 1, 1, 1, 0);
+        }
+
+        @Test
+        @DisplayName("PATCH /authors/{id} updates only the changed column")
+        void patchAuthor() throws Exception {
+            AuthorPatchRequest request = AuthorPatchRequest.builder().birthYear(1903).build();
+
+            MvcResult result = mockMvc.perform(patch("/authors/" + orwell.getId())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.birthYear").value(1903))
+                    .andReturn();
+
+            assertStatements(result, 1, 1, 1, 0);
+            assertExecuted(result, "update authors set birth_year=?,version=? where id=? and version=?");
+        }
+
+        @Test
+        @DisplayName("PATCH /authors/{id} with an unchanged value issues no UPDATE and logs no change")
+        void patchAuthor_Unchanged() throws Exception {
+            AuthorPatchRequest request = AuthorPatchRequest.builder().surname(orwell.getSurname()).build();
+
+            MvcResult result = mockMvc.perform(patch("/authors/" + orwell.getId())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isOk())
+                    .andReturn();
+
+            assertStatements(result, 1, 0, 0, 0);
+        }
+
+        @Test
+        @DisplayName("DELETE /authors/{id} checks for books before deleting, and logs the change")
+        void deleteAuthor() throws Exception {
+            MvcResult result = mockMvc.perform(delete("/authors/" + unusedAuthor.getId()))
+                    .andExpect(status().isNoContent())
+                    .andReturn();
+
+            assertStatements(result, 2, 1, 0, 1);
+        }
+
+        @Test
+        @DisplayName("DELETE /authors/{id} with books stops after the check")
+        void deleteAuthor_WithBooks() throws Exception {
+            MvcResult result = mockMvc.perform(delete("/authors/" + orwell.getId()))
+                    .andExpect(status().isConflict())
+                    .andReturn();
+
+            assertStatements(result, 2, 0, 0, 0);
+        }
+    }
+
+    private static Author author(String name, String surname) {
+        Author author = new Author();
+        author.setName(name);
+        author.setSurname(surname);
+        return author;
+    }
+}
@@ -0,0 +1,177 @@
+package com.techforall.bookcatalog.integration;
+
+import com.techforall.bookcatalog.model.entity.Author;
+import com.techforall.bookcatalog.model.entity.Book;
+import com.techforall.bookcatalog.repository.AuthorRepository;
+import com.techforall.bookcatalog.repository.BookRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+
+import static com.techforall.bookcatalog.integration.SqlStatementAssertions.assertStatements;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Response Cache Integration Tests")
+class ResponseCacheIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    private Author orwell;
+    private Book book;
+
+    @BeforeEach
+    void setUp() {
+        Author author = new Author();
+        author.setName("George");
+        author.setSurname("Orwell");
+        orwell = authorRepository.save(author);
+
+        Book newBook = new Book();
+        newBook.setTitle("Animal Farm");
+        newBook.setPublisher("Secker & Warburg");
+        newBook.setPublishedDate(LocalDate.of(1945, 8, 17));
+        newBook.setAuthors(Set.of(orwell));
+        book = bookRepository.save(newBook);
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookRepository.deleteAll();
+        authorRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should serve a repeated read from the cache without any SQL")
+    void getBookById_ShouldServeRepeatedReadFromCache() throws Exception {
+        MvcResult first = mockMvc.perform(get("/books/" + book.getId()))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        MvcResult second = mockMvc.perform(get("/books/" + book.getId()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + book.getVersion() + "\""))
+                .andExpect(header().string(HttpHeaders.VARY, containsString(HttpHeaders.ACCEPT_ENCODING)))
+                .andExpect(jsonPath("$.authors[0].fullName", is("George Orwell")))
+                .andReturn();
+
+        assertStatements(second, 0, 0, 0, 0);
+        assertEquals(first.getResponse().getContentAsString(), second.getResponse().getContentAsString());
+    }
+
+    @Test
+    @DisplayName("Should serve the gzip variant to clients that accept it")
+    void getBookById_ShouldServeGzipVariant() throws Exception {
+        String plain = mockMvc.perform(get("/authors/" + orwell.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        MvcResult gzipped = mockMvc.perform(get("/authors/" + orwell.getId())
+                        .header(HttpHeaders.ACCEPT_ENCODING, "br;q=1.0, gzip;q=0.8"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"" + orwell.getVersion() + "\""))
+                .andReturn();
+
+        assertEquals(plain, gunzip(gzipped.getResponse().getContentAsByteArray()));
+    }
+
+    @Test
+    @DisplayName("Should answer a matching If-None-Match from the cache with 304")
+    void getBookById_ShouldReturn304FromCache() throws Exception {
+        mockMvc.perform(get("/books/" + book.getId())).andExpect(status().isOk());
+
+        MvcResult result = mockMvc.perform(get("/books/" + book.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"" + book.getVersion() + "\""))
+                .andExpect(status().isNotModified())
+                .andReturn();
+
+        assertStatements(result, 0, 0, 0, 0);
+    }
+
+    @Test
+    @DisplayName("Should drop a cached book when it is updated or deleted")
+    void getBookById_ShouldFollowBookWrites() throws Exception {
+        mockMvc.perform(get("/books/" + book.getId())).andExpect(status().isOk());
+
+        mockMvc.perform(patch("/books/" + book.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\": \"Animal Farm: A Fairy Story\"}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/books/" + book.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + (book.getVersion() + 1) + "\""))
+                .andExpect(jsonPath("$.title", is("Animal Farm: A Fairy Story")));
+
+        mockMvc.perform(delete("/books/" + book.getId())).andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/books/" + book.getId())).andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Should drop cached books when one of their authors is renamed")
+    void getBookById_ShouldFollowAuthorRenames() throws Exception {
+        mockMvc.perform(get("/books/" + book.getId())).andExpect(status().isOk());
+
+        mockMvc.perform(patch("/authors/" + orwell.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Eric\", \"surname\": \"Blair\"}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/books/" + book.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.authors[0].fullName", is("Eric Blair")));
+    }
+
+    @Test
+    @DisplayName("Should not cache sparse fieldset responses")
+    void getBookById_ShouldNotCacheSparseFields() throws Exception {
+        mockMvc.perform(get("/books/" + book.getId()).param("fields", "title")).andExpect(status().isOk());
+
+        MvcResult result = mockMvc.perform(get("/books/" + book.getId()).param("fields", "title"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title", is("Animal Farm")))
+                .andReturn();
+
+        assertStatements(result, 1, 0, 0, 0);
+        assertTrue(result.getResponse().getHeader(HttpHeaders.CONTENT_ENCODING) == null);
+    }
+
+    private static String gunzip(byte[] bytes) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.techforall.bookcatalog.integration;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Schema Migration Integration Tests")
+class SchemaMigrationIntegrationTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    @DisplayName("Should index book_authors by author_id")
+    void bookAuthors_ShouldHaveAuthorIdIndex() throws SQLException {
+        assertEquals(List.of("author_id"), indexes("book_authors").get("idx_book_authors_author_id"));
+    }
+
+    @Test
+    @DisplayName("Should back every sortable book field with a (field, id) index")
+    void books_ShouldHaveSortIndexes() throws SQLException {
+        Map<String, List<String>> indexes = indexes("books");
+        assertEquals(List.of("title", "id"), indexes.get("idx_books_title_id"));
+        assertEquals(List.of("publisher", "id"), indexes.get("idx_books_publisher_id"));
+        assertEquals(List.of("published_date", "id"), indexes.get("idx_books_published_date_id"));
+        assertFalse(indexes.containsKey("idx_books_title"), "Redundant single-column title index");
+    }
+
+    @Test
+    @DisplayName("Should back every sortable author field with a (field, id) index")
+    void authors_ShouldHaveSortIndexes() throws SQLException {
+        Map<String, List<String>> indexes = indexes("authors");
+        assertEquals(List.of("surname", "id"), indexes.get("idx_authors_surname_id"));
+        assertEquals(List.of("name", "id"), indexes.get("idx_authors_name_id"));
+        assertFalse(indexes.containsKey("idx_authors_surname"), "Redundant single-column surname index");
+    }
+
+    @Test
+    @DisplayName("Should use a composite primary key on book_authors")
+    void bookAuthors_ShouldHaveCompositePrimaryKey() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            Map<Short, String> columns = new TreeMap<>();
+            try (ResultSet rs = metaData.getPrimaryKeys(null, null, tableName(metaData, "book_authors"))) {
+                while (rs.next()) {
+                    columns.put(rs.getShort("KEY_SEQ"), rs.getString("COLUMN_NAME").toLowerCase());
+                }
+            }
+            assertEquals(List.of("book_id", "author_id"), new ArrayList<>(columns.values()));
+        }
+    }
+
+    private Map<String, List<String>> indexes(String table) throws SQLException {
+        Map<String, List<String>> indexes = new LinkedHashMap<>();
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            try (ResultSet rs = metaData.getIndexInfo(null, null, tableName(metaData, table), false, false)) {
+                while (rs.next()) {
+                    String indexName = rs.getString("INDEX_NAME");
+                    String columnName = rs.getString("COLUMN_NAME");
+                    if (indexName != null && columnName != null) {
+                        indexes.computeIfAbsent(indexName.toLowerCase(), k -> new ArrayList<>())
+                                .add(columnName.toLowerCase());
+                    }
+                }
+            }
+        }
+        assertFalse(indexes.isEmpty(), "No indexes found on " + table);
+        return indexes;
+    }
+
+    private static String tableName(DatabaseMetaData metaData, String table) throws SQLException {
+        return metaData.storesUpperCaseIdentifiers() ? table.toUpperCase() : table;
+    }
+}
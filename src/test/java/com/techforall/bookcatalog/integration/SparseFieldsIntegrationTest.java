@@ -0,0 +1,184 @@
+package com.techforall.bookcatalog.integration;
+
+import com.techforall.bookcatalog.model.entity.Author;
+import com.techforall.bookcatalog.model.entity.Book;
+import com.techforall.bookcatalog.monitoring.SqlStatementStats;
+import com.techforall.bookcatalog.repository.AuthorRepository;
+import com.techforall.bookcatalog.repository.BookRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+import static com.techforall.bookcatalog.integration.SqlStatementAssertions.assertNotTouched;
+import static com.techforall.bookcatalog.integration.SqlStatementAssertions.assertStatements;
+import static com.techforall.bookcatalog.integration.SqlStatementAssertions.statsOf;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Sparse Fieldset Integration Tests")
+class SparseFieldsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    private Author orwell;
+    private Book book;
+
+    @BeforeEach
+    void setUp() {
+        Author author = new Author();
+        author.setName("George");
+        author.setSurname("Orwell");
+        author.setBirthYear(1903);
+        orwell = authorRepository.save(author);
+
+        Book newBook = new Book();
+        newBook.setTitle("Animal Farm");
+        newBook.setPublisher("Secker & Warburg");
+        newBook.setEdition("1st");
+        newBook.setPublishedDate(LocalDate.of(1945, 8, 17));
+        newBook.setAuthors(Set.of(orwell));
+        book = bookRepository.save(newBook);
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookRepository.deleteAll();
+        authorRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should select only the requested book columns and skip the author join")
+    void getBookById_ShouldSelectRequestedColumns() throws Exception {
+        MvcResult result = mockMvc.perform(get("/books/" + book.getId()).param("fields", "id,title"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "W/\"" + book.getVersion() + "\""))
+                .andExpect(jsonPath("$.*", hasSize(2)))
+                .andExpect(jsonPath("$.id", is(book.getId().intValue())))
+                .andExpect(jsonPath("$.title", is("Animal Farm")))
+                .andReturn();
+
+        assertStatements(result, 1, 0, 0, 0);
+        assertNotTouched(result, "book_authors");
+        assertNotTouched(result, "authors");
+        assertSelectsNone(result, "publisher", "edition", "published_date");
+    }
+
+    @Test
+    @DisplayName("Should join the authors only when they are requested")
+    void getBookById_ShouldJoinAuthorsWhenRequested() throws Exception {
+        MvcResult result = mockMvc.perform(get("/books/" + book.getId()).param("fields", "title,authors"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.*", hasSize(2)))
+                .andExpect(jsonPath("$.authors[0].id", is(orwell.getId().intValue())))
+                .andExpect(jsonPath("$.authors[0].fullName", is("George Orwell")))
+                .andReturn();
+
+        assertStatements(result, 1, 0, 0, 0);
+        assertSelectsNone(result, "publisher", "birth_year");
+    }
+
+    @Test
+    @DisplayName("Should keep null values of requested fields")
+    void getBookById_ShouldKeepRequestedNulls() throws Exception {
+        book.setEdition(null);
+        bookRepository.save(book);
+
+        mockMvc.perform(get("/books/" + book.getId()).param("fields", "edition"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.*", hasSize(1)))
+                .andExpect(jsonPath("$.edition").value(nullValue()));
+    }
+
+    @Test
+    @DisplayName("Should trim list pages and their query, with filters and paging intact")
+    void getAllBooks_ShouldSelectRequestedColumns() throws Exception {
+        MvcResult result = mockMvc.perform(get("/books").param("fields", "title"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].*", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].title", is("Animal Farm")))
+                .andExpect(jsonPath("$.totalElements", is(1)))
+                .andReturn();
+
+        assertNotTouched(result, "authors");
+        assertSelectsNone(result, "publisher");
+
+        mockMvc.perform(get("/books").param("fields", "id").param("authorId", String.valueOf(orwell.getId() + 1)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(0)));
+    }
+
+    @Test
+    @DisplayName("Should select name and surname for fullName but not birthYear")
+    void getAuthorById_ShouldSelectRequestedColumns() throws Exception {
+        MvcResult result = mockMvc.perform(get("/authors/" + orwell.getId()).param("fields", "fullName"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.*", hasSize(1)))
+                .andExpect(jsonPath("$.fullName", is("George Orwell")))
+                .andReturn();
+
+        assertStatements(result, 1, 0, 0, 0);
+        assertSelectsNone(result, "birth_year");
+
+        MvcResult list = mockMvc.perform(get("/authors").param("fields", "id"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].*", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].id", is(orwell.getId().intValue())))
+                .andReturn();
+        assertSelectsNone(list, "birth_year", ".name");
+    }
+
+    @Test
+    @DisplayName("Should reject unknown fields and return 404 for missing resources")
+    void fields_ShouldBeValidated() throws Exception {
+        mockMvc.perform(get("/books/" + book.getId()).param("fields", "title,isbn"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", containsString("'isbn'")));
+
+        mockMvc.perform(get("/books").param("fields", "authors"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/authors/" + orwell.getId()).param("fields", ""))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/books/" + (book.getId() + 1000)).param("fields", "title"))
+                .andExpect(status().isNotFound());
+    }
+
+    /**
+     * Fails if a statement selects any of the columns; WHERE and ORDER BY clauses are not checked.
+     */
+    private static void assertSelectsNone(MvcResult result, String... columns) {
+        SqlStatementStats stats = statsOf(result);
+        assertFalse(stats.getExecutionsBySql().isEmpty());
+        for (String sql : stats.getExecutionsBySql().keySet()) {
+            String normalized = sql.toLowerCase();
+            String selectList = normalized.substring(0, normalized.indexOf(" from "));
+            for (String column : columns) {
+                assertFalse(selectList.contains(column), "Unexpected column " + column + " in: " + sql);
+            }
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.techforall.bookcatalog.integration;
+
+import com.techforall.bookcatalog.model.entity.Author;
+import com.techforall.bookcatalog.model.entity.Book;
+import com.techforall.bookcatalog.monitoring.SqlStatementStats;
+import com.techforall.bookcatalog.repository.AuthorRepository;
+import com.techforall.bookcatalog.repository.BookRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("SQL Monitoring Integration Tests")
+class SqlMonitoringIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    private Book savedBook;
+
+    @BeforeEach
+    void setUp() {
+        bookRepository.deleteAll();
+        authorRepository.deleteAll();
+
+        Author author = new Author();
+        author.setName("George");
+        author.setSurname("Orwell");
+        Author savedAuthor = authorRepository.save(author);
+
+        Book book = new Book();
+        book.setTitle("1984");
+        book.setAuthors(new HashSet<>(Set.of(savedAuthor)));
+        savedBook = bookRepository.save(book);
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookRepository.deleteAll();
+        authorRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should attach statement summary as Server-Timing header")
+    void getBook_ShouldExposeServerTiming() throws Exception {
+        mockMvc.perform(get("/books/" + savedBook.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Server-Timing", startsWith("db;dur=")))
+                .andExpect(header().string("Server-Timing", containsString("desc=\"1 statements\"")));
+    }
+
+    @Test
+    @DisplayName("Should attach Server-Timing header to responses without a body")
+    void deleteBook_ShouldExposeServerTiming() throws Exception {
+        mockMvc.perform(delete("/books/" + savedBook.getId()))
+                .andExpect(status().isNoContent())
+                .andExpect(header().exists("Server-Timing"));
+    }
+
+    @Test
+    @DisplayName("Should count statements per type and shape for the request")
+    void getBooks_ShouldRecordStatementsByShape() throws Exception {
+        MvcResult result = mockMvc.perform(get("/books"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        SqlStatementStats stats = (SqlStatementStats) result.getRequest()
+                .getAttribute(SqlStatementStats.REQUEST_ATTRIBUTE);
+
+        assertNotNull(stats);
+        assertEquals(stats.getStatementCount(), stats.getCount(SqlStatementStats.StatementType.SELECT));
+        assertEquals(stats.getStatementCount(),
+                stats.getExecutionsBySql().values().stream().mapToInt(Integer::intValue).sum());
+        assertTrue(stats.getTotalNanos() > 0);
+    }
+}
@@ -0,0 +1,62 @@
+package com.techforall.bookcatalog.integration;
+
+import com.techforall.bookcatalog.monitoring.SqlStatementStats;
+import com.techforall.bookcatalog.monitoring.SqlStatementStats.StatementType;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+/**
+ * Reads the {@link SqlStatementStats} recorded for a MockMvc request and asserts exact statement counts.
+ */
+final class SqlStatementAssertions {
+
+    private SqlStatementAssertions() {
+    }
+
+    static SqlStatementStats statsOf(MvcResult result) {
+        SqlStatementStats stats = (SqlStatementStats) result.getRequest()
+                .getAttribute(SqlStatementStats.REQUEST_ATTRIBUTE);
+        assertNotNull(stats, "SQL monitoring filter did not record statements for the request");
+        return stats;
+    }
+
+    static void assertStatements(MvcResult result, int selects, int inserts, int updates, int deletes) {
+        SqlStatementStats stats = statsOf(result);
+        String executed = String.join("\n", stats.getExecutionsBySql().keySet());
+        assertAll(
+                () -> assertEquals(selects, stats.getCount(StatementType.SELECT), "SELECT count\n" + executed),
+                () -> assertEquals(inserts, stats.getCount(StatementType.INSERT), "INSERT count\n" + executed),
+                () -> assertEquals(updates, stats.getCount(StatementType.UPDATE), "UPDATE count\n" + executed),
+                () -> assertEquals(deletes, stats.getCount(StatementType.DELETE), "DELETE count\n" + executed),
+                () -> assertEquals(0, stats.getCount(StatementType.OTHER), "Unexpected statements\n" + executed)
+        );
+    }
+
+    static void assertExecuted(MvcResult result, String sql) {
+        SqlStatementStats stats = statsOf(result);
+        assertTrue(stats.getExecutionsBySql().containsKey(sql),
+                "Expected statement: " + sql + "\nExecuted:\n" + String.join("\n", stats.getExecutionsBySql().keySet()));
+    }
+
+    static void assertNotTouched(MvcResult result, String table) {
+        SqlStatementStats stats = statsOf(result);
+        for (String sql : stats.getExecutionsBySql().keySet()) {
+            assertFalse(sql.toLowerCase().contains(table), "Unexpected statement on " + table + ": " + sql);
+        }
+    }
+
+    static void assertNoWritesTo(MvcResult result, String table) {
+        SqlStatementStats stats = statsOf(result);
+        for (String sql : stats.getExecutionsBySql().keySet()) {
+            String normalized = sql.toLowerCase();
+            assertFalse(!normalized.startsWith("select") && normalized.contains(table),
+                    "Unexpected write to " + table + ": " + sql);
+        }
+    }
+}
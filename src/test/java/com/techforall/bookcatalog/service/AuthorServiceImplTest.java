@@ -1,5 +1,6 @@
 package com.techforall.bookcatalog.service;
 
+import com.techforall.bookcatalog.event.AuthorChangedEvent;
 import com.techforall.bookcatalog.exception.AuthorHasBooksException;
 import com.techforall.bookcatalog.exception.ResourceNotFoundException;
 import com.techforall.bookcatalog.model.dto.request.AuthorRequest;
@@ -7,6 +8,7 @@ import com.techforall.bookcatalog.model.dto.response.AuthorResponse;
 import com.techforall.bookcatalog.model.dto.response.AuthorSummaryResponse;
 import com.techforall.bookcatalog.model.dto.response.PageResponse;
 import com.techforall.bookcatalog.model.entity.Author;
+import com.techforall.bookcatalog.model.entity.ChangeLogEntry;
 import com.techforall.bookcatalog.repository.AuthorRepository;
 import com.techforall.bookcatalog.service.impl.AuthorServiceImpl;
 import com.techforall.bookcatalog.utility.EntityMapper;
@@ -18,6 +20,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -42,6 +45,12 @@ class AuthorServiceImplTest {
     @Mock
     private EntityMapper entityMapper;
 
+    @Mock
+    private ChangeFeedService changeFeedService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private AuthorServiceImpl authorService;
 
@@ -165,6 +174,9 @@ class AuthorServiceImplTest {
             assertNotNull(result);
             assertEquals("George", result.getName());
             verify(authorRepository).save(any(Author.class));
+            verify(changeFeedService).record(ChangeLogEntry.EntityType.AUTHOR, 1L, ChangeLogEntry.Operation.CREATE);
+            verify(eventPublisher).publishEvent(
+                    new AuthorChangedEvent(1L, "George", "Orwell", ChangeLogEntry.Operation.CREATE));
         }
     }
 
@@ -190,14 +202,14 @@ class AuthorServiceImplTest {
                     .build();
 
             when(authorRepository.findById(1L)).thenReturn(Optional.of(author));
-            when(authorRepository.save(author)).thenReturn(author);
+            when(authorRepository.saveAndFlush(author)).thenReturn(author);
             when(entityMapper.toAuthorResponse(author)).thenReturn(updatedResponse);
 
-            AuthorResponse result = authorService.updateAuthor(1L, updateRequest);
+            AuthorResponse result = authorService.updateAuthor(1L, updateRequest, null);
 
             assertNotNull(result);
             verify(entityMapper).updateAuthorFromRequest(author, updateRequest);
-            verify(authorRepository).save(author);
+            verify(authorRepository).saveAndFlush(author);
         }
 
         @Test
@@ -212,7 +224,7 @@ class AuthorServiceImplTest {
             when(authorRepository.findById(999L)).thenReturn(Optional.empty());
 
             assertThrows(ResourceNotFoundException.class,
-                    () -> authorService.updateAuthor(999L, updateRequest));
+                    () -> authorService.updateAuthor(999L, updateRequest, null));
         }
     }
 
@@ -228,6 +240,8 @@ class AuthorServiceImplTest {
 
             assertDoesNotThrow(() -> authorService.deleteAuthor(1L));
             verify(authorRepository).delete(author);
+            verify(eventPublisher).publishEvent(
+                    new AuthorChangedEvent(1L, "George", "Orwell", ChangeLogEntry.Operation.DELETE));
         }
 
         @Test
@@ -239,6 +253,7 @@ class AuthorServiceImplTest {
             assertThrows(AuthorHasBooksException.class,
                     () -> authorService.deleteAuthor(1L));
             verify(authorRepository, never()).delete(any());
+            verifyNoInteractions(eventPublisher);
         }
 
         @Test
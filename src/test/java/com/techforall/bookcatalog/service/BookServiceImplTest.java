@@ -1,17 +1,26 @@
 package com.techforall.bookcatalog.service;
 
+import com.techforall.bookcatalog.exception.BadRequestException;
+import com.techforall.bookcatalog.exception.DuplicateBookException;
 import com.techforall.bookcatalog.exception.ResourceNotFoundException;
+import com.techforall.bookcatalog.model.dto.request.BookFilter;
+import com.techforall.bookcatalog.model.dto.request.BookPatchRequest;
 import com.techforall.bookcatalog.model.dto.request.BookRequest;
 import com.techforall.bookcatalog.model.dto.response.AuthorSummaryResponse;
 import com.techforall.bookcatalog.model.dto.response.BookResponse;
 import com.techforall.bookcatalog.model.dto.response.BookSummaryResponse;
+import com.techforall.bookcatalog.model.dto.response.CursorPageResponse;
 import com.techforall.bookcatalog.model.dto.response.PageResponse;
 import com.techforall.bookcatalog.model.entity.Author;
 import com.techforall.bookcatalog.model.entity.Book;
+import com.techforall.bookcatalog.model.entity.ChangeLogEntry;
 import com.techforall.bookcatalog.repository.AuthorRepository;
+import com.techforall.bookcatalog.repository.BookProjectionRepository;
 import com.techforall.bookcatalog.repository.BookRepository;
 import com.techforall.bookcatalog.service.impl.BookServiceImpl;
 import com.techforall.bookcatalog.utility.EntityMapper;
+import com.techforall.bookcatalog.utility.KeysetCursor;
+import jakarta.persistence.Tuple;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -20,13 +29,17 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 
 import java.time.LocalDate;
 import java.util.*;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -45,6 +58,15 @@ class BookServiceImplTest {
     @Mock
     private EntityMapper entityMapper;
 
+    @Mock
+    private ChangeFeedService changeFeedService;
+
+    @Mock
+    private BookDuplicateService bookDuplicateService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private BookServiceImpl bookService;
 
@@ -102,7 +124,7 @@ class BookServiceImplTest {
             when(bookRepository.findAll(pageable)).thenReturn(bookPage);
             when(entityMapper.toBookSummaryResponse(book)).thenReturn(bookSummaryResponse);
 
-            PageResponse<BookSummaryResponse> result = bookService.getAllBooks(pageable);
+            PageResponse<BookSummaryResponse> result = bookService.getAllBooks(new BookFilter(), pageable);
 
             assertNotNull(result);
             assertEquals(1, result.getContent().size());
@@ -120,12 +142,51 @@ class BookServiceImplTest {
 
             when(bookRepository.findAll(pageable)).thenReturn(emptyPage);
 
-            PageResponse<BookSummaryResponse> result = bookService.getAllBooks(pageable);
+            PageResponse<BookSummaryResponse> result = bookService.getAllBooks(new BookFilter(), pageable);
 
             assertNotNull(result);
             assertTrue(result.getContent().isEmpty());
             assertEquals(0, result.getTotalElements());
         }
+
+        @Test
+        @DisplayName("Should query by specification when a filter is set")
+        @SuppressWarnings("unchecked")
+        void getAllBooks_ShouldUseSpecificationWhenFiltered() {
+            Pageable pageable = PageRequest.of(0, 20);
+            Page<Book> bookPage = new PageImpl<>(List.of(book), pageable, 1);
+            BookFilter filter = BookFilter.builder().publisher("Secker & Warburg").build();
+
+            when(bookRepository.findAll(any(Specification.class), eq(pageable))).thenReturn(bookPage);
+            when(entityMapper.toBookSummaryResponse(book)).thenReturn(bookSummaryResponse);
+
+            PageResponse<BookSummaryResponse> result = bookService.getAllBooks(filter, pageable);
+
+            assertEquals(1, result.getContent().size());
+            verify(bookRepository, never()).findAll(pageable);
+        }
+
+        @Test
+        @DisplayName("Should reject a publication date range that ends before it starts")
+        void getAllBooks_ShouldRejectInvertedDateRange() {
+            BookFilter filter = BookFilter.builder()
+                    .publishedFrom(LocalDate.of(1950, 1, 1))
+                    .publishedTo(LocalDate.of(1940, 1, 1))
+                    .build();
+
+            assertThrows(BadRequestException.class,
+                    () -> bookService.getAllBooks(filter, PageRequest.of(0, 20)));
+            verifyNoInteractions(bookRepository);
+        }
+
+        @Test
+        @DisplayName("Should reject exact and prefix publisher filters together")
+        void getAllBooks_ShouldRejectBothPublisherFilters() {
+            BookFilter filter = BookFilter.builder().publisher("Penguin").publisherPrefix("Pen").build();
+
+            assertThrows(BadRequestException.class,
+                    () -> bookService.getAllBooks(filter, PageRequest.of(0, 20)));
+        }
     }
 
     @Nested
@@ -153,6 +214,155 @@ class BookServiceImplTest {
             assertThrows(ResourceNotFoundException.class,
                     () -> bookService.getBookById(999L));
         }
+
+        @Test
+        @DisplayName("Should select only the requested columns without joining authors")
+        void getBookById_WithFieldsShouldSelectRequestedColumns() {
+            Tuple row = mock(Tuple.class);
+            when(row.get("version", Long.class)).thenReturn(3L);
+            when(row.get("title", String.class)).thenReturn("1984");
+            when(bookRepository.findAttributesById(1L, Set.of("id", "version", "title"), false))
+                    .thenReturn(List.of(row));
+
+            BookResponse result = bookService.getBookById(1L, Set.of("title"));
+
+            assertEquals(1L, result.getId());
+            assertEquals(3L, result.getVersion());
+            assertEquals("1984", result.getTitle());
+            assertNull(result.getPublisher());
+            assertNull(result.getAuthors());
+            verify(bookRepository, never()).findByIdWithAuthors(any());
+        }
+
+        @Test
+        @DisplayName("Should collect the joined author rows when authors are requested")
+        void getBookById_WithAuthorsShouldCollectAuthorRows() {
+            Tuple orwell = authorRow(1L, "George", "Orwell");
+            Tuple blair = authorRow(2L, "Eric", "Blair");
+            when(bookRepository.findAttributesById(eq(1L), anyCollection(), eq(true)))
+                    .thenReturn(List.of(orwell, blair));
+
+            BookResponse result = bookService.getBookById(1L, Set.of("authors"));
+
+            assertEquals(Set.of("George Orwell", "Eric Blair"), result.getAuthors().stream()
+                    .map(AuthorSummaryResponse::getFullName)
+                    .collect(Collectors.toSet()));
+        }
+
+        @Test
+        @DisplayName("Should throw ResourceNotFoundException when no row matches")
+        void getBookById_WithFieldsShouldThrowWhenNotFound() {
+            when(bookRepository.findAttributesById(eq(999L), anyCollection(), eq(false))).thenReturn(List.of());
+
+            assertThrows(ResourceNotFoundException.class,
+                    () -> bookService.getBookById(999L, Set.of("title")));
+        }
+
+        private Tuple authorRow(Long id, String name, String surname) {
+            Tuple row = mock(Tuple.class);
+            lenient().when(row.get("version", Long.class)).thenReturn(0L);
+            when(row.get(BookProjectionRepository.AUTHOR_ID)).thenReturn(id);
+            when(row.get(BookProjectionRepository.AUTHOR_ID, Long.class)).thenReturn(id);
+            when(row.get(BookProjectionRepository.AUTHOR_NAME)).thenReturn(name);
+            when(row.get(BookProjectionRepository.AUTHOR_SURNAME)).thenReturn(surname);
+            return row;
+        }
+    }
+
+    @Nested
+    @DisplayName("includeAuthors Tests")
+    class IncludeAuthorsTests {
+
+        @Test
+        @DisplayName("Should attach the authors of every book from one query")
+        void includeAuthors_ShouldGroupRowsByBook() {
+            BookSummaryResponse first = BookSummaryResponse.builder().id(1L).title("1984").build();
+            BookSummaryResponse second = BookSummaryResponse.builder().id(2L).title("Untitled").build();
+            PageResponse<BookSummaryResponse> page = PageResponse.<BookSummaryResponse>builder()
+                    .content(List.of(first, second))
+                    .build();
+            when(bookRepository.findAuthorSummariesByBookIds(List.of(1L, 2L))).thenReturn(List.<Object[]>of(
+                    new Object[]{1L, 10L, "George", "Orwell"},
+                    new Object[]{1L, 11L, "Eric", "Blair"}));
+
+            bookService.includeAuthors(page);
+
+            assertEquals(List.of("George Orwell", "Eric Blair"),
+                    first.getAuthors().stream().map(AuthorSummaryResponse::getFullName).toList());
+            assertEquals(List.of(), second.getAuthors());
+            verify(bookRepository, times(1)).findAuthorSummariesByBookIds(any());
+        }
+
+        @Test
+        @DisplayName("Should not query for an empty page")
+        void includeAuthors_ShouldSkipEmptyPage() {
+            bookService.includeAuthors(PageResponse.<BookSummaryResponse>builder().content(List.of()).build());
+
+            verifyNoInteractions(bookRepository);
+        }
+    }
+
+    @Nested
+    @DisplayName("getBooksByAuthor Tests")
+    class GetBooksByAuthorTests {
+
+        private final Pageable byTitle = PageRequest.of(0, 2, Sort.by("title", "id"));
+
+        @Test
+        @DisplayName("Should fetch one row past the page and return a cursor after its last book")
+        void getBooksByAuthor_ShouldReturnCursorWhenMoreRows() {
+            List<Tuple> rows = List.of(bookRow(5L, "1984"), bookRow(3L, "Animal Farm"), mock(Tuple.class));
+            when(bookRepository.findSummariesByAuthor(1L, byTitle.getSort(), null, null, 3)).thenReturn(rows);
+
+            CursorPageResponse<BookSummaryResponse> page = bookService.getBooksByAuthor(1L, byTitle, null);
+
+            assertEquals(List.of(5L, 3L), page.getContent().stream().map(BookSummaryResponse::getId).toList());
+            assertTrue(page.isHasMore());
+            KeysetCursor next = KeysetCursor.decode(page.getNextCursor(), Sort.Order.asc("title"));
+            assertEquals(3L, next.id());
+            assertEquals("Animal Farm", next.value());
+            verifyNoInteractions(authorRepository);
+        }
+
+        @Test
+        @DisplayName("Should continue after the cursor and stop on the last page")
+        void getBooksByAuthor_ShouldContinueAfterCursor() {
+            String cursor = KeysetCursor.after(Sort.Order.asc("title"), 3L, "Animal Farm").encode();
+            List<Tuple> rows = List.of(bookRow(4L, "Burmese Days"));
+            when(bookRepository.findSummariesByAuthor(1L, byTitle.getSort(), "Animal Farm", 3L, 3)).thenReturn(rows);
+
+            CursorPageResponse<BookSummaryResponse> page = bookService.getBooksByAuthor(1L, byTitle, cursor);
+
+            assertEquals(1, page.getContent().size());
+            assertFalse(page.isHasMore());
+            assertNull(page.getNextCursor());
+        }
+
+        @Test
+        @DisplayName("Should reject a cursor issued for another sort")
+        void getBooksByAuthor_ShouldRejectCursorOfOtherSort() {
+            String cursor = KeysetCursor.after(Sort.Order.desc("id"), 3L, null).encode();
+
+            assertThrows(BadRequestException.class, () -> bookService.getBooksByAuthor(1L, byTitle, cursor));
+            verifyNoInteractions(bookRepository);
+        }
+
+        @Test
+        @DisplayName("Should throw ResourceNotFoundException for an unknown author")
+        void getBooksByAuthor_ShouldThrowWhenAuthorNotFound() {
+            when(bookRepository.findSummariesByAuthor(999L, byTitle.getSort(), null, null, 3)).thenReturn(List.of());
+            when(authorRepository.existsById(999L)).thenReturn(false);
+
+            assertThrows(ResourceNotFoundException.class, () -> bookService.getBooksByAuthor(999L, byTitle, null));
+        }
+
+        private Tuple bookRow(Long id, String title) {
+            Tuple row = mock(Tuple.class);
+            when(row.get("id", Long.class)).thenReturn(id);
+            when(row.get("title", String.class)).thenReturn(title);
+            when(row.get("publisher", String.class)).thenReturn("Secker & Warburg");
+            return row;
+        }
     }
 
     @Nested
@@ -210,6 +420,36 @@ class BookServiceImplTest {
             assertNotNull(result);
             verify(authorRepository, never()).findById(anyLong());
         }
+
+        @Test
+        @DisplayName("Should flag near-duplicates in the response")
+        void createBook_ShouldFlagNearDuplicates() {
+            BookRequest request = BookRequest.builder().title("Nineteen Eighty Four").authorIds(Set.of(1L)).build();
+
+            when(authorRepository.findById(1L)).thenReturn(Optional.of(author));
+            when(bookDuplicateService.checkNewBook("Nineteen Eighty Four", Set.of(1L))).thenReturn(List.of(7L));
+            when(entityMapper.toBookEntity(request)).thenReturn(new Book());
+            when(bookRepository.save(any(Book.class))).thenReturn(book);
+            when(entityMapper.toBookResponse(book)).thenReturn(bookResponse);
+
+            BookResponse result = bookService.createBook(request);
+
+            assertEquals(List.of(7L), result.getPossibleDuplicates());
+        }
+
+        @Test
+        @DisplayName("Should not save a rejected near-duplicate")
+        void createBook_ShouldNotSaveRejectedDuplicate() {
+            BookRequest request = BookRequest.builder().title("Nineteen Eighty Four").authorIds(Set.of(1L)).build();
+
+            when(authorRepository.findById(1L)).thenReturn(Optional.of(author));
+            when(bookDuplicateService.checkNewBook("Nineteen Eighty Four", Set.of(1L)))
+                    .thenThrow(new DuplicateBookException("Nineteen Eighty Four", List.of(7L)));
+
+            assertThrows(DuplicateBookException.class, () -> bookService.createBook(request));
+            verify(bookRepository, never()).save(any());
+            verifyNoInteractions(changeFeedService);
+        }
     }
 
     @Nested
@@ -229,14 +469,14 @@ class BookServiceImplTest {
 
             when(bookRepository.findByIdWithAuthors(1L)).thenReturn(Optional.of(book));
             when(authorRepository.findById(1L)).thenReturn(Optional.of(author));
-            when(bookRepository.save(book)).thenReturn(book);
+            when(bookRepository.saveAndFlush(book)).thenReturn(book);
             when(entityMapper.toBookResponse(book)).thenReturn(bookResponse);
 
-            BookResponse result = bookService.updateBook(1L, updateRequest);
+            BookResponse result = bookService.updateBook(1L, updateRequest, null);
 
             assertNotNull(result);
             verify(entityMapper).updateBookFromRequest(book, updateRequest);
-            verify(bookRepository).save(book);
+            verify(bookRepository).saveAndFlush(book);
         }
 
         @Test
@@ -253,7 +493,69 @@ class BookServiceImplTest {
             when(bookRepository.findByIdWithAuthors(999L)).thenReturn(Optional.empty());
 
             assertThrows(ResourceNotFoundException.class,
-                    () -> bookService.updateBook(999L, updateRequest));
+                    () -> bookService.updateBook(999L, updateRequest, null));
+        }
+    }
+
+    @Nested
+    @DisplayName("patchBook Tests")
+    class PatchBookTests {
+
+        @Test
+        @DisplayName("Should patch fields without loading authors")
+        void patchBook_ShouldNotLoadAuthorsWithoutAuthorIds() {
+            BookPatchRequest request = BookPatchRequest.builder().title("Nineteen Eighty-Four").build();
+
+            book.setVersion(0L);
+            when(bookRepository.findById(1L)).thenReturn(Optional.of(book));
+            doAnswer(invocation -> {
+                book.setVersion(1L);
+                return null;
+            }).when(bookRepository).flush();
+            when(entityMapper.toBookResponseWithoutAuthors(book)).thenReturn(bookResponse);
+
+            assertNotNull(bookService.patchBook(1L, request, null));
+            verify(entityMapper).patchBook(book, request);
+            verify(bookRepository, never()).findByIdWithAuthors(any());
+            verifyNoInteractions(authorRepository);
+            verify(changeFeedService).record(ChangeLogEntry.EntityType.BOOK, 1L, ChangeLogEntry.Operation.UPDATE);
+        }
+
+        @Test
+        @DisplayName("Should record and publish nothing when the patch changed nothing")
+        void patchBook_ShouldNotRecordUnchangedBook() {
+            BookPatchRequest request = BookPatchRequest.builder().title("1984").build();
+
+            book.setVersion(0L);
+            when(bookRepository.findById(1L)).thenReturn(Optional.of(book));
+            when(entityMapper.toBookResponseWithoutAuthors(book)).thenReturn(bookResponse);
+
+            assertNotNull(bookService.patchBook(1L, request, null));
+            verify(bookRepository).flush();
+            verifyNoInteractions(changeFeedService, eventPublisher);
+        }
+
+        @Test
+        @DisplayName("Should replace authors when author ids are supplied")
+        void patchBook_ShouldReplaceAuthors() {
+            BookPatchRequest request = BookPatchRequest.builder().authorIds(Set.of(1L)).build();
+
+            when(bookRepository.findByIdWithAuthors(1L)).thenReturn(Optional.of(book));
+            when(authorRepository.findById(1L)).thenReturn(Optional.of(author));
+            when(entityMapper.toBookResponse(book)).thenReturn(bookResponse);
+
+            assertNotNull(bookService.patchBook(1L, request, null));
+            assertEquals(Set.of(author), book.getAuthors());
+        }
+
+        @Test
+        @DisplayName("Should throw ResourceNotFoundException when patching non-existent book")
+        void patchBook_ShouldThrowExceptionWhenNotFound() {
+            when(bookRepository.findById(999L)).thenReturn(Optional.empty());
+
+            assertThrows(ResourceNotFoundException.class,
+                    () -> bookService.patchBook(999L, new BookPatchRequest(), null));
+            verifyNoInteractions(changeFeedService);
         }
     }
 
@@ -268,6 +570,7 @@ class BookServiceImplTest {
 
             assertDoesNotThrow(() -> bookService.deleteBook(1L));
             verify(bookRepository).delete(book);
+            verify(changeFeedService).record(ChangeLogEntry.EntityType.BOOK, 1L, ChangeLogEntry.Operation.DELETE);
         }
 
         @Test
@@ -277,6 +580,7 @@ class BookServiceImplTest {
 
             assertThrows(ResourceNotFoundException.class,
                     () -> bookService.deleteBook(999L));
+            verifyNoInteractions(changeFeedService);
         }
     }
 }
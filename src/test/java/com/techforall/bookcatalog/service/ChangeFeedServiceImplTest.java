@@ -0,0 +1,195 @@
+package com.techforall.bookcatalog.service;
+
+import com.techforall.bookcatalog.config.ChangeFeedProperties;
+import com.techforall.bookcatalog.event.CatalogChangeEvent;
+import com.techforall.bookcatalog.model.dto.response.ChangeEventResponse;
+import com.techforall.bookcatalog.model.dto.response.ChangeFeedResponse;
+import com.techforall.bookcatalog.model.entity.ChangeLogEntry;
+import com.techforall.bookcatalog.repository.ChangeLogRepository;
+import com.techforall.bookcatalog.service.impl.ChangeFeedServiceImpl;
+import com.techforall.bookcatalog.utility.EntityMapper;
+import com.techforall.bookcatalog.utility.InFlightChanges;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ChangeFeedService Mockito Tests")
+class ChangeFeedServiceImplTest {
+
+    @Mock
+    private ChangeLogRepository changeLogRepository;
+
+    @Mock
+    private EntityMapper entityMapper;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private InFlightChanges inFlightChanges;
+
+    private ChangeFeedServiceImpl changeFeedService;
+
+    @BeforeEach
+    void setUp() {
+        ChangeFeedProperties properties = new ChangeFeedProperties();
+        properties.setVisibilityDelay(Duration.ofSeconds(2));
+        changeFeedService = new ChangeFeedServiceImpl(
+                changeLogRepository, properties, entityMapper, eventPublisher, inFlightChanges);
+    }
+
+    private static ChangeLogEntry entry(long sequence, Instant changedAt) {
+        ChangeLogEntry entry = new ChangeLogEntry(
+                ChangeLogEntry.EntityType.BOOK, sequence * 100, ChangeLogEntry.Operation.UPDATE, changedAt);
+        entry.setSequence(sequence);
+        return entry;
+    }
+
+    private void mapSequences() {
+        when(entityMapper.toChangeEventResponse(any())).thenAnswer(invocation -> ChangeEventResponse.builder()
+                .sequence(invocation.<ChangeLogEntry>getArgument(0).getSequence())
+                .build());
+    }
+
+    @Nested
+    @DisplayName("getChanges Tests")
+    class GetChangesTests {
+
+        @Test
+        @DisplayName("Should stop at an entry that is not visible yet instead of skipping it")
+        void getChanges_ShouldStopAtFirstInvisibleEntry() {
+            Instant old = Instant.now().minusSeconds(10);
+            when(inFlightChanges.completedUpTo()).thenReturn(Long.MAX_VALUE);
+            when(changeLogRepository.findBySequenceGreaterThanOrderBySequenceAsc(eq(9L), any(Limit.class)))
+                    .thenReturn(List.of(entry(10, Instant.now()), entry(11, old)));
+
+            ChangeFeedResponse response = changeFeedService.getChanges(9, 10);
+
+            assertTrue(response.getChanges().isEmpty());
+            assertEquals(9, response.getNextCursor());
+            assertFalse(response.isHasMore());
+        }
+
+        @Test
+        @DisplayName("Should serve entries up to the one that is not visible yet")
+        void getChanges_ShouldServeVisiblePrefix() {
+            Instant old = Instant.now().minusSeconds(10);
+            mapSequences();
+            when(inFlightChanges.completedUpTo()).thenReturn(Long.MAX_VALUE);
+            when(changeLogRepository.findBySequenceGreaterThanOrderBySequenceAsc(eq(0L), any(Limit.class)))
+                    .thenReturn(List.of(entry(1, old), entry(2, old), entry(3, Instant.now()), entry(4, old)));
+
+            ChangeFeedResponse response = changeFeedService.getChanges(0, 10);
+
+            assertEquals(List.of(1L, 2L), response.getChanges().stream().map(ChangeEventResponse::getSequence).toList());
+            assertEquals(2, response.getNextCursor());
+        }
+
+        @Test
+        @DisplayName("Should not move the cursor past a sequence whose transaction is still running")
+        void getChanges_ShouldStopBeforeInFlightSequence() {
+            Instant old = Instant.now().minusSeconds(10);
+            mapSequences();
+            when(inFlightChanges.completedUpTo()).thenReturn(11L);
+            when(changeLogRepository.findBySequenceGreaterThanOrderBySequenceAsc(eq(10L), any(Limit.class)))
+                    .thenReturn(List.of(entry(11, old), entry(13, old)));
+
+            ChangeFeedResponse response = changeFeedService.getChanges(10, 10);
+
+            assertEquals(List.of(11L), response.getChanges().stream().map(ChangeEventResponse::getSequence).toList());
+            assertEquals(11, response.getNextCursor());
+        }
+
+        @Test
+        @DisplayName("Should report more when a full page of visible entries was returned")
+        void getChanges_ShouldReportMore() {
+            Instant old = Instant.now().minusSeconds(10);
+            mapSequences();
+            when(inFlightChanges.completedUpTo()).thenReturn(Long.MAX_VALUE);
+            when(changeLogRepository.findBySequenceGreaterThanOrderBySequenceAsc(eq(0L), any(Limit.class)))
+                    .thenReturn(List.of(entry(1, old), entry(2, old), entry(3, old)));
+
+            ChangeFeedResponse response = changeFeedService.getChanges(0, 2);
+
+            assertEquals(2, response.getChanges().size());
+            assertEquals(2, response.getNextCursor());
+            assertTrue(response.isHasMore());
+        }
+    }
+
+    @Nested
+    @DisplayName("record Tests")
+    class RecordTests {
+
+        @BeforeEach
+        void startTransaction() {
+            TransactionSynchronizationManager.initSynchronization();
+        }
+
+        @AfterEach
+        void endTransaction() {
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        @Test
+        @DisplayName("Should write entries, publish them and track them only when the transaction commits")
+        @SuppressWarnings("unchecked")
+        void record_ShouldWriteBeforeCommit() {
+            mapSequences();
+            when(changeLogRepository.saveAll(anyList())).thenAnswer(invocation -> {
+                List<ChangeLogEntry> saved = new ArrayList<>(invocation.<List<ChangeLogEntry>>getArgument(0));
+                for (int i = 0; i < saved.size(); i++) {
+                    saved.get(i).setSequence(41L + i);
+                }
+                return saved;
+            });
+
+            changeFeedService.record(ChangeLogEntry.EntityType.BOOK, 7L, ChangeLogEntry.Operation.CREATE);
+            changeFeedService.recordAll(ChangeLogEntry.EntityType.BOOK, List.of(8L), ChangeLogEntry.Operation.DELETE);
+            verifyNoInteractions(changeLogRepository, eventPublisher, inFlightChanges);
+
+            Instant beforeCommit = Instant.now();
+            TransactionSynchronizationManager.getSynchronizations().forEach(sync -> sync.beforeCommit(false));
+
+            ArgumentCaptor<List<ChangeLogEntry>> written = ArgumentCaptor.forClass(List.class);
+            verify(changeLogRepository).saveAll(written.capture());
+            assertEquals(List.of(7L, 8L), written.getValue().stream().map(ChangeLogEntry::getEntityId).toList());
+            assertFalse(written.getValue().get(0).getChangedAt().isBefore(beforeCommit));
+            verify(eventPublisher, times(2)).publishEvent(any(CatalogChangeEvent.class));
+            verify(inFlightChanges).track(List.of(41L, 42L));
+        }
+
+        @Test
+        @DisplayName("Should write nothing when the transaction rolls back")
+        void record_ShouldWriteNothingOnRollback() {
+            changeFeedService.record(ChangeLogEntry.EntityType.BOOK, 7L, ChangeLogEntry.Operation.CREATE);
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+            verifyNoInteractions(changeLogRepository, eventPublisher, inFlightChanges);
+        }
+    }
+}
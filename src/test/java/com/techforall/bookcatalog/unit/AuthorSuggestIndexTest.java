@@ -0,0 +1,141 @@
+package com.techforall.bookcatalog.unit;
+
+import com.techforall.bookcatalog.suggest.AuthorSuggestIndex;
+import com.techforall.bookcatalog.suggest.IndexedAuthor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+@DisplayName("Author Suggest Index Unit Tests")
+class AuthorSuggestIndexTest {
+
+    private AuthorSuggestIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new AuthorSuggestIndex();
+        index.rebuild(() -> List.of(
+                new IndexedAuthor(1L, "George", "Orwell"),
+                new IndexedAuthor(2L, "Aldous", "Huxley"),
+                new IndexedAuthor(3L, "Gabriel", "García Márquez"),
+                new IndexedAuthor(4L, "George", "Eliot")));
+    }
+
+    @Nested
+    @DisplayName("suggest Tests")
+    class SuggestTests {
+
+        @Test
+        @DisplayName("Should match full name and surname prefixes, newest first")
+        void suggest_ShouldMatchNameAndSurname() {
+            assertEquals(List.of(4L, 1L), ids(index.suggest("geo", 10)));
+            assertEquals(List.of(1L), ids(index.suggest("Orw", 10)));
+            assertEquals(List.of(1L), ids(index.suggest("george o", 10)));
+        }
+
+        @Test
+        @DisplayName("Should ignore case and accents")
+        void suggest_ShouldFoldCaseAndAccents() {
+            assertEquals(List.of(3L), ids(index.suggest("GARCIA MAR", 10)));
+            assertEquals(List.of(3L), ids(index.suggest("gabriel garcía", 10)));
+        }
+
+        @Test
+        @DisplayName("Should list an author once even when both terms match")
+        void suggest_ShouldNotRepeatAuthors() {
+            index.upsert(new IndexedAuthor(5L, "Eliot", "Eliot"));
+
+            assertEquals(List.of(5L, 4L), ids(index.suggest("eliot", 10)));
+        }
+
+        @Test
+        @DisplayName("Should return nothing for a blank prefix or no match")
+        void suggest_ShouldReturnEmpty() {
+            assertTrue(index.suggest("  ", 10).isEmpty());
+            assertTrue(index.suggest("tolkien", 10).isEmpty());
+        }
+    }
+
+    @Nested
+    @DisplayName("write Tests")
+    class WriteTests {
+
+        @Test
+        @DisplayName("Should serve new, renamed and deleted authors before the next rebuild")
+        void upsertAndRemove_ShouldApplyImmediately() {
+            index.upsert(new IndexedAuthor(5L, "Georgette", "Heyer"));
+            index.upsert(new IndexedAuthor(1L, "Eric", "Blair"));
+            index.remove(4L);
+
+            assertEquals(List.of(5L), ids(index.suggest("geo", 10)));
+            assertEquals(List.of(1L), ids(index.suggest("blair", 10)));
+            assertTrue(index.suggest("orwell", 10).isEmpty());
+            assertEquals(3, index.pendingChanges());
+        }
+
+        @Test
+        @DisplayName("Should fold pending changes into the snapshot on rebuild")
+        void rebuild_ShouldResetPendingChanges() {
+            index.upsert(new IndexedAuthor(5L, "Georgette", "Heyer"));
+
+            index.rebuild(() -> List.of(new IndexedAuthor(5L, "Georgette", "Heyer")));
+
+            assertEquals(0, index.pendingChanges());
+            assertEquals(1, index.size());
+            assertEquals(List.of(5L), ids(index.suggest("geo", 10)));
+        }
+
+        @Test
+        @DisplayName("Should keep writes that arrive while a rebuild is loading")
+        void rebuild_ShouldKeepConcurrentWrites() {
+            index.rebuild(() -> {
+                index.upsert(new IndexedAuthor(9L, "Ursula", "Le Guin"));
+                return List.of(new IndexedAuthor(1L, "George", "Orwell"));
+            });
+
+            assertEquals(List.of(9L), ids(index.suggest("ursula", 10)));
+        }
+    }
+
+    @Test
+    @DisplayName("Should return the same top K as a full scan")
+    void suggest_ShouldMatchFullScan() {
+        Random random = new Random(42);
+        List<IndexedAuthor> authors = new ArrayList<>();
+        for (long id = 1; id <= 20_000; id++) {
+            authors.add(new IndexedAuthor(id, randomWord(random), randomWord(random)));
+        }
+        index.rebuild(() -> authors);
+
+        for (String prefix : List.of("a", "ba", "cab", "d")) {
+            List<Long> expected = authors.stream()
+                    .filter(author -> author.fullName().startsWith(prefix) || author.surname().startsWith(prefix))
+                    .map(IndexedAuthor::id)
+                    .sorted(Comparator.reverseOrder())
+                    .limit(10)
+                    .toList();
+            assertEquals(expected, ids(index.suggest(prefix, 10)), prefix);
+        }
+    }
+
+    private static List<Long> ids(List<IndexedAuthor> authors) {
+        return authors.stream().map(IndexedAuthor::id).toList();
+    }
+
+    private static String randomWord(Random random) {
+        StringBuilder word = new StringBuilder();
+        for (int i = 0, length = 3 + random.nextInt(5); i < length; i++) {
+            word.append((char) ('a' + random.nextInt(4)));
+        }
+        return word.toString();
+    }
+}
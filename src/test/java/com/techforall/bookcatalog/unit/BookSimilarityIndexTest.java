@@ -0,0 +1,118 @@
+package com.techforall.bookcatalog.unit;
+
+import com.techforall.bookcatalog.dedup.BookSimilarityIndex;
+import com.techforall.bookcatalog.dedup.IndexedBook;
+import com.techforall.bookcatalog.dedup.SimilarBook;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+@DisplayName("Book Similarity Index Unit Tests")
+class BookSimilarityIndexTest {
+
+    private static final double THRESHOLD = 0.8;
+
+    private BookSimilarityIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new BookSimilarityIndex();
+        index.rebuild(() -> List.of(
+                new IndexedBook(1L, "The Road to Wigan Pier", Set.of(10L)),
+                new IndexedBook(2L, "Homage to Catalonia", Set.of(10L)),
+                new IndexedBook(3L, "Brave New World", Set.of(20L)),
+                new IndexedBook(4L, "A Collection of Essays", Set.of())));
+    }
+
+    @Nested
+    @DisplayName("findSimilar Tests")
+    class FindSimilarTests {
+
+        @Test
+        @DisplayName("Should find titles that differ in spelling, case and punctuation")
+        void findSimilar_ShouldFindSpellingVariants() {
+            assertEquals(List.of(1L), ids(index.findSimilar("The road to Wigan-Pier", Set.of(10L), null, THRESHOLD)));
+            assertEquals(List.of(2L), ids(index.findSimilar("Hommage to Catalonia", Set.of(10L), null, THRESHOLD)));
+        }
+
+        @Test
+        @DisplayName("Should not match the same title by other authors")
+        void findSimilar_ShouldRequireSharedAuthor() {
+            assertTrue(index.findSimilar("Brave New World", Set.of(99L), null, THRESHOLD).isEmpty());
+            assertEquals(List.of(3L), ids(index.findSimilar("Brave New World", Set.of(), null, THRESHOLD)));
+        }
+
+        @Test
+        @DisplayName("Should not match different titles or the excluded book")
+        void findSimilar_ShouldSkipUnrelatedAndExcluded() {
+            assertTrue(index.findSimilar("Down and Out in Paris", Set.of(10L), null, THRESHOLD).isEmpty());
+            assertTrue(index.findSimilar("Brave New World", Set.of(20L), 3L, THRESHOLD).isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should follow upserts and removals")
+        void findSimilar_ShouldFollowWrites() {
+            index.upsert(new IndexedBook(3L, "Island", null));
+            index.remove(2L);
+
+            assertTrue(index.findSimilar("Brave New World", Set.of(20L), null, THRESHOLD).isEmpty());
+            assertEquals(Set.of(20L), index.get(3L).authorIds());
+            assertTrue(index.findSimilar("Homage to Catalonia", Set.of(10L), null, THRESHOLD).isEmpty());
+        }
+    }
+
+    @Nested
+    @DisplayName("forEachSimilarPair Tests")
+    class ForEachSimilarPairTests {
+
+        @Test
+        @DisplayName("Should report every similar pair once")
+        void forEachSimilarPair_ShouldReportEachPairOnce() {
+            index.upsert(new IndexedBook(5L, "Brave new world!", Set.of(20L)));
+            index.upsert(new IndexedBook(6L, "Brave New Wrld", Set.of(20L)));
+            List<String> pairs = new ArrayList<>();
+
+            assertTrue(index.forEachSimilarPair(0.6, 10,
+                    (book, match) -> pairs.add(book.id() + "-" + match.book().id())));
+
+            assertEquals(List.of("3-5", "3-6", "5-6"), pairs.stream().sorted().toList());
+        }
+
+        @Test
+        @DisplayName("Should stop at the pair limit")
+        void forEachSimilarPair_ShouldStopAtLimit() {
+            index.upsert(new IndexedBook(5L, "Brave new world!", Set.of(20L)));
+            index.upsert(new IndexedBook(6L, "Brave New Wrld", Set.of(20L)));
+            List<String> pairs = new ArrayList<>();
+
+            assertFalse(index.forEachSimilarPair(0.6, 2,
+                    (book, match) -> pairs.add(book.id() + "-" + match.book().id())));
+            assertEquals(2, pairs.size());
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep writes that arrive while a rebuild is loading")
+    void rebuild_ShouldKeepConcurrentWrites() {
+        index.rebuild(() -> {
+            index.upsert(new IndexedBook(7L, "Animal Farm", Set.of(10L)));
+            index.remove(1L);
+            return List.of(new IndexedBook(1L, "The Road to Wigan Pier", Set.of(10L)));
+        });
+
+        assertEquals(1, index.size());
+        assertEquals(List.of(7L), ids(index.findSimilar("Animal Farm", Set.of(10L), null, THRESHOLD)));
+    }
+
+    private static List<Long> ids(List<SimilarBook> matches) {
+        return matches.stream().map(match -> match.book().id()).toList();
+    }
+}
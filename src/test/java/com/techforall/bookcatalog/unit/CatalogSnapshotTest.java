@@ -0,0 +1,220 @@
+package com.techforall.bookcatalog.unit;
+
+import com.techforall.bookcatalog.model.dto.response.AuthorResponse;
+import com.techforall.bookcatalog.model.dto.response.AuthorSummaryResponse;
+import com.techforall.bookcatalog.model.dto.response.BookResponse;
+import com.techforall.bookcatalog.model.dto.response.BookSummaryResponse;
+import com.techforall.bookcatalog.model.dto.response.PageResponse;
+import com.techforall.bookcatalog.service.CatalogSnapshotService;
+import com.techforall.bookcatalog.snapshot.CatalogSnapshot;
+import com.techforall.bookcatalog.snapshot.SnapshotAuthor;
+import com.techforall.bookcatalog.snapshot.SnapshotBook;
+import com.techforall.bookcatalog.utility.SnapshotFallback;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+
+@DisplayName("Catalog Snapshot Unit Tests")
+class CatalogSnapshotTest {
+
+    private static final Instant CREATED_AT = Instant.parse("2026-10-01T12:00:00Z");
+
+    @TempDir
+    Path directory;
+
+    private CatalogSnapshot snapshot;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        // Books by title, authors by surname, as the service loads them.
+        List<SnapshotBook> books = List.of(
+                new SnapshotBook(3L, 2L, "1984", "Secker & Warburg", "1st", LocalDate.of(1949, 6, 8), new long[]{10L}),
+                new SnapshotBook(1L, 0L, "Animal Farm", null, null, null, new long[]{10L}),
+                new SnapshotBook(2L, 5L, "Good Omens", "Gollancz", null, null, new long[]{20L, 30L}));
+        List<SnapshotAuthor> authors = List.of(
+                new SnapshotAuthor(30L, 0L, "Neil", "Gaiman", 1960),
+                new SnapshotAuthor(10L, 1L, "George", "Orwell", 1903),
+                new SnapshotAuthor(20L, 0L, "Terry", "Pratchett", null));
+
+        Path path = directory.resolve("catalog.snapshot");
+        CatalogSnapshot.write(path, CREATED_AT, books, authors);
+        snapshot = CatalogSnapshot.open(path);
+    }
+
+    @Nested
+    @DisplayName("CatalogSnapshot Tests")
+    class SnapshotTests {
+
+        @Test
+        @DisplayName("Should read the header")
+        void open_ShouldReadHeader() {
+            assertEquals(CREATED_AT, snapshot.getCreatedAt());
+            assertEquals(3, snapshot.getBookCount());
+            assertEquals(3, snapshot.getAuthorCount());
+        }
+
+        @Test
+        @DisplayName("Should find a book by id with its authors")
+        void findBook_ShouldReturnBookWithAuthors() {
+            BookResponse book = snapshot.findBook(2L).orElseThrow();
+
+            assertEquals("Good Omens", book.getTitle());
+            assertEquals("Gollancz", book.getPublisher());
+            assertNull(book.getEdition());
+            assertNull(book.getPublishedDate());
+            assertEquals(5L, book.getVersion());
+            assertEquals(List.of("Neil Gaiman", "Terry Pratchett"),
+                    book.getAuthors().stream().map(AuthorSummaryResponse::getFullName).sorted().toList());
+        }
+
+        @Test
+        @DisplayName("Should keep dates and versions")
+        void findBook_ShouldKeepDates() {
+            BookResponse book = snapshot.findBook(3L).orElseThrow();
+
+            assertEquals(LocalDate.of(1949, 6, 8), book.getPublishedDate());
+            assertEquals(2L, book.getVersion());
+        }
+
+        @Test
+        @DisplayName("Should find an author by id")
+        void findAuthor_ShouldReturnAuthor() {
+            AuthorResponse author = snapshot.findAuthor(20L).orElseThrow();
+
+            assertEquals("Terry Pratchett", author.getFullName());
+            assertNull(author.getBirthYear());
+            assertEquals(1903, snapshot.findAuthor(10L).orElseThrow().getBirthYear());
+        }
+
+        @Test
+        @DisplayName("Should return empty for unknown ids")
+        void find_ShouldReturnEmptyForUnknownIds() {
+            assertTrue(snapshot.findBook(4L).isEmpty());
+            assertTrue(snapshot.findBook(0L).isEmpty());
+            assertTrue(snapshot.findAuthor(15L).isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should page books in the default title order")
+        void getBookPage_ShouldPageByTitle() {
+            PageResponse<BookSummaryResponse> page = snapshot.getBookPage(
+                    PageRequest.of(0, 2, Sort.by("title", "id"))).orElseThrow();
+
+            assertEquals(List.of("1984", "Animal Farm"), page.getContent().stream().map(BookSummaryResponse::getTitle).toList());
+            assertEquals(3, page.getTotalElements());
+            assertEquals(2, page.getTotalPages());
+            assertTrue(page.isFirst());
+            assertFalse(page.isLast());
+        }
+
+        @Test
+        @DisplayName("Should page books by id in either direction")
+        void getBookPage_ShouldPageById() {
+            PageResponse<BookSummaryResponse> ascending = snapshot.getBookPage(
+                    PageRequest.of(1, 2, Sort.by("id"))).orElseThrow();
+            PageResponse<BookSummaryResponse> descending = snapshot.getBookPage(
+                    PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "id"))).orElseThrow();
+
+            assertEquals(List.of(3L), ascending.getContent().stream().map(BookSummaryResponse::getId).toList());
+            assertTrue(ascending.isLast());
+            assertEquals(List.of(3L, 2L), descending.getContent().stream().map(BookSummaryResponse::getId).toList());
+        }
+
+        @Test
+        @DisplayName("Should page authors in descending surname order")
+        void getAuthorPage_ShouldPageBySurnameDescending() {
+            PageResponse<AuthorSummaryResponse> page = snapshot.getAuthorPage(
+                    PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "surname", "id"))).orElseThrow();
+
+            assertEquals(List.of(20L, 10L, 30L), page.getContent().stream().map(AuthorSummaryResponse::getId).toList());
+        }
+
+        @Test
+        @DisplayName("Should not serve orders it has no index for")
+        void getBookPage_ShouldRejectUnindexedOrder() {
+            assertTrue(snapshot.getBookPage(PageRequest.of(0, 20, Sort.by("publisher", "id"))).isEmpty());
+            assertTrue(snapshot.getAuthorPage(PageRequest.of(0, 20, Sort.by("name", "id"))).isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should reject files that are not snapshots")
+        void open_ShouldRejectOtherFiles() throws IOException {
+            Path other = Files.write(directory.resolve("other"), new byte[64]);
+
+            assertThrows(IllegalArgumentException.class, () -> CatalogSnapshot.open(other));
+        }
+    }
+
+    @Nested
+    @DisplayName("SnapshotFallback Tests")
+    class FallbackTests {
+
+        private CatalogSnapshotService snapshotService;
+        private SnapshotFallback fallback;
+
+        @BeforeEach
+        void setUp() {
+            snapshotService = mock(CatalogSnapshotService.class);
+            when(snapshotService.current()).thenReturn(Optional.of(snapshot));
+            fallback = new SnapshotFallback(snapshotService);
+        }
+
+        @Test
+        @DisplayName("Should not touch the snapshot while the database answers")
+        void run_ShouldPreferDatabase() {
+            BookResponse fromDatabase = BookResponse.builder().id(1L).title("Animal Farm").build();
+
+            assertSame(fromDatabase, fallback.run(() -> fromDatabase, s -> s.findBook(1L)));
+        }
+
+        @Test
+        @DisplayName("Should serve from the snapshot when the database is unreachable")
+        void run_ShouldFallBackWhenDatabaseIsDown() {
+            BookResponse book = fallback.run(() -> {
+                throw new DataAccessResourceFailureException("Connection refused");
+            }, s -> s.findBook(1L));
+
+            assertEquals("Animal Farm", book.getTitle());
+        }
+
+        @Test
+        @DisplayName("Should rethrow when the snapshot cannot answer")
+        void run_ShouldRethrowWhenSnapshotCannotAnswer() {
+            assertThrows(DataAccessResourceFailureException.class, () -> fallback.run(() -> {
+                throw new DataAccessResourceFailureException("Connection refused");
+            }, s -> s.findBook(99L)));
+
+            when(snapshotService.current()).thenReturn(Optional.empty());
+            assertThrows(DataAccessResourceFailureException.class, () -> fallback.run(() -> {
+                throw new DataAccessResourceFailureException("Connection refused");
+            }, s -> s.findBook(1L)));
+        }
+
+        @Test
+        @DisplayName("Should not fall back on other database errors")
+        void run_ShouldRethrowOtherErrors() {
+            assertThrows(DataIntegrityViolationException.class, () -> fallback.run(() -> {
+                throw new DataIntegrityViolationException("constraint");
+            }, s -> s.findBook(1L)));
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.techforall.bookcatalog.unit;
 
+import com.techforall.bookcatalog.model.dto.request.AuthorPatchRequest;
 import com.techforall.bookcatalog.model.dto.request.AuthorRequest;
+import com.techforall.bookcatalog.model.dto.request.BookPatchRequest;
 import com.techforall.bookcatalog.model.dto.request.BookRequest;
 import com.techforall.bookcatalog.model.dto.response.*;
 import com.techforall.bookcatalog.model.dto.response.AuthorResponse;
@@ -125,6 +127,21 @@ class EntityMapperTest {
             assertEquals("Orwell", author.getSurname());
             assertEquals(1903, author.getBirthYear());
         }
+
+        @Test
+        @DisplayName("Should only apply non-null fields from AuthorPatchRequest")
+        void patchAuthor_ShouldOnlyApplyNonNullFields() {
+            Author author = createAuthor(1L, "George", "Orwell", 1903);
+            AuthorPatchRequest request = AuthorPatchRequest.builder()
+                    .surname("Blair")
+                    .build();
+
+            entityMapper.patchAuthor(author, request);
+
+            assertEquals("George", author.getName());
+            assertEquals("Blair", author.getSurname());
+            assertEquals(1903, author.getBirthYear());
+        }
     }
 
     @Nested
@@ -190,6 +207,23 @@ class EntityMapperTest {
             assertEquals("First Edition", book.getEdition());
             assertEquals(LocalDate.of(1949, 6, 8), book.getPublishedDate());
         }
+
+        @Test
+        @DisplayName("Should only apply non-null fields from BookPatchRequest")
+        void patchBook_ShouldOnlyApplyNonNullFields() {
+            Book book = createBook(1L, "1984", "Secker & Warburg", "First Edition",
+                    LocalDate.of(1949, 6, 8), new HashSet<>());
+            BookPatchRequest request = BookPatchRequest.builder()
+                    .edition("Second Edition")
+                    .build();
+
+            entityMapper.patchBook(book, request);
+
+            assertEquals("1984", book.getTitle());
+            assertEquals("Secker & Warburg", book.getPublisher());
+            assertEquals("Second Edition", book.getEdition());
+            assertEquals(LocalDate.of(1949, 6, 8), book.getPublishedDate());
+        }
     }
 
     // Helper methods
@@ -0,0 +1,82 @@
+package com.techforall.bookcatalog.unit;
+
+import com.techforall.bookcatalog.membership.IdBloomFilter;
+import com.techforall.bookcatalog.membership.IdMembership;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+@DisplayName("IdMembership Tests")
+class IdMembershipTest {
+
+    @Test
+    @DisplayName("Should contain every added id and stay near the configured false positive rate")
+    void bloomFilter_ShouldHaveNoFalseNegatives() {
+        IdBloomFilter filter = IdBloomFilter.create(100_000, 0.01);
+        for (long id = 1; id <= 100_000; id++) {
+            filter.add(id * 2);
+        }
+
+        for (long id = 1; id <= 100_000; id++) {
+            assertTrue(filter.mightContain(id * 2), "false negative for " + id * 2);
+        }
+        int falsePositives = 0;
+        for (long id = 0; id < 100_000; id++) {
+            if (filter.mightContain(id * 2 + 1)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 2_000, "false positives: " + falsePositives);
+    }
+
+    @Test
+    @DisplayName("Should report every id as possibly existing until loaded")
+    void mightContain_ShouldPassEverythingBeforeLoad() {
+        IdMembership membership = new IdMembership();
+
+        assertFalse(membership.isLoaded());
+        assertTrue(membership.mightContain(42));
+    }
+
+    @Test
+    @DisplayName("Should rule out only missing ids up to the highest id read by the previous load")
+    void mightContain_ShouldOnlyVouchForPreviouslyLoadedRange() {
+        IdMembership membership = new IdMembership();
+        membership.reload(IdBloomFilter.create(1024, 0.001), filter -> 3);
+        assertFalse(membership.isLoaded(), "the first load vouches for nothing");
+        assertTrue(membership.mightContain(2));
+
+        membership.reload(IdBloomFilter.create(1024, 0.001), filter -> {
+            filter.add(1);
+            filter.add(3);
+            filter.add(5);
+            return 6;
+        });
+
+        assertTrue(membership.isLoaded());
+        assertTrue(membership.mightContain(1));
+        assertTrue(membership.mightContain(3));
+        assertFalse(membership.mightContain(2));
+        assertTrue(membership.mightContain(4), "a lower id than the highest one read may still commit");
+        assertTrue(membership.mightContain(7), "ids above the loaded range may have been created elsewhere");
+    }
+
+    @Test
+    @DisplayName("Should keep ids added while a reload runs")
+    void add_ShouldReachFilterBeingLoaded() {
+        IdMembership membership = new IdMembership();
+        membership.reload(IdBloomFilter.create(1024, 0.001), filter -> 10);
+        membership.reload(IdBloomFilter.create(1024, 0.001), filter -> 10);
+        membership.add(5);
+
+        membership.reload(IdBloomFilter.create(1024, 0.001), filter -> {
+            membership.add(7);
+            return 10;
+        });
+
+        assertTrue(membership.mightContain(7));
+        assertFalse(membership.mightContain(5), "a reload forgets ids it did not load");
+    }
+}
@@ -0,0 +1,131 @@
+package com.techforall.bookcatalog.unit;
+
+import com.techforall.bookcatalog.config.OptimisticLockProperties;
+import com.techforall.bookcatalog.exception.PreconditionFailedException;
+import com.techforall.bookcatalog.model.entity.Book;
+import com.techforall.bookcatalog.utility.ETags;
+import com.techforall.bookcatalog.utility.OptimisticLockRetry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+@DisplayName("Optimistic Locking Unit Tests")
+class OptimisticLockRetryTest {
+
+    private OptimisticLockProperties properties;
+    private OptimisticLockRetry retry;
+
+    @BeforeEach
+    void setUp() {
+        properties = new OptimisticLockProperties();
+        properties.setMaxRetries(2);
+        retry = new OptimisticLockRetry(properties);
+    }
+
+    @Nested
+    @DisplayName("OptimisticLockRetry Tests")
+    class RetryTests {
+
+        @Test
+        @DisplayName("Should return the result of the first successful attempt")
+        void run_ShouldRetryUntilSuccess() {
+            AtomicInteger attempts = new AtomicInteger();
+
+            String result = retry.run(() -> {
+                if (attempts.incrementAndGet() < 3) {
+                    throw conflict();
+                }
+                return "updated";
+            });
+
+            assertEquals("updated", result);
+            assertEquals(3, attempts.get());
+        }
+
+        @Test
+        @DisplayName("Should rethrow once the retries are used up")
+        void run_ShouldGiveUpAfterMaxRetries() {
+            AtomicInteger attempts = new AtomicInteger();
+
+            assertThrows(ObjectOptimisticLockingFailureException.class, () -> retry.run(() -> {
+                attempts.incrementAndGet();
+                throw conflict();
+            }));
+            assertEquals(3, attempts.get());
+        }
+
+        @Test
+        @DisplayName("Should not retry when retries are disabled")
+        void run_ShouldNotRetryWhenDisabled() {
+            properties.setMaxRetries(0);
+            AtomicInteger attempts = new AtomicInteger();
+
+            assertThrows(ObjectOptimisticLockingFailureException.class, () -> retry.run(() -> {
+                attempts.incrementAndGet();
+                throw conflict();
+            }));
+            assertEquals(1, attempts.get());
+        }
+
+        @Test
+        @DisplayName("Should not retry other failures")
+        void run_ShouldNotRetryOtherExceptions() {
+            AtomicInteger attempts = new AtomicInteger();
+
+            assertThrows(IllegalStateException.class, () -> retry.run(() -> {
+                attempts.incrementAndGet();
+                throw new IllegalStateException();
+            }));
+            assertEquals(1, attempts.get());
+        }
+
+        private ObjectOptimisticLockingFailureException conflict() {
+            return new ObjectOptimisticLockingFailureException(Book.class, 1L);
+        }
+    }
+
+    @Nested
+    @DisplayName("ETags Tests")
+    class ETagsTests {
+
+        @Test
+        @DisplayName("Should quote the version")
+        void of_ShouldQuoteVersion() {
+            assertEquals("\"3\"", ETags.of(3L));
+            assertNull(ETags.of(null));
+        }
+
+        @Test
+        @DisplayName("Should parse strong and bare versions")
+        void parseIfMatch_ShouldParseVersions() {
+            assertEquals(3L, ETags.parseIfMatch("\"3\""));
+            assertEquals(3L, ETags.parseIfMatch("3"));
+        }
+
+        @Test
+        @DisplayName("Should fail the precondition for a weak tag")
+        void parseIfMatch_ShouldRejectWeakTag() {
+            assertThrows(PreconditionFailedException.class, () -> ETags.parseIfMatch("W/\"3\""));
+        }
+
+        @Test
+        @DisplayName("Should treat a missing header and * as unconditional")
+        void parseIfMatch_ShouldReturnNullForUnconditional() {
+            assertNull(ETags.parseIfMatch(null));
+            assertNull(ETags.parseIfMatch("*"));
+        }
+
+        @Test
+        @DisplayName("Should fail the precondition for an unknown tag")
+        void parseIfMatch_ShouldRejectUnknownTag() {
+            assertThrows(PreconditionFailedException.class, () -> ETags.parseIfMatch("\"abc\""));
+        }
+    }
+}
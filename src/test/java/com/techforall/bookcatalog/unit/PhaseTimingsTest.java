@@ -0,0 +1,60 @@
+package com.techforall.bookcatalog.unit;
+
+import com.techforall.bookcatalog.monitoring.PhaseTimings;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.techforall.bookcatalog.monitoring.RequestPhase.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+
+@DisplayName("PhaseTimings Tests")
+class PhaseTimingsTest {
+
+    @Test
+    @DisplayName("Should pause the outer phase while a nested phase runs")
+    void enter_ShouldAccountExclusiveTime() throws InterruptedException {
+        PhaseTimings timings = new PhaseTimings();
+        long started = System.nanoTime();
+
+        timings.enter(MAPPING);
+        Thread.sleep(20);
+        timings.enter(REPOSITORY);
+        Thread.sleep(20);
+        timings.exit();
+        timings.exit();
+
+        long elapsed = System.nanoTime() - started;
+        assertTrue(timings.getNanos(MAPPING) >= TimeUnit.MILLISECONDS.toNanos(20));
+        assertTrue(timings.getNanos(REPOSITORY) >= TimeUnit.MILLISECONDS.toNanos(20));
+        assertTrue(timings.getNanos(MAPPING) + timings.getNanos(REPOSITORY) <= elapsed);
+    }
+
+    @Test
+    @DisplayName("Should list only the phases that ran, with their call counts")
+    void toServerTiming_ShouldListPhasesThatRan() {
+        PhaseTimings timings = new PhaseTimings();
+        for (int i = 0; i < 3; i++) {
+            timings.enter(MAPPING);
+            timings.exit();
+        }
+        timings.enter(ERROR);
+        timings.exit();
+
+        assertTrue(timings.toServerTiming().matches(
+                "mapping;dur=\\d+\\.\\d{3};desc=\"3 calls\", error;dur=\\d+\\.\\d{3};desc=\"1 call\""));
+        assertEquals(0, timings.getCount(REPOSITORY));
+    }
+
+    @Test
+    @DisplayName("Should ignore an exit without a matching enter")
+    void exit_ShouldIgnoreUnbalancedCall() {
+        PhaseTimings timings = new PhaseTimings();
+
+        timings.exit();
+
+        assertEquals("", timings.toServerTiming());
+    }
+}
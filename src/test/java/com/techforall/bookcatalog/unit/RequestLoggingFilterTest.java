@@ -0,0 +1,129 @@
+package com.techforall.bookcatalog.unit;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.techforall.bookcatalog.config.LoggingProperties;
+import com.techforall.bookcatalog.logging.RequestLoggingFilter;
+import com.techforall.bookcatalog.logging.SampledOutTurboFilter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+@DisplayName("RequestLoggingFilter Tests")
+class RequestLoggingFilterTest {
+
+    private final LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+    private final Logger handlerLog = context.getLogger("com.techforall.bookcatalog.controller.TestHandler");
+    private final Logger filterLog = context.getLogger(RequestLoggingFilter.class);
+    private final SampledOutTurboFilter turboFilter = new SampledOutTurboFilter();
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    private LoggingProperties properties;
+    private RequestLoggingFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        properties = new LoggingProperties();
+        filter = new RequestLoggingFilter(properties);
+        turboFilter.start();
+        context.addTurboFilter(turboFilter);
+        appender.start();
+        handlerLog.addAppender(appender);
+        filterLog.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        handlerLog.detachAppender(appender);
+        filterLog.detachAppender(appender);
+        context.getTurboFilterList().remove(turboFilter);
+    }
+
+    @Test
+    @DisplayName("Should generate a request id, expose it in the MDC and echo it on the response")
+    void doFilter_ShouldGenerateRequestId() throws Exception {
+        AtomicReference<String> seen = new AtomicReference<>();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/books/1"), response,
+                (req, res) -> seen.set(MDC.get(RequestLoggingFilter.REQUEST_ID)));
+
+        assertNotNull(seen.get());
+        assertEquals(seen.get(), response.getHeader("X-Request-Id"));
+        assertNull(MDC.get(RequestLoggingFilter.REQUEST_ID));
+        assertEquals(seen.get(), appender.list.getFirst().getMDCPropertyMap().get(RequestLoggingFilter.REQUEST_ID));
+    }
+
+    @Test
+    @DisplayName("Should keep a well-formed caller request id and replace a malformed one")
+    void doFilter_ShouldValidateCallerRequestId() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/books/1");
+        request.addHeader("X-Request-Id", "checkout-42");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, (req, res) -> { });
+        assertEquals("checkout-42", response.getHeader("X-Request-Id"));
+
+        request = new MockHttpServletRequest("GET", "/books/1");
+        request.addHeader("X-Request-Id", "forged\nline");
+        response = new MockHttpServletResponse();
+        filter.doFilter(request, response, (req, res) -> { });
+        assertNotEquals("forged\nline", response.getHeader("X-Request-Id"));
+    }
+
+    @Test
+    @DisplayName("Should log every line of a sampled-in request")
+    void doFilter_ShouldKeepSampledInRequest() throws Exception {
+        filter.doFilter(new MockHttpServletRequest("GET", "/books/1"), new MockHttpServletResponse(), handler(200));
+
+        assertEquals(List.of("Fetching book", "Slow lookup", "GET /books/1 -> 200 in {} ms"), messages());
+    }
+
+    @Test
+    @DisplayName("Should drop the success-path lines of a sampled-out request")
+    void doFilter_ShouldDropSampledOutSuccess() throws Exception {
+        properties.setSuccessSampleRate(0.0);
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/books/1"), new MockHttpServletResponse(), handler(200));
+
+        assertEquals(List.of("Slow lookup"), messages());
+    }
+
+    @Test
+    @DisplayName("Should keep the completion line of a failed request even when sampled out")
+    void doFilter_ShouldKeepFailureOfSampledOutRequest() throws Exception {
+        properties.setSuccessSampleRate(0.0);
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/books/1"), new MockHttpServletResponse(), handler(404));
+
+        assertEquals(List.of("Slow lookup", "GET /books/1 -> 404 in {} ms"), messages());
+    }
+
+    private FilterChain handler(int status) {
+        return (req, res) -> {
+            handlerLog.info("Fetching book");
+            handlerLog.warn("Slow lookup");
+            ((HttpServletResponse) res).setStatus(status);
+        };
+    }
+
+    private List<String> messages() {
+        return appender.list.stream()
+                .map(event -> event.getFormattedMessage().replaceAll("\\d+ ms$", "{} ms"))
+                .toList();
+    }
+}
@@ -0,0 +1,226 @@
+package com.techforall.bookcatalog.unit;
+
+import com.techforall.bookcatalog.cache.CachedResponse;
+import com.techforall.bookcatalog.config.ResponseCacheProperties;
+import com.techforall.bookcatalog.event.CatalogChangeEvent;
+import com.techforall.bookcatalog.model.dto.response.ChangeEventResponse;
+import com.techforall.bookcatalog.model.dto.response.ChangeFeedResponse;
+import com.techforall.bookcatalog.model.entity.ChangeLogEntry;
+import com.techforall.bookcatalog.repository.ChangeLogRepository;
+import com.techforall.bookcatalog.service.ChangeFeedService;
+import com.techforall.bookcatalog.service.impl.ResponseCacheServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.LongStream;
+import java.util.zip.GZIPInputStream;
+
+import static com.techforall.bookcatalog.model.entity.ChangeLogEntry.EntityType.AUTHOR;
+import static com.techforall.bookcatalog.model.entity.ChangeLogEntry.EntityType.BOOK;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+
+@DisplayName("ResponseCacheService Tests")
+class ResponseCacheServiceTest {
+
+    private static final byte[] BODY = "{\"id\":1,\"title\":\"1984\"}".getBytes(StandardCharsets.UTF_8);
+
+    private ResponseCacheProperties properties;
+    private ChangeFeedService changeFeedService;
+    private ChangeLogRepository changeLogRepository;
+    private ResponseCacheServiceImpl cache;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ResponseCacheProperties();
+        changeFeedService = mock(ChangeFeedService.class);
+        changeLogRepository = mock(ChangeLogRepository.class);
+        cache = new ResponseCacheServiceImpl(properties, changeFeedService, changeLogRepository);
+    }
+
+    @ParameterizedTest
+    @EnumSource(ResponseCacheProperties.Storage.class)
+    @DisplayName("Should return the stored body and its gzip variant")
+    void get_ShouldReturnStoredBodies(ResponseCacheProperties.Storage storage) throws IOException {
+        properties.setStorage(storage);
+        cache.put(BOOK, 1L, cache.stamp(), "\"0\"", "application/json", BODY);
+
+        CachedResponse cached = cache.get(BOOK, 1L).orElseThrow();
+        assertEquals("\"0\"", cached.eTag());
+        assertArrayEquals(BODY, bytesOf(cached, false));
+        assertArrayEquals(BODY, new GZIPInputStream(new ByteArrayInputStream(bytesOf(cached, true))).readAllBytes());
+        // Repeated writes of the same storage must not consume it.
+        assertArrayEquals(BODY, bytesOf(cached, false));
+        assertTrue(cache.get(AUTHOR, 1L).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should not store a response loaded before a write to the entity committed")
+    void put_ShouldRejectResponseLoadedBeforeWrite() {
+        long loadedAt = cache.stamp();
+        cache.onChange(change(BOOK, 1L, ChangeLogEntry.Operation.UPDATE));
+
+        cache.put(BOOK, 1L, loadedAt, "\"0\"", "application/json", BODY);
+        assertTrue(cache.get(BOOK, 1L).isEmpty());
+
+        cache.put(BOOK, 1L, cache.stamp(), "\"1\"", "application/json", BODY);
+        assertEquals("\"1\"", cache.get(BOOK, 1L).orElseThrow().eTag());
+    }
+
+    @Test
+    @DisplayName("Should drop every book when an author is renamed")
+    void onChange_ShouldDropBooksOnAuthorUpdate() {
+        long loadedAt = cache.stamp();
+        cache.put(BOOK, 1L, loadedAt, "\"0\"", "application/json", BODY);
+        cache.put(AUTHOR, 7L, loadedAt, "\"0\"", "application/json", BODY);
+
+        cache.onChange(change(AUTHOR, 8L, ChangeLogEntry.Operation.UPDATE));
+        cache.put(BOOK, 2L, loadedAt, "\"0\"", "application/json", BODY);
+
+        assertTrue(cache.get(BOOK, 1L).isEmpty());
+        assertTrue(cache.get(BOOK, 2L).isEmpty());
+        assertTrue(cache.get(AUTHOR, 7L).isPresent());
+    }
+
+    @Test
+    @DisplayName("Should evict the least recently used entries beyond the entry limit")
+    void put_ShouldEvictLeastRecentlyUsed() {
+        properties.setMaxEntries(2);
+        cache.put(BOOK, 1L, cache.stamp(), "\"0\"", "application/json", BODY);
+        cache.put(BOOK, 2L, cache.stamp(), "\"0\"", "application/json", BODY);
+        cache.get(BOOK, 1L);
+
+        cache.put(BOOK, 3L, cache.stamp(), "\"0\"", "application/json", BODY);
+
+        assertTrue(cache.get(BOOK, 1L).isPresent());
+        assertTrue(cache.get(BOOK, 2L).isEmpty());
+        assertTrue(cache.get(BOOK, 3L).isPresent());
+    }
+
+    @Test
+    @DisplayName("Should stay within the entry limit and consistent under concurrent use")
+    void put_ShouldStayBoundedUnderConcurrentUse() throws Exception {
+        properties.setMaxEntries(50);
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int worker = 0; worker < 8; worker++) {
+                workers.add(executor.submit(() -> {
+                    for (long i = 0; i < 2_000; i++) {
+                        long id = ThreadLocalRandom.current().nextLong(200);
+                        cache.put(BOOK, id, cache.stamp(), "\"0\"", "application/json", BODY);
+                        cache.get(BOOK, ThreadLocalRandom.current().nextLong(200));
+                        if (i % 50 == 0) {
+                            cache.onChange(change(BOOK, id, ChangeLogEntry.Operation.UPDATE));
+                        }
+                    }
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        }
+        cache.put(BOOK, 1_000L, cache.stamp(), "\"0\"", "application/json", BODY);
+
+        long cached = LongStream.rangeClosed(0, 1_000).filter(id -> cache.get(BOOK, id).isPresent()).count();
+        assertTrue(cached <= 50, "cached: " + cached);
+        assertTrue(cache.get(BOOK, 1_000L).isPresent());
+    }
+
+    @Test
+    @DisplayName("Should not store a response loaded before a write whose marker was evicted")
+    void put_ShouldRejectResponseLoadedBeforeEvictedMarker() {
+        properties.setMaxEntries(1);
+        long loadedAt = cache.stamp();
+        cache.onChange(change(BOOK, 1L, ChangeLogEntry.Operation.UPDATE));
+        cache.put(BOOK, 2L, cache.stamp(), "\"0\"", "application/json", BODY);
+
+        cache.put(BOOK, 1L, loadedAt, "\"0\"", "application/json", BODY);
+
+        assertTrue(cache.get(BOOK, 1L).isEmpty());
+        assertTrue(cache.get(BOOK, 2L).isPresent());
+    }
+
+    @Test
+    @DisplayName("Should invalidate entries changed through other instances from the change feed")
+    void invalidateFromChangeFeed_ShouldDropRemotelyChangedEntries() {
+        when(changeLogRepository.findMaxSequence()).thenReturn(10L);
+        cache.invalidateFromChangeFeed();
+        cache.put(BOOK, 1L, cache.stamp(), "\"0\"", "application/json", BODY);
+        cache.put(BOOK, 2L, cache.stamp(), "\"0\"", "application/json", BODY);
+        when(changeFeedService.getChanges(10L, null)).thenReturn(feed(11L, change(BOOK, 1L, ChangeLogEntry.Operation.UPDATE, 11L)));
+
+        assertEquals(1, cache.invalidateFromChangeFeed());
+
+        assertTrue(cache.get(BOOK, 1L).isEmpty());
+        assertTrue(cache.get(BOOK, 2L).isPresent());
+    }
+
+    @Test
+    @DisplayName("Should not invalidate again what a local write already invalidated")
+    void invalidateFromChangeFeed_ShouldSkipLocalChanges() {
+        when(changeLogRepository.findMaxSequence()).thenReturn(10L);
+        cache.invalidateFromChangeFeed();
+        CatalogChangeEvent local = change(BOOK, 1L, ChangeLogEntry.Operation.UPDATE, 11L);
+        cache.onChange(local);
+        cache.put(BOOK, 1L, cache.stamp(), "\"1\"", "application/json", BODY);
+        when(changeFeedService.getChanges(10L, null)).thenReturn(feed(11L, local));
+
+        assertEquals(0, cache.invalidateFromChangeFeed());
+
+        assertTrue(cache.get(BOOK, 1L).isPresent());
+    }
+
+    @Test
+    @DisplayName("Should treat entries older than the ttl as misses")
+    void get_ShouldExpireEntries() {
+        properties.setTtl(Duration.ZERO);
+        cache.put(BOOK, 1L, cache.stamp(), "\"0\"", "application/json", BODY);
+
+        assertTrue(cache.get(BOOK, 1L).isEmpty());
+    }
+
+    private static byte[] bytesOf(CachedResponse cached, boolean gzip) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        (gzip ? cached.gzipBody() : cached.body()).writeTo(out);
+        return out.toByteArray();
+    }
+
+    private static CatalogChangeEvent change(ChangeLogEntry.EntityType type, Long id, ChangeLogEntry.Operation operation) {
+        return change(type, id, operation, null);
+    }
+
+    private static CatalogChangeEvent change(ChangeLogEntry.EntityType type, Long id, ChangeLogEntry.Operation operation,
+                                             Long sequence) {
+        return new CatalogChangeEvent(ChangeEventResponse.builder()
+                .sequence(sequence)
+                .entityType(type)
+                .entityId(id)
+                .operation(operation)
+                .build());
+    }
+
+    private static ChangeFeedResponse feed(long nextCursor, CatalogChangeEvent... events) {
+        return ChangeFeedResponse.builder()
+                .changes(Arrays.stream(events).map(CatalogChangeEvent::change).toList())
+                .nextCursor(nextCursor)
+                .hasMore(false)
+                .build();
+    }
+}
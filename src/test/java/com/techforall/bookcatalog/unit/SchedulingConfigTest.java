@@ -0,0 +1,48 @@
+package com.techforall.bookcatalog.unit;
+
+import com.techforall.bookcatalog.config.SchedulingConfig;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+@DisplayName("SchedulingConfig Tests")
+class SchedulingConfigTest {
+
+    @Test
+    @DisplayName("Should drop every scheduled job when the export profile is active")
+    void configureTasks_ShouldDropJobsWhenExporting() {
+        MockEnvironment environment = new MockEnvironment();
+        environment.setActiveProfiles("prod", SchedulingConfig.EXPORT_PROFILE);
+        ScheduledTaskRegistrar registrar = registrarWithJobs();
+
+        new SchedulingConfig(environment).configureTasks(registrar);
+
+        assertFalse(registrar.hasTasks());
+    }
+
+    @Test
+    @DisplayName("Should keep scheduled jobs of a serving instance")
+    void configureTasks_ShouldKeepJobsWhenServing() {
+        MockEnvironment environment = new MockEnvironment();
+        environment.setActiveProfiles("prod");
+        ScheduledTaskRegistrar registrar = registrarWithJobs();
+
+        new SchedulingConfig(environment).configureTasks(registrar);
+
+        assertEquals(1, registrar.getFixedDelayTaskList().size());
+        assertEquals(1, registrar.getCronTaskList().size());
+    }
+
+    private static ScheduledTaskRegistrar registrarWithJobs() {
+        ScheduledTaskRegistrar registrar = new ScheduledTaskRegistrar();
+        registrar.addFixedDelayTask(() -> { }, Duration.ofMinutes(1));
+        registrar.addCronTask(() -> { }, "0 0 * * * *");
+        return registrar;
+    }
+}